@@ -36,9 +36,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class ActivationDate extends Attribute {
 	
 	public ActivationDate(){
-		super(new KMIPTextString("Activation Date"), new EnumTag(EnumTag.ActivationDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Activation Date"), EnumTag.valueOf(EnumTag.ActivationDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.ActivationDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.ActivationDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
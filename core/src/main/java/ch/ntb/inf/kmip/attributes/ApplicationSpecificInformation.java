@@ -38,12 +38,12 @@ public class ApplicationSpecificInformation extends Attribute {
 
 	
 	public ApplicationSpecificInformation(){
-		super(new KMIPTextString("Application Specific Information"), new EnumTag(EnumTag.ApplicationSpecificInformation), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Application Specific Information"), EnumTag.valueOf(EnumTag.ApplicationSpecificInformation), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.ApplicationNamespace), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.ApplicationNamespace), new KMIPTextString());
 		this.values[0].setName("Application Namespace");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.ApplicationData), new KMIPTextString());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.ApplicationData), new KMIPTextString());
 		this.values[1].setName("Application Data");
 	}
 		
@@ -37,9 +37,9 @@ public class ArchiveDate extends Attribute {
 
 	
 	public ArchiveDate(){
-		super(new KMIPTextString("Archive Date"), new EnumTag(EnumTag.ArchiveDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Archive Date"), EnumTag.valueOf(EnumTag.ArchiveDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.ArchiveDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.ArchiveDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
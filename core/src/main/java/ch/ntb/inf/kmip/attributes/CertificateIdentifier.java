@@ -35,12 +35,12 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class CertificateIdentifier extends Attribute {
 	
 	public CertificateIdentifier(){
-		super(new KMIPTextString("Certificate Identifier"), new EnumTag(EnumTag.CertificateIdentifier), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Certificate Identifier"), EnumTag.valueOf(EnumTag.CertificateIdentifier), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.Issuer), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.Issuer), new KMIPTextString());
 		this.values[0].setName("Issuer");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.SerialNumber), new KMIPTextString());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.SerialNumber), new KMIPTextString());
 		this.values[1].setName("Serial Number");
 	}
 }
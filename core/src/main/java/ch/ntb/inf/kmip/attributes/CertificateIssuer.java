@@ -35,13 +35,13 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class CertificateIssuer extends Attribute {
 	
 	public CertificateIssuer(){
-		super(new KMIPTextString("Certificate Issuer"), new EnumTag(EnumTag.CertificateIssuer), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Certificate Issuer"), EnumTag.valueOf(EnumTag.CertificateIssuer), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
 		
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.CertificateIssuerDistinguishedName), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.CertificateIssuerDistinguishedName), new KMIPTextString());
 		this.values[0].setName("Certificate Issuer Distinguished Name");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.CertificateIssuerAlternativeName), new KMIPTextString());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.CertificateIssuerAlternativeName), new KMIPTextString());
 		this.values[1].setName("Certificate Issuer Alternative Name");
 	}
 }
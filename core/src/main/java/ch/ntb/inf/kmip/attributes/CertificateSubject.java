@@ -34,13 +34,13 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class CertificateSubject extends Attribute {
 	
 	public CertificateSubject(){
-		super(new KMIPTextString("Certificate Subject"), new EnumTag(EnumTag.CertificateSubject), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Certificate Subject"), EnumTag.valueOf(EnumTag.CertificateSubject), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
 		
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.CertificateSubjectDistinguishedName), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.CertificateSubjectDistinguishedName), new KMIPTextString());
 		this.values[0].setName("Certificate Subject Distinguished Name");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.CertificateSubjectAlternativeName), new KMIPTextString());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.CertificateSubjectAlternativeName), new KMIPTextString());
 		this.values[1].setName("Certificate Subject Alternative Name");
 	}
 }
@@ -33,9 +33,9 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class CertificateType extends Attribute {
 	
 	public CertificateType(){
-		super(new KMIPTextString("Certificate Type"), new EnumTag(EnumTag.CertificateType), new EnumType(EnumType.Enumeration));
+		super(new KMIPTextString("Certificate Type"), EnumTag.valueOf(EnumTag.CertificateType), EnumType.valueOf(EnumType.Enumeration));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.CertificateType), new EnumCertificateType());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.CertificateType), new EnumCertificateType());
 		this.values[0].setName(this.getAttributeName());
 	}
 }
@@ -35,9 +35,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class CompromiseDate extends Attribute {
 
 	public CompromiseDate(){
-		super(new KMIPTextString("Compromise Date"), new EnumTag(EnumTag.CompromiseDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Compromise Date"), EnumTag.valueOf(EnumTag.CompromiseDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.CompromiseDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.CompromiseDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -37,9 +37,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class CompromiseOccurrenceDate extends Attribute {
 
 	public CompromiseOccurrenceDate(){
-		super(new KMIPTextString("Compromise Occurrence Date"), new EnumTag(EnumTag.CompromiseOccurrenceDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Compromise Occurrence Date"), EnumTag.valueOf(EnumTag.CompromiseOccurrenceDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.CompromiseOccurrenceDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.CompromiseOccurrenceDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
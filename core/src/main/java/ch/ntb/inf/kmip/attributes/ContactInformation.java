@@ -35,9 +35,9 @@ public class ContactInformation extends Attribute {
 
 
 	public ContactInformation(){
-		super(new KMIPTextString("Contact Information"), new EnumTag(EnumTag.ContactInformation), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("Contact Information"), EnumTag.valueOf(EnumTag.ContactInformation), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.ContactInformation), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.ContactInformation), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
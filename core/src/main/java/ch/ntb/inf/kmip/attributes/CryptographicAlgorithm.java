@@ -37,8 +37,8 @@ public class CryptographicAlgorithm extends SingleAttribute<EnumCryptographicAlg
 
 	public CryptographicAlgorithm(EnumCryptographicAlgorithm value){
 		super("Cryptographic Algorithm",
-				new EnumTag(EnumTag.CryptographicAlgorithm),
-				new EnumType(EnumType.Enumeration),
+				EnumTag.valueOf(EnumTag.CryptographicAlgorithm),
+				EnumType.valueOf(EnumType.Enumeration),
 				value);
 	}
 
@@ -36,13 +36,13 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class CryptographicDomainParameters extends Attribute {
 	
 	public CryptographicDomainParameters(){
-		super(new KMIPTextString("Cryptographic Domain Parameters"), new EnumTag(EnumTag.CryptographicDomainParameters), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Cryptographic Domain Parameters"), EnumTag.valueOf(EnumTag.CryptographicDomainParameters), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
 		
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Integer), new EnumTag(EnumTag.Qlength), new KMIPInteger());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Integer), EnumTag.valueOf(EnumTag.Qlength), new KMIPInteger());
 		this.values[0].setName("Qlength");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.RecommendedCurve), new EnumRecommendedCurve());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.RecommendedCurve), new EnumRecommendedCurve());
 		this.values[1].setName("Recommended Curve");
 	}
 	
@@ -35,8 +35,8 @@ public class CryptographicLength extends SingleAttribute<KMIPInteger> {
 
 	public CryptographicLength(KMIPInteger value){
 		super("Cryptographic Length",
-				new EnumTag(EnumTag.CryptographicLength),
-				new EnumType(EnumType.Integer),
+				EnumTag.valueOf(EnumTag.CryptographicLength),
+				EnumType.valueOf(EnumType.Integer),
 				value);
 	}
 
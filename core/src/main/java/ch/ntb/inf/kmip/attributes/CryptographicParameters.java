@@ -39,18 +39,18 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class CryptographicParameters extends Attribute {
 
 	public CryptographicParameters(){
-		super(new KMIPTextString("Cryptographic Parameters"), new EnumTag(EnumTag.CryptographicParameters), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Cryptographic Parameters"), EnumTag.valueOf(EnumTag.CryptographicParameters), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[4];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.BlockCipherMode), new EnumBlockCipherMode());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.BlockCipherMode), new EnumBlockCipherMode());
 		this.values[0].setName("Block Cipher Mode");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.PaddingMethod), new EnumPaddingMethod());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.PaddingMethod), new EnumPaddingMethod());
 		this.values[1].setName("Padding Method");
 		
-		this.values[2] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.HashingAlgorithm), new EnumHashingAlgorithm());
+		this.values[2] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.HashingAlgorithm), new EnumHashingAlgorithm());
 		this.values[2].setName("Hashing Algorithm");
 		
-		this.values[3] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.KeyRoleType), new EnumKeyRoleType());
+		this.values[3] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.KeyRoleType), new EnumKeyRoleType());
 		this.values[3].setName("Key Role Type");
 	}
 	
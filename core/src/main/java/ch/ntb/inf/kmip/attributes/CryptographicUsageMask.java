@@ -35,8 +35,8 @@ public class CryptographicUsageMask extends SingleAttribute<KMIPInteger> {
 
 	public CryptographicUsageMask(KMIPInteger value){
 		super("Cryptographic Usage Mask",
-				new EnumTag(EnumTag.CryptographicUsageMask),
-				new EnumType(EnumType.Integer),
+				EnumTag.valueOf(EnumTag.CryptographicUsageMask),
+				EnumType.valueOf(EnumType.Integer),
 				value);
 	}
 
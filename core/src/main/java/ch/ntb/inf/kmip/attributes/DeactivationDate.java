@@ -38,9 +38,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class DeactivationDate extends Attribute {
 
 	public DeactivationDate(){
-		super(new KMIPTextString("Deactivation Date"), new EnumTag(EnumTag.DeactivationDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Deactivation Date"), EnumTag.valueOf(EnumTag.DeactivationDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.DeactivationDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.DeactivationDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
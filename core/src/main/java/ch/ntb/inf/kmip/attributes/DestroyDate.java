@@ -35,9 +35,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class DestroyDate extends Attribute {
 
 	public DestroyDate(){
-		super(new KMIPTextString("Destroy Date"), new EnumTag(EnumTag.DestroyDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Destroy Date"), EnumTag.valueOf(EnumTag.DestroyDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.DestroyDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.DestroyDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
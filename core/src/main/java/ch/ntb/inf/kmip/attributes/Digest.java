@@ -36,13 +36,13 @@ public class Digest extends Attribute {
 
 	
 	public Digest(){
-		super(new KMIPTextString("Digest"), new EnumTag(EnumTag.Digest), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Digest"), EnumTag.valueOf(EnumTag.Digest), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.HashingAlgorithm),
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.HashingAlgorithm),
 				new EnumHashingAlgorithm());
 		this.values[0].setName("Hashing Algorithm");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.ByteString), new EnumTag(EnumTag.DigestValue), new KMIPByteString());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.ByteString), EnumTag.valueOf(EnumTag.DigestValue), new KMIPByteString());
 		this.values[1].setName("Digest Value");
 	}
 }
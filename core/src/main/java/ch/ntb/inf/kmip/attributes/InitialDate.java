@@ -36,9 +36,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class InitialDate extends Attribute {
 
 	public InitialDate(){
-		super(new KMIPTextString("Initial Date"), new EnumTag(EnumTag.InitialDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Initial Date"), EnumTag.valueOf(EnumTag.InitialDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.InitialDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.InitialDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
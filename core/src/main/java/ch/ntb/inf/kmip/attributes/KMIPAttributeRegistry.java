@@ -0,0 +1,304 @@
+/**
+ * KMIPAttributeRegistry.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPAttributeRegistry maps the name of an attribute to a
+ * factory for the attribute and, for enumerated attributes, to a
+ * factory for its enumeration. The table is built once when the
+ * class is loaded, so creating an attribute by its name does not
+ * need any reflection, regular expression or class loading.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.attributes;
+
+import java.util.HashMap;
+
+import ch.ntb.inf.kmip.kmipenum.EnumCertificateType;
+import ch.ntb.inf.kmip.kmipenum.EnumCryptographicAlgorithm;
+import ch.ntb.inf.kmip.kmipenum.EnumObjectType;
+import ch.ntb.inf.kmip.kmipenum.EnumOperation;
+import ch.ntb.inf.kmip.kmipenum.EnumQueryFunction;
+import ch.ntb.inf.kmip.kmipenum.EnumState;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.operationparameters.AsynchronousCorrelationValue;
+import ch.ntb.inf.kmip.operationparameters.CertificateRequest;
+import ch.ntb.inf.kmip.operationparameters.MaximumItems;
+import ch.ntb.inf.kmip.operationparameters.Offset;
+import ch.ntb.inf.kmip.operationparameters.QueryFunction;
+import ch.ntb.inf.kmip.operationparameters.QueryOperation;
+import ch.ntb.inf.kmip.operationparameters.ReplacedUniqueIdentifier;
+import ch.ntb.inf.kmip.operationparameters.ServerInformation;
+import ch.ntb.inf.kmip.operationparameters.StorageStatusMask;
+import ch.ntb.inf.kmip.operationparameters.ValidityDate;
+import ch.ntb.inf.kmip.operationparameters.VendorIdentification;
+import ch.ntb.inf.kmip.types.KMIPEnumeration;
+
+public final class KMIPAttributeRegistry {
+
+	/**
+	 * Creates a new instance of an attribute with its default value.
+	 */
+	public interface AttributeFactory {
+		Attribute create();
+	}
+
+	/**
+	 * Creates the enumeration of an enumerated attribute.
+	 */
+	public interface EnumerationFactory {
+		KMIPEnumeration create(int value);
+	}
+
+	private static final HashMap<String, AttributeFactory> attributes = new HashMap<>();
+	private static final HashMap<String, EnumerationFactory> enumerations = new HashMap<>();
+
+	static{
+		// Attributes
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ActivationDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ApplicationSpecificInformation(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ArchiveDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateIdentifier(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateIssuer(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateSubject(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateType(); }
+		}, new EnumerationFactory(){
+			public KMIPEnumeration create(int value){ return new EnumCertificateType(value); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CompromiseDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CompromiseOccurrenceDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ContactInformation(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicAlgorithm(); }
+		}, new EnumerationFactory(){
+			public KMIPEnumeration create(int value){ return new EnumCryptographicAlgorithm(value); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicDomainParameters(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicLength(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicParameters(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicUsageMask(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new DeactivationDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new DestroyDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Digest(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new InitialDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new LastChangeDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new LeaseTime(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Link(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Name(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ObjectGroup(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ObjectType(); }
+		}, new EnumerationFactory(){
+			public KMIPEnumeration create(int value){ return new EnumObjectType(value); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new OperationPolicyName(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ProcessStartDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ProtectStopDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new RevocationReason(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new State(); }
+		}, new EnumerationFactory(){
+			public KMIPEnumeration create(int value){ return new EnumState(value); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new UniqueIdentifier(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new UsageLimits(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new XPurpose(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Xattribute1(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Xattribute2(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Xprovider(); }
+		});
+
+		// Operation Parameters, which are handled like Attributes
+		register(new AttributeFactory(){
+			public Attribute create(){ return new AsynchronousCorrelationValue(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateRequest(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new MaximumItems(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Offset(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new QueryFunction(); }
+		}, new EnumerationFactory(){
+			public KMIPEnumeration create(int value){ return new EnumQueryFunction(value); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new QueryOperation(); }
+		}, new EnumerationFactory(){
+			public KMIPEnumeration create(int value){ return new EnumOperation(value); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ReplacedUniqueIdentifier(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ServerInformation(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new StorageStatusMask(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ValidityDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new VendorIdentification(); }
+		});
+	}
+
+	private KMIPAttributeRegistry(){
+	}
+
+	/**
+	 * Registers an attribute by its name (e.g. "Cryptographic Algorithm") and
+	 * by its class name (e.g. "CryptographicAlgorithm").
+	 */
+	private static void register(AttributeFactory factory){
+		register(factory, null);
+	}
+
+	private static void register(AttributeFactory factory, EnumerationFactory enumeration){
+		String name = factory.create().getAttributeName();
+		String className = toClassName(name);
+		attributes.put(name, factory);
+		attributes.put(className, factory);
+		if(enumeration != null){
+			enumerations.put(name, enumeration);
+			enumerations.put(className, enumeration);
+		}
+	}
+
+	/**
+	 * @param attributeName :	the name of the attribute, as it is encoded in the "Attribute Name"
+	 * 							or as the name of its class
+	 * @return					the <code>AttributeFactory</code> or <code>null</code>, if the attribute is unknown
+	 */
+	public static AttributeFactory getAttributeFactory(String attributeName){
+		AttributeFactory factory = attributes.get(attributeName);
+		if(factory == null){
+			factory = attributes.get(toClassName(attributeName));
+		}
+		return factory;
+	}
+
+	/**
+	 * @param attributeName :	the name of the attribute
+	 * @return					a new instance of the attribute or <code>null</code>, if the attribute is unknown
+	 */
+	public static Attribute createAttribute(String attributeName){
+		AttributeFactory factory = getAttributeFactory(attributeName);
+		return factory == null ? null : factory.create();
+	}
+
+	/**
+	 * @param attributeName :	the name of an enumerated attribute
+	 * @param value :			the value of the enumeration
+	 * @return					the enumeration or <code>null</code>, if the attribute is unknown or not enumerated
+	 */
+	public static KMIPEnumeration createEnumeration(String attributeName, int value){
+		EnumerationFactory factory = enumerations.get(attributeName);
+		if(factory == null){
+			factory = enumerations.get(toClassName(attributeName));
+		}
+		return factory == null ? null : factory.create(value);
+	}
+
+	public static boolean hasAttribute(String attributeName){
+		return getAttributeFactory(attributeName) != null;
+	}
+
+	// removes whitespaces and '-' and capitalizes the first letter, e.g. "x-Purpose" -> "XPurpose"
+	private static String toClassName(String attributeName){
+		StringBuilder sb = new StringBuilder(attributeName.length());
+		for(int i = 0; i < attributeName.length(); i++){
+			char c = attributeName.charAt(i);
+			if(c != '-' && !Character.isWhitespace(c)){
+				sb.append(sb.length() == 0 ? Character.toUpperCase(c) : c);
+			}
+		}
+		return sb.toString();
+	}
+
+}
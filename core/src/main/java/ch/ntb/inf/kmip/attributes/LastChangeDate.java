@@ -36,9 +36,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class LastChangeDate extends Attribute {
 
 	public LastChangeDate(){
-		super(new KMIPTextString("Last Change Date"), new EnumTag(EnumTag.LastChangeDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Last Change Date"), EnumTag.valueOf(EnumTag.LastChangeDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.LastChangeDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.LastChangeDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
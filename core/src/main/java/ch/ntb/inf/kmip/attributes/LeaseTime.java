@@ -38,9 +38,9 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class LeaseTime extends Attribute {
 	
 	public LeaseTime(){
-		super(new KMIPTextString("Lease Time"), new EnumTag(EnumTag.LeaseTime), new EnumType(EnumType.Interval));
+		super(new KMIPTextString("Lease Time"), EnumTag.valueOf(EnumTag.LeaseTime), EnumType.valueOf(EnumType.Interval));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Interval), new EnumTag(EnumTag.LeaseTime), new KMIPInterval());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Interval), EnumTag.valueOf(EnumTag.LeaseTime), new KMIPInterval());
 		this.values[0].setName(this.getAttributeName());
 	}
 
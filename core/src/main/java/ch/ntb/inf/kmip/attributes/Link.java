@@ -37,13 +37,13 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class Link extends Attribute {
 
 	public Link(){
-		super(new KMIPTextString("Link"), new EnumTag(EnumTag.Link), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Link"), EnumTag.valueOf(EnumTag.Link), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
 		
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.LinkType), new EnumLinkType());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.LinkType), new EnumLinkType());
 		this.values[0].setName("Link Type");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.LinkedObjectIdentifier), new KMIPTextString());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.LinkedObjectIdentifier), new KMIPTextString());
 		this.values[1].setName("Linked Object Identifier");
 	}
 
@@ -33,9 +33,9 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 
 public class Name extends DualAttribute<KMIPTextString, EnumNameType> {
 	public Name(){
-		super("Name", new EnumTag(EnumTag.Name),
-				"Name Value", new EnumTag(EnumTag.NameValue), new EnumType(EnumType.TextString), new KMIPTextString(),
-				"Name Type", new EnumTag(EnumTag.NameType), new EnumType(EnumType.Enumeration), new EnumNameType());
+		super("Name", EnumTag.valueOf(EnumTag.Name),
+				"Name Value", EnumTag.valueOf(EnumTag.NameValue), EnumType.valueOf(EnumType.TextString), new KMIPTextString(),
+				"Name Type", EnumTag.valueOf(EnumTag.NameType), EnumType.valueOf(EnumType.Enumeration), new EnumNameType());
 	}
 
 	public Name(String name) {
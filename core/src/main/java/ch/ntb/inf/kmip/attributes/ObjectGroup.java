@@ -36,9 +36,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class ObjectGroup extends Attribute {
 
 	public ObjectGroup(){
-		super(new KMIPTextString("Object Group"), new EnumTag(EnumTag.ObjectGroup), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("Object Group"), EnumTag.valueOf(EnumTag.ObjectGroup), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.ObjectGroup), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.ObjectGroup), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -33,8 +33,8 @@ public class ObjectType extends SingleAttribute<EnumObjectType> {
 
 	public ObjectType(EnumObjectType value){
 		super("Object Type",
-				new EnumTag(EnumTag.ObjectType),
-				new EnumType(EnumType.Enumeration),
+				EnumTag.valueOf(EnumTag.ObjectType),
+				EnumType.valueOf(EnumType.Enumeration),
 				value);
 	}
 
@@ -35,10 +35,10 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class OperationPolicyName extends Attribute {
 	
 	public OperationPolicyName(){
-		super(new KMIPTextString("Operation Policy Name"), new EnumTag(EnumTag.OperationPolicyName), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("Operation Policy Name"), EnumTag.valueOf(EnumTag.OperationPolicyName), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
 		
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.OperationPolicyName), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.OperationPolicyName), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 }
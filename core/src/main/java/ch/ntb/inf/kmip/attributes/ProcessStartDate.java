@@ -37,9 +37,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class ProcessStartDate extends Attribute {
 
 	public ProcessStartDate(){
-		super(new KMIPTextString("Process Start Date"), new EnumTag(EnumTag.ProcessStartDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Process Start Date"), EnumTag.valueOf(EnumTag.ProcessStartDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.ProcessStartDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.ProcessStartDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -37,9 +37,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class ProtectStopDate extends Attribute {
 
 	public ProtectStopDate(){
-		super(new KMIPTextString("Protect Stop Date"), new EnumTag(EnumTag.ProtectStopDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Protect Stop Date"), EnumTag.valueOf(EnumTag.ProtectStopDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.ProtectStopDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.ProtectStopDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
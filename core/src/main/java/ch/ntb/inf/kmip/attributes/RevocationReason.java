@@ -35,13 +35,13 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class RevocationReason extends Attribute {
 	
 	public RevocationReason(){
-		super(new KMIPTextString("Revocation Reason"), new EnumTag(EnumTag.RevocationReason), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Revocation Reason"), EnumTag.valueOf(EnumTag.RevocationReason), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[2];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.RevocationReasonCode),
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.RevocationReasonCode),
 				new EnumRevocationReasonCode());
 		this.values[0].setName("Revocation Reason Code");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.RevocationMessage), new KMIPTextString());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.RevocationMessage), new KMIPTextString());
 		this.values[1].setName("Revocation Message");
 	}
 	}
@@ -36,9 +36,9 @@ public class State extends Attribute {
 	
 
 	public State(){
-		super(new KMIPTextString("State"), new EnumTag(EnumTag.State), new EnumType(EnumType.Enumeration));
+		super(new KMIPTextString("State"), EnumTag.valueOf(EnumTag.State), EnumType.valueOf(EnumType.Enumeration));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.State),
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.State),
 				new EnumState());
 		this.values[0].setName(this.getAttributeName());
 	}
@@ -35,8 +35,8 @@ public class UniqueIdentifier extends SingleAttribute<KMIPTextString> {
 
 	public UniqueIdentifier(KMIPTextString value){
 		super("Unique Identifier",
-				new EnumTag(EnumTag.UniqueIdentifier),
-				new EnumType(EnumType.TextString),
+				EnumTag.valueOf(EnumTag.UniqueIdentifier),
+				EnumType.valueOf(EnumType.TextString),
 				value);
 	}
 
@@ -38,16 +38,16 @@ import ch.ntb.inf.kmip.types.KMIPTextString;
 public class UsageLimits extends Attribute {
 	
 	public UsageLimits(){
-		super(new KMIPTextString("Usage Limits"), new EnumTag(EnumTag.UsageLimits), new EnumType(EnumType.Structure));
+		super(new KMIPTextString("Usage Limits"), EnumTag.valueOf(EnumTag.UsageLimits), EnumType.valueOf(EnumType.Structure));
 		this.values = new KMIPAttributeValue[3];
-		this.values[2] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.UsageLimitsUnit),
+		this.values[2] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.UsageLimitsUnit),
 				new EnumUsageLimitsUnit());
 		this.values[2].setName("Usage Limits Unit");
 		
-		this.values[1] = new KMIPAttributeValue(new EnumType(EnumType.LongInteger), new EnumTag(EnumTag.UsageLimitsCount), new KMIPLongInteger());
+		this.values[1] = new KMIPAttributeValue(EnumType.valueOf(EnumType.LongInteger), EnumTag.valueOf(EnumTag.UsageLimitsCount), new KMIPLongInteger());
 		this.values[1].setName("Usage Limits Count");
 		
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.LongInteger), new EnumTag(EnumTag.UsageLimitsTotal), new KMIPLongInteger());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.LongInteger), EnumTag.valueOf(EnumTag.UsageLimitsTotal), new KMIPLongInteger());
 		this.values[0].setName("Usage Limits Total");
 	}
 	
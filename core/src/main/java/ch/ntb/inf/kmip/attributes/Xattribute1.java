@@ -33,9 +33,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class Xattribute1 extends Attribute{
 
 	public Xattribute1(){
-		super(new KMIPTextString("x-attribute1"), new EnumTag(EnumTag.CustomAttribute), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("x-attribute1"), EnumTag.valueOf(EnumTag.CustomAttribute), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.CustomAttribute), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.CustomAttribute), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -33,9 +33,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class Xprovider extends Attribute{
 
 	public Xprovider(){
-		super(new KMIPTextString("x-provider"), new EnumTag(EnumTag.CustomAttribute), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("x-provider"), EnumTag.valueOf(EnumTag.CustomAttribute), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.CustomAttribute), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.CustomAttribute), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -63,6 +63,7 @@ public class KMIPBatch {
 	private ArrayList<TemplateAttributeStructure> templateAttributeStructures;
 	private ArrayList<KMIPType> kmipTypes;
 	private ManagedObject managedObject;
+	private KMIPEncodedManagedObject encodedManagedObject;
 	
 	// required only in response
 	private EnumResultStatus resultStatus;
@@ -80,6 +81,9 @@ public class KMIPBatch {
 	private KMIPTextString resultMessage;
 	private KMIPByteString asynchronousCorrelationValue;
 	
+	// optional, replaces the Response Payload fields when the response is encoded
+	private byte[] encodedResponsePayload;
+	
 	
 	/**
 	 * This constructor...
@@ -103,6 +107,36 @@ public class KMIPBatch {
 		templateAttributeStructures = new ArrayList<>();
 	}
 
+	/**
+	 * Instantiates a KMIPBatch with the fields of another one. The lists are copied, the objects in them
+	 * are shared, so the copy can be changed, e.g. get another Unique Batch Item ID, without changing the
+	 * original.
+	 * @param batch :     	the <code>KMIPBatch</code> to be copied.
+	 */
+	public KMIPBatch(KMIPBatch batch){
+		this.operation = batch.operation;
+		if(batch.attributes != null){
+			this.attributes = new ArrayList<>(batch.attributes);
+		}
+		if(batch.templateAttributeStructures != null){
+			this.templateAttributeStructures = new ArrayList<>(batch.templateAttributeStructures);
+		}
+		if(batch.kmipTypes != null){
+			this.kmipTypes = new ArrayList<>(batch.kmipTypes);
+		}
+		this.managedObject = batch.managedObject;
+		this.encodedManagedObject = batch.encodedManagedObject;
+		this.resultStatus = batch.resultStatus;
+		this.derivationParameters = batch.derivationParameters;
+		this.keyWrappingSpecification = batch.keyWrappingSpecification;
+		this.uniqueBatchItemID = batch.uniqueBatchItemID;
+		this.messageExtension = batch.messageExtension;
+		this.resultReason = batch.resultReason;
+		this.resultMessage = batch.resultMessage;
+		this.asynchronousCorrelationValue = batch.asynchronousCorrelationValue;
+		this.encodedResponsePayload = batch.encodedResponsePayload;
+	}
+
 	/**
 	 * Set the 3 result failure components
 	 */
@@ -173,15 +207,59 @@ public class KMIPBatch {
 	 */
 	public void setManagedObject(ManagedObject managedObject) {
 		this.managedObject = managedObject;
+		this.encodedManagedObject = null;
 	}
 	
 	/**
-	 * Returns the Managed Object as ManagedObject.
+	 * Sets the Managed Object to the transferred, still encoded Managed Object. 
+	 * It is decoded by the first call of <code>getManagedObject()</code>.
+	 * @param encodedManagedObject :     	the <code>KMIPEncodedManagedObject</code> to be set.
+	 */
+	public void setManagedObject(KMIPEncodedManagedObject encodedManagedObject) {
+		this.managedObject = null;
+		this.encodedManagedObject = encodedManagedObject;
+	}
+	
+	/**
+	 * Returns the Managed Object as ManagedObject. If it has been set encoded,
+	 * it is decoded now.
 	 * @return <code>ManagedObject</code>
+	 * @throws IllegalStateException	if the encoded Managed Object is not well formed
 	 */
 	public ManagedObject getManagedObject(){
+		if(this.encodedManagedObject != null){
+			this.managedObject = encodedManagedObject.decode();
+			this.encodedManagedObject = null;
+		}
 		return this.managedObject;
 	}
+	
+	/**
+	 * Returns the Managed Object as it has been received, as long as it has not 
+	 * been decoded by <code>getManagedObject()</code>. 
+	 * @return <code>KMIPEncodedManagedObject</code> or <code>null</code>
+	 */
+	public KMIPEncodedManagedObject getEncodedManagedObject(){
+		return this.encodedManagedObject;
+	}
+	
+	/**
+	 * Sets the already TTLV-encoded Response Payload, with its tag, type and length. 
+	 * An encoder writes these bytes instead of encoding the Response Payload fields. 
+	 * The array is not copied and must not be changed afterwards.
+	 * @param encodedResponsePayload :     	the encoded Response Payload, or <code>null</code> to encode the fields.
+	 */
+	public void setEncodedResponsePayload(byte[] encodedResponsePayload) {
+		this.encodedResponsePayload = encodedResponsePayload;
+	}
+	
+	/**
+	 * Returns the already TTLV-encoded Response Payload. 
+	 * @return <code>byte[]</code> or <code>null</code>
+	 */
+	public byte[] getEncodedResponsePayload(){
+		return this.encodedResponsePayload;
+	}
 
 	/**
 	 * Sets the Operation to the transferred EnumOperation.
@@ -467,7 +545,7 @@ public class KMIPBatch {
 	 * </ul>
 	 */
 	public boolean hasManagedObject(){
-		return this.managedObject != null;
+		return this.managedObject != null || this.encodedManagedObject != null;
 	}
 	
 	/**
@@ -482,6 +560,18 @@ public class KMIPBatch {
 		return this.uniqueBatchItemID != null;
 	}
 	
+	/**
+	 * Checks whether the qualified field is <code>null</code> or not.
+	 * @return 
+	 * <ul>
+	 * 	<li>True:  if the <code>encodedResponsePayload</code> field of the container has a reference.</li>
+	 * 	<li>False: if it is <code>null</code>.</li>
+	 * </ul>
+	 */
+	public boolean hasEncodedResponsePayload(){
+		return this.encodedResponsePayload != null;
+	}
+	
 	/**
 	 * Checks whether the qualified field is <code>null</code> or not.
 	 * @return 
@@ -655,7 +745,7 @@ public class KMIPBatch {
 		
 		if(hasManagedObject()){
 			sb.append("\nObject: \t");
-			sb.append(managedObject.toString() + "\n");
+			sb.append(getManagedObject().toString() + "\n");
 		}
 		
 		if(hasKMIPTypes()){
@@ -0,0 +1,54 @@
+/**
+ * KMIPEncodedManagedObject.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPEncodedManagedObject refers to a Managed Object, which is
+ * still TTLV-encoded in the received message. A decoder in lazy mode
+ * sets it on the KMIPBatch instead of the decoded ManagedObject, so
+ * the Key Block, Key Value and Key Material are only decoded if the
+ * Managed Object is accessed.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.container;
+
+import java.nio.ByteBuffer;
+
+import ch.ntb.inf.kmip.objects.managed.ManagedObject;
+
+public interface KMIPEncodedManagedObject {
+
+	/**
+	 * @return		the tag of the Managed Object, e.g. <code>EnumTag.SymmetricKey</code>
+	 */
+	int getTag();
+
+	/**
+	 * @return		a read-only view of the TTLV-encoded Managed Object, with its tag, type and length
+	 */
+	ByteBuffer getEncoded();
+
+	/**
+	 * Decodes the Managed Object.
+	 *
+	 * @return		the decoded <code>ManagedObject</code>
+	 * @throws IllegalStateException	if the Managed Object is not well formed
+	 */
+	ManagedObject decode();
+
+}
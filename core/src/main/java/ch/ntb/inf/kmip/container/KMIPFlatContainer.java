@@ -0,0 +1,358 @@
+/**
+ * KMIPFlatContainer.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPFlatContainer is an alternative to the KMIPContainer. It
+ * keeps the encoded message and a flat index of its items: the tag,
+ * type, offset and length of every item in a single int-array, in
+ * the order of the message. The values are read from the encoded
+ * bytes on access, so no object is created per item. Existing code
+ * gets a KMIPContainer of the message by toContainer().
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.container;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.process.decoder.KMIPBufferDecoder;
+import ch.ntb.inf.kmip.process.decoder.KMIPMalformedMessageException;
+
+/**
+ * An item is identified by its index, the message itself has the index 0. The children of a structure
+ * follow it directly, so they are iterated by:
+ * <pre>
+ * for(int item = flat.firstChild(structure); item != -1; item = flat.nextSibling(structure, item)){
+ *     ...
+ * }
+ * </pre>
+ * A container is not changed after it has been created, so it can be shared by all threads,
+ * as long as the encoded message is not changed.
+ */
+public class KMIPFlatContainer {
+
+	private static final int TTL_SIZE = 8;
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	// the fields of an item in the index
+	private static final int TAG_AND_TYPE = 0;
+	private static final int OFFSET = 1;
+	private static final int LENGTH = 2;
+	private static final int END = 3;
+	private static final int ITEM_SIZE = 4;
+
+	// the minimum size of an item, used to estimate the size of the index
+	private static final int MIN_ITEM_LENGTH = 16;
+
+	private static final KMIPBufferDecoder decoder = new KMIPBufferDecoder();
+
+	private final ByteBuffer b;
+	// per item: tag << 8 | type, offset of the header, length of the value, index of the item after its last child
+	private final int[] index;
+	private final int count;
+
+	private KMIPFlatContainer(ByteBuffer b, int[] index, int count) {
+		this.b = b;
+		this.index = index;
+		this.count = count;
+	}
+
+	public static KMIPFlatContainer index(byte[] message) throws KMIPMalformedMessageException {
+		return index(ByteBuffer.wrap(message));
+	}
+
+	/**
+	 * Indexes the remaining bytes of the buffer, which are not copied. The position of the buffer is not changed.
+	 *
+	 * @throws KMIPMalformedMessageException	if an item does not fit into its structure, or the message is no
+	 * 											Request or Response Message
+	 */
+	public static KMIPFlatContainer index(ByteBuffer message) throws KMIPMalformedMessageException {
+		ByteBuffer b = message.slice().order(ByteOrder.BIG_ENDIAN);
+		int limit = b.limit();
+		int[] index = new int[Math.max(1, limit / MIN_ITEM_LENGTH) * ITEM_SIZE];
+		int count = 0;
+
+		// the indices of the entered structures
+		int[] structures = new int[8];
+		int depth = 0;
+		int pos = 0;
+		while(pos < limit || depth > 0){
+			while(depth > 0 && pos == end(index, structures[depth - 1])){
+				index[structures[--depth] * ITEM_SIZE + END] = count;
+			}
+			if(depth == 0 && (pos == limit || count > 0)){
+				break;
+			}
+			int structureEnd = depth > 0 ? end(index, structures[depth - 1]) : limit;
+			if(structureEnd - pos < TTL_SIZE){
+				throw new KMIPMalformedMessageException("Truncated item", pos);
+			}
+			int type = b.get(pos + 3) & 0xFF;
+			int length = b.getInt(pos + 4);
+			int itemLength = TTL_SIZE + (type == EnumType.Structure ? length : (length + 7) & ~7);
+			if(length < 0 || itemLength < 0 || itemLength > structureEnd - pos){
+				throw new KMIPMalformedMessageException("Length " + (length & 0xFFFFFFFFL) + " exceeds the enclosing structure", pos);
+			}
+
+			if(count * ITEM_SIZE == index.length){
+				index = Arrays.copyOf(index, index.length << 1);
+			}
+			int i = count * ITEM_SIZE;
+			index[i + TAG_AND_TYPE] = b.getInt(pos);
+			index[i + OFFSET] = pos;
+			index[i + LENGTH] = length;
+			index[i + END] = count + 1;
+			if(type == EnumType.Structure){
+				if(depth == structures.length){
+					structures = Arrays.copyOf(structures, depth << 1);
+				}
+				structures[depth++] = count;
+				pos += TTL_SIZE;
+			} else{
+				pos += itemLength;
+			}
+			count++;
+		}
+
+		if(count == 0){
+			throw new KMIPMalformedMessageException("Message too short", 0);
+		}
+		if(pos != limit){
+			throw new KMIPMalformedMessageException("Unexpected bytes after the message", pos);
+		}
+		int tag = index[TAG_AND_TYPE] >>> 8;
+		if((tag != EnumTag.RequestMessage && tag != EnumTag.ResponseMessage) || (index[TAG_AND_TYPE] & 0xFF) != EnumType.Structure){
+			throw new KMIPMalformedMessageException("Message is no Request or Response Message", 0);
+		}
+		return new KMIPFlatContainer(b, index, count);
+	}
+
+	// the offset after the structure at index s
+	private static int end(int[] index, int s) {
+		return index[s * ITEM_SIZE + OFFSET] + TTL_SIZE + index[s * ITEM_SIZE + LENGTH];
+	}
+
+	/**
+	 * @return		the number of items in the message, the message included
+	 */
+	public int getItemCount() {
+		return count;
+	}
+
+	public boolean isRequest() {
+		return getTag(0) == EnumTag.RequestMessage;
+	}
+
+	public int getTag(int item) {
+		return index[item * ITEM_SIZE + TAG_AND_TYPE] >>> 8;
+	}
+
+	public int getType(int item) {
+		return index[item * ITEM_SIZE + TAG_AND_TYPE] & 0xFF;
+	}
+
+	/**
+	 * @return		the offset of the header of the item in the message
+	 */
+	public int getOffset(int item) {
+		return index[item * ITEM_SIZE + OFFSET];
+	}
+
+	/**
+	 * @return		the length of the value of the item, without padding
+	 */
+	public int getLength(int item) {
+		return index[item * ITEM_SIZE + LENGTH];
+	}
+
+	/**
+	 * @return		the first child of the structure, or -1 if it is empty
+	 */
+	public int firstChild(int structure) {
+		return index[structure * ITEM_SIZE + END] > structure + 1 ? structure + 1 : -1;
+	}
+
+	/**
+	 * @return		the item after <code>item</code> in the structure, or -1 if it is the last one
+	 */
+	public int nextSibling(int structure, int item) {
+		int next = index[item * ITEM_SIZE + END];
+		return next < index[structure * ITEM_SIZE + END] ? next : -1;
+	}
+
+	/**
+	 * @return		the first child of the structure with the tag, or -1 if there is none
+	 */
+	public int find(int structure, int tag) {
+		return findNext(structure, -1, tag);
+	}
+
+	/**
+	 * @return		the first child of the structure with the tag after <code>item</code>, or -1 if there is none
+	 */
+	public int findNext(int structure, int item, int tag) {
+		for(int i = item == -1 ? firstChild(structure) : nextSibling(structure, item); i != -1; i = nextSibling(structure, i)){
+			if(getTag(i) == tag){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return		the Request or Response Header
+	 */
+	public int getHeader() {
+		return find(0, isRequest() ? EnumTag.RequestHeader : EnumTag.ResponseHeader);
+	}
+
+	public int getBatchCount() {
+		int header = getHeader();
+		int batchCount = header == -1 ? -1 : find(header, EnumTag.BatchCount);
+		return batchCount == -1 ? 0 : getInteger(batchCount);
+	}
+
+	/**
+	 * @return		the <code>n</code>-th Batch Item, starting with 0, or -1 if there are less Batch Items
+	 */
+	public int getBatchItem(int n) {
+		int batchItem = find(0, EnumTag.BatchItem);
+		for(int i = 0; i < n && batchItem != -1; i++){
+			batchItem = findNext(0, batchItem, EnumTag.BatchItem);
+		}
+		return batchItem;
+	}
+
+	/**
+	 * @return		the Operation of the Batch Item, or -1 if it has none
+	 */
+	public int getOperation(int batchItem) {
+		int operation = find(batchItem, EnumTag.Operation);
+		return operation == -1 ? -1 : getEnumeration(operation);
+	}
+
+	/**
+	 * @return		the Request or Response Payload of the Batch Item, or -1 if it has none
+	 */
+	public int getPayload(int batchItem) {
+		return find(batchItem, isRequest() ? EnumTag.RequestPayload : EnumTag.ResponsePayload);
+	}
+
+	public int getInteger(int item) {
+		checkType(item, EnumType.Integer);
+		return b.getInt(valueOffset(item));
+	}
+
+	public long getLongInteger(int item) {
+		checkType(item, EnumType.LongInteger);
+		return b.getLong(valueOffset(item));
+	}
+
+	public int getEnumeration(int item) {
+		checkType(item, EnumType.Enumeration);
+		return b.getInt(valueOffset(item));
+	}
+
+	public boolean getBoolean(int item) {
+		checkType(item, EnumType.Boolean);
+		return b.getLong(valueOffset(item)) != 0;
+	}
+
+	/**
+	 * @return		the seconds since the Epoch
+	 */
+	public long getDateTime(int item) {
+		checkType(item, EnumType.DateTime);
+		return b.getLong(valueOffset(item));
+	}
+
+	public long getInterval(int item) {
+		checkType(item, EnumType.Interval);
+		return b.getInt(valueOffset(item)) & 0xFFFFFFFFL;
+	}
+
+	public String getTextString(int item) {
+		checkType(item, EnumType.TextString);
+		ByteBuffer value = getValue(item);
+		if(value.hasArray()){
+			return new String(value.array(), value.arrayOffset() + value.position(), value.remaining(), CHARSET);
+		}
+		return CHARSET.decode(value).toString();
+	}
+
+	public byte[] getByteString(int item) {
+		checkType(item, EnumType.ByteString);
+		byte[] value = new byte[getLength(item)];
+		getValue(item).get(value);
+		return value;
+	}
+
+	/**
+	 * @return		a read-only view of the value of the item, without padding, the bytes are not copied
+	 */
+	public ByteBuffer getValue(int item) {
+		ByteBuffer value = b.asReadOnlyBuffer();
+		value.limit(valueOffset(item) + getLength(item)).position(valueOffset(item));
+		return value.slice();
+	}
+
+	/**
+	 * @return		a read-only view of the whole item as it has been encoded, e.g. to forward it
+	 */
+	public ByteBuffer getEncodedItem(int item) {
+		ByteBuffer encoded = b.asReadOnlyBuffer();
+		int end = getType(item) == EnumType.Structure ? valueOffset(item) + getLength(item) : valueOffset(item) + ((getLength(item) + 7) & ~7);
+		encoded.limit(end).position(getOffset(item));
+		return encoded.slice();
+	}
+
+	/**
+	 * Decodes the message into a <code>KMIPContainer</code>, for the code, which does not read the flat
+	 * container. A new container is decoded by every call.
+	 *
+	 * @throws KMIPMalformedMessageException	if the message can not be decoded
+	 */
+	public KMIPContainer toContainer() throws KMIPMalformedMessageException {
+		ByteBuffer message = b.duplicate();
+		message.clear();
+		try {
+			return isRequest() ? decoder.decodeRequest(message) : decoder.decodeResponse(message);
+		} catch (Exception e) {
+			throw new KMIPMalformedMessageException("Message can not be decoded: " + e.getMessage(), e);
+		}
+	}
+
+	private int valueOffset(int item) {
+		return index[item * ITEM_SIZE + OFFSET] + TTL_SIZE;
+	}
+
+	private void checkType(int item, int type) {
+		if(getType(item) != type){
+			throw new IllegalArgumentException("Item " + item + " has the type 0x" + Integer.toHexString(getType(item))
+					+ ", 0x" + Integer.toHexString(type) + " expected");
+		}
+	}
+
+}
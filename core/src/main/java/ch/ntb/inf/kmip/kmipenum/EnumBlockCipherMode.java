@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumBlockCipherMode extends KMIPEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumBlockCipherMode.class);
 	
 	public static final int Default				= 0x00;
 	public static final int CBC					= 0x01;
@@ -52,20 +50,6 @@ public class EnumBlockCipherMode extends KMIPEnumeration{
 	public static final int X9_102_AKW1			= 0x10;
 	public static final int X9_102_AKW2			= 0x11;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumBlockCipherMode.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumBlockCipherMode.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumBlockCipherMode(){
 		try {
 			this.value = getEntry(EnumBlockCipherMode.Default, values);
@@ -23,34 +23,18 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumCertificateType extends KMIPEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumCertificateType.class);
 	
 	public static final int Default	= -1;
 	public static final int X_509	= 0x01;
 	public static final int PGP		= 0x02;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumCertificateType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumCertificateType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumCertificateType(){
 		try {
 			this.value = getEntry(EnumCertificateType.Default, values);
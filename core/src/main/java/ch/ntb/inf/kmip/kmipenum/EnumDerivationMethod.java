@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumDerivationMethod extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumDerivationMethod.class);
 	
 	public static final int Default			= -1;
 	public static final int PBKDF2			= 0x01;
@@ -42,20 +40,6 @@ public class EnumDerivationMethod extends KMIPEnumeration{
 	public static final int NIST800_108_F	= 0x06;
 	public static final int NIST800_108_DPI	= 0x07;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumDerivationMethod.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumDerivationMethod.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumDerivationMethod(){
 		try {
 			this.value = getEntry(EnumDerivationMethod.Default, values);
@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumKeyFormatType extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumKeyFormatType.class);
 	
 	public static final int Default						= -1;
 	public static final int Raw 						= 0x01;
@@ -54,20 +52,6 @@ public class EnumKeyFormatType extends KMIPEnumeration{
 	public static final int TransparentECMQVPrivateKey	= 0x12;
 	public static final int TransparentECMQVPublicKey 	= 0x13;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumKeyFormatType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumKeyFormatType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumKeyFormatType(){
 		try {
 			this.value = getEntry(EnumKeyFormatType.Default, values);
@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumKeyRoleType extends KMIPEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumKeyRoleType.class);
 	
 	public static final int Default		= -1;
 	public static final int BDK 		= 0x01;
@@ -56,20 +54,6 @@ public class EnumKeyRoleType extends KMIPEnumeration{
 	public static final int PVKPVV 		= 0x14;
 	public static final int PVKOTH 		= 0x15;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumKeyRoleType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumKeyRoleType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumKeyRoleType(){
 		try {
 			this.value = getEntry(EnumKeyRoleType.Default, values);
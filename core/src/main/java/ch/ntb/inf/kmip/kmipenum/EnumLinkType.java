@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumLinkType extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumLinkType.class);
 	
 	public static final int Default						= -1;
 	public static final int CertificateLink				= 0x101;
@@ -42,20 +40,6 @@ public class EnumLinkType extends KMIPEnumeration{
 	public static final int ReplacementObjectLink 		= 0x106;
 	public static final int ReplacedObjectLink 			= 0x107;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumLinkType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumLinkType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumLinkType(){
 		try {
 			this.value = getEntry(EnumLinkType.Default, values);
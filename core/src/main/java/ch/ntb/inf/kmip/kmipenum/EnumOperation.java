@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumOperation extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumOperation.class);
 	
 	public static final int Default				= -1;
 	public static final int Create 				= 0x01;
@@ -63,20 +61,6 @@ public class EnumOperation extends KMIPEnumeration{
 	public static final int Notify 				= 0x1B;
 	public static final int Put 				= 0x1C;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumOperation.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumOperation.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumOperation(){
 		try {
 			this.value = getEntry(EnumOperation.Default, values);
@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumRecommendedCurve extends KMIPEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumRecommendedCurve.class);
 	
 	public static final int Default	= -1;
 	public static final int P_192 = 0x01;
@@ -50,20 +48,6 @@ public class EnumRecommendedCurve extends KMIPEnumeration{
 	public static final int K_571 = 0x0E;
 	public static final int B_571 = 0x0F;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumRecommendedCurve.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumRecommendedCurve.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumRecommendedCurve(){
 		try {
 			this.value = getEntry(EnumRecommendedCurve.Default, values);
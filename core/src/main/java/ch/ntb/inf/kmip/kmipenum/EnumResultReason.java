@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumResultReason extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumResultReason.class);
 	
 	public static final int Default								= -1;
 	public static final int ItemNotFound 						= 0x01;
@@ -53,20 +51,6 @@ public class EnumResultReason extends KMIPEnumeration{
 	public static final int KeyCompressionTypeNotSupported 		= 0x11;
 	public static final int GeneralFailure						= 0x100;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumResultReason.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumResultReason.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumResultReason(){
 		try {
 			this.value = getEntry(EnumResultReason.Default, values);
@@ -23,35 +23,19 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumSplitKeyMethod extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumSplitKeyMethod.class);
 	
 	public static final int Default		= 0x00;
 	public static final int XOR							= 0x01;
 	public static final int PolynomialSharingGF2_16		= 0x02;
 	public static final int PolynomialSharingPrimeField	= 0x03;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumSplitKeyMethod.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumSplitKeyMethod.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumSplitKeyMethod(){
 		try {
 			this.value = getEntry(EnumSplitKeyMethod.Default, values);
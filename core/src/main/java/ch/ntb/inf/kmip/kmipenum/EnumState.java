@@ -23,15 +23,13 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumState extends KMIPEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumState.class);
 	
 	public static final int Default					= 0x00;
 	public static final int PreActive 				= 0x01;
@@ -41,20 +39,6 @@ public class EnumState extends KMIPEnumeration{
 	public static final int Destroyed 				= 0x05;
 	public static final int DestroyedCompromised	= 0x06;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumState.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumState.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumState(){
 		try {
 			this.value = getEntry(EnumState.Default, values);
@@ -23,15 +23,14 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import java.util.Map.Entry;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumTag extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumTag.class);
 	
 	public static final int Default		 	= -1;
 	public static final int ActivationDate = 0x420001;
@@ -196,20 +195,26 @@ public class EnumTag extends KMIPEnumeration{
 	public static final int Y = 0x4200A0;
 	public static final int Password = 0x4200A1;
 	
+	private static final EnumTag[] instances = new EnumTag[values.size()];
+	
 	static{
-		values = new HashMap<>();
-		Field[] fields = EnumTag.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumTag.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
+		for(int i = 0; i < instances.length; i++){
+			instances[i] = new EnumTag(values.getEntry(i));
 		}
 	}
 	
+	/**
+	 * Returns the shared instance of the given tag, which can not be changed,
+	 * instead of creating a new one.
+	 */
+	public static EnumTag valueOf(int value){
+		int index = values.indexOf(value);
+		if(index == -1){
+			return new EnumTag(value);
+		}
+		return instances[index];
+	}
+	
 	public EnumTag(){
 		try {
 			this.value = getEntry(EnumTag.Default, values);
@@ -230,7 +235,13 @@ public class EnumTag extends KMIPEnumeration{
 		setValue(key);
 	}
 	
+	private EnumTag(Entry<String, Integer> entry){
+		this.value = entry;
+		setShared();
+	}
+	
 	public void setValue(String value){
+		checkNotShared();
 		try {
 			this.value = getEntry(value, values);
 		} catch (KMIPEnumUndefinedKeyException e) {
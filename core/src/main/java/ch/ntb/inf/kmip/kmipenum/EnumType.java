@@ -23,15 +23,14 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import java.util.Map.Entry;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumType extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumType.class);
 	
 	public static final int Default		= -1;
 	public static final int Structure 	= 0x01;
@@ -45,20 +44,26 @@ public class EnumType extends KMIPEnumeration{
 	public static final int DateTime 	= 0x09;
 	public static final int Interval	= 0x0A;
 	
+	private static final EnumType[] instances = new EnumType[values.size()];
+	
 	static{
-		values = new HashMap<>();
-		Field[] fields = EnumType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
+		for(int i = 0; i < instances.length; i++){
+			instances[i] = new EnumType(values.getEntry(i));
 		}
 	}
 	
+	/**
+	 * Returns the shared instance of the given type, which can not be changed,
+	 * instead of creating a new one.
+	 */
+	public static EnumType valueOf(int value){
+		int index = values.indexOf(value);
+		if(index == -1){
+			return new EnumType(value);
+		}
+		return instances[index];
+	}
+	
 	public EnumType(){
 		try {
 			this.value = getEntry(EnumType.Default, values);
@@ -79,7 +84,13 @@ public class EnumType extends KMIPEnumeration{
 		setValue(key);
 	}
 	
+	private EnumType(Entry<String, Integer> entry){
+		this.value = entry;
+		setShared();
+	}
+	
 	public void setValue(String value){
+		checkNotShared();
 		try {
 			this.value = getEntry(value, values);
 		} catch (KMIPEnumUndefinedKeyException e) {
@@ -23,35 +23,19 @@
  */
 package ch.ntb.inf.kmip.kmipenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
 
 import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumValidityIndicator extends KMIPEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumValidityIndicator.class);
 	
 	public static final int Default	= -1;
 	public static final int Valid 	= 0x01;
 	public static final int Invalid = 0x02;
 	public static final int Unknown = 0x03;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumValidityIndicator.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumValidityIndicator.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumValidityIndicator(){
 		try {
 			this.value = getEntry(EnumValidityIndicator.Default, values);
@@ -34,6 +34,9 @@ public class Authentication {
 
 	private Credential credential;
 
+	public Authentication() {
+	}
+
 	public Authentication(Credential credential) {
 		this.credential = credential;
 	}
@@ -41,7 +41,7 @@ public class KeyMaterial {
 	private TransparentKeyStructure keyMaterialStructure;
 	private KMIPByteString keyMaterialByteString;
 	
-	private EnumTag tag = new EnumTag(EnumTag.KeyMaterial);
+	private EnumTag tag = EnumTag.valueOf(EnumTag.KeyMaterial);
 
 
 	public KeyMaterial(KMIPByteString keyMaterial) {
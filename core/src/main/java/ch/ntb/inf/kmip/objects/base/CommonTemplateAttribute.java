@@ -36,7 +36,7 @@ public class CommonTemplateAttribute extends TemplateAttributeStructure {
 	
 	
 	public CommonTemplateAttribute() {
-		super(new EnumTag(EnumTag.CommonTemplateAttribute));
+		super(EnumTag.valueOf(EnumTag.CommonTemplateAttribute));
 	}
 	
 	
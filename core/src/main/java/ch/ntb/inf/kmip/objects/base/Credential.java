@@ -38,12 +38,12 @@ public class Credential extends BaseObject {
 	
 	
 	public Credential(){
-		super(new EnumTag(EnumTag.Credential));
+		super(EnumTag.valueOf(EnumTag.Credential));
 		this.credentialValue = new CredentialValue();
 	}
 	
 	public Credential(EnumCredentialType credentialType, CredentialValue credentialValue){
-		super(new EnumTag(EnumTag.Credential));
+		super(EnumTag.valueOf(EnumTag.Credential));
 		this.credentialValue = credentialValue;
 		this.credentialType = credentialType;
 	}
@@ -44,7 +44,7 @@ public abstract class DualAttribute<S extends KMIPType, T extends KMIPType> exte
 	protected DualAttribute(String attributeName, EnumTag tag,
 							String name1, EnumTag tag1, EnumType type1, S value1,
 							String name2, EnumTag tag2, EnumType type2, T value2) {
-		super(new KMIPTextString(attributeName), tag, new EnumType(EnumType.Structure));
+		super(new KMIPTextString(attributeName), tag, EnumType.valueOf(EnumType.Structure));
 
 		this.values = new KMIPAttributeValue[2];
 		this.values[0] = new KMIPAttributeValue(type1, tag1, value1);
@@ -65,7 +65,7 @@ public class KeyBlock extends BaseObject {
 
 
 	public KeyBlock() {
-		super(new EnumTag(EnumTag.KeyBlock));
+		super(EnumTag.valueOf(EnumTag.KeyBlock));
 	}
 
 	public void addAttribute(Attribute a) {
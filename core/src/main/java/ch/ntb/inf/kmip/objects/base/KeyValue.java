@@ -42,7 +42,7 @@ public class KeyValue extends BaseObject {
 	
 	
 	public KeyValue() {
-		super(new EnumTag(EnumTag.KeyValue));
+		super(EnumTag.valueOf(EnumTag.KeyValue));
 		attributes = new ArrayList<>();
 	}
 	
@@ -54,7 +54,7 @@ public class KeyWrappingData extends BaseObject {
 	private EnumWrappingMethod wrappingMethod;
 	
 	public KeyWrappingData(){
-		super(new EnumTag(EnumTag.KeyWrappingData));
+		super(EnumTag.valueOf(EnumTag.KeyWrappingData));
 	}
 		
 	// Getters & Setters
@@ -52,7 +52,7 @@ public class KeyWrappingSpecification extends BaseObject {
 	private ArrayList<KMIPTextString> names;
 
 	public KeyWrappingSpecification(){
-		super(new EnumTag(EnumTag.KeyWrappingSpecification));
+		super(EnumTag.valueOf(EnumTag.KeyWrappingSpecification));
 	}
 		
 	// Getters & Setters
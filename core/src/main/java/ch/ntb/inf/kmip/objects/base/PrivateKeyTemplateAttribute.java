@@ -34,7 +34,7 @@ public class PrivateKeyTemplateAttribute extends TemplateAttributeStructure {
 
 	
 	public PrivateKeyTemplateAttribute() {
-		super(new EnumTag(EnumTag.PrivateKeyTemplateAttribute));
+		super(EnumTag.valueOf(EnumTag.PrivateKeyTemplateAttribute));
 	}
 	
 	
@@ -35,7 +35,7 @@ import ch.ntb.inf.kmip.objects.base.TemplateAttributeStructure;
 public class PublicKeyTemplateAttribute extends TemplateAttributeStructure {
 	
 	public PublicKeyTemplateAttribute() {
-		super(new EnumTag(EnumTag.PublicKeyTemplateAttribute));
+		super(EnumTag.valueOf(EnumTag.PublicKeyTemplateAttribute));
 	}	
 
 }
@@ -35,7 +35,7 @@ public class TemplateAttribute extends TemplateAttributeStructure {
 	
 	
 	public TemplateAttribute() {
-		super(new EnumTag(EnumTag.TemplateAttribute));
+		super(EnumTag.valueOf(EnumTag.TemplateAttribute));
 	}
 	
 }
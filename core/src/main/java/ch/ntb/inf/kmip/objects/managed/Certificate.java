@@ -39,7 +39,7 @@ public class Certificate extends CryptographicObject {
 	private KMIPByteString certificateValue;
 	
 	public Certificate() {
-		super(new EnumTag(EnumTag.Certificate));
+		super(EnumTag.valueOf(EnumTag.Certificate));
 	}
 
 	public Certificate(KMIPByteString certificateValue, EnumCertificateType certificateType) {
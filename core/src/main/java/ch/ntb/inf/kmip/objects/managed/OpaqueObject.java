@@ -36,7 +36,7 @@ public class OpaqueObject extends ManagedObject {
 	private KMIPByteString opaqueDataValue;
 
 	public OpaqueObject(){
-		super(new EnumTag(EnumTag.OpaqueObject));
+		super(EnumTag.valueOf(EnumTag.OpaqueObject));
 	}
 	
 	public OpaqueObject(EnumOpaqueDataType opaqueDataType, KMIPByteString opaqueDataValue){
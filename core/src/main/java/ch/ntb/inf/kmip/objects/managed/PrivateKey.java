@@ -32,7 +32,7 @@ public class PrivateKey extends CryptographicObject{
 	private KeyBlock keyBlock;
 	
 	public PrivateKey() {
-		super(new EnumTag(EnumTag.PrivateKey));
+		super(EnumTag.valueOf(EnumTag.PrivateKey));
 	}
 	
 	public PrivateKey(KeyBlock keyBlock) {
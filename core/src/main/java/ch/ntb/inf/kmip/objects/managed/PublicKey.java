@@ -32,7 +32,7 @@ public class PublicKey extends CryptographicObject{
 	private KeyBlock keyBlock;
 	
 	public PublicKey() {
-		super(new EnumTag(EnumTag.PublicKey));
+		super(EnumTag.valueOf(EnumTag.PublicKey));
 	}
 	
 	public PublicKey(KeyBlock keyBlock) {
@@ -38,7 +38,7 @@ public class SecretData extends CryptographicObject {
 	private KeyBlock keyBlock;
 
 	public SecretData(){
-		super(new EnumTag(EnumTag.SecretData));
+		super(EnumTag.valueOf(EnumTag.SecretData));
 	}
 	
 	public SecretData(KeyBlock keyBlock, EnumSecretDataType secretDataType){
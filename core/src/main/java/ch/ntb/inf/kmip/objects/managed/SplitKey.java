@@ -43,7 +43,7 @@ public class SplitKey extends CryptographicObject{
 	private KeyBlock keyBlock;
 	
 	public SplitKey() {
-		super(new EnumTag(EnumTag.SplitKey));
+		super(EnumTag.valueOf(EnumTag.SplitKey));
 	}
 	
 	public SplitKey(KeyBlock keyBlock) {
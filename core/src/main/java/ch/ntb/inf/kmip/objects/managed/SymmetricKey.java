@@ -35,7 +35,7 @@ public class SymmetricKey extends CryptographicObject {
 
 
 	public SymmetricKey(){
-		super(new EnumTag(EnumTag.SymmetricKey));
+		super(EnumTag.valueOf(EnumTag.SymmetricKey));
 	}
 
 	public SymmetricKey(KeyBlock keyBlock) {
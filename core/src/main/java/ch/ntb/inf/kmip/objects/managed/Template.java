@@ -44,7 +44,7 @@ public class Template extends ManagedObject {
 	private ArrayList<Attribute> attributes = new ArrayList<>();
 	
 	public Template(){
-		super(new EnumTag(EnumTag.Template));
+		super(EnumTag.valueOf(EnumTag.Template));
 	}
 	
 	public Template(ArrayList<Attribute> attributes){
@@ -49,9 +49,9 @@ public class AsynchronousCorrelationValue extends Attribute{
 
 	
 	public AsynchronousCorrelationValue(){
-		super(new KMIPTextString("Asynchronous Correlation Value"), new EnumTag(EnumTag.AsynchronousCorrelationValue), new EnumType(EnumType.ByteString));
+		super(new KMIPTextString("Asynchronous Correlation Value"), EnumTag.valueOf(EnumTag.AsynchronousCorrelationValue), EnumType.valueOf(EnumType.ByteString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.ByteString), new EnumTag(EnumTag.AsynchronousCorrelationValue), new KMIPByteString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.ByteString), EnumTag.valueOf(EnumTag.AsynchronousCorrelationValue), new KMIPByteString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
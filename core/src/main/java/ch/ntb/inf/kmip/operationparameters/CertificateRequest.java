@@ -46,9 +46,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class CertificateRequest extends Attribute {
 	
 	public CertificateRequest(){
-		super(new KMIPTextString("Certificate Request"), new EnumTag(EnumTag.CertificateRequest), new EnumType(EnumType.ByteString));
+		super(new KMIPTextString("Certificate Request"), EnumTag.valueOf(EnumTag.CertificateRequest), EnumType.valueOf(EnumType.ByteString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.ByteString), new EnumTag(EnumTag.CertificateRequest), new KMIPByteString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.ByteString), EnumTag.valueOf(EnumTag.CertificateRequest), new KMIPByteString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
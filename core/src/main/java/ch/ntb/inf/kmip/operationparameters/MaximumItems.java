@@ -47,9 +47,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class MaximumItems extends Attribute{
 
 	public MaximumItems(){
-		super(new KMIPTextString("Maximum Items"), new EnumTag(EnumTag.MaximumItems), new EnumType(EnumType.Integer));
+		super(new KMIPTextString("Maximum Items"), EnumTag.valueOf(EnumTag.MaximumItems), EnumType.valueOf(EnumType.Integer));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Integer), new EnumTag(EnumTag.MaximumItems), new KMIPByteString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Integer), EnumTag.valueOf(EnumTag.MaximumItems), new KMIPByteString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
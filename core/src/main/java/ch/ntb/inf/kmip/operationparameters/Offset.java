@@ -49,9 +49,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class Offset extends Attribute {
 
 	public Offset(){
-		super(new KMIPTextString("Offset"), new EnumTag(EnumTag.Offset), new EnumType(EnumType.Interval));
+		super(new KMIPTextString("Offset"), EnumTag.valueOf(EnumTag.Offset), EnumType.valueOf(EnumType.Interval));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Interval), new EnumTag(EnumTag.Offset), new KMIPInterval());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Interval), EnumTag.valueOf(EnumTag.Offset), new KMIPInterval());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
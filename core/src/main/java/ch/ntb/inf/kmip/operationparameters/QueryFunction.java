@@ -45,9 +45,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class QueryFunction extends Attribute {
 
 	public QueryFunction(){
-		super(new KMIPTextString("Query Function"), new EnumTag(EnumTag.QueryFunction), new EnumType(EnumType.Enumeration));
+		super(new KMIPTextString("Query Function"), EnumTag.valueOf(EnumTag.QueryFunction), EnumType.valueOf(EnumType.Enumeration));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.QueryFunction), new EnumQueryFunction());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.QueryFunction), new EnumQueryFunction());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -47,9 +47,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class QueryOperation extends Attribute {
 
 	public QueryOperation(){
-		super(new KMIPTextString("Query Operation"), new EnumTag(EnumTag.Operation), new EnumType(EnumType.Enumeration));
+		super(new KMIPTextString("Query Operation"), EnumTag.valueOf(EnumTag.Operation), EnumType.valueOf(EnumType.Enumeration));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Enumeration), new EnumTag(EnumTag.Operation), new EnumOperation());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Enumeration), EnumTag.valueOf(EnumTag.Operation), new EnumOperation());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
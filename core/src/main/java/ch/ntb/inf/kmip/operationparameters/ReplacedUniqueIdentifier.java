@@ -44,9 +44,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class ReplacedUniqueIdentifier extends Attribute {
 
 	public ReplacedUniqueIdentifier(){
-		super(new KMIPTextString("Replaced Unique Identifier"), new EnumTag(EnumTag.ReplacedUniqueIdentifier), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("Replaced Unique Identifier"), EnumTag.valueOf(EnumTag.ReplacedUniqueIdentifier), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.TextString), new EnumTag(EnumTag.ReplacedUniqueIdentifier), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.TextString), EnumTag.valueOf(EnumTag.ReplacedUniqueIdentifier), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -48,9 +48,9 @@ public class ServerInformation extends Attribute {
 
 	
 	public ServerInformation(){
-		super(new KMIPTextString("Server Information"), new EnumTag(EnumTag.ServerInformation), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("Server Information"), EnumTag.valueOf(EnumTag.ServerInformation), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(), new EnumTag(EnumTag.ServerInformation), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Default), EnumTag.valueOf(EnumTag.ServerInformation), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -46,9 +46,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class StorageStatusMask extends Attribute{
 
 	public StorageStatusMask(){
-		super(new KMIPTextString("Storage Status Mask"), new EnumTag(EnumTag.StorageStatusMask), new EnumType(EnumType.Integer));
+		super(new KMIPTextString("Storage Status Mask"), EnumTag.valueOf(EnumTag.StorageStatusMask), EnumType.valueOf(EnumType.Integer));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.Integer), new EnumTag(EnumTag.StorageStatusMask), new KMIPInteger());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Integer), EnumTag.valueOf(EnumTag.StorageStatusMask), new KMIPInteger());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -46,9 +46,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class ValidityDate extends Attribute {
 
 	public ValidityDate(){
-		super(new KMIPTextString("Validity Date"), new EnumTag(EnumTag.ValidityDate), new EnumType(EnumType.DateTime));
+		super(new KMIPTextString("Validity Date"), EnumTag.valueOf(EnumTag.ValidityDate), EnumType.valueOf(EnumType.DateTime));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(EnumType.DateTime), new EnumTag(EnumTag.ValidityDate), new KMIPDateTime());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.DateTime), EnumTag.valueOf(EnumTag.ValidityDate), new KMIPDateTime());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
@@ -46,9 +46,9 @@ import ch.ntb.inf.kmip.types.KMIPType;
 public class VendorIdentification extends Attribute {
 
 	public VendorIdentification(){
-		super(new KMIPTextString("Vendor Identification"), new EnumTag(EnumTag.VendorIdentification), new EnumType(EnumType.TextString));
+		super(new KMIPTextString("Vendor Identification"), EnumTag.valueOf(EnumTag.VendorIdentification), EnumType.valueOf(EnumType.TextString));
 		this.values = new KMIPAttributeValue[1];
-		this.values[0] = new KMIPAttributeValue(new EnumType(), new EnumTag(EnumTag.VendorIdentification), new KMIPTextString());
+		this.values[0] = new KMIPAttributeValue(EnumType.valueOf(EnumType.Default), EnumTag.valueOf(EnumTag.VendorIdentification), new KMIPTextString());
 		this.values[0].setName(this.getAttributeName());
 	}
 	
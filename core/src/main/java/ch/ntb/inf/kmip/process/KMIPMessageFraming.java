@@ -0,0 +1,89 @@
+/**
+ * KMIPMessageFraming.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPMessageFraming reads one TTLV-encoded message after the
+ * other from a stream: the 8 bytes of tag, type and length, and
+ * then exactly as many bytes as the length announces. So the end
+ * of a message is known without the end of the stream, and one
+ * connection can carry many messages.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+public class KMIPMessageFraming {
+
+	public static final int TTL_SIZE = 8;
+	// the length of a message starts after its tag and type
+	public static final int LENGTH_OFFSET = 4;
+
+	private KMIPMessageFraming() {
+	}
+
+	/**
+	 * Reads the next message from the stream, nothing after it.
+	 *
+	 * @param in :					the stream to read from
+	 * @param maximumMessageSize :	the maximum number of bytes of a message, with its tag, type and length
+	 * @return						the whole message, or <code>null</code> if the stream ends before the next message
+	 * @throws KMIPTruncatedMessageException	if the stream ends within a message
+	 * @throws KMIPMessageTooLargeException		if the length of the message exceeds the maximum
+	 */
+	public static byte[] readMessage(InputStream in, int maximumMessageSize) throws IOException {
+		byte[] header = new byte[TTL_SIZE];
+		int read = in.read(header, 0, TTL_SIZE);
+		if(read == -1){
+			return null;
+		}
+		readFully(in, header, read, TTL_SIZE - read);
+
+		long length = getLength(header);
+		if(length > maximumMessageSize - TTL_SIZE){
+			throw new KMIPMessageTooLargeException(length + TTL_SIZE, maximumMessageSize);
+		}
+		byte[] message = new byte[TTL_SIZE + (int) length];
+		System.arraycopy(header, 0, message, 0, TTL_SIZE);
+		readFully(in, message, TTL_SIZE, (int) length);
+		return message;
+	}
+
+	/**
+	 * @return		the length of the value, as announced by the header of a message
+	 */
+	public static long getLength(byte[] header) {
+		return ((header[4] & 0xFFL) << 24) | ((header[5] & 0xFF) << 16) | ((header[6] & 0xFF) << 8) | (header[7] & 0xFF);
+	}
+
+	private static void readFully(InputStream in, byte[] b, int off, int len) throws IOException {
+		while(len > 0){
+			int read = in.read(b, off, len);
+			if(read == -1){
+				throw new KMIPTruncatedMessageException(Arrays.copyOf(b, off));
+			}
+			off += read;
+			len -= read;
+		}
+	}
+
+}
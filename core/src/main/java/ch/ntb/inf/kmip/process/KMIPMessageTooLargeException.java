@@ -0,0 +1,49 @@
+/**
+ * KMIPMessageTooLargeException.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * Concrete Exception in conjunction with the KMIPMessageFraming:
+ * Message Too Large Exception
+ * Appears if the header of a message announces more bytes than
+ * the maximum message size. The message itself is not read.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process;
+
+import java.io.IOException;
+
+public class KMIPMessageTooLargeException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long size;
+
+	public KMIPMessageTooLargeException(long size, int maximumMessageSize) {
+		super("Message size " + size + " exceeds the maximum of " + maximumMessageSize);
+		this.size = size;
+	}
+
+	/**
+	 * @return		the size of the message, with its tag, type and length, as announced by its header
+	 */
+	public long getSize() {
+		return size;
+	}
+}
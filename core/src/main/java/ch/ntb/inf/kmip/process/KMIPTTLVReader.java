@@ -0,0 +1,431 @@
+/**
+ * KMIPTTLVReader.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPTTLVReader is a pull-style cursor over TTLV-encoded items,
+ * which reads incrementally from an InputStream or a
+ * ReadableByteChannel. Only the header of an item is read by next().
+ * Its value is read on demand or skipped, and a structure is either
+ * entered to read its children or skipped as a whole. The caller can
+ * inspect a message header before the rest of the message has
+ * arrived, and stream a large value without buffering it.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.process.decoder.KMIPUnexpectedTypeException;
+
+/**
+ * Reads TTLV-encoded items one after the other. A typical use is:
+ * <pre>
+ * KMIPTTLVReader reader = new KMIPTTLVReader(in);
+ * reader.next();					// Request Message
+ * reader.enterStructure();
+ * reader.next();					// Request Header
+ * reader.enterStructure();
+ * while(reader.hasNext()){
+ *     if(reader.next() == EnumTag.BatchCount){
+ *         int batchCount = reader.readInteger();
+ *     }
+ * }
+ * reader.exitStructure();
+ * </pre>
+ * The reader reads ahead into an internal buffer, so the underlying stream
+ * must only be read through the reader after it has been created.
+ */
+public class KMIPTTLVReader implements Closeable {
+
+	private static final int TTL_SIZE = 8;
+	private static final int BUFFER_SIZE = 8192;
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+
+	private final InputStream in;
+	private final byte[] buffer;
+	private int bufferPos;
+	private int bufferLimit;
+	private long position;
+
+	// the ends of the entered structures
+	private long[] ends = new long[8];
+	private int depth;
+
+	// the item the reader is positioned on
+	private boolean hasItem;
+	private int tag;
+	private int type;
+	private int length;
+	private long valueStart;
+	private long itemEnd;
+
+	public KMIPTTLVReader(InputStream in) {
+		this(in, BUFFER_SIZE);
+	}
+
+	public KMIPTTLVReader(InputStream in, int bufferSize) {
+		this.in = in;
+		this.buffer = new byte[Math.max(bufferSize, TTL_SIZE)];
+	}
+
+	public KMIPTTLVReader(ReadableByteChannel channel) {
+		this(Channels.newInputStream(channel));
+	}
+
+	/**
+	 * @return		<code>true</code> if the entered structure contains another item, or
+	 * 				at the top level, if the stream is not at its end
+	 */
+	public boolean hasNext() throws IOException {
+		long next = hasItem ? itemEnd : position;
+		if(depth > 0){
+			return next < ends[depth - 1];
+		}
+		skipTo(next);
+		return fill(1);
+	}
+
+	/**
+	 * Skips what is left of the current item and reads the header of the next one.
+	 *
+	 * @return		the tag of the next item
+	 * @throws EOFException	if the stream ends before the header of the next item
+	 * @throws IOException	if the next item does not fit into the entered structure
+	 */
+	public int next() throws IOException {
+		if(!hasNext()){
+			throw new EOFException(depth > 0 ? "No more items in the structure" : "No more items in the stream");
+		}
+		skipTo(hasItem ? itemEnd : position);
+		hasItem = false;
+
+		if(!fill(TTL_SIZE)){
+			throw new EOFException("The stream ends within the header of an item");
+		}
+		tag = ((buffer[bufferPos] & 0xFF) << 16) | ((buffer[bufferPos + 1] & 0xFF) << 8) | (buffer[bufferPos + 2] & 0xFF);
+		type = buffer[bufferPos + 3] & 0xFF;
+		length = ((buffer[bufferPos + 4] & 0xFF) << 24) | ((buffer[bufferPos + 5] & 0xFF) << 16) | ((buffer[bufferPos + 6] & 0xFF) << 8) | (buffer[bufferPos + 7] & 0xFF);
+		bufferPos += TTL_SIZE;
+		position += TTL_SIZE;
+
+		if(length < 0){
+			throw new IOException("Invalid length " + (length & 0xFFFFFFFFL) + " of " + getTagName());
+		}
+		valueStart = position;
+		itemEnd = valueStart + (type == EnumType.Structure ? length : paddedLength(length));
+		if(depth > 0 && itemEnd > ends[depth - 1]){
+			throw new IOException(getTagName() + " exceeds the structure it is contained in");
+		}
+		hasItem = true;
+		return tag;
+	}
+
+	public int getTag() {
+		checkItem();
+		return tag;
+	}
+
+	public int getType() {
+		checkItem();
+		return type;
+	}
+
+	/**
+	 * @return		the length of the value of the current item, without padding
+	 */
+	public int getLength() {
+		checkItem();
+		return length;
+	}
+
+	/**
+	 * @return		the number of structures, which have been entered
+	 */
+	public int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * @return		the number of bytes read from the stream, including skipped ones
+	 */
+	public long getPosition() {
+		return position;
+	}
+
+	/**
+	 * Enters the current item, which has to be a structure. The next call of
+	 * <code>next()</code> reads the header of its first child.
+	 */
+	public void enterStructure() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.Structure);
+		checkValueUnread();
+		if(depth == ends.length){
+			ends = Arrays.copyOf(ends, depth << 1);
+		}
+		ends[depth++] = itemEnd;
+		hasItem = false;
+	}
+
+	/**
+	 * Skips the remaining children of the entered structure. The reader is
+	 * positioned after the structure afterwards.
+	 */
+	public void exitStructure() throws IOException {
+		if(depth == 0){
+			throw new IllegalStateException("No structure has been entered");
+		}
+		skipTo(ends[--depth]);
+		hasItem = false;
+	}
+
+	/**
+	 * Skips the value of the current item, or the whole structure if it has not been entered.
+	 */
+	public void skipValue() throws IOException {
+		checkItem();
+		skipTo(itemEnd);
+		hasItem = false;
+	}
+
+	/**
+	 * @return		the value of the current item without its padding
+	 */
+	public byte[] readValue() throws IOException {
+		checkValueUnread();
+		byte[] value = new byte[length];
+		readFully(value, 0, length);
+		skipTo(itemEnd);
+		hasItem = false;
+		return value;
+	}
+
+	/**
+	 * Returns the whole current item, with its tag, type, length and padded value, as it
+	 * has been encoded, e.g. to decode it with the <code>KMIPBufferDecoder</code> or to forward it.
+	 */
+	public byte[] readEncodedItem() throws IOException {
+		checkValueUnread();
+		int valueLength = (int) (itemEnd - valueStart);
+		byte[] item = new byte[TTL_SIZE + valueLength];
+		item[0] = (byte) (tag >> 16);
+		item[1] = (byte) (tag >> 8);
+		item[2] = (byte) tag;
+		item[3] = (byte) type;
+		item[4] = (byte) (length >> 24);
+		item[5] = (byte) (length >> 16);
+		item[6] = (byte) (length >> 8);
+		item[7] = (byte) length;
+		readFully(item, TTL_SIZE, valueLength);
+		hasItem = false;
+		return item;
+	}
+
+	/**
+	 * Returns a stream over the value of the current item, so a large byte string
+	 * does not have to be held in memory. The stream has to be read or abandoned
+	 * before the reader is used again; the padding is skipped by the next call
+	 * of the reader.
+	 */
+	public InputStream openValueStream() throws IOException {
+		checkValueUnread();
+		final long end = valueStart + length;
+		return new InputStream() {
+			@Override
+			public int read() throws IOException {
+				if(position >= end || !fill(1)){
+					return -1;
+				}
+				position++;
+				return buffer[bufferPos++] & 0xFF;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				if(len == 0){
+					return 0;
+				}
+				if(position >= end || !fill(1)){
+					return -1;
+				}
+				int n = (int) Math.min(Math.min(len, end - position), bufferLimit - bufferPos);
+				System.arraycopy(buffer, bufferPos, b, off, n);
+				bufferPos += n;
+				position += n;
+				return n;
+			}
+
+			@Override
+			public int available() {
+				return (int) Math.max(0, Math.min(end - position, bufferLimit - bufferPos));
+			}
+		};
+	}
+
+	public int readInteger() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.Integer);
+		return (int) readNumber(4);
+	}
+
+	public long readLongInteger() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.LongInteger);
+		return readNumber(8);
+	}
+
+	public int readEnumeration() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.Enumeration);
+		return (int) readNumber(4);
+	}
+
+	public boolean readBoolean() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.Boolean);
+		return readNumber(8) != 0;
+	}
+
+	public long readDateTime() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.DateTime);
+		return readNumber(8);
+	}
+
+	public long readInterval() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.Interval);
+		return readNumber(4) & 0xFFFFFFFFL;
+	}
+
+	public String readTextString() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.TextString);
+		return new String(readValue(), CHARSET);
+	}
+
+	public byte[] readByteString() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.ByteString);
+		return readValue();
+	}
+
+	public byte[] readBigInteger() throws IOException, KMIPUnexpectedTypeException {
+		checkType(EnumType.BigInteger);
+		return readValue();
+	}
+
+	public void close() throws IOException {
+		in.close();
+	}
+
+	private long readNumber(int size) throws IOException {
+		checkValueUnread();
+		if(length != size){
+			throw new IOException("Invalid length " + length + " of " + getTagName() + ", " + size + " expected");
+		}
+		if(!fill(size)){
+			throw new EOFException("The stream ends within the value of " + getTagName());
+		}
+		long val = 0;
+		for(int i = 0; i < size; i++){
+			val = (val << 8) | (buffer[bufferPos++] & 0xFF);
+		}
+		position += size;
+		skipTo(itemEnd);
+		hasItem = false;
+		return val;
+	}
+
+	private void readFully(byte[] b, int off, int len) throws IOException {
+		while(len > 0){
+			if(!fill(1)){
+				throw new EOFException("The stream ends within the value of " + getTagName());
+			}
+			int n = Math.min(len, bufferLimit - bufferPos);
+			System.arraycopy(buffer, bufferPos, b, off, n);
+			bufferPos += n;
+			position += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	private void skipTo(long target) throws IOException {
+		while(position < target){
+			if(!fill(1)){
+				throw new EOFException("The stream ends within " + (hasItem ? getTagName() : "a structure"));
+			}
+			int n = (int) Math.min(target - position, bufferLimit - bufferPos);
+			bufferPos += n;
+			position += n;
+		}
+	}
+
+	/**
+	 * Makes sure, that at least <code>n</code> bytes are buffered.
+	 *
+	 * @return		<code>false</code> if the stream ends before
+	 */
+	private boolean fill(int n) throws IOException {
+		if(bufferLimit - bufferPos >= n){
+			return true;
+		}
+		System.arraycopy(buffer, bufferPos, buffer, 0, bufferLimit - bufferPos);
+		bufferLimit -= bufferPos;
+		bufferPos = 0;
+		while(bufferLimit < n){
+			int read = in.read(buffer, bufferLimit, buffer.length - bufferLimit);
+			if(read == -1){
+				return false;
+			}
+			bufferLimit += read;
+		}
+		return true;
+	}
+
+	private void checkItem() {
+		if(!hasItem){
+			throw new IllegalStateException("The reader is not positioned on an item, call next() first");
+		}
+	}
+
+	private void checkValueUnread() {
+		checkItem();
+		if(position != valueStart){
+			throw new IllegalStateException("The value of " + getTagName() + " has already been read");
+		}
+	}
+
+	private void checkType(int expected) throws KMIPUnexpectedTypeException {
+		checkItem();
+		if(type != expected){
+			throw new KMIPUnexpectedTypeException(getTagName(), EnumType.valueOf(expected).getKey());
+		}
+	}
+
+	private String getTagName() {
+		return String.format("tag 0x%06X", tag);
+	}
+
+	private static long paddedLength(int length) {
+		return (length + 7L) & ~7L;
+	}
+
+}
@@ -0,0 +1,36 @@
+/**
+ * KMIPThreadSafeCodec.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPThreadSafeCodec marks an encoder or a decoder, which keeps
+ * no state between the messages it processes.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process;
+
+/**
+ * Marks an implementation of the <code>KMIPEncoderInterface</code> or the
+ * <code>KMIPDecoderInterface</code>, which may be called by several threads at
+ * the same time. The <code>KMIPEncoderPool</code> and the <code>KMIPDecoderPool</code>
+ * hand out a single shared instance of such a codec, instead of pooling instances.
+ */
+public interface KMIPThreadSafeCodec {
+
+}
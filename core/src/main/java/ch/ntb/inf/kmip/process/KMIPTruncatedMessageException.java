@@ -0,0 +1,49 @@
+/**
+ * KMIPTruncatedMessageException.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * Concrete Exception in conjunction with the KMIPMessageFraming:
+ * Truncated Message Exception
+ * Appears if the stream ends within a message. It keeps the bytes
+ * of the message, which have been read before.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process;
+
+import java.io.EOFException;
+
+public class KMIPTruncatedMessageException extends EOFException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final byte[] partialMessage;
+
+	public KMIPTruncatedMessageException(byte[] partialMessage) {
+		super("The stream ends within a message, after " + partialMessage.length + " bytes");
+		this.partialMessage = partialMessage;
+	}
+
+	/**
+	 * @return		the bytes of the message, which have been read before the end of the stream
+	 */
+	public byte[] getPartialMessage() {
+		return partialMessage;
+	}
+}
@@ -0,0 +1,1415 @@
+/**
+ * KMIPBufferDecoder.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPBufferDecoder decodes the received KMIP-Message and returns
+ * a KMIPContainer with KMIPObjects, like the KMIPDecoder. Instead of
+ * walking an ArrayList<Byte> through nested subLists, it reads the
+ * TTLV-encoded message straight from a ByteBuffer or byte[] with
+ * absolute offsets, so no byte is boxed or copied while decoding.
+ * Each decode method gets the offset of its TTLV item and the next
+ * item is found by its length, so no parse state is kept between
+ * calls.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.decoder;
+
+import ch.ntb.inf.kmip.attributes.*;
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.container.KMIPEncodedManagedObject;
+import ch.ntb.inf.kmip.kmipenum.*;
+import ch.ntb.inf.kmip.objects.*;
+import ch.ntb.inf.kmip.objects.base.*;
+import ch.ntb.inf.kmip.objects.managed.*;
+import ch.ntb.inf.kmip.operationparameters.*;
+import ch.ntb.inf.kmip.process.EnumStaticValues;
+import ch.ntb.inf.kmip.process.KMIPTTLVReader;
+import ch.ntb.inf.kmip.process.KMIPThreadSafeCodec;
+import ch.ntb.inf.kmip.types.*;
+import ch.ntb.inf.kmip.utils.KMIPHex;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+
+
+public class KMIPBufferDecoder implements KMIPDecoderInterface, KMIPThreadSafeCodec{
+
+	private static final int TAG_SIZE = 3;
+	private static final int TYPE_SIZE = 1;
+	private static final int LENGTH_SIZE = 4;
+	private static final int TTL_SIZE = TAG_SIZE + TYPE_SIZE + LENGTH_SIZE;
+	private static final String CHARSET = "UTF-8";
+
+	private final boolean lazyManagedObjects;
+
+	public KMIPBufferDecoder() {
+		this(false);
+	}
+
+	/**
+	 * @param lazyManagedObjects	: if <code>true</code>, a Managed Object in a payload is not decoded,
+	 * 								but set as <code>KMIPEncodedManagedObject</code>, which refers to the
+	 * 								message. It is decoded by the first call of <code>KMIPBatch.getManagedObject()</code>,
+	 * 								so the message must not be changed until then.
+	 */
+	public KMIPBufferDecoder(boolean lazyManagedObjects) {
+		this.lazyManagedObjects = lazyManagedObjects;
+	}
+
+	public KMIPContainer decodeRequest(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return decodeRequest(KMIPUtils.toByteArray(al));
+	}
+
+	public KMIPContainer decodeResponse(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return decodeResponse(KMIPUtils.toByteArray(al));
+	}
+
+	/**
+	 * Decodes a KMIP-Request-Message stored in a <code>byte[]</code>.
+	 *
+	 * @param b 	: the TTLV-encoded request
+	 * @return		<code>KMIPContainer</code>
+	 */
+	public KMIPContainer decodeRequest(byte[] b) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return decodeRequest(ByteBuffer.wrap(b));
+	}
+
+	/**
+	 * Decodes a KMIP-Response-Message stored in a <code>byte[]</code>.
+	 *
+	 * @param b 	: the TTLV-encoded response
+	 * @return		<code>KMIPContainer</code>
+	 */
+	public KMIPContainer decodeResponse(byte[] b) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return decodeResponse(ByteBuffer.wrap(b));
+	}
+
+	/**
+	 * Decodes the KMIP-Request-Message, on which the reader is positioned by <code>next()</code>.
+	 * The message is read from the stream into a single <code>byte[]</code>.
+	 *
+	 * @param reader	: the reader, positioned on the Request Message
+	 * @return			<code>KMIPContainer</code>
+	 */
+	public KMIPContainer decodeRequest(KMIPTTLVReader reader) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException, IOException {
+		return decodeRequest(reader.readEncodedItem());
+	}
+
+	/**
+	 * Decodes the KMIP-Response-Message, on which the reader is positioned by <code>next()</code>.
+	 * The message is read from the stream into a single <code>byte[]</code>.
+	 *
+	 * @param reader	: the reader, positioned on the Response Message
+	 * @return			<code>KMIPContainer</code>
+	 */
+	public KMIPContainer decodeResponse(KMIPTTLVReader reader) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException, IOException {
+		return decodeResponse(reader.readEncodedItem());
+	}
+
+	/**
+	 * Decodes a KMIP-Request-Message, which starts at the current position of the buffer.
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer	: the TTLV-encoded request
+	 * @return			<code>KMIPContainer</code>
+	 */
+	public KMIPContainer decodeRequest(ByteBuffer buffer) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		ByteBuffer b = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		int pos = b.position();
+		KMIPContainer container = new KMIPContainer();
+		checkTagAndType(EnumTag.RequestMessage, EnumType.Structure, b, pos);
+
+		// Request Header
+		int offset = pos + TTL_SIZE;
+		decodeRequestHeader(b, offset, container);
+		offset = next(b, offset);
+
+		// Batch Items
+		for(int i = 0; i < container.getBatchCount(); i++){
+			decodeRequestBatchItem(b, offset, container.getBatch(i));
+			offset = next(b, offset);
+		}
+
+		return container;
+	}
+
+	/**
+	 * Decodes a KMIP-Response-Message, which starts at the current position of the buffer.
+	 * The position of the buffer is not changed.
+	 *
+	 * @param buffer	: the TTLV-encoded response
+	 * @return			<code>KMIPContainer</code>
+	 */
+	public KMIPContainer decodeResponse(ByteBuffer buffer) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		ByteBuffer b = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		int pos = b.position();
+		KMIPContainer container = new KMIPContainer();
+		checkTagAndType(EnumTag.ResponseMessage, EnumType.Structure, b, pos);
+
+		// Response Header
+		int offset = pos + TTL_SIZE;
+		decodeResponseHeader(b, offset, container);
+		offset = next(b, offset);
+
+		// Batch Items
+		for(int i = 0; i < container.getBatchCount(); i++){
+			decodeResponseBatchItem(b, offset, container.getBatch(i));
+			offset = next(b, offset);
+		}
+
+		return container;
+	}
+
+	private void decodeRequestHeader(ByteBuffer b, int pos, KMIPContainer container) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException{
+		checkTagAndType(EnumTag.RequestHeader, EnumType.Structure, b, pos);
+
+		// Protocol Version 		(Required)
+		int offset = pos + TTL_SIZE;
+		decodeProtocolVersion(b, offset);
+		offset = next(b, offset);
+
+		// Evaluate Optional Objects
+		int tag = tag(b, offset);
+		int i = 0, numberOfOptions = 6;
+		while(tag != EnumTag.BatchCount && i < numberOfOptions){
+			switch(tag){
+				case EnumTag.MaximumResponseSize:
+					// Maximum Response Size 	(Optional)
+					checkTagAndType(EnumTag.MaximumResponseSize, EnumType.Integer, b, offset);
+					container.setMaximumResponseSize(new KMIPInteger(readInteger(b, offset)));
+					break;
+				case EnumTag.AsynchronousIndicator:
+					// Asynchronous Indicator	(Optional)
+					checkTagAndType(EnumTag.AsynchronousIndicator, EnumType.Boolean, b, offset);
+					container.setAsynchronousIndicator(new KMIPBoolean(readLong(b, offset)));
+					break;
+				case EnumTag.Authentication:
+					// Authentication			(Optional)
+					decodeAuthentication(b, offset, container);
+					break;
+				case EnumTag.BatchErrorContinuationOption:
+					// Batch Error Continuation	(Optional)
+					checkTagAndType(EnumTag.BatchErrorContinuationOption, EnumType.Enumeration, b, offset);
+					container.setBatchErrorContinuationOption(new EnumBatchError(readInteger(b, offset)));
+					break;
+				case EnumTag.BatchOrderOption:
+					// Batch Order Option		(Optional)
+					checkTagAndType(EnumTag.BatchOrderOption, EnumType.Boolean, b, offset);
+					container.setBatchOrderOption(new KMIPBoolean(readLong(b, offset)));
+					break;
+				case EnumTag.TimeStamp:
+					// Time Stamp				(Optional)
+					decodeTimeStamp(b, offset, container);
+					break;
+				default:
+					// Unexpected Tag
+					throw new KMIPUnexpectedTagException(tag);
+			}
+			offset = next(b, offset);
+			tag = tag(b, offset);
+			i++;
+		}
+
+		// Batch Count 				(Required)
+		decodeBatchCount(b, offset, container);
+	}
+
+	private void decodeResponseHeader(ByteBuffer b, int pos, KMIPContainer container) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException{
+		checkTagAndType(EnumTag.ResponseHeader, EnumType.Structure, b, pos);
+
+		// Protocol Version (Required)
+		int offset = pos + TTL_SIZE;
+		decodeProtocolVersion(b, offset);
+		offset = next(b, offset);
+
+		// Time Stamp (Required)
+		decodeTimeStamp(b, offset, container);
+		offset = next(b, offset);
+
+		// Batch Count (Required)
+		decodeBatchCount(b, offset, container);
+	}
+
+	private void decodeProtocolVersion(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException{
+		checkTagAndType(EnumTag.ProtocolVersion, EnumType.Structure, b, pos);
+		int offset = pos + TTL_SIZE;
+
+		checkTagAndType(EnumTag.ProtocolVersionMajor, EnumType.Integer, b, offset);
+		if(!EnumStaticValues.ProtocolVersionMajor.hasValue(readInteger(b, offset))){
+			throw new KMIPProtocolVersionException("Protocol Version Major inconsistent, " + EnumStaticValues.ProtocolVersionMajor.getValues() + " expected");
+		}
+		offset = next(b, offset);
+
+		checkTagAndType(EnumTag.ProtocolVersionMinor, EnumType.Integer, b, offset);
+		if(!EnumStaticValues.ProtocolVersionMinor.hasValue(readInteger(b, offset))){
+			throw new KMIPProtocolVersionException("Protocol Version Minor inconsistent, " + EnumStaticValues.ProtocolVersionMinor.getValues() + " expected");
+		}
+	}
+
+	private void decodeAuthentication(ByteBuffer b, int pos, KMIPContainer container) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, UnsupportedEncodingException{
+		checkTagAndType(EnumTag.Authentication, EnumType.Structure, b, pos);
+		container.setAuthentication(new Authentication(decodeCredential(b, pos + TTL_SIZE)));
+	}
+
+	private Credential decodeCredential(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, UnsupportedEncodingException{
+		checkTagAndType(EnumTag.Credential, EnumType.Structure, b, pos);
+		Credential credential = new Credential();
+		int offset = pos + TTL_SIZE;
+		checkTagAndType(EnumTag.CredentialType, EnumType.Enumeration, b, offset);
+		credential.setCredentialType(new EnumCredentialType(readInteger(b, offset)));
+		decodeCredentialValue(b, next(b, offset), credential);
+		return credential;
+	}
+
+	private void decodeCredentialValue(ByteBuffer b, int pos, Credential credential) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException{
+		if(credential.getCredentialType().getValue() == EnumCredentialType.UsernameAndPassword){
+			// Structure
+			checkTagAndType(EnumTag.CredentialValue, EnumType.Structure, b, pos);
+			int end = end(b, pos);
+
+			// Username (Required)
+			int offset = pos + TTL_SIZE;
+			checkTagAndType(EnumTag.Username, EnumType.TextString, b, offset);
+			credential.getCredentialValue().setUsername(decodeKMIPTextString(b, offset));
+			offset = next(b, offset);
+
+			// Password (Optional)
+			if(offset < end && tag(b, offset) == EnumTag.Password){
+				checkTagAndType(EnumTag.Password, EnumType.TextString, b, offset);
+				credential.getCredentialValue().setPassword(decodeKMIPTextString(b, offset));
+			}
+		}
+		// Extensions come here
+		else{
+			// Unknown CredentialType
+			throw new KMIPUnexpectedTypeException("CredentialType","UsernameAndPassowrd");
+		}
+	}
+
+	private void decodeTimeStamp(ByteBuffer b, int pos, KMIPContainer container) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException{
+		checkTagAndType(EnumTag.TimeStamp, EnumType.DateTime, b, pos);
+		container.setTimeStamp(new KMIPDateTime(readLong(b, pos)));
+	}
+
+	private void decodeBatchCount(ByteBuffer b, int pos, KMIPContainer container) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException{
+		checkTagAndType(EnumTag.BatchCount, EnumType.Integer, b, pos);
+		container.createBatches(readInteger(b, pos));
+	}
+
+	private void decodeRequestBatchItem(ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException{
+		checkTagAndType(EnumTag.BatchItem, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Operation (Required)
+		decodeOperation(b, offset, batch);
+		offset = next(b, offset);
+
+		// Unique Batch Item ID (Optional, Reqired if Batch Count > 1)
+		if(offset < end && tag(b, offset) == EnumTag.UniqueBatchItemID){
+			decodeUniqueBatchItemID(b, offset, batch);
+			offset = next(b, offset);
+		}
+
+		// Request Payload (Required)
+		decodePayload(EnumTag.RequestPayload, b, offset, batch);
+		offset = next(b, offset);
+
+		// Message Extension (Optional)
+		if(offset < end){
+			decodeMessageExtension(b, offset, batch);
+		}
+	}
+
+	private void decodeResponseBatchItem(ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException{
+		checkTagAndType(EnumTag.BatchItem, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Operation 			(Required)
+		if(tag(b, offset) == EnumTag.Operation){
+			decodeOperation(b, offset, batch);
+			offset = next(b, offset);
+		}
+
+		// Unique Batch Item ID	(Optional, Reqired if Batch Count > 1)
+		if(offset < end && tag(b, offset) == EnumTag.UniqueBatchItemID){
+			decodeUniqueBatchItemID(b, offset, batch);
+			offset = next(b, offset);
+		}
+
+		// Result Status 		(Required)
+		checkTagAndType(EnumTag.ResultStatus, EnumType.Enumeration, b, offset);
+		batch.setResultStatus(new EnumResultStatus(readInteger(b, offset)));
+		offset = next(b, offset);
+
+		// Result Reason		(Optional -> Required if ResultSatus is "Failure")
+		if(offset < end && tag(b, offset) == EnumTag.ResultReason){
+			checkTagAndType(EnumTag.ResultReason, EnumType.Enumeration, b, offset);
+			batch.setResultReason(new EnumResultReason(readInteger(b, offset)));
+			offset = next(b, offset);
+		}
+
+		// Result Message		(Optional if ResultStatus is not "Pending" or "Success")
+		if(offset < end && tag(b, offset) == EnumTag.ResultMessage){
+			checkTagAndType(EnumTag.ResultMessage, EnumType.TextString, b, offset);
+			batch.setResultMessage(decodeKMIPTextString(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Asynchronous Correlation Value	(Required if ResultStatus is "Pending")
+		if(offset < end && tag(b, offset) == EnumTag.AsynchronousCorrelationValue){
+			batch.setAsynchronousCorrelationValue(decodeAsynchronousCorrelationValue(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Response Payload 	(Required if not failure)
+		if(offset < end && tag(b, offset) == EnumTag.ResponsePayload){
+			decodePayload(EnumTag.ResponsePayload, b, offset, batch);
+			offset = next(b, offset);
+		}
+
+		// Message Extension	(Optional)
+		if(offset < end){
+			decodeMessageExtension(b, offset, batch);
+		}
+	}
+
+	private void decodeOperation(ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException{
+		checkTagAndType(EnumTag.Operation, EnumType.Enumeration, b, pos);
+		batch.setOperation(new EnumOperation(readInteger(b, pos)));
+	}
+
+	private void decodeUniqueBatchItemID(ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, KMIPPaddingExpectedException{
+		checkTagAndType(EnumTag.UniqueBatchItemID, EnumType.ByteString, b, pos);
+		batch.setUniqueBatchItemID(decodeKMIPByteString(b, pos));
+	}
+
+	private KMIPByteString decodeAsynchronousCorrelationValue(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, KMIPPaddingExpectedException {
+		checkTagAndType(EnumTag.AsynchronousCorrelationValue, EnumType.ByteString, b, pos);
+		return decodeKMIPByteString(b, pos);
+	}
+
+	/**
+	 * Decodes the Request or Response Payload at <code>pos</code> into the batch.
+	 */
+	protected void decodePayload(int tag, ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		checkTagAndType(tag, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		for(int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)){
+			decodePayloadElement(b, offset, batch);
+		}
+	}
+
+	private void decodePayloadElement(ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException{
+		int tag = tag(b, pos);
+
+		switch(tag){
+			case EnumTag.ApplicationNamespace:
+				checkType(EnumTag.ApplicationNamespace, EnumType.TextString, b, pos);
+				batch.addKMIPType(decodeKMIPTextString(b, pos));
+				break;
+
+			case EnumTag.AsynchronousCorrelationValue:
+				batch.addAttribute(new AsynchronousCorrelationValue(decodeAsynchronousCorrelationValue(b, pos)));
+				break;
+
+			case EnumTag.Attribute:
+				batch.addAttribute(decodeAttribute(b, pos));
+				break;
+
+			case EnumTag.AttributeIndex:
+				checkTagAndType(EnumTag.AttributeIndex, EnumType.Integer, b, pos);
+				batch.getAttributes().get(batch.getAttributes().size()-1).setAttributeIndex(new KMIPInteger(readInteger(b, pos)));
+				break;
+
+			case EnumTag.AttributeName:
+				try{
+					KMIPTextString attributeName = decodeAttributeName(b, pos);
+	                batch.addAttribute(loadAttributeInstance(attributeName.getValue()));
+				} catch(Exception e){
+					e.printStackTrace();
+				}
+				break;
+
+			case EnumTag.Certificate:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.CertificateRequestType:
+				checkTagAndType(EnumTag.CertificateRequestType, EnumType.Enumeration, b, pos);
+				batch.addKMIPType(new EnumCertificateRequestType(readInteger(b, pos)));
+				break;
+
+			case EnumTag.CertificateRequest:
+				checkTagAndType(EnumTag.CertificateRequest, EnumType.ByteString, b, pos);
+				batch.addAttribute(new CertificateRequest(decodeKMIPByteString(b, pos)));
+				break;
+
+			case EnumTag.CancellationResult:
+				checkTagAndType(EnumTag.CancellationResult, EnumType.Enumeration, b, pos);
+				batch.addKMIPType(new EnumCancellationResult(readInteger(b, pos)));
+				break;
+
+			case EnumTag.CompromiseOccurrenceDate:
+				checkTagAndType(EnumTag.CompromiseOccurrenceDate, EnumType.DateTime, b, pos);
+				batch.addAttribute(new CompromiseOccurrenceDate(new KMIPDateTime(readLong(b, pos))));
+				break;
+
+			case EnumTag.CommonTemplateAttribute:
+				checkTagAndType(EnumTag.CommonTemplateAttribute, EnumType.Structure, b, pos);
+				batch.addTemplateAttributeStructure(decodeTemplateAttributeStructure(b, pos, new CommonTemplateAttribute()));
+				break;
+
+			case EnumTag.CryptographicUsageMask:
+				checkTagAndType(EnumTag.CryptographicUsageMask, EnumType.Integer, b, pos);
+				batch.addAttribute(new CryptographicUsageMask(new KMIPInteger(readInteger(b, pos))));
+				break;
+
+			case EnumTag.DerivationMethod:
+				checkTagAndType(EnumTag.DerivationMethod, EnumType.Enumeration, b, pos);
+				batch.addKMIPType(new EnumDerivationMethod(readInteger(b, pos)));
+				break;
+
+			case EnumTag.DerivationParameters:
+				batch.setDerivationParameters(decodeDerivationParameters(b, pos));
+				break;
+
+			case EnumTag.KeyFormatType:
+				checkTagAndType(EnumTag.KeyFormatType, EnumType.Enumeration, b, pos);
+				batch.addKMIPType(new EnumKeyFormatType(readInteger(b, pos)));
+				break;
+
+			case EnumTag.KeyCompressionType:
+				batch.addKMIPType(decodeKeyCompressionType(b, pos));
+				break;
+
+			case EnumTag.KeyWrappingSpecification:
+				batch.setKeyWrappingSpecification(decodeKeyWrappingSpecification(b, pos));
+				break;
+
+			case EnumTag.LastChangeDate:
+				checkTagAndType(EnumTag.LastChangeDate, EnumType.DateTime, b, pos);
+				batch.addAttribute(new LastChangeDate(new KMIPDateTime(readLong(b, pos))));
+				break;
+
+			case EnumTag.LeaseTime:
+				checkType(EnumTag.LeaseTime, EnumType.Interval, b, pos);
+				batch.addAttribute(new LeaseTime(new KMIPInterval(readInteger(b, pos))));
+				break;
+
+			case EnumTag.MaximumItems:
+				checkTagAndType(EnumTag.MaximumItems, EnumType.Integer, b, pos);
+				batch.addAttribute(new MaximumItems(new KMIPInteger(readInteger(b, pos))));
+				break;
+
+			case EnumTag.ObjectType:
+				checkType(EnumTag.ObjectType, EnumType.Enumeration, b, pos);
+				batch.addAttribute(new ObjectType(new EnumObjectType(readInteger(b, pos))));
+				break;
+
+			case EnumTag.Offset:
+				checkType(EnumTag.Offset, EnumType.Interval, b, pos);
+				batch.addAttribute(new Offset(new KMIPInterval(readInteger(b, pos))));
+				break;
+
+			case EnumTag.OpaqueObject:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.Operation:
+				checkTagAndType(EnumTag.Operation, EnumType.Enumeration, b, pos);
+				batch.addAttribute(new QueryOperation(new EnumOperation(readInteger(b, pos))));
+				break;
+
+			case EnumTag.PrivateKey:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.PrivateKeyTemplateAttribute:
+				checkTagAndType(EnumTag.PrivateKeyTemplateAttribute, EnumType.Structure, b, pos);
+				batch.addTemplateAttributeStructure(decodeTemplateAttributeStructure(b, pos, new PrivateKeyTemplateAttribute()));
+				break;
+
+			case EnumTag.PublicKey:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.PublicKeyTemplateAttribute:
+				checkTagAndType(EnumTag.PublicKeyTemplateAttribute, EnumType.Structure, b, pos);
+				batch.addTemplateAttributeStructure(decodeTemplateAttributeStructure(b, pos, new PublicKeyTemplateAttribute()));
+				break;
+
+			case EnumTag.PutFunction:
+				checkTagAndType(EnumTag.PutFunction, EnumType.Enumeration, b, pos);
+				batch.addKMIPType(new EnumPutFunction(readInteger(b, pos)));
+				break;
+
+			case EnumTag.QueryFunction:
+				checkTagAndType(EnumTag.QueryFunction, EnumType.Enumeration, b, pos);
+				batch.addAttribute(new QueryFunction(new EnumQueryFunction(readInteger(b, pos))));
+				break;
+
+			case EnumTag.ReplacedUniqueIdentifier:
+				checkType(EnumTag.ReplacedUniqueIdentifier, EnumType.TextString, b, pos);
+				batch.addAttribute(new ReplacedUniqueIdentifier(decodeKMIPTextString(b, pos)));
+				break;
+
+			case EnumTag.RevocationReason:
+				batch.addAttribute(decodeRevocationReason(b, pos));
+				break;
+
+			case EnumTag.SecretData:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.ServerInformation:
+				checkTagAndType(EnumTag.ServerInformation, EnumType.TextString, b, pos);
+				batch.addKMIPType(decodeKMIPTextString(b, pos));
+				break;
+
+			case EnumTag.SplitKey:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.StorageStatusMask:
+				checkTagAndType(EnumTag.StorageStatusMask, EnumType.Integer, b, pos);
+				batch.addAttribute(new StorageStatusMask(new KMIPInteger(readInteger(b, pos))));
+				break;
+
+			case EnumTag.SymmetricKey:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.Template:
+				setManagedObject(b, pos, batch);
+				break;
+
+			case EnumTag.TemplateAttribute:
+				checkTagAndType(EnumTag.TemplateAttribute, EnumType.Structure, b, pos);
+				batch.addTemplateAttributeStructure(decodeTemplateAttributeStructure(b, pos, new TemplateAttribute()));
+				break;
+
+			case EnumTag.UniqueIdentifier:
+			case EnumTag.PrivateKeyUniqueIdentifier:
+			case EnumTag.PublicKeyUniqueIdentifier:
+				batch.addAttribute(decodeUniqueIdentifier(b, pos));
+				break;
+
+			case EnumTag.UsageLimitsCount:
+				checkTagAndType(EnumTag.UsageLimitsCount, EnumType.LongInteger, b, pos);
+				UsageLimits usageLimits = new UsageLimits();
+				usageLimits.setUsageLimitsCount(new KMIPLongInteger(readLong(b, pos)));
+				batch.addAttribute(usageLimits);
+				break;
+
+			case EnumTag.ValidityDate:
+				checkTagAndType(EnumTag.ValidityDate, EnumType.DateTime, b, pos);
+				batch.addAttribute(new ValidityDate(new KMIPDateTime(readLong(b, pos))));
+				break;
+
+			case EnumTag.ValidityIndicator:
+				checkTagAndType(EnumTag.ValidityIndicator, EnumType.Enumeration, b, pos);
+				batch.addKMIPType(new EnumValidityIndicator(readInteger(b, pos)));
+				break;
+
+			case EnumTag.VendorIdentification:
+				batch.addKMIPType(decodeVendorIdentification(b, pos));
+				break;
+
+			default:
+				throw new KMIPUnexpectedTagException(tag);
+		}
+	}
+
+	private EnumKeyCompressionType decodeKeyCompressionType(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, KMIPPaddingExpectedException {
+		checkTagAndType(EnumTag.KeyCompressionType, EnumType.Enumeration, b, pos);
+		return new EnumKeyCompressionType(readInteger(b, pos));
+	}
+
+	private KeyWrappingSpecification decodeKeyWrappingSpecification(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException {
+		checkTagAndType(EnumTag.KeyWrappingSpecification, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		KeyWrappingSpecification kws = new KeyWrappingSpecification();
+		int offset = pos + TTL_SIZE;
+		kws.setWrappingMethod(decodeWrappingMethod(b, offset));
+		offset = next(b, offset);
+
+		// Encryption Key Information
+		if(offset < end && tag(b, offset) == EnumTag.EncryptionKeyInformation){
+			kws.setEncryptionKeyInformation(decodeEncryptionKeyInformation(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Mac Signature Key Information
+		if(offset < end && tag(b, offset) == EnumTag.MACSignatureKeyInformation){
+			kws.setMacSignatureKeyInformation(decodeMACSignatureKeyInformation(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Attribute Name
+		while(offset < end && tag(b, offset) == EnumTag.AttributeName){
+			kws.setName(decodeAttributeName(b, offset));
+			offset = next(b, offset);
+		}
+
+		return kws;
+	}
+
+	private EnumWrappingMethod decodeWrappingMethod(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, KMIPPaddingExpectedException {
+		checkTagAndType(EnumTag.WrappingMethod, EnumType.Enumeration, b, pos);
+		return new EnumWrappingMethod(readInteger(b, pos));
+	}
+
+	private EncryptionKeyInformation decodeEncryptionKeyInformation(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException {
+		checkTagAndType(EnumTag.EncryptionKeyInformation, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		EncryptionKeyInformation eki = new EncryptionKeyInformation();
+
+		int offset = pos + TTL_SIZE;
+		eki.setUniqueIdentifier(decodeUniqueIdentifier(b, offset));
+		offset = next(b, offset);
+		if(offset < end){
+			eki.setCryptographicParameters(decodeCryptographicParameters(b, offset));
+		}
+		return eki;
+	}
+
+	private MACorSignatureKeyInformation decodeMACSignatureKeyInformation(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException {
+		checkTagAndType(EnumTag.MACSignatureKeyInformation, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		MACorSignatureKeyInformation macSigKeyInfo = new MACorSignatureKeyInformation();
+
+		int offset = pos + TTL_SIZE;
+		macSigKeyInfo.setUniqueIdentifier(decodeUniqueIdentifier(b, offset));
+		offset = next(b, offset);
+		if(offset < end){
+			macSigKeyInfo.setCryptographicParameters(decodeCryptographicParameters(b, offset));
+		}
+		return macSigKeyInfo;
+	}
+
+	private DerivationParameters decodeDerivationParameters(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException {
+		checkTagAndType(EnumTag.DerivationParameters, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		DerivationParameters dp = new DerivationParameters();
+		int offset = pos + TTL_SIZE;
+
+		// Cryptographic Parameters
+		if(offset < end && tag(b, offset) == EnumTag.CryptographicParameters){
+			dp.setCryptographicParameters(decodeCryptographicParameters(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Initialization Vector
+		if(offset < end && tag(b, offset) == EnumTag.InitializationVector){
+			checkTagAndType(EnumTag.InitializationVector, EnumType.ByteString, b, offset);
+			dp.setInitializationVector(decodeKMIPByteString(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Derivation Data
+		if(offset < end && tag(b, offset) == EnumTag.DerivationData){
+			checkTagAndType(EnumTag.DerivationData, EnumType.ByteString, b, offset);
+			dp.setDerivationData(decodeKMIPByteString(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Salt
+		if(offset < end && tag(b, offset) == EnumTag.Salt){
+			checkTagAndType(EnumTag.Salt, EnumType.ByteString, b, offset);
+			dp.setSalt(decodeKMIPByteString(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Iteration Count
+		if(offset < end && tag(b, offset) == EnumTag.IterationCount){
+			checkTagAndType(EnumTag.IterationCount, EnumType.Integer, b, offset);
+			dp.setIterationCount(new KMIPInteger(readInteger(b, offset)));
+		}
+
+		return dp;
+	}
+
+	private CryptographicParameters decodeCryptographicParameters(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, KMIPPaddingExpectedException {
+		checkTagAndType(EnumTag.CryptographicParameters, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		CryptographicParameters cp = new CryptographicParameters();
+		for(int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)){
+			int tag = tag(b, offset);
+			switch(tag){
+				case EnumTag.BlockCipherMode:
+					checkTagAndType(EnumTag.BlockCipherMode, EnumType.Enumeration, b, offset);
+					cp.setBlockCipherMode(new EnumBlockCipherMode(readInteger(b, offset)));
+					break;
+				case EnumTag.PaddingMethod:
+					checkTagAndType(EnumTag.PaddingMethod, EnumType.Enumeration, b, offset);
+					cp.setPaddingMethod(new EnumPaddingMethod(readInteger(b, offset)));
+					break;
+				case EnumTag.HashingAlgorithm:
+					checkTagAndType(EnumTag.HashingAlgorithm, EnumType.Enumeration, b, offset);
+					cp.setHashingAlgorithm(new EnumHashingAlgorithm(readInteger(b, offset)));
+					break;
+				case EnumTag.KeyRoleType:
+					checkTagAndType(EnumTag.KeyRoleType, EnumType.Enumeration, b, offset);
+					cp.setKeyRoleType(new EnumKeyRoleType(readInteger(b, offset)));
+					break;
+				default:
+					// Unknown Parameter -> Nothing to do
+					break;
+			}
+		}
+		return cp;
+	}
+
+	private TemplateAttributeStructure decodeTemplateAttributeStructure(ByteBuffer b, int pos, TemplateAttributeStructure tas) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		int end = end(b, pos);
+		for(int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)){
+			if(tag(b, offset) == EnumTag.Name){
+				tas.addName(decodeName(b, offset));
+			}
+			else{
+				tas.addAttribute(decodeAttribute(b, offset));
+			}
+		}
+		return tas;
+	}
+
+	private RevocationReason decodeRevocationReason(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, KMIPPaddingExpectedException, UnsupportedEncodingException {
+		checkTagAndType(EnumTag.RevocationReason, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		RevocationReason rr = new RevocationReason();
+
+		int offset = pos + TTL_SIZE;
+		checkType(EnumTag.RevocationReasonCode, EnumType.Enumeration, b, offset);
+		rr.setValue(Integer.toString(readInteger(b, offset)), "RevocationReasonCode");
+		offset = next(b, offset);
+
+		if(offset < end && tag(b, offset) == EnumTag.RevocationMessage){
+			checkType(EnumTag.RevocationMessage, EnumType.TextString, b, offset);
+			rr.setValue(readTextString(b, offset), "RevocationMessage");
+		}
+		return rr;
+	}
+
+	private UniqueIdentifier decodeUniqueIdentifier(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPPaddingExpectedException, UnsupportedEncodingException{
+		checkType(EnumTag.UniqueIdentifier, EnumType.TextString, b, pos);
+		return new UniqueIdentifier(decodeKMIPTextString(b, pos));
+	}
+
+	private Name decodeName(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, UnsupportedEncodingException{
+		checkTagAndType(EnumTag.Name, EnumType.Structure, b, pos);
+		Name name = new Name();
+		int offset = pos + TTL_SIZE;
+		checkTagAndType(EnumTag.NameValue, EnumType.TextString, b, offset);
+		name.setValue(readTextString(b, offset), "NameValue");
+		offset = next(b, offset);
+		checkTagAndType(EnumTag.NameType, EnumType.Enumeration, b, offset);
+		name.setValue(Integer.toString(readInteger(b, offset)), "NameType");
+		return name;
+	}
+
+	private void setManagedObject(ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		if(lazyManagedObjects){
+			checkType(tag(b, pos), EnumType.Structure, b, pos);
+			batch.setManagedObject(new EncodedManagedObject(b, pos));
+		} else{
+			batch.setManagedObject(decodeManagedObject(b, pos));
+		}
+	}
+
+	private ManagedObject decodeManagedObject(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		int tag = tag(b, pos);
+		switch(tag){
+			case EnumTag.Certificate:
+				return decodeCertificate(b, pos);
+			case EnumTag.OpaqueObject:
+				return decodeOpaqueObject(b, pos);
+			case EnumTag.PrivateKey:
+				checkTagAndType(EnumTag.PrivateKey, EnumType.Structure, b, pos);
+				return new PrivateKey(decodeKeyBlock(b, pos + TTL_SIZE));
+			case EnumTag.PublicKey:
+				checkTagAndType(EnumTag.PublicKey, EnumType.Structure, b, pos);
+				return new PublicKey(decodeKeyBlock(b, pos + TTL_SIZE));
+			case EnumTag.SecretData:
+				return decodeSecretData(b, pos);
+			case EnumTag.SplitKey:
+				return decodeSplitKey(b, pos);
+			case EnumTag.SymmetricKey:
+				checkTagAndType(EnumTag.SymmetricKey, EnumType.Structure, b, pos);
+				return new SymmetricKey(decodeKeyBlock(b, pos + TTL_SIZE));
+			case EnumTag.Template:
+				return decodeTemplate(b, pos);
+			default:
+				throw new KMIPUnexpectedTagException(EnumTag.valueOf(tag).getKey());
+		}
+	}
+
+	private Template decodeTemplate(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		checkTagAndType(EnumTag.Template, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		Template template = new Template();
+		for(int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)){
+			template.addAttribute(decodeAttribute(b, offset));
+		}
+		return template;
+	}
+
+	private SecretData decodeSecretData(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException {
+		checkTagAndType(EnumTag.SecretData, EnumType.Structure, b, pos);
+		SecretData sd = new SecretData();
+
+		// Secret Data Type
+		int offset = pos + TTL_SIZE;
+		checkTagAndType(EnumTag.SecretDataType, EnumType.Enumeration, b, offset);
+		sd.setSecretDataType(new EnumSecretDataType(readInteger(b, offset)));
+
+		// KeyBlock
+		sd.setKeyBlock(decodeKeyBlock(b, next(b, offset)));
+		return sd;
+	}
+
+	private Certificate decodeCertificate(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException{
+		checkTagAndType(EnumTag.Certificate, EnumType.Structure, b, pos);
+		Certificate cert = new Certificate();
+		int offset = pos + TTL_SIZE;
+		checkTagAndType(EnumTag.CertificateType, EnumType.Enumeration, b, offset);
+		cert.setCertificateType(new EnumCertificateType(readInteger(b, offset)));
+		offset = next(b, offset);
+		checkTagAndType(EnumTag.CertificateValue, EnumType.ByteString, b, offset);
+		cert.setCertificateValue(decodeKMIPByteString(b, offset));
+		return cert;
+	}
+
+	private OpaqueObject decodeOpaqueObject(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException{
+		checkTagAndType(EnumTag.OpaqueObject, EnumType.Structure, b, pos);
+		OpaqueObject opaque = new OpaqueObject();
+		int offset = pos + TTL_SIZE;
+		checkTagAndType(EnumTag.OpaqueDataType, EnumType.Enumeration, b, offset);
+		opaque.setOpaqueDataType(new EnumOpaqueDataType(readInteger(b, offset)));
+		offset = next(b, offset);
+		checkTagAndType(EnumTag.OpaqueDataValue, EnumType.ByteString, b, offset);
+		opaque.setOpaqueDataValue(decodeKMIPByteString(b, offset));
+		return opaque;
+	}
+
+	private SplitKey decodeSplitKey(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		checkTagAndType(EnumTag.SplitKey, EnumType.Structure, b, pos);
+		SplitKey splitKey = new SplitKey();
+		int offset = pos + TTL_SIZE;
+		// Split Key Parts
+		checkTagAndType(EnumTag.SplitKeyParts, EnumType.Integer, b, offset);
+        splitKey.setSplitKeyParts(new KMIPInteger(readInteger(b, offset)));
+		offset = next(b, offset);
+		// Key Part Identifier
+		checkTagAndType(EnumTag.KeyPartIdentifier, EnumType.Integer, b, offset);
+        splitKey.setKeyPartIdentifier(new KMIPInteger(readInteger(b, offset)));
+		offset = next(b, offset);
+		// Split Key Threshold
+		checkTagAndType(EnumTag.SplitKeyThreshold, EnumType.Integer, b, offset);
+        splitKey.setSplitKeyThreshhosd(new KMIPInteger(readInteger(b, offset)));
+		offset = next(b, offset);
+		// Split Key Method
+		checkTagAndType(EnumTag.SplitKeyMethod, EnumType.Enumeration, b, offset);
+        splitKey.setSplitKeyMethod(new EnumSplitKeyMethod(readInteger(b, offset)));
+		offset = next(b, offset);
+		// Prime Field Size (Required if SplitKeyMethod is Polynomial Sharing Prime Field)
+		if(splitKey.getSplitKeyMethod().getValue() == EnumSplitKeyMethod.PolynomialSharingPrimeField){
+			checkTagAndType(EnumTag.PrimeFieldSize, EnumType.BigInteger, b, offset);
+	        splitKey.setPrimeFieldSize(decodeKMIPBigInteger(b, offset));
+			offset = next(b, offset);
+		}
+		// Key Block
+		splitKey.setKeyBlock(decodeKeyBlock(b, offset));
+
+		return splitKey;
+	}
+
+	private KeyBlock decodeKeyBlock(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		checkTagAndType(EnumTag.KeyBlock, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+
+		KeyBlock keyBlock = new KeyBlock();
+
+		for(int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)){
+			int tag = tag(b, offset);
+			if(tag == EnumTag.KeyFormatType){
+				checkTagAndType(EnumTag.KeyFormatType, EnumType.Enumeration, b, offset);
+		        keyBlock.setKeyFormatType(new EnumKeyFormatType(readInteger(b, offset)));
+			} else if(tag == EnumTag.KeyCompressionType){
+				keyBlock.setKeyCompressionType(decodeKeyCompressionType(b, offset).getKey());
+			} else if(tag == EnumTag.KeyValue){
+				keyBlock.setKeyValue(decodeKeyValue(b, offset, keyBlock.getKeyFormatType()));
+			} else if(tag == EnumTag.CryptographicAlgorithm){
+				checkTagAndType(EnumTag.CryptographicAlgorithm, EnumType.Enumeration, b, offset);
+		        keyBlock.setCryptographicAlgorithm(new CryptographicAlgorithm(new EnumCryptographicAlgorithm(readInteger(b, offset))));
+			} else if(tag == EnumTag.CryptographicLength){
+				checkTagAndType(EnumTag.CryptographicLength, EnumType.Integer, b, offset);
+		        keyBlock.setCryptographicLength(new CryptographicLength(new KMIPInteger(readInteger(b, offset))));
+			} else if(tag == EnumTag.KeyWrappingData){
+				keyBlock.setKeyWrappingData(decodeKeyWrappingData(b, offset));
+			}
+		}
+		return keyBlock;
+	}
+
+	private KeyWrappingData decodeKeyWrappingData(ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException {
+		checkTagAndType(EnumTag.KeyWrappingData, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		KeyWrappingData kwd = new KeyWrappingData();
+		int offset = pos + TTL_SIZE;
+		kwd.setWrappingMethod(decodeWrappingMethod(b, offset));
+		offset = next(b, offset);
+
+		// Encryption Key Information
+		if(offset < end && tag(b, offset) == EnumTag.EncryptionKeyInformation){
+			kwd.setEncryptionKeyInformation(decodeEncryptionKeyInformation(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Mac Signature Key Information
+		if(offset < end && tag(b, offset) == EnumTag.MACSignatureKeyInformation){
+			kwd.setMacSignatureKeyInformation(decodeMACSignatureKeyInformation(b, offset));
+			offset = next(b, offset);
+		}
+
+		// Mac Signature
+		if(offset < end && tag(b, offset) == EnumTag.MACSignature){
+			checkTagAndType(EnumTag.MACSignature, EnumType.ByteString, b, offset);
+			kwd.setMacSignature(decodeKMIPByteString(b, offset));
+			offset = next(b, offset);
+		}
+
+		// IV/Counter/Nounce
+		if(offset < end && tag(b, offset) == EnumTag.IVCounterNonce){
+			checkTagAndType(EnumTag.IVCounterNonce, EnumType.ByteString, b, offset);
+			kwd.setMacSignature(decodeKMIPByteString(b, offset));
+		}
+
+		return kwd;
+	}
+
+	private KeyValue decodeKeyValue(ByteBuffer b, int pos, EnumKeyFormatType keyFormatType) throws KMIPPaddingExpectedException, KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPUnexpectedAttributeNameException, UnsupportedEncodingException {
+		checkTagAndType(EnumTag.KeyValue, EnumType.Structure, b, pos);
+		int end = end(b, pos);
+		KeyValue keyValue = new KeyValue();
+
+		for(int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)){
+			if(tag(b, offset) == EnumTag.KeyMaterial){
+				keyValue.setKeyMaterial(decodeKeyMaterial(b, offset, keyFormatType));
+			} else{
+				keyValue.addAttribute(decodeAttribute(b, offset));
+			}
+		}
+		return keyValue;
+	}
+
+	private KeyMaterial decodeKeyMaterial(ByteBuffer b, int pos, EnumKeyFormatType keyFormatType) throws KMIPPaddingExpectedException, KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException {
+		checkTag(EnumTag.KeyMaterial, b, pos);
+		int type = type(b, pos);
+
+		// for Raw, Opaque, PKCS1, PKCS8, ECPrivateKey, or Extension Key Format Types
+		if(type == EnumType.ByteString){
+			return new KeyMaterial(decodeKMIPByteString(b, pos));
+		}
+		// for Transparent Key Structures, Extension Key Format Types
+		else if(type == EnumType.Structure){
+			TransparentKeyStructure tks = new TransparentKeyStructure(keyFormatType);
+			decodeTransparentKeyStructureParameters(b, pos, tks);
+			return new KeyMaterial(tks);
+		}
+		else{
+			throw new KMIPUnexpectedTypeException("Key Material", "ByteString");
+		}
+	}
+
+	private void decodeTransparentKeyStructureParameters(ByteBuffer b, int pos, TransparentKeyStructure tks) throws KMIPUnexpectedTypeException, KMIPPaddingExpectedException, KMIPUnexpectedTagException {
+		int end = end(b, pos);
+		for(int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)){
+			int tag = tag(b, offset);
+			switch(tag){
+				case EnumTag.Modulus:
+					tks.setModulus(decodeBigIntegerParameter(EnumTag.Modulus, b, offset));
+					break;
+
+				case EnumTag.PrivateExponent:
+					tks.setPrivateExponent(decodeBigIntegerParameter(EnumTag.PrivateExponent, b, offset));
+					break;
+
+				case EnumTag.PublicExponent:
+					tks.setPublicExponent(decodeBigIntegerParameter(EnumTag.PublicExponent, b, offset));
+					break;
+
+				case EnumTag.P:
+					tks.setP(decodeBigIntegerParameter(EnumTag.P, b, offset));
+					break;
+
+				case EnumTag.Q:
+					tks.setQ(decodeBigIntegerParameter(EnumTag.Q, b, offset));
+					break;
+
+				case EnumTag.G:
+					tks.setG(decodeBigIntegerParameter(EnumTag.G, b, offset));
+					break;
+
+				case EnumTag.J:
+					tks.setJ(decodeBigIntegerParameter(EnumTag.J, b, offset));
+					break;
+
+				case EnumTag.X:
+					tks.setX(decodeBigIntegerParameter(EnumTag.X, b, offset));
+					break;
+
+				case EnumTag.Y:
+					tks.setY(decodeBigIntegerParameter(EnumTag.Y, b, offset));
+					break;
+
+				case EnumTag.PrimeExponentP:
+					tks.setPrimeExponentP(decodeBigIntegerParameter(EnumTag.PrimeExponentP, b, offset));
+					break;
+
+				case EnumTag.PrimeExponentQ:
+					tks.setPrimeExponentQ(decodeBigIntegerParameter(EnumTag.PrimeExponentQ, b, offset));
+					break;
+
+				case EnumTag.CRTCoefficient:
+					tks.setCrtCoefficient(decodeBigIntegerParameter(EnumTag.CRTCoefficient, b, offset));
+					break;
+
+				case EnumTag.RecommendedCurve:
+					checkType(EnumTag.RecommendedCurve, EnumType.Enumeration, b, offset);
+					tks.setRecommendedCurve(new EnumRecommendedCurve(readInteger(b, offset)));
+					break;
+
+				case EnumTag.D:
+					tks.setD(decodeBigIntegerParameter(EnumTag.D, b, offset));
+					break;
+
+				case EnumTag.QString:
+					checkType(EnumTag.QString, EnumType.ByteString, b, offset);
+					tks.setQString(decodeKMIPByteString(b, offset));
+					break;
+
+				default:
+					throw new KMIPUnexpectedTagException(EnumTag.valueOf(tag).getKey());
+			}
+		}
+	}
+
+	private KMIPBigInteger decodeBigIntegerParameter(int tag, ByteBuffer b, int pos) throws KMIPUnexpectedTypeException {
+		checkType(tag, EnumType.BigInteger, b, pos);
+		return decodeKMIPBigInteger(b, pos);
+	}
+
+	private Attribute decodeAttribute(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedAttributeNameException{
+		checkTagAndType(EnumTag.Attribute, EnumType.Structure, b, pos);
+		int offset = pos + TTL_SIZE;
+		KMIPTextString attributeName = decodeAttributeName(b, offset);
+		offset = next(b, offset);
+
+		// Attribute Index (Optional)
+		KMIPInteger attributeIndex = null;
+		if(tag(b, offset) == EnumTag.AttributeIndex){
+			checkTagAndType(EnumTag.AttributeIndex, EnumType.Integer, b, offset);
+			attributeIndex = new KMIPInteger(readInteger(b, offset));
+			offset = next(b, offset);
+		}
+
+		Attribute a = decodeAttributeValue(b, offset, attributeName);
+		if(attributeIndex != null && a != null){
+			a.setAttributeIndex(attributeIndex);
+		}
+		return a;
+	}
+
+	private KMIPTextString decodeAttributeName(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, UnsupportedEncodingException, KMIPPaddingExpectedException{
+		checkTagAndType(EnumTag.AttributeName, EnumType.TextString, b, pos);
+		return decodeKMIPTextString(b, pos);
+	}
+
+    private Attribute decodeAttributeValue(ByteBuffer b, int pos, KMIPTextString attributeName) throws KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPUnexpectedTypeException, KMIPUnexpectedAttributeNameException, UnsupportedEncodingException{
+    	checkTag(EnumTag.AttributeValue, b, pos);
+		int type = type(b, pos);
+
+		if (type == EnumType.Integer || type == EnumType.Interval) {
+			Attribute a = loadAttributeInstance(attributeName.getValue());
+			a.setValue(Integer.toString(readInteger(b, pos)), null);
+			checkAttributeType(a, type, attributeName.getValue());
+			return a;
+		} else if (type == EnumType.DateTime || type == EnumType.LongInteger ) {
+			Attribute a = loadAttributeInstance(attributeName.getValue());
+			a.setValue(Long.toString(readLong(b, pos)), null);
+			checkAttributeType(a, type, attributeName.getValue());
+			return a;
+		} else if (type == EnumType.Enumeration) {
+			int value = readInteger(b, pos);
+			KMIPEnumeration enumeration = KMIPAttributeRegistry.createEnumeration(attributeName.getValue(), value);
+			if (enumeration == null) {
+				throw new KMIPUnexpectedAttributeNameException("Unexpected Attribute: " + attributeName.getValue());
+			}
+			Attribute a = loadAttributeInstance(attributeName.getValue());
+			a.getValues()[0].setValue(enumeration);
+			return a;
+
+		} else if (type == EnumType.TextString) {
+			String value = readTextString(b, pos);
+
+			try {
+				Attribute a = loadAttributeInstance(attributeName.getValue());
+				a.setValue(value, null);
+				checkAttributeType(a, type, attributeName.getValue());
+				return a;
+			} catch (Exception e) {
+				throw new KMIPUnexpectedAttributeNameException("Unexpected Attribute: " + attributeName.getValue());
+			}
+
+		} else if (type == EnumType.Structure) {
+			Attribute a = loadAttributeInstance(attributeName.getValue());
+			int end = end(b, pos);
+			for (int offset = pos + TTL_SIZE; offset < end; offset = next(b, offset)) {
+				decodeValueStructure(b, offset, a);
+			}
+			checkAttributeType(a, type, attributeName.getValue());
+			return a;
+		}
+		// Other KMIPTypes for Attributes come here
+		return null;
+    }
+
+    private void checkAttributeType(Attribute a, int type, String attributeName) throws KMIPUnexpectedTypeException{
+		if (a.getAttributeType() != type) {
+			throw new KMIPUnexpectedTypeException(attributeName, a.getValues()[0].getTypeAsEnumType().getKey());
+		}
+    }
+
+    private void decodeValueStructure(ByteBuffer b, int pos, Attribute a) throws KMIPPaddingExpectedException, UnsupportedEncodingException{
+    	String tagName = EnumTag.valueOf(tag(b, pos)).getKey();
+    	int type = type(b, pos);
+
+    	if(type == EnumType.Integer || type == EnumType.Enumeration){
+    		a.setValue(Integer.toString(readInteger(b, pos)), tagName);
+    	} else if(type == EnumType.LongInteger){
+    		a.setValue(Long.toString(readLong(b, pos)), tagName);
+    	} else if(type == EnumType.TextString){
+			a.setValue(readTextString(b, pos), tagName);
+		} else if(type == EnumType.ByteString){
+			a.setValue(readByteStringAsHexString(b, pos), tagName);
+		}
+    	// Other KMIPTypes for ValueStructure come here
+    }
+
+	private void decodeMessageExtension(ByteBuffer b, int pos, KMIPBatch batch) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException {
+		checkTagAndType(EnumTag.MessageExtension, EnumType.Structure, b, pos);
+		MessageExtension me = new MessageExtension();
+		int offset = pos + TTL_SIZE;
+		checkTagAndType(EnumTag.CriticalityIndicator, EnumType.Boolean, b, offset);
+		me.setCriticalityIndicator(new KMIPBoolean(readLong(b, offset)));
+		offset = next(b, offset);
+		me.setVendorIdentification(decodeVendorIdentification(b, offset));
+		offset = next(b, offset);
+		checkTagAndType(EnumTag.VendorExtension, EnumType.Structure, b, offset);
+		me.setVendorExtension(decodeExtension(b, offset + TTL_SIZE));
+		batch.setMessageExtension(me);
+	}
+
+	private KMIPTextString decodeVendorIdentification(ByteBuffer b, int pos) throws KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException, KMIPUnexpectedTagException {
+		checkTagAndType(EnumTag.VendorIdentification, EnumType.TextString, b, pos);
+		return decodeKMIPTextString(b, pos);
+	}
+
+	private VendorExtension decodeExtension(ByteBuffer b, int pos) throws UnsupportedEncodingException, KMIPPaddingExpectedException {
+		EnumType type = EnumType.valueOf(type(b, pos));
+		KMIPType value = null;
+
+		switch(type.getValue()){
+			case EnumType.TextString:
+				value = decodeKMIPTextString(b, pos);
+				break;
+			// Other KMIPTypes for Extension come here
+			default:
+				break;
+		}
+
+		return new VendorExtension(tag(b, pos), type, value);
+	}
+
+
+///////////////////////////////////////////////////////////// Supporting Methods
+
+	private void checkTag(int tag, ByteBuffer b, int pos) throws KMIPUnexpectedTagException{
+		if(tag(b, pos) != tag){
+			throw new KMIPUnexpectedTagException(EnumTag.valueOf(tag).getKey());
+		}
+	}
+
+	private void checkType(int tag, int type, ByteBuffer b, int pos) throws KMIPUnexpectedTypeException{
+		if(type(b, pos) != type){
+			throw new KMIPUnexpectedTypeException(EnumTag.valueOf(tag).getKey(), EnumType.valueOf(type).getKey());
+		}
+	}
+
+	private void checkTagAndType(int tag, int type, ByteBuffer b, int pos) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException{
+		checkTag(tag, b, pos);
+		checkType(tag, type, b, pos);
+	}
+
+	private int tag(ByteBuffer b, int pos) {
+		return ((b.get(pos) & 0xFF) << 16) | ((b.get(pos + 1) & 0xFF) << 8) | (b.get(pos + 2) & 0xFF);
+	}
+
+	private int type(ByteBuffer b, int pos) {
+		return b.get(pos + TAG_SIZE) & 0xFF;
+	}
+
+	private int length(ByteBuffer b, int pos) {
+		return b.getInt(pos + TAG_SIZE + TYPE_SIZE);
+	}
+
+	/** @return the offset behind the value of the item at <code>pos</code>, without padding */
+	private int end(ByteBuffer b, int pos) {
+		return pos + TTL_SIZE + length(b, pos);
+	}
+
+	/** @return the offset of the item following the item at <code>pos</code>, with padding */
+	private int next(ByteBuffer b, int pos) {
+		return pos + TTL_SIZE + paddedLength(length(b, pos));
+	}
+
+	private int paddedLength(int length){
+		return (length + 7) & ~7;
+	}
+
+	private void checkPadding(ByteBuffer b, int from, int to) throws KMIPPaddingExpectedException{
+		for(int i = from; i < to; i++){
+			if(b.get(i) != 0){
+				throw new KMIPPaddingExpectedException();
+			}
+		}
+	}
+
+	private int readInteger(ByteBuffer b, int pos) throws KMIPPaddingExpectedException {
+		int value = pos + TTL_SIZE;
+		if(b.getInt(value + 4) != 0){
+			throw new KMIPPaddingExpectedException();
+		}
+		return b.getInt(value);
+	}
+
+	private long readLong(ByteBuffer b, int pos) {
+		return b.getLong(pos + TTL_SIZE);
+	}
+
+	// the hex digits are read directly from the buffer, without copying the Byte String
+	private String readByteStringAsHexString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException{
+		int length = length(b, pos);
+		int value = pos + TTL_SIZE;
+		checkPadding(b, value + length, value + paddedLength(length));
+		ByteBuffer bytes = b.duplicate();
+		bytes.limit(value + length);
+		bytes.position(value);
+		return KMIPHex.encode(bytes);
+	}
+
+	private byte[] readByteString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException{
+		int length = length(b, pos);
+		int value = pos + TTL_SIZE;
+		checkPadding(b, value + length, value + paddedLength(length));
+		byte[] bytes = new byte[length];
+		for(int i = 0; i < length; i++){
+			bytes[i] = b.get(value + i);
+		}
+		return bytes;
+	}
+
+	private String readTextString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException, UnsupportedEncodingException{
+		int length = length(b, pos);
+		int value = pos + TTL_SIZE;
+		checkPadding(b, value + length, value + paddedLength(length));
+		if(b.hasArray()){
+			return new String(b.array(), b.arrayOffset() + value, length, CHARSET);
+		}
+		return new String(readByteString(b, pos), CHARSET);
+	}
+
+	private KMIPTextString decodeKMIPTextString(ByteBuffer b, int pos) throws UnsupportedEncodingException, KMIPPaddingExpectedException{
+		return new KMIPTextString(readTextString(b, pos));
+	}
+
+	private KMIPByteString decodeKMIPByteString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException{
+		return new KMIPByteString(readByteString(b, pos));
+	}
+
+	private KMIPBigInteger decodeKMIPBigInteger(ByteBuffer b, int pos){
+		int length = length(b, pos);
+		int value = pos + TTL_SIZE;
+		ArrayList<Byte> bytes = new ArrayList<>(length);
+		for(int i = 0; i < length; i++){
+			bytes.add(b.get(value + i));
+		}
+		return new KMIPBigInteger(bytes);
+	}
+
+    private Attribute loadAttributeInstance(String attributeName) throws KMIPUnexpectedAttributeNameException{
+		Attribute a = KMIPAttributeRegistry.createAttribute(attributeName);
+		if(a == null){
+			throw new KMIPUnexpectedAttributeNameException("Unexpected Attribute: " + attributeName);
+		}
+		return a;
+    }
+
+	/**
+	 * A Managed Object, which is decoded from the message on demand.
+	 */
+	private class EncodedManagedObject implements KMIPEncodedManagedObject {
+
+		private final ByteBuffer b;
+		private final int pos;
+
+		EncodedManagedObject(ByteBuffer b, int pos){
+			this.b = b;
+			this.pos = pos;
+		}
+
+		public int getTag() {
+			return tag(b, pos);
+		}
+
+		public ByteBuffer getEncoded() {
+			ByteBuffer encoded = b.asReadOnlyBuffer();
+			encoded.limit(end(b, pos));
+			encoded.position(pos);
+			return encoded.slice();
+		}
+
+		public ManagedObject decode() {
+			try {
+				return decodeManagedObject(b, pos);
+			} catch (Exception e) {
+				throw new IllegalStateException("The Managed Object could not be decoded", e);
+			}
+		}
+	}
+
+}
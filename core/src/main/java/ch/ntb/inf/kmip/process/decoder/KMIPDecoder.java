@@ -12,6 +12,9 @@
  * The KMIPDecoder decodes the received KMIP-Message and returns a 
  * KMIPContainer with KMIPObjects. The KMIP-Message is a TTLV- 
  * encoded hexadecimal string stored in an ArrayList<Byte>.
+ * The only parse state is the length of the sub item decoded last.
+ * It is kept by a new instance for every message, so one KMIPDecoder
+ * can be shared by all threads.
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -35,36 +38,54 @@ import ch.ntb.inf.kmip.objects.base.*;
 import ch.ntb.inf.kmip.objects.managed.*;
 import ch.ntb.inf.kmip.operationparameters.*;
 import ch.ntb.inf.kmip.process.EnumStaticValues;
+import ch.ntb.inf.kmip.process.KMIPThreadSafeCodec;
+import ch.ntb.inf.kmip.process.KMIPTTLVReader;
 import ch.ntb.inf.kmip.types.*;
+import ch.ntb.inf.kmip.utils.KMIPHex;
 import ch.ntb.inf.kmip.utils.KMIPUtils;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
-import java.lang.reflect.Constructor;
 import java.util.ArrayList;
 import java.util.List;
 
 
-public class KMIPDecoder implements KMIPDecoderInterface{
+public class KMIPDecoder implements KMIPDecoderInterface, KMIPThreadSafeCodec{
 
-	private final int TAG_SIZE = 3;
-	private final int TYPE_SIZE = 1;
-	private final int LENGTH_SIZE = 4;
-	private final int TTL_SIZE = TAG_SIZE + TYPE_SIZE + LENGTH_SIZE;
-	private final int PADDING_SIZE_INT = 4;
-	private final int PADDING_SIZE_ENUM = 4;
-	private final String ATTRIBUTE_LOCATION = "ch.ntb.inf.kmip.attributes.";
-	private final String ENUM_LOCATION = "ch.ntb.inf.kmip.kmipenum.";
-	private final String OPERATION_PARAMETER_LOCATION = "ch.ntb.inf.kmip.operationparameters.";
+	private static final int TAG_SIZE = 3;
+	private static final int TYPE_SIZE = 1;
+	private static final int LENGTH_SIZE = 4;
+	private static final int TTL_SIZE = TAG_SIZE + TYPE_SIZE + LENGTH_SIZE;
+	private static final int PADDING_SIZE_INT = 4;
+	private static final int PADDING_SIZE_ENUM = 4;
 
+	// only used by the instance, which decodes a single message
 	private int subItemLength = 0;
 	
-	private void resetDecoder(){
-		subItemLength = 0;
+	public KMIPContainer decodeRequest(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return new KMIPDecoder().decodeRequestMessage(al);
 	}
 	
-	public KMIPContainer decodeRequest(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+	public KMIPContainer decodeResponse(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return new KMIPDecoder().decodeResponseMessage(al);
+	}
+	
+	/**
+	 * Decodes the KMIP-Request-Message, on which the reader is positioned by <code>next()</code>.
+	 */
+	public KMIPContainer decodeRequest(KMIPTTLVReader reader) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException, IOException {
+		return decodeRequest(KMIPUtils.convertByteArrayToArrayList(reader.readEncodedItem()));
+	}
+	
+	/**
+	 * Decodes the KMIP-Response-Message, on which the reader is positioned by <code>next()</code>.
+	 */
+	public KMIPContainer decodeResponse(KMIPTTLVReader reader) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException, IOException {
+		return decodeResponse(KMIPUtils.convertByteArrayToArrayList(reader.readEncodedItem()));
+	}
+	
+	private KMIPContainer decodeRequestMessage(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
 		KMIPContainer container = new KMIPContainer();
-		resetDecoder();
 		checkTagAndType(EnumTag.RequestMessage, EnumType.Structure, al);
 		
 		// Request Header
@@ -82,9 +103,8 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 		return container;
 	}
 	
-	public KMIPContainer decodeResponse(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+	private KMIPContainer decodeResponseMessage(ArrayList<Byte> al) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
 		KMIPContainer container = new KMIPContainer();
-		resetDecoder();
 		checkTagAndType(EnumTag.ResponseMessage, EnumType.Structure, al);
 		
 		// Response Header
@@ -432,10 +452,7 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 			case EnumTag.AttributeName:
 				try{
 					KMIPTextString attributeName = decodeAttributeName(al);
-	                String className = attributeName.getValue().replaceAll("-", "");
-	                String classNameFinal = Character.toUpperCase(className.charAt(0)) + className.substring(1);
-	                Attribute  a = loadAttributeInstance(new KMIPTextString(classNameFinal));
-	                batch.addAttribute(a);
+	                batch.addAttribute(loadAttributeInstance(attributeName));
 				} catch(Exception e){
 					e.printStackTrace();
 				}
@@ -1398,7 +1415,7 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 					break;
 									
 				default:
-					throw new KMIPUnexpectedTagException(new EnumTag(tag).getKey());
+					throw new KMIPUnexpectedTagException(EnumTag.valueOf(tag).getKey());
 			}
 		}
 	}
@@ -1539,34 +1556,23 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 		} else if (type == EnumType.Enumeration) {
 
 			int value = decodeEnumeration(al, length);
-			String enumName = "Enum" + attributeName.getValue().replaceAll("\\s", "");
-
-			try {
-				Class<?> enumClass = Class.forName(ENUM_LOCATION + enumName);
-				Constructor<?> enumClassConstructor = enumClass.getConstructor(Integer.TYPE);
-				KMIPEnumeration enumeration = (KMIPEnumeration) enumClassConstructor.newInstance(value);
-
-				Class<?> retClass = Class.forName(ATTRIBUTE_LOCATION + attributeName.getValue().replaceAll("\\s", ""));
-				Constructor<?> attributeConstructor = retClass.getConstructor(KMIPType.class);
-				Attribute retAttrib = (Attribute) attributeConstructor.newInstance(enumeration);
-
-				return retAttrib;
-			} catch (Exception e) {
-				e.printStackTrace();
+			KMIPEnumeration enumeration = KMIPAttributeRegistry.createEnumeration(attributeName.getValue(), value);
+			if (enumeration == null) {
 				throw new KMIPUnexpectedAttributeNameException("Unexpected Attribute: " + attributeName.getValue());
 			}
+			Attribute a = loadAttributeInstance(attributeName);
+			a.getValues()[0].setValue(enumeration);
+			return a;
 
 		} else if (type == EnumType.TextString) {
 			int paddingLength = getPaddingLength(length);
 			String value = decodeTextString(al.subList(TTL_SIZE, TTL_SIZE + length + paddingLength),paddingLength).toString();
 
 			try {
-				String className = attributeName.getValue().replaceAll("-", "");
-				String classNameFinal = Character.toUpperCase(className.charAt(0)) + className.substring(1);
-				Attribute a = loadAttributeInstance(new KMIPTextString(classNameFinal));
+				Attribute a = loadAttributeInstance(attributeName);
 				a.setValue(value, null);
 				if (a.getAttributeType() != type) {
-					throw new KMIPUnexpectedTypeException(className, a.getValues()[0].getTypeAsEnumType().getKey());
+					throw new KMIPUnexpectedTypeException(attributeName.getValue(), a.getValues()[0].getTypeAsEnumType().getKey());
 				}
 				return a;
 			} catch (Exception e) {
@@ -1593,8 +1599,8 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 
   
     private void decodeValueStructure(List<Byte> al, Attribute a) throws KMIPPaddingExpectedException, UnsupportedEncodingException{
-    	EnumTag tag = new EnumTag(decodeTag(al.subList(0, 3)));
-    	EnumType type = new EnumType(decodeType(al.get(3)));
+    	EnumTag tag = EnumTag.valueOf(decodeTag(al.subList(0, 3)));
+    	EnumType type = EnumType.valueOf(decodeType(al.get(3)));
     	int length = decodeLength(al);
     	
     	if(type.getValue() == EnumType.Integer){
@@ -1617,7 +1623,7 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 		} else if(type.getValue() == EnumType.ByteString){
 			int paddingLength = getPaddingLength(length);
 			byte[] value = decodeByteString(al.subList(TTL_SIZE, TTL_SIZE + length + paddingLength), paddingLength).getValue();
-			a.setValue(KMIPUtils.convertByteStringToHexString(value), tag.getKey());
+			a.setValue(KMIPHex.encode(value), tag.getKey());
 			subItemLength = length + TTL_SIZE + paddingLength;    
 		}
     	// Other KMIPTypes for ValueStructure come here
@@ -1650,14 +1656,14 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 	private void decodeVendorExtension(List<Byte> al, MessageExtension me) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException, UnsupportedEncodingException, KMIPPaddingExpectedException {
 		checkTagAndType(EnumTag.VendorExtension, EnumType.Structure, al);
 		int length = decodeLength(al);
-		decodeExtension(al, me);
+		decodeExtension(al.subList(TTL_SIZE, TTL_SIZE + length), me);
 		subItemLength = length + TTL_SIZE;
 	}
 	
 
 	private void decodeExtension(List<Byte> al, MessageExtension me) throws UnsupportedEncodingException, KMIPPaddingExpectedException {
 		int tag = decodeTag(al);
-		EnumType type =  new EnumType(decodeType(al.get(3)));
+		EnumType type =  EnumType.valueOf(decodeType(al.get(3)));
 		int length = decodeLength(al);
 		KMIPType value = null;
 		
@@ -1690,22 +1696,22 @@ public class KMIPDecoder implements KMIPDecoderInterface{
     
 	private void checkTag(int tag, List<Byte> al) throws KMIPUnexpectedTagException{
 		if(!(decodeTag(al.subList(0, 3)) == tag)){
-			throw new KMIPUnexpectedTagException(new EnumTag(tag).getKey());
+			throw new KMIPUnexpectedTagException(EnumTag.valueOf(tag).getKey());
 		}
 	}
 	
 	private void checkType(int tag, int type, List<Byte> al) throws KMIPUnexpectedTypeException{
 		if(!(decodeType(al.get(3)) == type)){
-			throw new KMIPUnexpectedTypeException(new EnumTag(tag).getKey(), new EnumType(type).getKey());
+			throw new KMIPUnexpectedTypeException(EnumTag.valueOf(tag).getKey(), EnumType.valueOf(type).getKey());
 		} 
 	}
     
 	private void checkTagAndType(int tag, int type, List<Byte> al) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException{
 		if(!(decodeTag(al.subList(0, 3)) == tag)){
-			throw new KMIPUnexpectedTagException(new EnumTag(tag).getKey());
+			throw new KMIPUnexpectedTagException(EnumTag.valueOf(tag).getKey());
 		}
 		if(!(decodeType(al.get(3)) == type)){
-			throw new KMIPUnexpectedTypeException(new EnumTag(tag).getKey(), new EnumType(type).getKey());
+			throw new KMIPUnexpectedTypeException(EnumTag.valueOf(tag).getKey(), EnumType.valueOf(type).getKey());
 		} 
 	}
     
@@ -1863,18 +1869,11 @@ public class KMIPDecoder implements KMIPDecoderInterface{
 	
 	
     private Attribute loadAttributeInstance(KMIPTextString attributeName) throws KMIPUnexpectedAttributeNameException{
-		String className = attributeName.getValue().replaceAll("\\s","");
-		try{
-			return (Attribute) Class.forName(ATTRIBUTE_LOCATION + className).newInstance();
-		}
-		catch(Exception e1){
-			try{
-				return (Attribute) Class.forName(OPERATION_PARAMETER_LOCATION + className).newInstance();
-			}
-			catch(Exception e2){
-				throw new KMIPUnexpectedAttributeNameException("Unexpected Attribute: " + attributeName.getValue());
-			}
+		Attribute a = KMIPAttributeRegistry.createAttribute(attributeName.getValue());
+		if(a == null){
+			throw new KMIPUnexpectedAttributeNameException("Unexpected Attribute: " + attributeName.getValue());
 		}
+		return a;
     }
     
 
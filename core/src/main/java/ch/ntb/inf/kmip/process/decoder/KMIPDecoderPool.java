@@ -9,12 +9,14 @@
  * 
  * ------------------------------------------------------------------
  * Description:
- * The Decoder Pool contains earlier generated instances of decoders, 
- * that are no longer in use. During a request, the skeleton gets a 
- * decoder from the pool. If there are no decoders available, the 
- * decoder pool generates and returns a new instance of the decoder.
- * after the request has processed, the skeleton returns the decoder
- * to the pool. 
+ * The Decoder Pool hands out the decoders to the skeleton. A decoder,
+ * which implements the KMIPThreadSafeCodec, is instantiated once and
+ * shared by all requests. Other decoders keep a state while decoding,
+ * so the pool contains earlier generated instances, that are no 
+ * longer in use. During a request, the skeleton gets a decoder from
+ * the pool. If there are no decoders available, the decoder pool 
+ * generates and returns a new instance of the decoder. After the 
+ * request has processed, the skeleton returns the decoder to the pool. 
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -28,59 +30,68 @@
  */
 package ch.ntb.inf.kmip.process.decoder;
 
-import java.util.Enumeration;
-import java.util.Hashtable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ch.ntb.inf.kmip.process.KMIPThreadSafeCodec;
 
 public class KMIPDecoderPool {
 
-	private Hashtable<KMIPDecoderInterface, Boolean> decoders = new Hashtable<>();
+	private final ConcurrentLinkedQueue<KMIPDecoderInterface> decoders = new ConcurrentLinkedQueue<>();
+	private final KMIPDecoderInterface sharedDecoder;
 	private String decoderPath;
 	private String defaultPath;
 	
-	private int numberOfcreatedDecoders;
+	private final AtomicInteger numberOfcreatedDecoders = new AtomicInteger();
 	private final int maxDecoders = 1000;
 
 	public KMIPDecoderPool(String decoderPath, String defaultPath) {
 		this.decoderPath = decoderPath;
 		this.defaultPath = defaultPath;
-		this.numberOfcreatedDecoders = 0;
+		
+		KMIPDecoderInterface decoder = createDecoder();
+		if(decoder instanceof KMIPThreadSafeCodec){
+			this.sharedDecoder = decoder;
+		} else{
+			this.sharedDecoder = null;
+			if(decoder != null){
+				numberOfcreatedDecoders.incrementAndGet();
+				decoders.offer(decoder);
+			}
+		}
 	}
 
-	public synchronized KMIPDecoderInterface getDecoder() throws KMIPDecoderPoolOverflowException {
-		Enumeration<KMIPDecoderInterface> e = decoders.keys();
-		while (e.hasMoreElements()) {
-			KMIPDecoderInterface decoder = e.nextElement();
-			Boolean b = decoders.get(decoder);
-			if (b.equals(Boolean.FALSE)) {
-				decoders.put(decoder, Boolean.TRUE);
-				return decoder;
-			} 
+	public KMIPDecoderInterface getDecoder() throws KMIPDecoderPoolOverflowException {
+		if(sharedDecoder != null){
+			return sharedDecoder;
 		}
 		
-		if(numberOfcreatedDecoders < maxDecoders){
-			KMIPDecoderInterface decoder;
-			try {
-				if(decoderPath != null){
-					decoder = (KMIPDecoderInterface) Class.forName(decoderPath).newInstance();
-				} else{
-					decoder = (KMIPDecoderInterface) Class.forName(defaultPath).newInstance();
-				}
-				numberOfcreatedDecoders++;
-				decoders.put(decoder, Boolean.TRUE);
-				return decoder;
-			} catch (Exception e1) {
-				e1.printStackTrace();
-				return null;
-			}
+		KMIPDecoderInterface decoder = decoders.poll();
+		if(decoder != null){
+			return decoder;
+		}
+		
+		if(numberOfcreatedDecoders.incrementAndGet() <= maxDecoders){
+			return createDecoder();
 		}
 		else{
+			numberOfcreatedDecoders.decrementAndGet();
 			throw new KMIPDecoderPoolOverflowException(maxDecoders);
 		}
 	} 
 
-	public synchronized void returnDecoder(KMIPDecoderInterface decoder) {
-		if (decoders.containsKey(decoder))
-			decoders.put(decoder, Boolean.FALSE);
+	public void returnDecoder(KMIPDecoderInterface decoder) {
+		if (decoder != null && decoder != sharedDecoder)
+			decoders.offer(decoder);
+	}
+
+	private KMIPDecoderInterface createDecoder() {
+		try {
+			return (KMIPDecoderInterface) Class.forName(getLoadedDecoder()).newInstance();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return null;
+		}
 	}
 
 	public String getLoadedDecoder() {
@@ -0,0 +1,514 @@
+/**
+ * KMIPGeneratedDecoder.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPGeneratedDecoder decodes the structures, which frame a
+ * KMIP message, with a specialized method for every structure.
+ * This file is generated from the KMIPMessageSchema.xml.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.decoder;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumBatchError;
+import ch.ntb.inf.kmip.kmipenum.EnumCredentialType;
+import ch.ntb.inf.kmip.kmipenum.EnumOperation;
+import ch.ntb.inf.kmip.kmipenum.EnumResultReason;
+import ch.ntb.inf.kmip.kmipenum.EnumResultStatus;
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.objects.Authentication;
+import ch.ntb.inf.kmip.objects.CredentialValue;
+import ch.ntb.inf.kmip.objects.MessageExtension;
+import ch.ntb.inf.kmip.objects.base.Credential;
+import ch.ntb.inf.kmip.process.EnumStaticValues;
+import ch.ntb.inf.kmip.types.KMIPBoolean;
+import ch.ntb.inf.kmip.types.KMIPByteString;
+import ch.ntb.inf.kmip.types.KMIPDateTime;
+import ch.ntb.inf.kmip.types.KMIPInteger;
+import ch.ntb.inf.kmip.types.KMIPTextString;
+
+/**
+ * Generated by the <code>KMIPSchemaGenerator</code> from the <code>KMIPMessageSchema.xml</code>, do not edit.
+ * The tags and types are checked as constants, the payloads are decoded by the implementing class.
+ * The items of a structure are expected in the order of the specification, except the ones of a group.
+ */
+abstract class KMIPGeneratedDecoder {
+
+	static final int TTL_SIZE = 8;
+	private static final String CHARSET = "UTF-8";
+
+	private static final int REQUEST_MESSAGE = EnumTag.RequestMessage << 8 | EnumType.Structure;
+	private static final int RESPONSE_MESSAGE = EnumTag.ResponseMessage << 8 | EnumType.Structure;
+	private static final int REQUEST_HEADER = EnumTag.RequestHeader << 8 | EnumType.Structure;
+	private static final int BATCH_ITEM = EnumTag.BatchItem << 8 | EnumType.Structure;
+	private static final int RESPONSE_HEADER = EnumTag.ResponseHeader << 8 | EnumType.Structure;
+	private static final int PROTOCOL_VERSION = EnumTag.ProtocolVersion << 8 | EnumType.Structure;
+	private static final int MAXIMUM_RESPONSE_SIZE = EnumTag.MaximumResponseSize << 8 | EnumType.Integer;
+	private static final int ASYNCHRONOUS_INDICATOR = EnumTag.AsynchronousIndicator << 8 | EnumType.Boolean;
+	private static final int AUTHENTICATION = EnumTag.Authentication << 8 | EnumType.Structure;
+	private static final int BATCH_ERROR_CONTINUATION_OPTION = EnumTag.BatchErrorContinuationOption << 8 | EnumType.Enumeration;
+	private static final int BATCH_ORDER_OPTION = EnumTag.BatchOrderOption << 8 | EnumType.Boolean;
+	private static final int TIME_STAMP = EnumTag.TimeStamp << 8 | EnumType.DateTime;
+	private static final int BATCH_COUNT = EnumTag.BatchCount << 8 | EnumType.Integer;
+	private static final int PROTOCOL_VERSION_MAJOR = EnumTag.ProtocolVersionMajor << 8 | EnumType.Integer;
+	private static final int PROTOCOL_VERSION_MINOR = EnumTag.ProtocolVersionMinor << 8 | EnumType.Integer;
+	private static final int CREDENTIAL = EnumTag.Credential << 8 | EnumType.Structure;
+	private static final int CREDENTIAL_TYPE = EnumTag.CredentialType << 8 | EnumType.Enumeration;
+	private static final int CREDENTIAL_VALUE = EnumTag.CredentialValue << 8 | EnumType.Structure;
+	private static final int USERNAME = EnumTag.Username << 8 | EnumType.TextString;
+	private static final int PASSWORD = EnumTag.Password << 8 | EnumType.TextString;
+	private static final int OPERATION = EnumTag.Operation << 8 | EnumType.Enumeration;
+	private static final int UNIQUE_BATCH_ITEM_ID = EnumTag.UniqueBatchItemID << 8 | EnumType.ByteString;
+	private static final int REQUEST_PAYLOAD = EnumTag.RequestPayload << 8 | EnumType.Structure;
+	private static final int MESSAGE_EXTENSION = EnumTag.MessageExtension << 8 | EnumType.Structure;
+	private static final int RESULT_STATUS = EnumTag.ResultStatus << 8 | EnumType.Enumeration;
+	private static final int RESULT_REASON = EnumTag.ResultReason << 8 | EnumType.Enumeration;
+	private static final int RESULT_MESSAGE = EnumTag.ResultMessage << 8 | EnumType.TextString;
+	private static final int ASYNCHRONOUS_CORRELATION_VALUE = EnumTag.AsynchronousCorrelationValue << 8 | EnumType.ByteString;
+	private static final int RESPONSE_PAYLOAD = EnumTag.ResponsePayload << 8 | EnumType.Structure;
+	private static final int CRITICALITY_INDICATOR = EnumTag.CriticalityIndicator << 8 | EnumType.Boolean;
+	private static final int VENDOR_IDENTIFICATION = EnumTag.VendorIdentification << 8 | EnumType.TextString;
+	private static final int VENDOR_EXTENSION = EnumTag.VendorExtension << 8 | EnumType.Structure;
+
+	public KMIPContainer decodeRequest(ByteBuffer buffer) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		ByteBuffer b = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		KMIPContainer obj = new KMIPContainer();
+		expect(REQUEST_MESSAGE, b, b.position(), b.limit());
+		decodeRequestMessage(b, b.position(), obj);
+		return obj;
+	}
+
+	public KMIPContainer decodeResponse(ByteBuffer buffer) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		ByteBuffer b = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+		KMIPContainer obj = new KMIPContainer();
+		expect(RESPONSE_MESSAGE, b, b.position(), b.limit());
+		decodeResponseMessage(b, b.position(), obj);
+		return obj;
+	}
+
+	private void decodeRequestMessage(ByteBuffer b, int pos, KMIPContainer obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Request Header (required)
+		expect(REQUEST_HEADER, b, offset, end);
+		decodeRequestHeader(b, offset, obj);
+		offset = next(b, offset);
+
+		// Batch Item (repeated)
+		while(offset < end && tag(b, offset) == EnumTag.BatchItem){
+			expect(BATCH_ITEM, b, offset, end);
+			KMIPBatch item = new KMIPBatch();
+			decodeRequestBatchItem(b, offset, item);
+			obj.addBatch(item);
+			offset = next(b, offset);
+		}
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeResponseMessage(ByteBuffer b, int pos, KMIPContainer obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Response Header (required)
+		expect(RESPONSE_HEADER, b, offset, end);
+		decodeResponseHeader(b, offset, obj);
+		offset = next(b, offset);
+
+		// Batch Item (repeated)
+		while(offset < end && tag(b, offset) == EnumTag.BatchItem){
+			expect(BATCH_ITEM, b, offset, end);
+			KMIPBatch item = new KMIPBatch();
+			decodeResponseBatchItem(b, offset, item);
+			obj.addBatch(item);
+			offset = next(b, offset);
+		}
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeRequestHeader(ByteBuffer b, int pos, KMIPContainer obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Protocol Version (required)
+		expect(PROTOCOL_VERSION, b, offset, end);
+		decodeProtocolVersion(b, offset, obj);
+		offset = next(b, offset);
+
+		// Maximum Response Size, Asynchronous Indicator, Authentication, Batch Error Continuation Option, Batch Order Option, Time Stamp (optional, in any order)
+		items:
+		while(offset < end){
+			switch(tag(b, offset)){
+				case EnumTag.MaximumResponseSize:
+					expect(MAXIMUM_RESPONSE_SIZE, b, offset, end);
+					obj.setMaximumResponseSize(new KMIPInteger(readInteger(b, offset)));
+					break;
+				case EnumTag.AsynchronousIndicator:
+					expect(ASYNCHRONOUS_INDICATOR, b, offset, end);
+					obj.setAsynchronousIndicator(new KMIPBoolean(b.getLong(offset + TTL_SIZE)));
+					break;
+				case EnumTag.Authentication:
+					expect(AUTHENTICATION, b, offset, end);
+					Authentication authentication = new Authentication();
+					decodeAuthentication(b, offset, authentication);
+					obj.setAuthentication(authentication);
+					break;
+				case EnumTag.BatchErrorContinuationOption:
+					expect(BATCH_ERROR_CONTINUATION_OPTION, b, offset, end);
+					obj.setBatchErrorContinuationOption(new EnumBatchError(readInteger(b, offset)));
+					break;
+				case EnumTag.BatchOrderOption:
+					expect(BATCH_ORDER_OPTION, b, offset, end);
+					obj.setBatchOrderOption(new KMIPBoolean(b.getLong(offset + TTL_SIZE)));
+					break;
+				case EnumTag.TimeStamp:
+					expect(TIME_STAMP, b, offset, end);
+					obj.setTimeStamp(new KMIPDateTime(b.getLong(offset + TTL_SIZE)));
+					break;
+				default:
+					break items;
+			}
+			offset = next(b, offset);
+		}
+
+		// Batch Count (required)
+		expect(BATCH_COUNT, b, offset, end);
+		obj.setBatchCount(new KMIPInteger(readInteger(b, offset)));
+		offset = next(b, offset);
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeResponseHeader(ByteBuffer b, int pos, KMIPContainer obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Protocol Version (required)
+		expect(PROTOCOL_VERSION, b, offset, end);
+		decodeProtocolVersion(b, offset, obj);
+		offset = next(b, offset);
+
+		// Time Stamp (required)
+		expect(TIME_STAMP, b, offset, end);
+		obj.setTimeStamp(new KMIPDateTime(b.getLong(offset + TTL_SIZE)));
+		offset = next(b, offset);
+
+		// Batch Count (required)
+		expect(BATCH_COUNT, b, offset, end);
+		obj.setBatchCount(new KMIPInteger(readInteger(b, offset)));
+		offset = next(b, offset);
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeProtocolVersion(ByteBuffer b, int pos, KMIPContainer obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Protocol Version Major (required)
+		expect(PROTOCOL_VERSION_MAJOR, b, offset, end);
+		if(!EnumStaticValues.ProtocolVersionMajor.hasValue(readInteger(b, offset))){
+			throw new KMIPProtocolVersionException("Protocol Version Major inconsistent, " + EnumStaticValues.ProtocolVersionMajor.getValues() + " expected");
+		}
+		offset = next(b, offset);
+
+		// Protocol Version Minor (required)
+		expect(PROTOCOL_VERSION_MINOR, b, offset, end);
+		if(!EnumStaticValues.ProtocolVersionMinor.hasValue(readInteger(b, offset))){
+			throw new KMIPProtocolVersionException("Protocol Version Minor inconsistent, " + EnumStaticValues.ProtocolVersionMinor.getValues() + " expected");
+		}
+		offset = next(b, offset);
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeAuthentication(ByteBuffer b, int pos, Authentication obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Credential (required)
+		expect(CREDENTIAL, b, offset, end);
+		Credential credential = new Credential();
+		decodeCredential(b, offset, credential);
+		obj.setCredential(credential);
+		offset = next(b, offset);
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	public void decodeCredential(ByteBuffer b, int pos, Credential obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Credential Type (required)
+		expect(CREDENTIAL_TYPE, b, offset, end);
+		int credentialType = readInteger(b, offset);
+		if(credentialType != EnumCredentialType.UsernameAndPassword){
+			throw new KMIPUnexpectedTypeException("CredentialType", "UsernameAndPassword");
+		}
+		obj.setCredentialType(new EnumCredentialType(credentialType));
+		offset = next(b, offset);
+
+		// Credential Value (required)
+		expect(CREDENTIAL_VALUE, b, offset, end);
+		CredentialValue credentialValue = new CredentialValue();
+		decodeCredentialValue(b, offset, credentialValue);
+		obj.setCredentialValue(credentialValue);
+		offset = next(b, offset);
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeCredentialValue(ByteBuffer b, int pos, CredentialValue obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Username (required)
+		expect(USERNAME, b, offset, end);
+		obj.setUsername(new KMIPTextString(readTextString(b, offset)));
+		offset = next(b, offset);
+
+		// Password (optional)
+		if(offset < end && tag(b, offset) == EnumTag.Password){
+			expect(PASSWORD, b, offset, end);
+			obj.setPassword(new KMIPTextString(readTextString(b, offset)));
+			offset = next(b, offset);
+		}
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeRequestBatchItem(ByteBuffer b, int pos, KMIPBatch obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Operation (required)
+		expect(OPERATION, b, offset, end);
+		obj.setOperation(new EnumOperation(readInteger(b, offset)));
+		offset = next(b, offset);
+
+		// Unique Batch Item ID (optional)
+		if(offset < end && tag(b, offset) == EnumTag.UniqueBatchItemID){
+			expect(UNIQUE_BATCH_ITEM_ID, b, offset, end);
+			obj.setUniqueBatchItemID(new KMIPByteString(readByteString(b, offset)));
+			offset = next(b, offset);
+		}
+
+		// Request Payload (required)
+		expect(REQUEST_PAYLOAD, b, offset, end);
+		readRequestPayload(b, offset, obj);
+		offset = next(b, offset);
+
+		// Message Extension (optional)
+		if(offset < end && tag(b, offset) == EnumTag.MessageExtension){
+			expect(MESSAGE_EXTENSION, b, offset, end);
+			MessageExtension messageExtension = new MessageExtension();
+			decodeMessageExtension(b, offset, messageExtension);
+			obj.setMessageExtension(messageExtension);
+			offset = next(b, offset);
+		}
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	public void decodeResponseBatchItem(ByteBuffer b, int pos, KMIPBatch obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Operation (optional)
+		if(offset < end && tag(b, offset) == EnumTag.Operation){
+			expect(OPERATION, b, offset, end);
+			obj.setOperation(new EnumOperation(readInteger(b, offset)));
+			offset = next(b, offset);
+		}
+
+		// Unique Batch Item ID (optional)
+		if(offset < end && tag(b, offset) == EnumTag.UniqueBatchItemID){
+			expect(UNIQUE_BATCH_ITEM_ID, b, offset, end);
+			obj.setUniqueBatchItemID(new KMIPByteString(readByteString(b, offset)));
+			offset = next(b, offset);
+		}
+
+		// Result Status (required)
+		expect(RESULT_STATUS, b, offset, end);
+		obj.setResultStatus(new EnumResultStatus(readInteger(b, offset)));
+		offset = next(b, offset);
+
+		// Result Reason (optional)
+		if(offset < end && tag(b, offset) == EnumTag.ResultReason){
+			expect(RESULT_REASON, b, offset, end);
+			obj.setResultReason(new EnumResultReason(readInteger(b, offset)));
+			offset = next(b, offset);
+		}
+
+		// Result Message (optional)
+		if(offset < end && tag(b, offset) == EnumTag.ResultMessage){
+			expect(RESULT_MESSAGE, b, offset, end);
+			obj.setResultMessage(new KMIPTextString(readTextString(b, offset)));
+			offset = next(b, offset);
+		}
+
+		// Asynchronous Correlation Value (optional)
+		if(offset < end && tag(b, offset) == EnumTag.AsynchronousCorrelationValue){
+			expect(ASYNCHRONOUS_CORRELATION_VALUE, b, offset, end);
+			obj.setAsynchronousCorrelationValue(new KMIPByteString(readByteString(b, offset)));
+			offset = next(b, offset);
+		}
+
+		// Response Payload (optional)
+		if(offset < end && tag(b, offset) == EnumTag.ResponsePayload){
+			expect(RESPONSE_PAYLOAD, b, offset, end);
+			readResponsePayload(b, offset, obj);
+			offset = next(b, offset);
+		}
+
+		// Message Extension (optional)
+		if(offset < end && tag(b, offset) == EnumTag.MessageExtension){
+			expect(MESSAGE_EXTENSION, b, offset, end);
+			MessageExtension messageExtension = new MessageExtension();
+			decodeMessageExtension(b, offset, messageExtension);
+			obj.setMessageExtension(messageExtension);
+			offset = next(b, offset);
+		}
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	private void decodeMessageExtension(ByteBuffer b, int pos, MessageExtension obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		int end = end(b, pos);
+		int offset = pos + TTL_SIZE;
+
+		// Criticality Indicator (required)
+		expect(CRITICALITY_INDICATOR, b, offset, end);
+		obj.setCriticalityIndicator(new KMIPBoolean(b.getLong(offset + TTL_SIZE)));
+		offset = next(b, offset);
+
+		// Vendor Identification (required)
+		expect(VENDOR_IDENTIFICATION, b, offset, end);
+		obj.setVendorIdentification(new KMIPTextString(readTextString(b, offset)));
+		offset = next(b, offset);
+
+		// Vendor Extension (required)
+		expect(VENDOR_EXTENSION, b, offset, end);
+		readVendorExtension(b, offset, obj);
+		offset = next(b, offset);
+
+		if(offset < end){
+			throw new KMIPUnexpectedTagException(tag(b, offset));
+		}
+	}
+
+	protected abstract void readRequestPayload(ByteBuffer b, int pos, KMIPBatch obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException;
+
+	protected abstract void readResponsePayload(ByteBuffer b, int pos, KMIPBatch obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException;
+
+	protected abstract void readVendorExtension(ByteBuffer b, int pos, MessageExtension obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException;
+
+	/**
+	 * Checks the tag and type of the item at <code>pos</code>, which has to be in front of <code>end</code>.
+	 */
+	static void expect(int tagAndType, ByteBuffer b, int pos, int end) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException {
+		if(pos < end && b.getInt(pos) == tagAndType){
+			return;
+		}
+		String tag = EnumTag.valueOf(tagAndType >>> 8).getKey();
+		if(pos >= end || tag(b, pos) != tagAndType >>> 8){
+			throw new KMIPUnexpectedTagException(tag);
+		}
+		throw new KMIPUnexpectedTypeException(tag, EnumType.valueOf(tagAndType & 0xFF).getKey());
+	}
+
+	static int tag(ByteBuffer b, int pos) {
+		return b.getInt(pos) >>> 8;
+	}
+
+	/** @return the offset behind the value of the item at <code>pos</code>, without padding */
+	static int end(ByteBuffer b, int pos) {
+		return pos + TTL_SIZE + b.getInt(pos + 4);
+	}
+
+	/** @return the offset of the item following the item at <code>pos</code>, with padding */
+	static int next(ByteBuffer b, int pos) {
+		return pos + TTL_SIZE + ((b.getInt(pos + 4) + 7) & ~7);
+	}
+
+	static int readInteger(ByteBuffer b, int pos) throws KMIPPaddingExpectedException {
+		if(b.getInt(pos + TTL_SIZE + 4) != 0){
+			throw new KMIPPaddingExpectedException();
+		}
+		return b.getInt(pos + TTL_SIZE);
+	}
+
+	static String readTextString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException, UnsupportedEncodingException {
+		int length = b.getInt(pos + 4);
+		checkPadding(b, pos + TTL_SIZE + length, next(b, pos));
+		if(b.hasArray()){
+			return new String(b.array(), b.arrayOffset() + pos + TTL_SIZE, length, CHARSET);
+		}
+		return new String(readByteString(b, pos), CHARSET);
+	}
+
+	static byte[] readByteString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException {
+		int length = b.getInt(pos + 4);
+		checkPadding(b, pos + TTL_SIZE + length, next(b, pos));
+		byte[] bytes = new byte[length];
+		ByteBuffer value = b.duplicate();
+		value.position(pos + TTL_SIZE);
+		value.get(bytes);
+		return bytes;
+	}
+
+	private static void checkPadding(ByteBuffer b, int from, int to) throws KMIPPaddingExpectedException {
+		for(int i = from; i < to; i++){
+			if(b.get(i) != 0){
+				throw new KMIPPaddingExpectedException();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,36 @@
+/**
+ * KMIPLazyBufferDecoder.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPLazyBufferDecoder is the KMIPBufferDecoder in lazy mode,
+ * so it can be configured by its name in the "StubConfig.xml" and
+ * "SkeletonConfig.xml"-files. A Managed Object is only decoded, when
+ * KMIPBatch.getManagedObject() is called for the first time.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.decoder;
+
+public class KMIPLazyBufferDecoder extends KMIPBufferDecoder {
+
+	public KMIPLazyBufferDecoder() {
+		super(true);
+	}
+
+}
@@ -0,0 +1,55 @@
+/**
+ * KMIPMalformedMessageException.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * Concrete Exception in conjunction with the decoder:
+ * Malformed Message Exception
+ * Appears if a message is not well-formed TTLV, e.g. a length does
+ * not fit into the enclosing structure, or if it exceeds the
+ * maximum size or nesting depth.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ *
+ */
+
+
+package ch.ntb.inf.kmip.process.decoder;
+
+public class KMIPMalformedMessageException extends Exception{
+
+	private static final long serialVersionUID = 4619280513342578174L;
+
+	private final int offset;
+
+	public KMIPMalformedMessageException(String msg, int offset){
+		super(msg + " at byte " + offset);
+		this.offset = offset;
+	}
+
+	public KMIPMalformedMessageException(String msg, Throwable cause){
+		super(msg, cause);
+		this.offset = -1;
+	}
+
+	/**
+	 * @return		the offset of the malformed item in the message, or -1 if it is not known
+	 */
+	public int getOffset(){
+		return offset;
+	}
+}
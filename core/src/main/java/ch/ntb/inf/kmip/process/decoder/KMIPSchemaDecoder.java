@@ -0,0 +1,92 @@
+/**
+ * KMIPSchemaDecoder.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPSchemaDecoder decodes the message header and the Batch
+ * Items with the KMIPGeneratedDecoder, which is generated from the
+ * "KMIPMessageSchema.xml"-file, and the payloads like the
+ * KMIPBufferDecoder. It can be configured by its name in the
+ * "StubConfig.xml" and "SkeletonConfig.xml"-files.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.decoder;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.objects.MessageExtension;
+import ch.ntb.inf.kmip.objects.VendorExtension;
+import ch.ntb.inf.kmip.types.KMIPTextString;
+import ch.ntb.inf.kmip.types.KMIPType;
+
+/**
+ * Unlike the KMIPBufferDecoder, the items of the message header are expected in the order of the specification,
+ * except the optional ones between the Protocol Version and the Batch Count, and a structure of the header or
+ * a Batch Item must not have unknown items.
+ */
+public class KMIPSchemaDecoder extends KMIPBufferDecoder {
+
+	private final KMIPGeneratedDecoder codec = new KMIPGeneratedDecoder() {
+
+		protected void readRequestPayload(ByteBuffer b, int pos, KMIPBatch obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+			decodePayload(EnumTag.RequestPayload, b, pos, obj);
+		}
+
+		protected void readResponsePayload(ByteBuffer b, int pos, KMIPBatch obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+			decodePayload(EnumTag.ResponsePayload, b, pos, obj);
+		}
+
+		// only Text Strings are supported as Vendor Extension, like by the KMIPBufferDecoder
+		protected void readVendorExtension(ByteBuffer b, int pos, MessageExtension obj) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+			int offset = pos + TTL_SIZE;
+			EnumType type = EnumType.valueOf(b.get(offset + 3) & 0xFF);
+			KMIPType value = null;
+			if(type.getValue() == EnumType.TextString){
+				value = new KMIPTextString(readTextString(b, offset));
+			}
+			obj.setVendorExtension(new VendorExtension(tag(b, offset), type, value));
+		}
+	};
+
+	public KMIPSchemaDecoder() {
+		this(false);
+	}
+
+	/**
+	 * @param lazyManagedObjects	: if <code>true</code>, a Managed Object in a payload is decoded on demand,
+	 * 								like by the <code>KMIPLazyBufferDecoder</code>.
+	 */
+	public KMIPSchemaDecoder(boolean lazyManagedObjects) {
+		super(lazyManagedObjects);
+	}
+
+	public KMIPContainer decodeRequest(ByteBuffer buffer) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return codec.decodeRequest(buffer);
+	}
+
+	public KMIPContainer decodeResponse(ByteBuffer buffer) throws KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException {
+		return codec.decodeResponse(buffer);
+	}
+
+}
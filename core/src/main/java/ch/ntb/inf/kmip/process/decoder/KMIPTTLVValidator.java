@@ -0,0 +1,220 @@
+/**
+ * KMIPTTLVValidator.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPTTLVValidator checks the structure of a TTLV-encoded
+ * message in a single pass, before it is decoded: the tags and type
+ * codes, the length of every item and its fit into the enclosing
+ * structure, the padding bytes, the nesting depth and the size of
+ * the whole message. Nothing is allocated, so a malformed or
+ * oversized message is rejected before the decoder builds any
+ * object of it.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.decoder;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * The validator only checks the TTLV-structure. Whether the items are the ones the
+ * specification expects at their position, is still checked by the decoder.
+ * A validator has no state, so it can be shared by all threads.
+ */
+public class KMIPTTLVValidator {
+
+	public static final int DEFAULT_MAXIMUM_MESSAGE_SIZE = 1 << 20;
+	public static final int DEFAULT_MAXIMUM_DEPTH = 16;
+
+	private static final int TTL_SIZE = 8;
+	private static final int ALIGNMENT = 8;
+
+	// the first byte of the tags defined by the specification and of the extension tags
+	private static final int KMIP_TAG_PREFIX = 0x42;
+	private static final int EXTENSION_TAG_PREFIX = 0x54;
+
+	private final int maximumMessageSize;
+	private final int maximumDepth;
+
+	public KMIPTTLVValidator() {
+		this(DEFAULT_MAXIMUM_MESSAGE_SIZE, DEFAULT_MAXIMUM_DEPTH);
+	}
+
+	/**
+	 * @param maximumMessageSize : 	the maximum number of bytes of a message
+	 * @param maximumDepth : 		the maximum number of nested structures, the message itself counts as one
+	 */
+	public KMIPTTLVValidator(int maximumMessageSize, int maximumDepth) {
+		if(maximumMessageSize < TTL_SIZE || maximumDepth < 1){
+			throw new IllegalArgumentException("Maximum message size " + maximumMessageSize + " or depth " + maximumDepth + " too small");
+		}
+		this.maximumMessageSize = maximumMessageSize;
+		this.maximumDepth = maximumDepth;
+	}
+
+	public void validateRequest(List<Byte> message) throws KMIPMalformedMessageException {
+		checkSize(message.size());
+		validate(ByteBuffer.wrap(KMIPUtils.toByteArray(message)), EnumTag.RequestMessage);
+	}
+
+	public void validateResponse(List<Byte> message) throws KMIPMalformedMessageException {
+		checkSize(message.size());
+		validate(ByteBuffer.wrap(KMIPUtils.toByteArray(message)), EnumTag.ResponseMessage);
+	}
+
+	/**
+	 * Validates the remaining bytes of the buffer as Request Message. The position of the buffer is not changed.
+	 */
+	public void validateRequest(ByteBuffer message) throws KMIPMalformedMessageException {
+		validate(message, EnumTag.RequestMessage);
+	}
+
+	/**
+	 * Validates the remaining bytes of the buffer as Response Message. The position of the buffer is not changed.
+	 */
+	public void validateResponse(ByteBuffer message) throws KMIPMalformedMessageException {
+		validate(message, EnumTag.ResponseMessage);
+	}
+
+	public int getMaximumMessageSize() {
+		return maximumMessageSize;
+	}
+
+	public int getMaximumDepth() {
+		return maximumDepth;
+	}
+
+	private void checkSize(int size) throws KMIPMalformedMessageException {
+		if(size > maximumMessageSize){
+			throw new KMIPMalformedMessageException("Message size " + size + " exceeds the maximum of " + maximumMessageSize, 0);
+		}
+	}
+
+	private void validate(ByteBuffer b, int messageTag) throws KMIPMalformedMessageException {
+		int start = b.position();
+		int limit = b.limit();
+		checkSize(limit - start);
+		if(limit - start < TTL_SIZE){
+			throw new KMIPMalformedMessageException("Message too short", 0);
+		}
+		if(tag(b, start) != messageTag || (b.get(start + 3) & 0xFF) != EnumType.Structure){
+			throw new KMIPMalformedMessageException("Message is no " + (messageTag == EnumTag.RequestMessage ? "Request" : "Response") + " Message", 0);
+		}
+
+		// ends[d] is the end of the structure at depth d, ends[0] the end of the message
+		int[] ends = new int[maximumDepth + 1];
+		ends[0] = limit;
+		int depth = 0;
+		// the contents of a Vendor Extension may have vendor-defined tags
+		int vendorExtensionDepth = Integer.MAX_VALUE;
+		int pos = start;
+		while(true){
+			while(depth > 0 && pos == ends[depth]){
+				depth--;
+			}
+			if(depth < vendorExtensionDepth){
+				vendorExtensionDepth = Integer.MAX_VALUE;
+			}
+			if(pos == limit){
+				return;
+			}
+			if(depth == 0 && pos != start){
+				throw new KMIPMalformedMessageException("Unexpected bytes after the message", pos - start);
+			}
+
+			int remaining = ends[depth] - pos;
+			if(remaining < TTL_SIZE){
+				throw new KMIPMalformedMessageException("Truncated item", pos - start);
+			}
+			int prefix = b.get(pos) & 0xFF;
+			if(depth < vendorExtensionDepth && prefix != KMIP_TAG_PREFIX && prefix != EXTENSION_TAG_PREFIX){
+				throw new KMIPMalformedMessageException("Invalid tag 0x" + Integer.toHexString(tag(b, pos)), pos - start);
+			}
+			int type = b.get(pos + 3) & 0xFF;
+			int length = b.getInt(pos + 4);
+			if(length < 0 || length > remaining - TTL_SIZE){
+				throw new KMIPMalformedMessageException("Length " + (length & 0xFFFFFFFFL) + " exceeds the enclosing structure", pos - start);
+			}
+
+			if(type == EnumType.Structure){
+				if(depth == maximumDepth){
+					throw new KMIPMalformedMessageException("Nesting depth exceeds the maximum of " + maximumDepth, pos - start);
+				}
+				depth++;
+				ends[depth] = pos + TTL_SIZE + length;
+				if(vendorExtensionDepth == Integer.MAX_VALUE && tag(b, pos) == EnumTag.VendorExtension){
+					vendorExtensionDepth = depth;
+				}
+				pos += TTL_SIZE;
+				continue;
+			}
+
+			checkLength(type, length, pos - start);
+			int paddedLength = (length + ALIGNMENT - 1) & ~(ALIGNMENT - 1);
+			if(paddedLength > remaining - TTL_SIZE){
+				throw new KMIPMalformedMessageException("Padding exceeds the enclosing structure", pos - start);
+			}
+			for(int i = pos + TTL_SIZE + length; i < pos + TTL_SIZE + paddedLength; i++){
+				if(b.get(i) != 0){
+					throw new KMIPMalformedMessageException("Padding bytes expected", i - start);
+				}
+			}
+			pos += TTL_SIZE + paddedLength;
+		}
+	}
+
+	private void checkLength(int type, int length, int offset) throws KMIPMalformedMessageException {
+		int expected;
+		switch(type){
+			case EnumType.Integer:
+			case EnumType.Enumeration:
+			case EnumType.Interval:
+				expected = 4;
+				break;
+			case EnumType.LongInteger:
+			case EnumType.Boolean:
+			case EnumType.DateTime:
+				expected = 8;
+				break;
+			case EnumType.BigInteger:
+				if(length % ALIGNMENT != 0){
+					throw new KMIPMalformedMessageException("Big Integer length " + length + " is no multiple of 8", offset);
+				}
+				return;
+			case EnumType.TextString:
+			case EnumType.ByteString:
+				return;
+			default:
+				throw new KMIPMalformedMessageException("Invalid type 0x" + Integer.toHexString(type), offset);
+		}
+		if(length != expected){
+			throw new KMIPMalformedMessageException("Invalid length " + length + " for type 0x" + Integer.toHexString(type), offset);
+		}
+	}
+
+	private int tag(ByteBuffer b, int pos) {
+		return ((b.get(pos) & 0xFF) << 16) | ((b.get(pos + 1) & 0xFF) << 8) | (b.get(pos + 2) & 0xFF);
+	}
+
+}
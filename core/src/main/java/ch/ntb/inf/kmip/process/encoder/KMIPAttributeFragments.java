@@ -0,0 +1,175 @@
+/**
+ * KMIPAttributeFragments.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPAttributeFragments holds pre-encoded TTLV-fragments of
+ * attributes, which the encoders copy instead of encoding them
+ * again: the Attribute Name of every attribute class, and the whole
+ * Attribute structure of an enumerated attribute for each of its
+ * values, e.g. Object Type, Cryptographic Algorithm or State.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.encoder;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import ch.ntb.inf.kmip.attributes.KMIPAttributeRegistry;
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.types.KMIPType;
+
+/**
+ * A fragment is only handed out for an attribute, which still has the name of its class,
+ * so an attribute with a changed name is encoded as before. The fragments of enumerated
+ * attributes are looked up by the current value, so changing the value of an attribute
+ * instance never returns a stale fragment.
+ */
+final class KMIPAttributeFragments {
+
+	// enumerations may have vendor-defined values, so the number of memorized fragments is bounded
+	private static final int MAX_VALUE_FRAGMENTS = 1024;
+
+	private static final ConcurrentHashMap<Class<?>, Fragment> names = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<Class<?>, ConcurrentHashMap<Integer, Fragment>> enumeratedAttributes = new ConcurrentHashMap<>();
+	private static final AtomicInteger valueFragments = new AtomicInteger();
+
+	private KMIPAttributeFragments() {
+	}
+
+	/**
+	 * @return		the encoded Attribute Name of the attribute, or <code>null</code> if it is not a known attribute
+	 */
+	static Fragment getAttributeName(Attribute attribute) {
+		Fragment name = names.get(attribute.getClass());
+		if(name == null){
+			if(!KMIPAttributeRegistry.hasAttribute(attribute.getAttributeName())){
+				return null;
+			}
+			name = new Fragment(attribute.getAttributeName(), encodeAttributeName(attribute.getAttributeName()));
+			Fragment previous = names.putIfAbsent(attribute.getClass(), name);
+			if(previous != null){
+				name = previous;
+			}
+		}
+		return name.matches(attribute) ? name : null;
+	}
+
+	/**
+	 * @return		the encoded Attribute structure of an enumerated attribute with a single value,
+	 * 				or <code>null</code> if the attribute is not a known enumerated attribute
+	 */
+	static Fragment getEnumeratedAttribute(Attribute attribute) {
+		if(attribute.getAttributeType() != EnumType.Enumeration || attribute.getValues().length != 1){
+			return null;
+		}
+		KMIPType value = attribute.getValues()[0].getValueAsKMIPType();
+		if(!(value instanceof KMIPEnumeration)){
+			return null;
+		}
+		Fragment name = getAttributeName(attribute);
+		if(name == null){
+			return null;
+		}
+
+		int enumValue = ((KMIPEnumeration) value).getValue();
+		ConcurrentHashMap<Integer, Fragment> fragments = enumeratedAttributes.get(attribute.getClass());
+		if(fragments == null){
+			fragments = new ConcurrentHashMap<>();
+			ConcurrentHashMap<Integer, Fragment> previous = enumeratedAttributes.putIfAbsent(attribute.getClass(), fragments);
+			if(previous != null){
+				fragments = previous;
+			}
+		}
+		Fragment fragment = fragments.get(enumValue);
+		if(fragment == null){
+			fragment = new Fragment(name.getName(), encodeEnumeratedAttribute(name, enumValue));
+			if(valueFragments.get() < MAX_VALUE_FRAGMENTS && fragments.putIfAbsent(enumValue, fragment) == null){
+				valueFragments.incrementAndGet();
+			}
+		}
+		return fragment;
+	}
+
+	private static byte[] encodeAttributeName(String attributeName) {
+		KMIPByteSink sink = new KMIPByteSink(32);
+		sink.writeTagAndType(EnumTag.AttributeName, EnumType.TextString);
+		sink.writeInt(KMIPByteSink.utf8Length(attributeName));
+		sink.writePadding(sink.writeUTF8(attributeName));
+		return sink.toByteArray();
+	}
+
+	private static byte[] encodeEnumeratedAttribute(Fragment name, int value) {
+		KMIPByteSink sink = new KMIPByteSink(name.getBytes().length + 32);
+		sink.writeTagAndType(EnumTag.Attribute, EnumType.Structure);
+		int slot = sink.reserveLength();
+		sink.writeBytes(name.getBytes());
+		sink.writeTagAndType(EnumTag.AttributeValue, EnumType.Enumeration);
+		sink.writeInt(4);
+		sink.writeInt(value);
+		sink.writePadding(4);
+		sink.patchLength(slot);
+		return sink.toByteArray();
+	}
+
+
+	/**
+	 * A pre-encoded TTLV-fragment, as <code>byte[]</code> for the <code>KMIPBufferEncoder</code> and as
+	 * <code>List{@literal <}Byte{@literal >}</code> for the <code>KMIPEncoder</code>. Both must not be changed.
+	 */
+	static final class Fragment {
+
+		private final String name;
+		private final byte[] bytes;
+		private final List<Byte> list;
+
+		Fragment(String name, byte[] bytes) {
+			this.name = name;
+			this.bytes = bytes;
+			Byte[] boxed = new Byte[bytes.length];
+			for(int i = 0; i < bytes.length; i++){
+				boxed[i] = bytes[i];
+			}
+			this.list = Arrays.asList(boxed);
+		}
+
+		String getName() {
+			return name;
+		}
+
+		byte[] getBytes() {
+			return bytes;
+		}
+
+		List<Byte> getList() {
+			return list;
+		}
+
+		private boolean matches(Attribute attribute) {
+			String attributeName = attribute.getAttributeName();
+			return attributeName == name || name.equals(attributeName);
+		}
+	}
+
+}
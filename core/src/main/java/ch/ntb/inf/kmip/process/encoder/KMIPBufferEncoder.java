@@ -0,0 +1,1082 @@
+/**
+ * KMIPBufferEncoder.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPBufferEncoder encodes the KMIPContainer like the KMIPEncoder,
+ * but writes the TTLV-encoded message in a single pass into a
+ * KMIPByteSink. The length of a structure is reserved before its
+ * children are encoded and patched in place afterwards, so nothing
+ * already encoded is moved and no byte is boxed. The message is
+ * returned as byte[] or ByteBuffer, or as ArrayList<Byte> for the
+ * KMIPEncoderInterface.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+
+import ch.ntb.inf.kmip.attributes.ApplicationSpecificInformation;
+import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.attributes.Name;
+import ch.ntb.inf.kmip.attributes.UniqueIdentifier;
+import ch.ntb.inf.kmip.attributes.UsageLimits;
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.container.KMIPEncodedManagedObject;
+import ch.ntb.inf.kmip.kmipenum.EnumCancellationResult;
+import ch.ntb.inf.kmip.kmipenum.EnumCertificateRequestType;
+import ch.ntb.inf.kmip.kmipenum.EnumDerivationMethod;
+import ch.ntb.inf.kmip.kmipenum.EnumKeyCompressionType;
+import ch.ntb.inf.kmip.kmipenum.EnumKeyFormatType;
+import ch.ntb.inf.kmip.kmipenum.EnumOperation;
+import ch.ntb.inf.kmip.kmipenum.EnumPutFunction;
+import ch.ntb.inf.kmip.kmipenum.EnumResultStatus;
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.kmipenum.EnumValidityIndicator;
+import ch.ntb.inf.kmip.objects.Authentication;
+import ch.ntb.inf.kmip.objects.CredentialValue;
+import ch.ntb.inf.kmip.objects.EncryptionKeyInformation;
+import ch.ntb.inf.kmip.objects.KeyMaterial;
+import ch.ntb.inf.kmip.objects.MACorSignatureKeyInformation;
+import ch.ntb.inf.kmip.objects.MessageExtension;
+import ch.ntb.inf.kmip.objects.VendorExtension;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.objects.base.Credential;
+import ch.ntb.inf.kmip.objects.base.KeyBlock;
+import ch.ntb.inf.kmip.objects.base.KeyValue;
+import ch.ntb.inf.kmip.objects.base.KeyWrappingData;
+import ch.ntb.inf.kmip.objects.base.KeyWrappingSpecification;
+import ch.ntb.inf.kmip.objects.base.TemplateAttributeStructure;
+import ch.ntb.inf.kmip.objects.base.TransparentKeyStructure;
+import ch.ntb.inf.kmip.objects.managed.Certificate;
+import ch.ntb.inf.kmip.objects.managed.ManagedObject;
+import ch.ntb.inf.kmip.objects.managed.OpaqueObject;
+import ch.ntb.inf.kmip.objects.managed.PrivateKey;
+import ch.ntb.inf.kmip.objects.managed.PublicKey;
+import ch.ntb.inf.kmip.objects.managed.SecretData;
+import ch.ntb.inf.kmip.objects.managed.SplitKey;
+import ch.ntb.inf.kmip.objects.managed.SymmetricKey;
+import ch.ntb.inf.kmip.objects.managed.Template;
+import ch.ntb.inf.kmip.operationparameters.DerivationParameters;
+import ch.ntb.inf.kmip.operationparameters.StorageStatusMask;
+import ch.ntb.inf.kmip.process.EnumStaticValues;
+import ch.ntb.inf.kmip.process.KMIPThreadSafeCodec;
+import ch.ntb.inf.kmip.types.KMIPBigInteger;
+import ch.ntb.inf.kmip.types.KMIPBoolean;
+import ch.ntb.inf.kmip.types.KMIPByteString;
+import ch.ntb.inf.kmip.types.KMIPDateTime;
+import ch.ntb.inf.kmip.types.KMIPEnumeration;
+import ch.ntb.inf.kmip.types.KMIPInteger;
+import ch.ntb.inf.kmip.types.KMIPInterval;
+import ch.ntb.inf.kmip.types.KMIPLongInteger;
+import ch.ntb.inf.kmip.types.KMIPTextString;
+import ch.ntb.inf.kmip.types.KMIPType;
+
+public class KMIPBufferEncoder implements KMIPEncoderInterface, KMIPThreadSafeCodec {
+
+	private static final int INTEGER_LENGTH = 4;
+	private static final int ENUMERATION_LENGTH = 4;
+	private static final int BOOLEAN_LENGTH = 8;
+	/**
+	 * The least number of bytes of an encoded Response Batch Item: the structure with a Result Status.
+	 */
+	public static final int MIN_RESPONSE_BATCH_ITEM_LENGTH = 24;
+	// from the length slot of a Response Message to the value of the Batch Count in its Response Header
+	private static final int RESPONSE_BATCH_COUNT_OFFSET = 76;
+	private static final int DATETIME_LENGTH = 8;
+	// a sink, which has grown beyond this capacity for a large message, is not kept for the next one
+	private static final int MAX_POOLED_SINK_CAPACITY = 1 << 20;
+
+	private static final ThreadLocal<KMIPByteSink> pooledSinks = new ThreadLocal<KMIPByteSink>() {
+		@Override
+		protected KMIPByteSink initialValue() {
+			return new KMIPByteSink();
+		}
+	};
+
+
+	public ArrayList<Byte> encodeRequest(KMIPContainer container) {
+		KMIPByteSink sink = new KMIPByteSink();
+		encodeRequest(container, sink);
+		return sink.toArrayList();
+	}
+
+	public ArrayList<Byte> encodeResponse(KMIPContainer container) {
+		KMIPByteSink sink = new KMIPByteSink();
+		encodeResponse(container, sink);
+		return sink.toArrayList();
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> and returns the KMIP-Request-Message as <code>byte[]</code>.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @return				<code>byte[]</code>
+	 */
+	public byte[] encodeRequestToByteArray(KMIPContainer container) {
+		KMIPByteSink sink = new KMIPByteSink();
+		encodeRequest(container, sink);
+		return sink.toByteArray();
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> and returns the KMIP-Response-Message as <code>byte[]</code>.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @return				<code>byte[]</code>
+	 */
+	public byte[] encodeResponseToByteArray(KMIPContainer container) {
+		KMIPByteSink sink = new KMIPByteSink();
+		encodeResponse(container, sink);
+		return sink.toByteArray();
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> and returns the KMIP-Request-Message as <code>ByteBuffer</code>,
+	 * positioned at the first byte of the message.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @return				<code>ByteBuffer</code>
+	 */
+	public ByteBuffer encodeRequestToByteBuffer(KMIPContainer container) {
+		KMIPByteSink sink = new KMIPByteSink();
+		encodeRequest(container, sink);
+		return sink.toByteBuffer();
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> and returns the KMIP-Response-Message as <code>ByteBuffer</code>,
+	 * positioned at the first byte of the message.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @return				<code>ByteBuffer</code>
+	 */
+	public ByteBuffer encodeResponseToByteBuffer(KMIPContainer container) {
+		KMIPByteSink sink = new KMIPByteSink();
+		encodeResponse(container, sink);
+		return sink.toByteBuffer();
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> into a sink kept by the calling thread and writes the 
+	 * KMIP-Request-Message to an <code>OutputStream</code> in a single write.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param out :			the <code>OutputStream</code> the message is written to.
+	 */
+	public void encodeRequest(KMIPContainer container, OutputStream out) throws IOException {
+		KMIPByteSink sink = borrowSink();
+		try{
+			encodeRequest(container, sink);
+			sink.writeTo(out);
+		} finally{
+			releaseSink(sink);
+		}
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> into a sink kept by the calling thread and writes the 
+	 * KMIP-Response-Message to an <code>OutputStream</code> in a single write.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param out :			the <code>OutputStream</code> the message is written to.
+	 */
+	public void encodeResponse(KMIPContainer container, OutputStream out) throws IOException {
+		KMIPByteSink sink = borrowSink();
+		try{
+			encodeResponse(container, sink);
+			sink.writeTo(out);
+		} finally{
+			releaseSink(sink);
+		}
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> into a sink kept by the calling thread and writes the 
+	 * KMIP-Request-Message to a <code>WritableByteChannel</code>. The method returns, when the whole 
+	 * message is written, so a non-blocking channel should rather be given <code>encodeRequestToByteBuffer</code>.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param channel :		the <code>WritableByteChannel</code> the message is written to.
+	 */
+	public void encodeRequest(KMIPContainer container, WritableByteChannel channel) throws IOException {
+		KMIPByteSink sink = borrowSink();
+		try{
+			encodeRequest(container, sink);
+			sink.writeTo(channel);
+		} finally{
+			releaseSink(sink);
+		}
+	}
+
+	/**
+	 * Encodes a <code>KMIPContainer</code> into a sink kept by the calling thread and writes the 
+	 * KMIP-Response-Message to a <code>WritableByteChannel</code>. The method returns, when the whole 
+	 * message is written, so a non-blocking channel should rather be given <code>encodeResponseToByteBuffer</code>.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param channel :		the <code>WritableByteChannel</code> the message is written to.
+	 */
+	public void encodeResponse(KMIPContainer container, WritableByteChannel channel) throws IOException {
+		KMIPByteSink sink = borrowSink();
+		try{
+			encodeResponse(container, sink);
+			sink.writeTo(channel);
+		} finally{
+			releaseSink(sink);
+		}
+	}
+
+	private KMIPByteSink borrowSink() {
+		KMIPByteSink sink = pooledSinks.get();
+		sink.reset();
+		return sink;
+	}
+
+	private void releaseSink(KMIPByteSink sink) {
+		if(sink.capacity() > MAX_POOLED_SINK_CAPACITY){
+			pooledSinks.remove();
+		}
+	}
+
+	/**
+	 * Appends the KMIP-Request-Message of a <code>KMIPContainer</code> to a <code>KMIPByteSink</code>.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param sink :		the <code>KMIPByteSink</code> the message is written into.
+	 */
+	public void encodeRequest(KMIPContainer container, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.RequestMessage, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeRequestHeader(container, sink);
+		for(int i = 0; i < container.getBatchCount(); i++){
+			encodeRequestBatchItem(container.getBatch(i), sink);
+		}
+		sink.patchLength(slot);
+	}
+
+	/**
+	 * Appends the KMIP-Response-Message of a <code>KMIPContainer</code> to a <code>KMIPByteSink</code>.
+	 *
+	 * @param container : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param sink :		the <code>KMIPByteSink</code> the message is written into.
+	 */
+	public void encodeResponse(KMIPContainer container, KMIPByteSink sink) {
+		int slot = startResponse(container.getBatchCount(), sink);
+		for(int i = 0; i < container.getBatchCount(); i++){
+			encodeResponseBatchItem(container.getBatch(i), sink);
+		}
+		sink.patchLength(slot);
+	}
+
+	/**
+	 * Appends the start of a KMIP-Response-Message and its Response Header to a <code>KMIPByteSink</code>,
+	 * so the Batch Items can be encoded one by one with <code>encodeResponseBatchItem</code>. The message is 
+	 * completed with <code>finishResponse</code>.
+	 *
+	 * @param batchCount : 	the number of Batch Items, which will follow.
+	 * @param sink :		the <code>KMIPByteSink</code> the message is written into.
+	 * @return				the slot of the message length
+	 */
+	public int startResponse(int batchCount, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.ResponseMessage, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeResponseHeader(batchCount, sink);
+		return slot;
+	}
+
+	/**
+	 * Completes a KMIP-Response-Message started with <code>startResponse</code>.
+	 *
+	 * @param slot : 		the slot returned by <code>startResponse</code>.
+	 * @param batchCount : 	the number of Batch Items actually encoded, which replaces the announced Batch Count.
+	 * @param sink :		the <code>KMIPByteSink</code> the message is written into.
+	 */
+	public void finishResponse(int slot, int batchCount, KMIPByteSink sink) {
+		sink.setLength(slot + RESPONSE_BATCH_COUNT_OFFSET, batchCount);
+		sink.patchLength(slot);
+	}
+
+	private void encodeRequestHeader(KMIPContainer container, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.RequestHeader, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		// Protocol Version (required)
+		encodeProtocolVersion(sink);
+
+		// Request Header Options
+		if(container.hasMaximumResponseSize()){
+			encodeInteger(EnumTag.MaximumResponseSize, container.getMaximumResponseSize(), sink);
+		}
+		if(container.hasAsynchronousIndicator()){
+			encodeBoolean(EnumTag.AsynchronousIndicator, container.getAsynchronousIndicator(), sink);
+		}
+		if(container.hasAuthentication()){
+			encodeAuthentication(container.getAuthentication(), sink);
+		}
+		if(container.hasBatchErrorContinuationOption()){
+			encodeEnumeration(EnumTag.BatchErrorContinuationOption, container.getBatchErrorContinuationOption(), sink);
+		}
+		if(container.hasBatchOrderOption()){
+			encodeBoolean(EnumTag.BatchOrderOption, container.getBatchOrderOption(), sink);
+		}
+		if(container.hasTimeStamp()){
+			encodeTimeStamp(container.getTimeStamp(), sink);
+		}
+
+		// Batch Count  (required)
+		encodeInteger(EnumTag.BatchCount, container.getBatchCountAsKMIPInteger(), sink);
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeResponseHeader(int batchCount, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.ResponseHeader, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeProtocolVersion(sink);
+		encodeTimeStamp(null, sink);
+		encodeInteger(EnumTag.BatchCount, batchCount, sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeProtocolVersion(KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.ProtocolVersion, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeInteger(EnumTag.ProtocolVersionMajor, EnumStaticValues.ProtocolVersionMajor.getDefault(), sink);
+		encodeInteger(EnumTag.ProtocolVersionMinor, EnumStaticValues.ProtocolVersionMinor.getDefault(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeAuthentication(Authentication authentication, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.Authentication, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeCredential(authentication.getCredential(), sink);
+		sink.patchLength(slot);
+	}
+
+	/**
+	 * Appends a Credential to a <code>KMIPByteSink</code>.
+	 *
+	 * @param credential : 	the <code>Credential</code> to be encoded.
+	 * @param sink :		the <code>KMIPByteSink</code> the Credential is written into.
+	 */
+	public void encodeCredential(Credential credential, KMIPByteSink sink){
+		sink.writeTagAndType(EnumTag.Credential, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeEnumeration(EnumTag.CredentialType, credential.getCredentialType(), sink);
+		encodeCredentialValue(credential.getCredentialValue(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeCredentialValue(CredentialValue credentialValue, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.CredentialValue, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeTextString(EnumTag.Username, credentialValue.getUsername(), sink);
+		encodeTextString(EnumTag.Password, credentialValue.getPassword(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeTimeStamp(KMIPDateTime dateTime, KMIPByteSink sink){
+		sink.writeTagAndType(EnumTag.TimeStamp, EnumType.DateTime);
+		sink.writeInt(DATETIME_LENGTH);
+		if(dateTime == null){
+			sink.writeLong(KMIPDateTime.createCurrentDateTime());
+		} else{
+			sink.writeLong(dateTime.getValue());
+		}
+	}
+
+	private void encodeRequestBatchItem(KMIPBatch batch, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.BatchItem, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		// Operation (required)
+		encodeEnumeration(EnumTag.Operation, batch.getOperation(), sink);
+
+		// Unique Batch Item ID (required if Batch Count > 1)
+		if(batch.hasUniqueBatchItemID()){
+			encodeByteString(EnumTag.UniqueBatchItemID, batch.getUniqueBatchItemID(), sink);
+		}
+
+		// Request Payload (required)
+		encodeRequestPayload(batch, sink);
+
+		// Message Extension (optional)
+		if(batch.hasMessageExtension()){
+			encodeMessageExtension(batch.getMessageExtension(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	/**
+	 * Appends a Response Batch Item to a <code>KMIPByteSink</code>.
+	 *
+	 * @param batch : 	the <code>KMIPBatch</code> to be encoded.
+	 * @param sink :	the <code>KMIPByteSink</code> the Batch Item is written into.
+	 */
+	public void encodeResponseBatchItem(KMIPBatch batch, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.BatchItem, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		// Operation (required, except if Response is too large)
+		if(batch.hasOperation()){
+			encodeEnumeration(EnumTag.Operation, batch.getOperation(), sink);
+		}
+
+		// Unique Batch Item ID (optional)
+		if(batch.hasUniqueBatchItemID()){
+			encodeByteString(EnumTag.UniqueBatchItemID, batch.getUniqueBatchItemID(), sink);
+		}
+
+		// Result Status (required)
+		encodeEnumeration(EnumTag.ResultStatus, batch.getResultStatus(), sink);
+
+		// Result Reason (required if Result Status is Failure)
+		if(batch.hasResultReason()){
+			encodeEnumeration(EnumTag.ResultReason, batch.getResultReason(), sink);
+		}
+
+		// Result Message (optional, if Result Status is not Pending of Success)
+		if(batch.hasResultMessage()){
+			encodeTextString(EnumTag.ResultMessage, batch.getResultMessage(), sink);
+		}
+
+		// Asynchronous Correlation Value (required, if Result Status is Pending)
+		if(batch.hasAsynchronousCorrelationValue()){
+			encodeByteString(EnumTag.AsynchronousCorrelationValue, batch.getAsynchronousCorrelationValue(), sink);
+		}
+
+		// Response Payload (required, if Result Status is not OperationFailed)
+		if(batch.getResultStatus().getValue() == EnumResultStatus.Success){
+			if(batch.hasEncodedResponsePayload()){
+				sink.writeBytes(batch.getEncodedResponsePayload());
+			} else{
+				encodeResponsePayload(batch, sink);
+			}
+		}
+
+		if(batch.hasMessageExtension()){
+			encodeMessageExtension(batch.getMessageExtension(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeMessageExtension(MessageExtension messageExtension, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.MessageExtension, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeBoolean(EnumTag.CriticalityIndicator, messageExtension.getCriticalityIndicator(), sink);
+		encodeTextString(EnumTag.VendorIdentification, messageExtension.getVendorIdentification(), sink);
+		encodeVendorExtension(messageExtension.getVendorExtension(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeVendorExtension(VendorExtension vendorExtension, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.VendorExtension, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeValue(vendorExtension.getTag(), vendorExtension.getType(), vendorExtension.getKMIPType(), sink);
+		sink.patchLength(slot);
+	}
+
+	/**
+	 * Appends the Request Payload of a <code>KMIPBatch</code> to a <code>KMIPByteSink</code>.
+	 *
+	 * @param batch : 	the <code>KMIPBatch</code> to be encoded.
+	 * @param sink :	the <code>KMIPByteSink</code> the Request Payload is written into.
+	 */
+	public void encodeRequestPayload(KMIPBatch batch, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.RequestPayload, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		int op = batch.getOperation().getValue();
+		if(op == EnumOperation.GetAttributes || op == EnumOperation.DeleteAttribute){
+			for(Attribute attrib : batch.getAttributes()){
+				if(attrib instanceof UniqueIdentifier){
+					encodeAttribute(attrib, sink);
+				} else{
+					encodeAttributeName(attrib, sink);
+					if(attrib.hasAttributeIndex()){
+						encodeInteger(EnumTag.AttributeIndex, attrib.getAttributeIndex(), sink);
+					}
+				}
+			}
+		} else if(op == EnumOperation.Locate){
+			for(Attribute attrib : batch.getAttributes()){
+				if(attrib instanceof StorageStatusMask){
+					encodeAttribute(attrib, sink);
+				} else{
+					encodeAttributeStructure(attrib, sink);
+				}
+			}
+		} else if(op == EnumOperation.Check || op == EnumOperation.GetUsageAllocation){
+			for(Attribute attrib : batch.getAttributes()){
+				if(attrib instanceof UsageLimits){
+					encodeUsageLimits((UsageLimits) attrib, sink);
+				} else{
+					encodeAttribute(attrib, sink);
+				}
+			}
+		} else if(op == EnumOperation.AddAttribute || op == EnumOperation.ModifyAttribute){
+			for(Attribute attrib : batch.getAttributes()){
+				if(attrib instanceof UniqueIdentifier){
+					encodeAttribute(attrib, sink);
+				} else{
+					encodeAttributeStructure(attrib, sink);
+				}
+			}
+		} else{
+			for(Attribute attrib : batch.getAttributes()){
+				encodeAttribute(attrib, sink);
+			}
+		}
+
+		for(TemplateAttributeStructure templateAttributeStructure : batch.getTemplateAttributeStructures()){
+			encodeTemplateAttributeStructure(templateAttributeStructure, sink);
+		}
+
+		if(batch.hasManagedObject()){
+			encodeManagedObject(batch, sink);
+		}
+
+		if(batch.hasKMIPTypes()){
+			for(KMIPType kmipType : batch.getKMIPTypes()){
+				encodeKMIPType(kmipType, sink);
+			}
+		}
+
+		if(op == EnumOperation.DeriveKey && batch.hasDerivationParameters()){
+			encodeDerivationParameters(batch.getDerivationParameters(), sink);
+		}
+
+		if(op == EnumOperation.Get && batch.hasKeyWrappingSpecification()){
+			encodeKeyWrappingSpecification(batch.getKeyWrappingSpecification(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	/**
+	 * Appends the Response Payload of a <code>KMIPBatch</code> to a <code>KMIPByteSink</code>. 
+	 * An already encoded Response Payload of the batch is ignored.
+	 *
+	 * @param batch : 	the <code>KMIPBatch</code> to be encoded.
+	 * @param sink :	the <code>KMIPByteSink</code> the Response Payload is written into.
+	 */
+	public void encodeResponsePayload(KMIPBatch batch, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.ResponsePayload, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		int op = batch.getOperation().getValue();
+		if(op == EnumOperation.GetAttributes || op == EnumOperation.AddAttribute || op == EnumOperation.ModifyAttribute || op == EnumOperation.DeleteAttribute){
+			for(Attribute attrib : batch.getAttributes()){
+				if(attrib instanceof UniqueIdentifier){
+					encodeAttribute(attrib, sink);
+				} else{
+					encodeAttributeStructure(attrib, sink);
+				}
+			}
+		} else if(op == EnumOperation.GetAttributeList){
+			for(Attribute attrib : batch.getAttributes()){
+				if(attrib instanceof UniqueIdentifier && attrib.getValues()[0].getValueString() != null){
+					encodeAttribute(attrib, sink);
+				} else{
+					encodeAttributeName(attrib, sink);
+				}
+			}
+		} else if(op == EnumOperation.Query){
+			for(Attribute attrib : batch.getAttributes()){
+				if(attrib instanceof ApplicationSpecificInformation){
+					encodeTextString(EnumTag.ApplicationNamespace, (KMIPTextString) attrib.getValues()[0].getValueAsKMIPType(), sink);
+				} else{
+					encodeAttribute(attrib, sink);
+				}
+			}
+		} else{
+			for(Attribute attrib : batch.getAttributes()){
+				encodeAttribute(attrib, sink);
+			}
+		}
+
+		for(TemplateAttributeStructure templateAttributeStructure : batch.getTemplateAttributeStructures()){
+			for(Attribute attrib : templateAttributeStructure.getAttributes()){
+				encodeAttributeStructure(attrib, sink);
+			}
+		}
+
+		if(batch.hasManagedObject()){
+			encodeManagedObject(batch, sink);
+		}
+
+		if(batch.hasKMIPTypes()){
+			for(KMIPType kmipType : batch.getKMIPTypes()){
+				encodeKMIPType(kmipType, sink);
+			}
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeTemplateAttributeStructure(TemplateAttributeStructure tas, KMIPByteSink sink) {
+		sink.writeTagAndType(tas.getTag().getValue(), EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		for(Name name : tas.getNames()){
+			encodeAttribute(name, sink);
+		}
+
+		for(Attribute attribute : tas.getAttributes()){
+			encodeAttributeStructure(attribute, sink);
+		}
+		sink.patchLength(slot);
+	}
+
+	private void encodeAttributeStructure(Attribute attribute, KMIPByteSink sink) {
+		KMIPAttributeFragments.Fragment fragment = KMIPAttributeFragments.getEnumeratedAttribute(attribute);
+		if(fragment != null){
+			sink.writeBytes(fragment.getBytes());
+			return;
+		}
+		sink.writeTagAndType(EnumTag.Attribute, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeAttributeName(attribute, sink);
+		encodeAttributeValue(attribute, sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeAttributeName(Attribute attribute, KMIPByteSink sink) {
+		KMIPAttributeFragments.Fragment name = KMIPAttributeFragments.getAttributeName(attribute);
+		if(name != null){
+			sink.writeBytes(name.getBytes());
+			return;
+		}
+		encodeTextString(EnumTag.AttributeName, attribute.getAttributeName(), sink);
+	}
+
+	private void encodeAttributeValue(Attribute attribute, KMIPByteSink sink) {
+		KMIPAttributeValue[] values = attribute.getValues();
+		if(attribute.getAttributeType() == EnumType.Structure){
+			sink.writeTagAndType(EnumTag.AttributeValue, EnumType.Structure);
+			int slot = sink.reserveLength();
+			for(KMIPAttributeValue value : values){
+				if(!(value.getValueString().equals("-1"))){
+					if(!(value.getType() == EnumType.LongInteger && value.getValueString().equals("0"))){ // Case Usage Limits without Usage Limit Count
+						encodeValue(value.getTag(), value.getType(), value.getValueAsKMIPType(), sink);
+					}
+				}
+			}
+			sink.patchLength(slot);
+		} else{
+			encodeValue(EnumTag.AttributeValue, attribute.getAttributeType(), values[0].getValueAsKMIPType(), sink);
+		}
+	}
+
+	private void encodeManagedObject(KMIPBatch batch, KMIPByteSink sink) {
+		// a Managed Object, which has not been decoded, is copied as it has been received
+		KMIPEncodedManagedObject encodedManagedObject = batch.getEncodedManagedObject();
+		if(encodedManagedObject != null){
+			sink.writeBytes(encodedManagedObject.getEncoded());
+		} else{
+			encodeManagedObject(batch.getManagedObject(), sink);
+		}
+	}
+
+	private void encodeManagedObject(ManagedObject managedObject, KMIPByteSink sink) {
+		if(managedObject instanceof Template){
+			encodeTemplate((Template) managedObject, sink);
+		}
+		else if(managedObject instanceof SymmetricKey){
+			encodeSymmetricKey((SymmetricKey) managedObject, sink);
+		}
+		else if(managedObject instanceof SecretData){
+			encodeSecretData((SecretData) managedObject, sink);
+		}
+		else if(managedObject instanceof PrivateKey){
+			encodePrivateKey((PrivateKey) managedObject, sink);
+		}
+		else if(managedObject instanceof PublicKey){
+			encodePublicKey((PublicKey) managedObject, sink);
+		}
+		else if(managedObject instanceof Certificate){
+			encodeCertificate((Certificate) managedObject, sink);
+		}
+		else if(managedObject instanceof SplitKey){
+			encodeSplitKey((SplitKey) managedObject, sink);
+		}
+		else if(managedObject instanceof OpaqueObject){
+			encodeOpaqueObject((OpaqueObject) managedObject, sink);
+		}
+	}
+
+	private void encodeTemplate(Template template, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.Template, EnumType.Structure);
+		int slot = sink.reserveLength();
+		for(Attribute attribute : template.getAttributes()){
+			encodeAttributeStructure(attribute, sink);
+		}
+		sink.patchLength(slot);
+	}
+
+	private void encodeSymmetricKey(SymmetricKey symmetricKey, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.SymmetricKey, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeKeyBlock(symmetricKey.getKeyBlock(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeSecretData(SecretData secretData, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.SecretData, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeEnumeration(EnumTag.SecretDataType, secretData.getSecretDataType(), sink);
+		encodeKeyBlock(secretData.getKeyBlock(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodePrivateKey(PrivateKey privateKey, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.PrivateKey, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeKeyBlock(privateKey.getKeyBlock(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodePublicKey(PublicKey publicKey, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.PublicKey, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeKeyBlock(publicKey.getKeyBlock(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeCertificate(Certificate certificate, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.Certificate, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeEnumeration(EnumTag.CertificateType, certificate.getCertificateType(), sink);
+		encodeByteString(EnumTag.CertificateValue, certificate.getCertificateValue(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeSplitKey(SplitKey splitKey, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.SplitKey, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeInteger(EnumTag.SplitKeyParts, splitKey.getSplitKeyParts(), sink);
+		encodeInteger(EnumTag.KeyPartIdentifier, splitKey.getKeyPartIdentifier(), sink);
+		encodeInteger(EnumTag.SplitKeyThreshold, splitKey.getSplitKeyThreshhosd(), sink);
+		encodeEnumeration(EnumTag.SplitKeyMethod, splitKey.getSplitKeyMethod(), sink);
+
+		if(splitKey.hasPrimeFieldSize()){
+			encodeBigInteger(EnumTag.PrimeFieldSize, splitKey.getPrimeFieldSize(), sink);
+		}
+
+		encodeKeyBlock(splitKey.getKeyBlock(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeOpaqueObject(OpaqueObject opaqueObject, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.OpaqueObject, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeEnumeration(EnumTag.OpaqueDataType, opaqueObject.getOpaqueDataType(), sink);
+		encodeByteString(EnumTag.OpaqueDataValue, opaqueObject.getOpaqueDataValue(), sink);
+		sink.patchLength(slot);
+	}
+
+	private void encodeKeyBlock(KeyBlock keyBlock, KMIPByteSink sink){
+		sink.writeTagAndType(EnumTag.KeyBlock, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		encodeEnumeration(EnumTag.KeyFormatType, keyBlock.getKeyFormatType(), sink);
+
+		if(keyBlock.hasKeyCompressionType()){
+			encodeEnumeration(EnumTag.KeyCompressionType, keyBlock.getKeyCompressionType(), sink);
+		}
+
+		encodeKeyValue(keyBlock.getKeyValue(), sink);
+
+		if(keyBlock.hasCryptographicAlgorithm()){
+			encodeAttribute(keyBlock.getCryptographicAlgorithm(), sink);
+		}
+		if(keyBlock.hasCryptographicLength()){
+			encodeAttribute(keyBlock.getCryptographicLength(), sink);
+		}
+
+		if(keyBlock.hasKeyWrappingData()){
+			encodeKeyWrappingData(keyBlock.getKeyWrappingData(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeKeyValue(KeyValue keyValue, KMIPByteSink sink){
+		sink.writeTagAndType(EnumTag.KeyValue, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		encodeKeyMaterial(keyValue.getKeyMaterial(), sink);
+
+		for(Attribute a : keyValue.getAttributes()){
+			encodeAttribute(a, sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeKeyMaterial(KeyMaterial keyMaterial, KMIPByteSink sink){
+		KMIPByteString keyMaterialByteString = keyMaterial.getKeyMaterialByteString();
+		TransparentKeyStructure transparentKeyStructure = keyMaterial.getTransparentKeyStructure();
+
+		if(keyMaterialByteString != null){
+			encodeByteString(EnumTag.KeyMaterial, keyMaterialByteString, sink);
+		} else if(transparentKeyStructure != null){
+			sink.writeTagAndType(EnumTag.KeyMaterial, EnumType.Structure);
+			int slot = sink.reserveLength();
+			encodeTransparentKeyStructure(transparentKeyStructure, sink);
+			sink.patchLength(slot);
+		}
+	}
+
+	private void encodeTransparentKeyStructure(TransparentKeyStructure tks, KMIPByteSink sink) {
+		if(tks.hasModulus()){
+			encodeBigInteger(EnumTag.Modulus, tks.getModulus(), sink);
+		}
+		if(tks.hasPrivateExponent()){
+			encodeBigInteger(EnumTag.PrivateExponent, tks.getPrivateExponent(), sink);
+		}
+		if(tks.hasPublicExponent()){
+			encodeBigInteger(EnumTag.PublicExponent, tks.getPublicExponent(), sink);
+		}
+		if(tks.hasP()){
+			encodeBigInteger(EnumTag.P, tks.getP(), sink);
+		}
+		if(tks.hasQ()){
+			encodeBigInteger(EnumTag.Q, tks.getQ(), sink);
+		}
+		if(tks.hasG()){
+			encodeBigInteger(EnumTag.G, tks.getG(), sink);
+		}
+		if(tks.hasJ()){
+			encodeBigInteger(EnumTag.J, tks.getJ(), sink);
+		}
+		if(tks.hasX()){
+			encodeBigInteger(EnumTag.X, tks.getX(), sink);
+		}
+		if(tks.hasY()){
+			encodeBigInteger(EnumTag.Y, tks.getY(), sink);
+		}
+		if(tks.hasPrimeExponentP()){
+			encodeBigInteger(EnumTag.PrimeExponentP, tks.getPrimeExponentP(), sink);
+		}
+		if(tks.hasPrimeExponentQ()){
+			encodeBigInteger(EnumTag.PrimeExponentQ, tks.getPrimeExponentQ(), sink);
+		}
+		if(tks.hasCrtCoefficient()){
+			encodeBigInteger(EnumTag.CRTCoefficient, tks.getCrtCoefficient(), sink);
+		}
+		if(tks.hasRecommendedCurve()){
+			encodeEnumeration(EnumTag.RecommendedCurve, tks.getRecommendedCurve(), sink);
+		}
+		if(tks.hasD()){
+			encodeBigInteger(EnumTag.D, tks.getD(), sink);
+		}
+		if(tks.hasQString()){
+			encodeByteString(EnumTag.QString, tks.getQString(), sink);
+		}
+	}
+
+	private void encodeKeyWrappingData(KeyWrappingData keyWrappingData, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.KeyWrappingData, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		encodeEnumeration(EnumTag.WrappingMethod, keyWrappingData.getWrappingMethod(), sink);
+
+		if(keyWrappingData.hasEncryptionKeyInformation()){
+			encodeEncryptionKeyInformation(keyWrappingData.getEncryptionKeyInformation(), sink);
+		}
+		if(keyWrappingData.hasMACSignatureKeyInformation()){
+			encodeMacSignatureKeyInformation(keyWrappingData.getMacSignatureKeyInformation(), sink);
+		}
+		if(keyWrappingData.hasMACSignature()){
+			encodeByteString(EnumTag.MACSignature, keyWrappingData.getMacSignature(), sink);
+		}
+		if(keyWrappingData.hasIVCounterNonce()){
+			encodeByteString(EnumTag.IVCounterNonce, keyWrappingData.getIVCounterNonce(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeDerivationParameters(DerivationParameters derivationParameters, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.DerivationParameters, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		if(derivationParameters.hasCryptographicParameters()){
+			encodeAttribute(derivationParameters.getCryptographicParameters(), sink);
+		}
+		if(derivationParameters.hasInitializationVector()){
+			encodeByteString(EnumTag.InitializationVector, derivationParameters.getInitializationVector(), sink);
+		}
+		if(derivationParameters.hasDerivationData()){
+			encodeByteString(EnumTag.DerivationData, derivationParameters.getDerivationData(), sink);
+		}
+		if(derivationParameters.hasSalt()){
+			encodeByteString(EnumTag.Salt, derivationParameters.getSalt(), sink);
+		}
+		if(derivationParameters.hasIterationCount()){
+			encodeInteger(EnumTag.IterationCount, derivationParameters.getIterationCount(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeKeyWrappingSpecification(KeyWrappingSpecification keyWrappingSpecification, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.KeyWrappingSpecification, EnumType.Structure);
+		int slot = sink.reserveLength();
+
+		encodeEnumeration(EnumTag.WrappingMethod, keyWrappingSpecification.getWrappingMethod(), sink);
+
+		if(keyWrappingSpecification.hasEncryptionKeyInformation()){
+			encodeEncryptionKeyInformation(keyWrappingSpecification.getEncryptionKeyInformation(), sink);
+		}
+		if(keyWrappingSpecification.hasMACSignatureKeyInformation()){
+			encodeMacSignatureKeyInformation(keyWrappingSpecification.getMacSignatureKeyInformation(), sink);
+		}
+		if(keyWrappingSpecification.hasAttributeNames()){
+			for(KMIPTextString attributeName : keyWrappingSpecification.getNames()){
+				encodeTextString(EnumTag.AttributeName, attributeName, sink);
+			}
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeEncryptionKeyInformation(EncryptionKeyInformation encryptionKeyInformation, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.EncryptionKeyInformation, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeAttribute(encryptionKeyInformation.getUniqueIdentifier(), sink);
+		if(encryptionKeyInformation.hasCryptographicParameters()){
+			encodeAttribute(encryptionKeyInformation.getCryptographicParameters(), sink);
+		}
+		sink.patchLength(slot);
+	}
+
+	private void encodeMacSignatureKeyInformation(MACorSignatureKeyInformation macSignatureKeyInformation, KMIPByteSink sink) {
+		sink.writeTagAndType(EnumTag.MACSignatureKeyInformation, EnumType.Structure);
+		int slot = sink.reserveLength();
+		encodeAttribute(macSignatureKeyInformation.getUniqueIdentifier(), sink);
+		if(macSignatureKeyInformation.hasCryptographicParameters()){
+			encodeAttribute(macSignatureKeyInformation.getCryptographicParameters(), sink);
+		}
+		sink.patchLength(slot);
+	}
+
+	private void encodeKMIPType(KMIPType kmipType, KMIPByteSink sink){
+		if(kmipType instanceof EnumDerivationMethod){
+			encodeEnumeration(EnumTag.DerivationMethod, (KMIPEnumeration) kmipType, sink);
+		}
+		else if(kmipType instanceof EnumCertificateRequestType){
+			encodeEnumeration(EnumTag.CertificateRequestType, (KMIPEnumeration) kmipType, sink);
+		}
+		else if(kmipType instanceof EnumKeyFormatType){
+			encodeEnumeration(EnumTag.KeyFormatType, (KMIPEnumeration) kmipType, sink);
+		}
+		else if(kmipType instanceof EnumKeyCompressionType){
+			encodeEnumeration(EnumTag.KeyCompressionType, (KMIPEnumeration) kmipType, sink);
+		}
+		else if(kmipType instanceof EnumValidityIndicator){
+			encodeEnumeration(EnumTag.ValidityIndicator, (KMIPEnumeration) kmipType, sink);
+		}
+		else if(kmipType instanceof EnumCancellationResult){
+			encodeEnumeration(EnumTag.CancellationResult, (KMIPEnumeration) kmipType, sink);
+		}
+		else if(kmipType instanceof EnumPutFunction){
+			encodeEnumeration(EnumTag.PutFunction, (KMIPEnumeration) kmipType, sink);
+		}
+	}
+
+	private void encodeAttribute(Attribute attribute, KMIPByteSink sink){
+		KMIPAttributeValue[] values = attribute.getValues();
+		if(attribute.getAttributeType() == EnumType.Structure){
+			sink.writeTagAndType(attribute.getTag().getValue(), EnumType.Structure);
+			int slot = sink.reserveLength();
+			for(KMIPAttributeValue value : values){
+				if(value.getValueString() != null && value.getValueString().length() > 0){
+					encodeValue(value.getTag(), value.getType(), value.getValueAsKMIPType(), sink);
+				}
+			}
+			sink.patchLength(slot);
+		} else{
+			encodeValue(attribute.getTag().getValue(), attribute.getAttributeType(), values[0].getValueAsKMIPType(), sink);
+		}
+	}
+
+	private void encodeUsageLimits(UsageLimits usageLimits, KMIPByteSink sink) {
+		encodeValue(EnumTag.UsageLimitsCount, EnumType.LongInteger, usageLimits.getValues()[1].getValueAsKMIPType(), sink);
+	}
+
+	private void encodeEnumeration(int tag, KMIPEnumeration kmipEnum, KMIPByteSink sink) {
+		sink.writeTagAndType(tag, EnumType.Enumeration);
+		sink.writeInt(ENUMERATION_LENGTH);
+		sink.writeInt(kmipEnum.getValue());
+		sink.writePadding(ENUMERATION_LENGTH);
+	}
+
+	private void encodeInteger(int tag, KMIPInteger kmipInteger, KMIPByteSink sink) {
+		encodeInteger(tag, kmipInteger.getValue(), sink);
+	}
+
+	private void encodeInteger(int tag, int kmipInteger, KMIPByteSink sink) {
+		sink.writeTagAndType(tag, EnumType.Integer);
+		sink.writeInt(INTEGER_LENGTH);
+		sink.writeInt(kmipInteger);
+		sink.writePadding(INTEGER_LENGTH);
+	}
+
+	private void encodeBigInteger(int tag, KMIPBigInteger kmipBigInteger, KMIPByteSink sink) {
+		encodeValue(tag, EnumType.BigInteger, kmipBigInteger, sink);
+	}
+
+	private void encodeByteString(int tag, KMIPByteString kmipByteString, KMIPByteSink sink) {
+		encodeValue(tag, EnumType.ByteString, kmipByteString, sink);
+	}
+
+	private void encodeTextString(int tag, KMIPTextString kmipTextString, KMIPByteSink sink) {
+		encodeTextString(tag, kmipTextString.getValue(), sink);
+	}
+
+	private void encodeTextString(int tag, String text, KMIPByteSink sink) {
+		sink.writeTagAndType(tag, EnumType.TextString);
+		sink.writeInt(KMIPByteSink.utf8Length(text));
+		sink.writePadding(sink.writeUTF8(text));
+	}
+
+	private void encodeBoolean(int tag, KMIPBoolean kmipBoolean, KMIPByteSink sink) {
+		sink.writeTagAndType(tag, EnumType.Boolean);
+		sink.writeInt(BOOLEAN_LENGTH);
+		sink.writeLong(kmipBoolean.getValue() ? 1 : 0);
+	}
+
+	private void encodeValue(int tag, int type, KMIPType value, KMIPByteSink sink) {
+		sink.writeTagAndType(tag, type);
+		sink.writeInt(value.encodedLength());
+		value.writeTo(sink);
+	}
+
+}
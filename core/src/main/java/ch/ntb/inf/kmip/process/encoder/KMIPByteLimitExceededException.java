@@ -0,0 +1,54 @@
+/**
+ * KMIPByteLimitExceededException.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPByteLimitExceededException is thrown by a KMIPByteSink,
+ * when a write would exceed the limit set for the sink, e.g. the
+ * Maximum Response Size of a request. It is unchecked, because it
+ * is thrown from the innermost write of an encoder.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.encoder;
+
+public class KMIPByteLimitExceededException extends RuntimeException {
+
+	private static final long serialVersionUID = 4151623587224091826L;
+
+	private final int limit;
+	private final int requiredSize;
+
+	KMIPByteLimitExceededException(int limit, int requiredSize){
+		super("ByteLimitExceededException:: at least " + requiredSize + " bytes required, limit is " + limit);
+		this.limit = limit;
+		this.requiredSize = requiredSize;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * @return		the number of bytes, which would have been written at least
+	 */
+	public int getRequiredSize() {
+		return requiredSize;
+	}
+
+}
@@ -0,0 +1,299 @@
+/**
+ * KMIPByteSink.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPByteSink is a growable byte[] the KMIPBufferEncoder writes
+ * the TTLV-encoded message into. The length of a structure is not
+ * known before its children are encoded, so a 4-byte slot is
+ * reserved for it and patched in place afterwards, instead of
+ * inserting the length in front of the already encoded bytes.
+ * A limit can be set, so that encoding is aborted with a
+ * KMIPByteLimitExceededException as soon as it is exceeded.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.encoder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class KMIPByteSink {
+
+	private static final int DEFAULT_CAPACITY = 256;
+	private static final int LENGTH_SIZE = 4;
+	private static final int ALIGNMENT = 8;
+
+	private byte[] buffer;
+	private int size;
+	private int limit = Integer.MAX_VALUE;
+
+	public KMIPByteSink() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public KMIPByteSink(int capacity) {
+		this.buffer = new byte[Math.max(capacity, LENGTH_SIZE)];
+	}
+
+	public void writeByte(int b) {
+		ensureCapacity(1);
+		buffer[size++] = (byte) b;
+	}
+
+	public void writeInt(int val) {
+		ensureCapacity(4);
+		putInt(size, val);
+		size += 4;
+	}
+
+	public void writeLong(long val) {
+		ensureCapacity(8);
+		putInt(size, (int) (val >> 32));
+		putInt(size + 4, (int) val);
+		size += 8;
+	}
+
+	public void writeBytes(byte[] b) {
+		writeBytes(b, 0, b.length);
+	}
+
+	public void writeBytes(byte[] b, int off, int len) {
+		ensureCapacity(len);
+		System.arraycopy(b, off, buffer, size, len);
+		size += len;
+	}
+
+	/**
+	 * Writes the remaining bytes of the buffer. The position of the buffer is not changed.
+	 */
+	public void writeBytes(ByteBuffer b) {
+		int len = b.remaining();
+		ensureCapacity(len);
+		b.duplicate().get(buffer, size, len);
+		size += len;
+	}
+
+	/**
+	 * Writes the text UTF-8 encoded, without creating a <code>byte[]</code> for it. 
+	 * An unpaired surrogate is written as '?', like <code>String.getBytes</code> does.
+	 *
+	 * @return		the number of bytes written
+	 */
+	public int writeUTF8(CharSequence text) {
+		int len = text.length();
+		grow(len * 3);
+		int start = size;
+		for(int i = 0; i < len; i++){
+			char c = text.charAt(i);
+			if(c < 0x80){
+				buffer[size++] = (byte) c;
+			} else if(c < 0x800){
+				buffer[size++] = (byte) (0xC0 | (c >> 6));
+				buffer[size++] = (byte) (0x80 | (c & 0x3F));
+			} else if(Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1))){
+				int cp = Character.toCodePoint(c, text.charAt(++i));
+				buffer[size++] = (byte) (0xF0 | (cp >> 18));
+				buffer[size++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+				buffer[size++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+				buffer[size++] = (byte) (0x80 | (cp & 0x3F));
+			} else if(Character.isSurrogate(c)){
+				buffer[size++] = '?';
+			} else{
+				buffer[size++] = (byte) (0xE0 | (c >> 12));
+				buffer[size++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+				buffer[size++] = (byte) (0x80 | (c & 0x3F));
+			}
+		}
+		if(size > limit){
+			int required = size;
+			size = start;
+			throw new KMIPByteLimitExceededException(limit, required);
+		}
+		return size - start;
+	}
+
+	/**
+	 * @return		the number of bytes <code>writeUTF8</code> writes for the text
+	 */
+	public static int utf8Length(CharSequence text) {
+		int len = text.length();
+		int n = 0;
+		for(int i = 0; i < len; i++){
+			char c = text.charAt(i);
+			if(c < 0x80){
+				n += 1;
+			} else if(c < 0x800){
+				n += 2;
+			} else if(Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1))){
+				n += 4;
+				i++;
+			} else if(Character.isSurrogate(c)){
+				n += 1;
+			} else{
+				n += 3;
+			}
+		}
+		return n;
+	}
+
+	/**
+	 * Writes zero-bytes until the given length is a multiple of 8.
+	 *
+	 * @param length	: the length of the value, which has been written before
+	 */
+	public void writePadding(int length) {
+		int pLen = (ALIGNMENT - (length % ALIGNMENT)) % ALIGNMENT;
+		ensureCapacity(pLen);
+		for(int i = 0; i < pLen; i++){
+			buffer[size++] = 0x00;
+		}
+	}
+
+	public void writeTagAndType(int tag, int type) {
+		ensureCapacity(4);
+		buffer[size++] = (byte) (tag >> 16);
+		buffer[size++] = (byte) (tag >> 8);
+		buffer[size++] = (byte) tag;
+		buffer[size++] = (byte) type;
+	}
+
+	/**
+	 * Reserves a 4-byte slot for a length, which is not known yet.
+	 *
+	 * @return		the position of the slot, to be passed to <code>patchLength</code>
+	 */
+	public int reserveLength() {
+		ensureCapacity(LENGTH_SIZE);
+		int slot = size;
+		size += LENGTH_SIZE;
+		return slot;
+	}
+
+	/**
+	 * Sets the length of the slot to the number of bytes written after it.
+	 *
+	 * @param slot	: the position returned by <code>reserveLength</code>
+	 */
+	public void patchLength(int slot) {
+		setLength(slot, size - slot - LENGTH_SIZE);
+	}
+
+	public void setLength(int slot, int length) {
+		putInt(slot, length);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public void reset() {
+		size = 0;
+	}
+
+	/**
+	 * Sets the maximum number of bytes this sink accepts. A write, which would exceed it, 
+	 * throws a <code>KMIPByteLimitExceededException</code> and writes nothing.
+	 *
+	 * @param limit	: the maximum size, <code>Integer.MAX_VALUE</code> for no limit
+	 */
+	public void setLimit(int limit) {
+		this.limit = limit;
+	}
+
+	public int getLimit() {
+		return limit;
+	}
+
+	/**
+	 * Checks, that <code>n</code> more bytes can be written without exceeding the limit.
+	 *
+	 * @throws KMIPByteLimitExceededException	if they can not
+	 */
+	public void checkLimit(int n) {
+		if(n > limit - size){
+			throw new KMIPByteLimitExceededException(limit, size + n);
+		}
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(buffer, size);
+	}
+
+	/**
+	 * @return		a <code>ByteBuffer</code> backed by the bytes of this sink, without copying them
+	 */
+	public ByteBuffer toByteBuffer() {
+		return ByteBuffer.wrap(buffer, 0, size);
+	}
+
+	/**
+	 * Writes the bytes of this sink to an <code>OutputStream</code>, without copying them.
+	 */
+	public void writeTo(OutputStream out) throws IOException {
+		out.write(buffer, 0, size);
+	}
+
+	/**
+	 * Writes all bytes of this sink to a <code>WritableByteChannel</code>, without copying them.
+	 */
+	public void writeTo(WritableByteChannel channel) throws IOException {
+		ByteBuffer b = toByteBuffer();
+		while(b.hasRemaining()){
+			channel.write(b);
+		}
+	}
+
+	/**
+	 * @return		the number of bytes this sink can hold without growing
+	 */
+	public int capacity() {
+		return buffer.length;
+	}
+
+	public ArrayList<Byte> toArrayList() {
+		ArrayList<Byte> al = new ArrayList<>(size);
+		for(int i = 0; i < size; i++){
+			al.add(buffer[i]);
+		}
+		return al;
+	}
+
+	private void putInt(int pos, int val) {
+		buffer[pos] = (byte) (val >> 24);
+		buffer[pos + 1] = (byte) (val >> 16);
+		buffer[pos + 2] = (byte) (val >> 8);
+		buffer[pos + 3] = (byte) val;
+	}
+
+	private void ensureCapacity(int n) {
+		checkLimit(n);
+		grow(n);
+	}
+
+	private void grow(int n) {
+		if(size + n > buffer.length){
+			buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, size + n));
+		}
+	}
+
+}
@@ -26,6 +26,10 @@
 
 package ch.ntb.inf.kmip.process.encoder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import java.util.Iterator;
 
@@ -74,6 +78,7 @@ import ch.ntb.inf.kmip.objects.managed.Template;
 import ch.ntb.inf.kmip.operationparameters.DerivationParameters;
 import ch.ntb.inf.kmip.operationparameters.StorageStatusMask;
 import ch.ntb.inf.kmip.process.EnumStaticValues;
+import ch.ntb.inf.kmip.process.KMIPThreadSafeCodec;
 import ch.ntb.inf.kmip.types.KMIPBigInteger;
 import ch.ntb.inf.kmip.types.KMIPBoolean;
 import ch.ntb.inf.kmip.types.KMIPByteString;
@@ -82,8 +87,9 @@ import ch.ntb.inf.kmip.types.KMIPEnumeration;
 import ch.ntb.inf.kmip.types.KMIPInteger;
 import ch.ntb.inf.kmip.types.KMIPTextString;
 import ch.ntb.inf.kmip.types.KMIPType;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
 
-public class KMIPEncoder implements KMIPEncoderInterface {
+public class KMIPEncoder implements KMIPEncoderInterface, KMIPThreadSafeCodec {
 	
 	private final int INTEGER_LENGTH = 4;
 	private final int ENUMERATION_LENGTH = 4;
@@ -106,6 +112,22 @@ public class KMIPEncoder implements KMIPEncoderInterface {
 		return al;
 	}
 
+	public void encodeRequest(KMIPContainer container, OutputStream out) throws IOException {
+		out.write(KMIPUtils.toByteArray(encodeRequest(container)));
+	}
+
+	public void encodeResponse(KMIPContainer container, OutputStream out) throws IOException {
+		out.write(KMIPUtils.toByteArray(encodeResponse(container)));
+	}
+
+	public void encodeRequest(KMIPContainer container, WritableByteChannel channel) throws IOException {
+		encodeRequest(container, Channels.newOutputStream(channel));
+	}
+
+	public void encodeResponse(KMIPContainer container, WritableByteChannel channel) throws IOException {
+		encodeResponse(container, Channels.newOutputStream(channel));
+	}
+
 	private void encodeRequestMessage(KMIPContainer container, ArrayList<Byte> al) {	
 		encodeTagAndType(EnumTag.RequestMessage, EnumType.Structure, al);
 		int pos = al.size();
@@ -269,7 +291,11 @@ public class KMIPEncoder implements KMIPEncoderInterface {
 		
 		// Response Payload (required, if Result Status is not OperationFailed)
 		if(batch.getResultStatus().getValue() == EnumResultStatus.Success){
-			encodeResponsePayload(batch, al);
+			if(batch.hasEncodedResponsePayload()){
+				addBytes(batch.getEncodedResponsePayload(), al);
+			} else{
+				encodeResponsePayload(batch, al);
+			}
 		}
 		
 		if(batch.hasMessageExtension()){
@@ -468,6 +494,11 @@ public class KMIPEncoder implements KMIPEncoderInterface {
 	}
 
 	private void encodeAttributeStructure(Attribute attribute, ArrayList<Byte> al) {
+		KMIPAttributeFragments.Fragment fragment = KMIPAttributeFragments.getEnumeratedAttribute(attribute);
+		if(fragment != null){
+			al.addAll(fragment.getList());
+			return;
+		}
 		encodeTagAndType(EnumTag.Attribute, EnumType.Structure, al);
 		int pos = al.size();
 		encodeAttributeName(attribute, al);
@@ -476,6 +507,11 @@ public class KMIPEncoder implements KMIPEncoderInterface {
 	}
 
 	private void encodeAttributeName(Attribute attribute, ArrayList<Byte> al) {
+		KMIPAttributeFragments.Fragment name = KMIPAttributeFragments.getAttributeName(attribute);
+		if(name != null){
+			al.addAll(name.getList());
+			return;
+		}
 		encodeTagAndType(EnumTag.AttributeName, EnumType.TextString, al);
 		int pos = al.size();
 		al.addAll(attribute.getEncodedAttributeName());
@@ -667,7 +703,7 @@ public class KMIPEncoder implements KMIPEncoderInterface {
 			al.add((byte)EnumType.ByteString);
 			int pos = al.size();
 			al.addAll(keyMaterialByteString.toArrayList());
-			createLength(al.size() - pos, pos, al);
+			createLength(keyMaterialByteString.getValue().length, pos, al);
 		} else if(transparentKeyStructure != null){
 			al.add((byte)EnumType.Structure);
 			int pos = al.size();
@@ -946,6 +982,13 @@ public class KMIPEncoder implements KMIPEncoderInterface {
 		al.add((byte)type);
 	}
 	
+	private void addBytes(byte[] bytes, ArrayList<Byte> al) {
+		al.ensureCapacity(al.size() + bytes.length);
+		for(byte b : bytes){
+			al.add(b);
+		}
+	}
+	
 	public void createLength(int val, int pos, ArrayList<Byte> al) {
 		al.add(pos, (byte) (val >> 24));
 		al.add(pos + 1, (byte) (val >> 16));
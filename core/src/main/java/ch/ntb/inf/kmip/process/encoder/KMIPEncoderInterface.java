@@ -12,7 +12,8 @@
  * The KMIPEncoderInterface provides the needful flexibility for
  * the interchangeability of the Encoder. It offers two methods to 
  * encode a message dependent on whether it is a request or a 
- * response.
+ * response, and methods to write the encoded message directly to
+ * an OutputStream or a WritableByteChannel.
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -27,6 +28,9 @@
 
 package ch.ntb.inf.kmip.process.encoder;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
 import java.util.ArrayList;
 import ch.ntb.inf.kmip.container.KMIPContainer;
 
@@ -55,5 +59,45 @@ public interface KMIPEncoderInterface {
 	 * @return		<code>ArrayList{@literal <}Byte{@literal >}</code>
 	 */
 	ArrayList<Byte> encodeResponse(KMIPContainer c);
+	
+	/**
+	 * Encodes a <code>KMIPContainer</code> and writes the KMIP-Request-Message to an 
+	 * <code>OutputStream</code>. The stream is neither flushed nor closed.
+	 * 
+	 * @param c : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param out :	the <code>OutputStream</code> the message is written to.
+	 * @throws IOException	if the message can not be written.
+	 */
+	void encodeRequest(KMIPContainer c, OutputStream out) throws IOException;
+	
+	/**
+	 * Encodes a <code>KMIPContainer</code> and writes the KMIP-Response-Message to an 
+	 * <code>OutputStream</code>. The stream is neither flushed nor closed.
+	 * 
+	 * @param c : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param out :	the <code>OutputStream</code> the message is written to.
+	 * @throws IOException	if the message can not be written.
+	 */
+	void encodeResponse(KMIPContainer c, OutputStream out) throws IOException;
+	
+	/**
+	 * Encodes a <code>KMIPContainer</code> and writes the whole KMIP-Request-Message to a 
+	 * <code>WritableByteChannel</code>. The channel is not closed.
+	 * 
+	 * @param c : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param channel :	the <code>WritableByteChannel</code> the message is written to.
+	 * @throws IOException	if the message can not be written.
+	 */
+	void encodeRequest(KMIPContainer c, WritableByteChannel channel) throws IOException;
+	
+	/**
+	 * Encodes a <code>KMIPContainer</code> and writes the whole KMIP-Response-Message to a 
+	 * <code>WritableByteChannel</code>. The channel is not closed.
+	 * 
+	 * @param c : 	the <code>KMIPContainer</code> to be encoded.
+	 * @param channel :	the <code>WritableByteChannel</code> the message is written to.
+	 * @throws IOException	if the message can not be written.
+	 */
+	void encodeResponse(KMIPContainer c, WritableByteChannel channel) throws IOException;
 
 }
@@ -9,12 +9,14 @@
  * 
  * -----------------------------------------------------------------
  * Description for class
- * The Encoder Pool contains earlier generated instances of encoders, 
- * that are no longer in use. During a request, the skeleton gets an 
- * encoder from the pool. If there are no encoders available, the 
- * encoder pool generates and returns a new instance of the encoder.
- * after the request has processed, the skeleton returns the encoder
- * to the pool. 
+ * The Encoder Pool hands out the encoders to the skeleton. An encoder,
+ * which implements the KMIPThreadSafeCodec, is instantiated once and
+ * shared by all requests. Other encoders keep a state while encoding,
+ * so the pool contains earlier generated instances, that are no 
+ * longer in use. During a request, the skeleton gets an encoder from
+ * the pool. If there are no encoders available, the encoder pool 
+ * generates and returns a new instance of the encoder. After the 
+ * request has processed, the skeleton returns the encoder to the pool. 
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -28,60 +30,67 @@
  */
 package ch.ntb.inf.kmip.process.encoder;
 
-import java.util.Enumeration;
-import java.util.Hashtable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import ch.ntb.inf.kmip.process.KMIPThreadSafeCodec;
 
 public class KMIPEncoderPool {
 
-	private Hashtable<KMIPEncoderInterface, Boolean> encoders = new Hashtable<>();
+	private final ConcurrentLinkedQueue<KMIPEncoderInterface> encoders = new ConcurrentLinkedQueue<>();
+	private final KMIPEncoderInterface sharedEncoder;
 	private String encoderPath;
 	private String defaultPath;
 	
-	private int numberOfcreatedEncoders;
+	private final AtomicInteger numberOfcreatedEncoders = new AtomicInteger();
 	private final int maxEncoders = 5;
 
 	public KMIPEncoderPool(String encoderPath, String defaultPath) {
 		this.encoderPath = encoderPath;
 		this.defaultPath = defaultPath;
-		this.numberOfcreatedEncoders = 0;
+		
+		KMIPEncoderInterface encoder = createEncoder();
+		if(encoder instanceof KMIPThreadSafeCodec){
+			this.sharedEncoder = encoder;
+		} else{
+			this.sharedEncoder = null;
+			if(encoder != null){
+				numberOfcreatedEncoders.incrementAndGet();
+				encoders.offer(encoder);
+			}
+		}
 	}
 
-	public synchronized KMIPEncoderInterface getEncoder() throws KMIPEncoderPoolOverflowException {
-		Enumeration<KMIPEncoderInterface> e = encoders.keys();
-		while (e.hasMoreElements()) {
-			KMIPEncoderInterface encoder = e.nextElement();
-			Boolean b = encoders.get(encoder);
-			if (b.equals(Boolean.FALSE)) {
-				encoders.put(encoder, Boolean.TRUE);
-				return encoder;
-			} 
+	public KMIPEncoderInterface getEncoder() throws KMIPEncoderPoolOverflowException {
+		if(sharedEncoder != null){
+			return sharedEncoder;
 		}
 		
-		if(numberOfcreatedEncoders < maxEncoders){
-			KMIPEncoderInterface encoder;
-			try{
-				if(encoderPath != null){
-					encoder = (KMIPEncoderInterface) Class.forName(encoderPath).newInstance();
-				} else{
-					encoder = (KMIPEncoderInterface) Class.forName(defaultPath).newInstance();
-				}
-				numberOfcreatedEncoders++;
-				encoders.put(encoder, Boolean.TRUE);
-				return encoder;	
-			} catch (Exception e1){
-				e1.printStackTrace();
-				return null;
-			}
+		KMIPEncoderInterface encoder = encoders.poll();
+		if(encoder != null){
+			return encoder;
+		}
+		
+		if(numberOfcreatedEncoders.incrementAndGet() <= maxEncoders){
+			return createEncoder();
 		}
 		else{
+			numberOfcreatedEncoders.decrementAndGet();
 			throw new KMIPEncoderPoolOverflowException(maxEncoders);
 		}
 	} 
 
-	public synchronized void returnEncoder(KMIPEncoderInterface decoder) {
-		if (encoders.containsKey(decoder)){
-			encoders.put(decoder, Boolean.FALSE);
+	public void returnEncoder(KMIPEncoderInterface encoder) {
+		if (encoder != null && encoder != sharedEncoder)
+			encoders.offer(encoder);
+	}
+
+	private KMIPEncoderInterface createEncoder() {
+		try {
+			return (KMIPEncoderInterface) Class.forName(getLoadedEncoder()).newInstance();
+		} catch (Exception e) {
+			e.printStackTrace();
+			return null;
 		}
 	}
 
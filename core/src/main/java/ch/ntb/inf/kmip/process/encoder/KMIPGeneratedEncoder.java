@@ -0,0 +1,356 @@
+/**
+ * KMIPGeneratedEncoder.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPGeneratedEncoder encodes the structures, which frame a
+ * KMIP message, with a specialized method for every structure.
+ * This file is generated from the KMIPMessageSchema.xml.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.encoder;
+
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.objects.Authentication;
+import ch.ntb.inf.kmip.objects.CredentialValue;
+import ch.ntb.inf.kmip.objects.MessageExtension;
+import ch.ntb.inf.kmip.objects.base.Credential;
+import ch.ntb.inf.kmip.process.EnumStaticValues;
+import ch.ntb.inf.kmip.types.KMIPDateTime;
+
+/**
+ * Generated by the <code>KMIPSchemaGenerator</code> from the <code>KMIPMessageSchema.xml</code>, do not edit.
+ * The tags, types and lengths are written as constants, the payloads by the implementing class.
+ */
+abstract class KMIPGeneratedEncoder {
+
+	private static final int REQUEST_MESSAGE = EnumTag.RequestMessage << 8 | EnumType.Structure;
+	private static final int RESPONSE_MESSAGE = EnumTag.ResponseMessage << 8 | EnumType.Structure;
+	private static final int REQUEST_HEADER = EnumTag.RequestHeader << 8 | EnumType.Structure;
+	private static final long MAXIMUM_RESPONSE_SIZE = (long) (EnumTag.MaximumResponseSize << 8 | EnumType.Integer) << 32 | 4;
+	private static final long ASYNCHRONOUS_INDICATOR = (long) (EnumTag.AsynchronousIndicator << 8 | EnumType.Boolean) << 32 | 8;
+	private static final long BATCH_ERROR_CONTINUATION_OPTION = (long) (EnumTag.BatchErrorContinuationOption << 8 | EnumType.Enumeration) << 32 | 4;
+	private static final long BATCH_ORDER_OPTION = (long) (EnumTag.BatchOrderOption << 8 | EnumType.Boolean) << 32 | 8;
+	private static final long TIME_STAMP = (long) (EnumTag.TimeStamp << 8 | EnumType.DateTime) << 32 | 8;
+	private static final long BATCH_COUNT = (long) (EnumTag.BatchCount << 8 | EnumType.Integer) << 32 | 4;
+	private static final int RESPONSE_HEADER = EnumTag.ResponseHeader << 8 | EnumType.Structure;
+	private static final int PROTOCOL_VERSION = EnumTag.ProtocolVersion << 8 | EnumType.Structure;
+	private static final long PROTOCOL_VERSION_MAJOR = (long) (EnumTag.ProtocolVersionMajor << 8 | EnumType.Integer) << 32 | 4;
+	private static final long PROTOCOL_VERSION_MINOR = (long) (EnumTag.ProtocolVersionMinor << 8 | EnumType.Integer) << 32 | 4;
+	private static final int AUTHENTICATION = EnumTag.Authentication << 8 | EnumType.Structure;
+	private static final int CREDENTIAL = EnumTag.Credential << 8 | EnumType.Structure;
+	private static final long CREDENTIAL_TYPE = (long) (EnumTag.CredentialType << 8 | EnumType.Enumeration) << 32 | 4;
+	private static final int CREDENTIAL_VALUE = EnumTag.CredentialValue << 8 | EnumType.Structure;
+	private static final int USERNAME = EnumTag.Username << 8 | EnumType.TextString;
+	private static final int PASSWORD = EnumTag.Password << 8 | EnumType.TextString;
+	private static final int BATCH_ITEM = EnumTag.BatchItem << 8 | EnumType.Structure;
+	private static final long OPERATION = (long) (EnumTag.Operation << 8 | EnumType.Enumeration) << 32 | 4;
+	private static final int UNIQUE_BATCH_ITEM_ID = EnumTag.UniqueBatchItemID << 8 | EnumType.ByteString;
+	private static final long RESULT_STATUS = (long) (EnumTag.ResultStatus << 8 | EnumType.Enumeration) << 32 | 4;
+	private static final long RESULT_REASON = (long) (EnumTag.ResultReason << 8 | EnumType.Enumeration) << 32 | 4;
+	private static final int RESULT_MESSAGE = EnumTag.ResultMessage << 8 | EnumType.TextString;
+	private static final int ASYNCHRONOUS_CORRELATION_VALUE = EnumTag.AsynchronousCorrelationValue << 8 | EnumType.ByteString;
+	private static final int MESSAGE_EXTENSION = EnumTag.MessageExtension << 8 | EnumType.Structure;
+	private static final long CRITICALITY_INDICATOR = (long) (EnumTag.CriticalityIndicator << 8 | EnumType.Boolean) << 32 | 8;
+	private static final int VENDOR_IDENTIFICATION = EnumTag.VendorIdentification << 8 | EnumType.TextString;
+
+	public void encodeRequest(KMIPContainer obj, KMIPByteSink sink) {
+		encodeRequestMessage(obj, sink);
+	}
+
+	public void encodeResponse(KMIPContainer obj, KMIPByteSink sink) {
+		encodeResponseMessage(obj, sink);
+	}
+
+	private void encodeRequestMessage(KMIPContainer obj, KMIPByteSink sink) {
+		sink.writeInt(REQUEST_MESSAGE);
+		int slot = sink.reserveLength();
+
+		// Request Header (required)
+		encodeRequestHeader(obj, sink);
+
+		// Batch Item (repeated)
+		for(KMIPBatch item : obj.getBatches()){
+			encodeRequestBatchItem(item, sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeResponseMessage(KMIPContainer obj, KMIPByteSink sink) {
+		sink.writeInt(RESPONSE_MESSAGE);
+		int slot = sink.reserveLength();
+
+		// Response Header (required)
+		encodeResponseHeader(obj, sink);
+
+		// Batch Item (repeated)
+		for(KMIPBatch item : obj.getBatches()){
+			encodeResponseBatchItem(item, sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeRequestHeader(KMIPContainer obj, KMIPByteSink sink) {
+		sink.writeInt(REQUEST_HEADER);
+		int slot = sink.reserveLength();
+
+		// Protocol Version (required)
+		encodeProtocolVersion(obj, sink);
+
+		// Maximum Response Size (optional)
+		if(obj.hasMaximumResponseSize()){
+			sink.writeLong(MAXIMUM_RESPONSE_SIZE);
+			sink.writeInt(obj.getMaximumResponseSize().getValue());
+			sink.writeInt(0);
+		}
+
+		// Asynchronous Indicator (optional)
+		if(obj.hasAsynchronousIndicator()){
+			sink.writeLong(ASYNCHRONOUS_INDICATOR);
+			sink.writeLong(obj.getAsynchronousIndicator().getValue() ? 1 : 0);
+		}
+
+		// Authentication (optional)
+		if(obj.hasAuthentication()){
+			encodeAuthentication(obj.getAuthentication(), sink);
+		}
+
+		// Batch Error Continuation Option (optional)
+		if(obj.hasBatchErrorContinuationOption()){
+			sink.writeLong(BATCH_ERROR_CONTINUATION_OPTION);
+			sink.writeInt(obj.getBatchErrorContinuationOption().getValue());
+			sink.writeInt(0);
+		}
+
+		// Batch Order Option (optional)
+		if(obj.hasBatchOrderOption()){
+			sink.writeLong(BATCH_ORDER_OPTION);
+			sink.writeLong(obj.getBatchOrderOption().getValue() ? 1 : 0);
+		}
+
+		// Time Stamp (optional)
+		if(obj.hasTimeStamp()){
+			sink.writeLong(TIME_STAMP);
+			sink.writeLong(obj.getTimeStamp().getValue());
+		}
+
+		// Batch Count (required)
+		sink.writeLong(BATCH_COUNT);
+		sink.writeInt(obj.getBatchCountAsKMIPInteger().getValue());
+		sink.writeInt(0);
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeResponseHeader(KMIPContainer obj, KMIPByteSink sink) {
+		sink.writeInt(RESPONSE_HEADER);
+		int slot = sink.reserveLength();
+
+		// Protocol Version (required)
+		encodeProtocolVersion(obj, sink);
+
+		// Time Stamp (required)
+		sink.writeLong(TIME_STAMP);
+		sink.writeLong(KMIPDateTime.createCurrentDateTime());
+
+		// Batch Count (required)
+		sink.writeLong(BATCH_COUNT);
+		sink.writeInt(obj.getBatchCountAsKMIPInteger().getValue());
+		sink.writeInt(0);
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeProtocolVersion(KMIPContainer obj, KMIPByteSink sink) {
+		sink.writeInt(PROTOCOL_VERSION);
+		int slot = sink.reserveLength();
+
+		// Protocol Version Major (required)
+		sink.writeLong(PROTOCOL_VERSION_MAJOR);
+		sink.writeInt(EnumStaticValues.ProtocolVersionMajor.getDefault());
+		sink.writeInt(0);
+
+		// Protocol Version Minor (required)
+		sink.writeLong(PROTOCOL_VERSION_MINOR);
+		sink.writeInt(EnumStaticValues.ProtocolVersionMinor.getDefault());
+		sink.writeInt(0);
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeAuthentication(Authentication obj, KMIPByteSink sink) {
+		sink.writeInt(AUTHENTICATION);
+		int slot = sink.reserveLength();
+
+		// Credential (required)
+		encodeCredential(obj.getCredential(), sink);
+
+		sink.patchLength(slot);
+	}
+
+	public void encodeCredential(Credential obj, KMIPByteSink sink) {
+		sink.writeInt(CREDENTIAL);
+		int slot = sink.reserveLength();
+
+		// Credential Type (required)
+		sink.writeLong(CREDENTIAL_TYPE);
+		sink.writeInt(obj.getCredentialType().getValue());
+		sink.writeInt(0);
+
+		// Credential Value (required)
+		encodeCredentialValue(obj.getCredentialValue(), sink);
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeCredentialValue(CredentialValue obj, KMIPByteSink sink) {
+		sink.writeInt(CREDENTIAL_VALUE);
+		int slot = sink.reserveLength();
+
+		// Username (required)
+		writeTextString(USERNAME, obj.getUsername().getValue(), sink);
+
+		// Password (optional)
+		if(obj.hasPassword()){
+			writeTextString(PASSWORD, obj.getPassword().getValue(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeRequestBatchItem(KMIPBatch obj, KMIPByteSink sink) {
+		sink.writeInt(BATCH_ITEM);
+		int slot = sink.reserveLength();
+
+		// Operation (required)
+		sink.writeLong(OPERATION);
+		sink.writeInt(obj.getOperation().getValue());
+		sink.writeInt(0);
+
+		// Unique Batch Item ID (optional)
+		if(obj.hasUniqueBatchItemID()){
+			writeByteString(UNIQUE_BATCH_ITEM_ID, obj.getUniqueBatchItemID().getValue(), sink);
+		}
+
+		// Request Payload (required)
+		writeRequestPayload(obj, sink);
+
+		// Message Extension (optional)
+		if(obj.hasMessageExtension()){
+			encodeMessageExtension(obj.getMessageExtension(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	public void encodeResponseBatchItem(KMIPBatch obj, KMIPByteSink sink) {
+		sink.writeInt(BATCH_ITEM);
+		int slot = sink.reserveLength();
+
+		// Operation (optional)
+		if(obj.hasOperation()){
+			sink.writeLong(OPERATION);
+			sink.writeInt(obj.getOperation().getValue());
+			sink.writeInt(0);
+		}
+
+		// Unique Batch Item ID (optional)
+		if(obj.hasUniqueBatchItemID()){
+			writeByteString(UNIQUE_BATCH_ITEM_ID, obj.getUniqueBatchItemID().getValue(), sink);
+		}
+
+		// Result Status (required)
+		sink.writeLong(RESULT_STATUS);
+		sink.writeInt(obj.getResultStatus().getValue());
+		sink.writeInt(0);
+
+		// Result Reason (optional)
+		if(obj.hasResultReason()){
+			sink.writeLong(RESULT_REASON);
+			sink.writeInt(obj.getResultReason().getValue());
+			sink.writeInt(0);
+		}
+
+		// Result Message (optional)
+		if(obj.hasResultMessage()){
+			writeTextString(RESULT_MESSAGE, obj.getResultMessage().getValue(), sink);
+		}
+
+		// Asynchronous Correlation Value (optional)
+		if(obj.hasAsynchronousCorrelationValue()){
+			writeByteString(ASYNCHRONOUS_CORRELATION_VALUE, obj.getAsynchronousCorrelationValue().getValue(), sink);
+		}
+
+		// Response Payload (optional)
+		if(hasResponsePayload(obj)){
+			writeResponsePayload(obj, sink);
+		}
+
+		// Message Extension (optional)
+		if(obj.hasMessageExtension()){
+			encodeMessageExtension(obj.getMessageExtension(), sink);
+		}
+
+		sink.patchLength(slot);
+	}
+
+	private void encodeMessageExtension(MessageExtension obj, KMIPByteSink sink) {
+		sink.writeInt(MESSAGE_EXTENSION);
+		int slot = sink.reserveLength();
+
+		// Criticality Indicator (required)
+		sink.writeLong(CRITICALITY_INDICATOR);
+		sink.writeLong(obj.getCriticalityIndicator().getValue() ? 1 : 0);
+
+		// Vendor Identification (required)
+		writeTextString(VENDOR_IDENTIFICATION, obj.getVendorIdentification().getValue(), sink);
+
+		// Vendor Extension (required)
+		writeVendorExtension(obj, sink);
+
+		sink.patchLength(slot);
+	}
+
+	protected abstract void writeRequestPayload(KMIPBatch obj, KMIPByteSink sink);
+
+	protected abstract boolean hasResponsePayload(KMIPBatch obj);
+
+	protected abstract void writeResponsePayload(KMIPBatch obj, KMIPByteSink sink);
+
+	protected abstract void writeVendorExtension(MessageExtension obj, KMIPByteSink sink);
+
+	static void writeTextString(int tagAndType, String text, KMIPByteSink sink) {
+		sink.writeInt(tagAndType);
+		sink.writeInt(KMIPByteSink.utf8Length(text));
+		sink.writePadding(sink.writeUTF8(text));
+	}
+
+	static void writeByteString(int tagAndType, byte[] bytes, KMIPByteSink sink) {
+		sink.writeInt(tagAndType);
+		sink.writeInt(bytes.length);
+		sink.writeBytes(bytes);
+		sink.writePadding(bytes.length);
+	}
+
+}
@@ -0,0 +1,88 @@
+/**
+ * KMIPSchemaEncoder.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPSchemaEncoder encodes the message header and the Batch
+ * Items with the KMIPGeneratedEncoder, which is generated from the
+ * "KMIPMessageSchema.xml"-file, and the payloads like the
+ * KMIPBufferEncoder. It can be configured by its name in the
+ * "StubConfig.xml" and "SkeletonConfig.xml"-files.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.encoder;
+
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumResultStatus;
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.objects.MessageExtension;
+import ch.ntb.inf.kmip.objects.VendorExtension;
+import ch.ntb.inf.kmip.objects.base.Credential;
+
+public class KMIPSchemaEncoder extends KMIPBufferEncoder {
+
+	private final KMIPGeneratedEncoder codec = new KMIPGeneratedEncoder() {
+
+		protected void writeRequestPayload(KMIPBatch obj, KMIPByteSink sink) {
+			encodeRequestPayload(obj, sink);
+		}
+
+		// the Response Payload is only encoded, if the operation succeeded
+		protected boolean hasResponsePayload(KMIPBatch obj) {
+			return obj.getResultStatus().getValue() == EnumResultStatus.Success;
+		}
+
+		protected void writeResponsePayload(KMIPBatch obj, KMIPByteSink sink) {
+			if(obj.hasEncodedResponsePayload()){
+				sink.writeBytes(obj.getEncodedResponsePayload());
+			} else{
+				encodeResponsePayload(obj, sink);
+			}
+		}
+
+		protected void writeVendorExtension(MessageExtension obj, KMIPByteSink sink) {
+			VendorExtension vendorExtension = obj.getVendorExtension();
+			sink.writeTagAndType(EnumTag.VendorExtension, EnumType.Structure);
+			int slot = sink.reserveLength();
+			sink.writeTagAndType(vendorExtension.getTag(), vendorExtension.getType());
+			sink.writeInt(vendorExtension.getKMIPType().encodedLength());
+			vendorExtension.getKMIPType().writeTo(sink);
+			sink.patchLength(slot);
+		}
+	};
+
+	public void encodeRequest(KMIPContainer container, KMIPByteSink sink) {
+		codec.encodeRequest(container, sink);
+	}
+
+	public void encodeResponse(KMIPContainer container, KMIPByteSink sink) {
+		codec.encodeResponse(container, sink);
+	}
+
+	public void encodeResponseBatchItem(KMIPBatch batch, KMIPByteSink sink) {
+		codec.encodeResponseBatchItem(batch, sink);
+	}
+
+	public void encodeCredential(Credential credential, KMIPByteSink sink) {
+		codec.encodeCredential(credential, sink);
+	}
+
+}
@@ -0,0 +1,912 @@
+/**
+ * KMIPSchemaGenerator.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPSchemaGenerator reads the declarative schema of the
+ * structures, which frame a KMIP message, and emits an encoder and
+ * a decoder with a specialized method for every structure. The
+ * generated methods write and check the tags and types as constants
+ * in the order of the schema, without reflection and without the
+ * generic handling of the hand-written codecs. The payloads are left
+ * to the hand-written codec through abstract methods.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.process.schema;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.kmipenum.EnumTag;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+
+/**
+ * Generates the sources of the <code>KMIPGeneratedEncoder</code> and the <code>KMIPGeneratedDecoder</code>
+ * from the <code>KMIPMessageSchema.xml</code>. The generated sources are part of the repository, so the
+ * build does not depend on the generator. With <code>-check</code>, the sources are not written, but
+ * compared with the ones of the repository, which fails if they are outdated.
+ * <p>
+ * Usage: <code>KMIPSchemaGenerator [-check] [KMIPMessageSchema.xml] [source directory]</code>
+ */
+public class KMIPSchemaGenerator {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPSchemaGenerator.class);
+
+	private static final String DEFAULT_LOCATION_SCHEMA = "core/src/main/java/ch/ntb/inf/kmip/process/schema/KMIPMessageSchema.xml";
+	private static final String DEFAULT_LOCATION_SOURCES = "core/src/main/java";
+	private static final Charset CHARSET = Charset.forName("UTF-8");
+	// the sources of this project have CRLF line endings
+	private static final String NL = "\r\n";
+
+	private static final String DECODER_EXCEPTIONS = "KMIPUnexpectedTypeException, KMIPUnexpectedTagException, KMIPPaddingExpectedException, "
+			+ "KMIPProtocolVersionException, UnsupportedEncodingException, KMIPUnexpectedAttributeNameException";
+
+	private final Map<String, String> imports = new HashMap<>();
+	private final Map<String, Structure> structures = new LinkedHashMap<>();
+	private String encoderName;
+	private String decoderName;
+
+	public static void main(String[] args) throws Exception {
+		boolean check = false;
+		ArrayList<String> locations = new ArrayList<>();
+		for(String arg : args){
+			if(arg.equals("-check")){
+				check = true;
+			} else{
+				locations.add(arg);
+			}
+		}
+		String schema = locations.size() > 0 ? locations.get(0) : DEFAULT_LOCATION_SCHEMA;
+		String sources = locations.size() > 1 ? locations.get(1) : DEFAULT_LOCATION_SOURCES;
+
+		KMIPSchemaGenerator generator = new KMIPSchemaGenerator();
+		generator.loadSchema(new File(schema));
+		int outdated = 0;
+		for(Map.Entry<String, String> source : generator.generate().entrySet()){
+			File file = new File(sources, source.getKey().replace('.', '/') + ".java");
+			if(!check){
+				write(file, source.getValue());
+				logger.info("Generated " + file);
+			} else if(!source.getValue().equals(read(file))){
+				logger.warn(file + " is NOT generated from the current schema!");
+				outdated++;
+			}
+		}
+		if(outdated > 0){
+			System.exit(1);
+		}
+		if(check){
+			logger.info("The generated sources are up to date");
+		}
+	}
+
+	public void loadSchema(File schema) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(schema);
+		Element root = doc.getDocumentElement();
+		encoderName = root.getAttribute("encoder");
+		decoderName = root.getAttribute("decoder");
+
+		for(Element e : children(root, "import")){
+			String className = e.getAttribute("class");
+			imports.put(className.substring(className.lastIndexOf('.') + 1), className);
+		}
+		for(Element e : children(root, "structure")){
+			Structure s = new Structure();
+			s.name = e.getAttribute("name");
+			s.tag = checkTag(e.getAttribute("tag"));
+			s.className = checkClass(e.getAttribute("class"));
+			s.root = e.getAttribute("root");
+			s.isPublic = Boolean.parseBoolean(e.getAttribute("public"));
+			for(Element f : children(e, null)){
+				if(f.getTagName().equals("group")){
+					loadGroup(f, s);
+				} else{
+					s.fields.add(loadField(f));
+				}
+			}
+			structures.put(s.name, s);
+		}
+
+		// the references are resolved, when all structures are known
+		for(Structure s : structures.values()){
+			for(Field f : s.fields){
+				if(f.ref != null){
+					Structure ref = structures.get(f.ref);
+					if(ref == null){
+						throw new IllegalArgumentException("Unknown structure " + f.ref + " in " + s.name);
+					}
+					if(f.inline && !ref.className.equals(s.className)){
+						throw new IllegalArgumentException("Inline structure " + f.ref + " has another class than " + s.name);
+					}
+					f.tag = ref.tag;
+					f.type = "Structure";
+					f.className = ref.className;
+					f.property = f.property != null ? f.property : f.ref;
+					f.setAccessors();
+				}
+			}
+		}
+	}
+
+	private void loadGroup(Element e, Structure s) {
+		if(!e.getAttribute("order").equals("any")){
+			throw new IllegalArgumentException("Unknown order of a group in " + s.name);
+		}
+		int group = ++s.groups;
+		for(Element item : children(e, null)){
+			Field f = loadField(item);
+			if(!f.optional || f.kind.equals("list")){
+				throw new IllegalArgumentException("The items of a group in " + s.name + " have to be optional");
+			}
+			f.group = group;
+			s.fields.add(f);
+		}
+	}
+
+	private Field loadField(Element e) {
+		Field f = new Field();
+		f.kind = e.getTagName();
+		f.optional = "optional".equals(e.getAttribute("occurs"));
+		f.inline = Boolean.parseBoolean(e.getAttribute("inline"));
+		f.currentTime = "current-time".equals(e.getAttribute("encode"));
+		f.values = attribute(e, "values");
+		f.getter = attribute(e, "get");
+		f.setter = attribute(e, "set");
+		f.tester = attribute(e, "has");
+		f.adder = attribute(e, "add");
+		f.property = attribute(e, "property");
+
+		switch(f.kind){
+			case "value":
+			case "constant":
+				if(f.kind.equals("value")){
+					f.className = checkClass(e.getAttribute("class"));
+				}
+				f.tag = checkTag(e.getAttribute("tag"));
+				f.type = checkType(e.getAttribute("type"), f.kind);
+				f.property = f.property != null ? f.property : f.tag;
+				f.setAccessors();
+				break;
+			case "delegate":
+				f.tag = checkTag(e.getAttribute("tag"));
+				f.type = "Structure";
+				break;
+			case "structure":
+			case "list":
+				f.ref = e.getAttribute("ref");
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown item " + f.kind);
+		}
+		return f;
+	}
+
+	/**
+	 * @return		the generated sources by the fully qualified names of their classes
+	 */
+	public Map<String, String> generate() {
+		Map<String, String> sources = new LinkedHashMap<>();
+		sources.put(encoderName, generateEncoder());
+		sources.put(decoderName, generateDecoder());
+		return sources;
+	}
+
+
+///////////////////////////////////////////////////////////// Encoder
+
+	private String generateEncoder() {
+		Source src = new Source(encoderName);
+		Map<String, String> constants = new LinkedHashMap<>();
+		Source body = new Source(encoderName);
+
+		for(Structure s : structures.values()){
+			if(!s.root.isEmpty()){
+				body.line("public void encode" + s.root + "(" + src.use(s.className) + " obj, KMIPByteSink sink) {");
+				body.line("encode" + s.name + "(obj, sink);");
+				body.line("}");
+				body.line("");
+			}
+		}
+		for(Structure s : structures.values()){
+			body.line((s.isPublic ? "public" : "private") + " void encode" + s.name + "(" + src.use(s.className) + " obj, KMIPByteSink sink) {");
+			body.line("sink.writeInt(" + encoderConstant(s.tag, "Structure", constants) + ");");
+			body.line("int slot = sink.reserveLength();");
+			for(Field f : s.fields){
+				body.line("");
+				body.line("// " + words(f.tag) + occurrence(f));
+				encodeField(f, src, body, constants);
+			}
+			body.line("");
+			body.line("sink.patchLength(slot);");
+			body.line("}");
+			body.line("");
+		}
+		for(Structure s : structures.values()){
+			for(Field f : s.fields){
+				if(f.kind.equals("delegate") && !body.hasHook(f.tag)){
+					if(f.optional){
+						body.line("protected abstract boolean has" + f.tag + "(" + src.use(s.className) + " obj);");
+						body.line("");
+					}
+					body.line("protected abstract void write" + f.tag + "(" + src.use(s.className) + " obj, KMIPByteSink sink);");
+					body.line("");
+				}
+			}
+		}
+		body.line("static void writeTextString(int tagAndType, String text, KMIPByteSink sink) {");
+		body.line("sink.writeInt(tagAndType);");
+		body.line("sink.writeInt(KMIPByteSink.utf8Length(text));");
+		body.line("sink.writePadding(sink.writeUTF8(text));");
+		body.line("}");
+		body.line("");
+		body.line("static void writeByteString(int tagAndType, byte[] bytes, KMIPByteSink sink) {");
+		body.line("sink.writeInt(tagAndType);");
+		body.line("sink.writeInt(bytes.length);");
+		body.line("sink.writeBytes(bytes);");
+		body.line("sink.writePadding(bytes.length);");
+		body.line("}");
+
+		src.use("ch.ntb.inf.kmip.kmipenum.EnumTag");
+		src.use("ch.ntb.inf.kmip.kmipenum.EnumType");
+		src.header("The KMIPGeneratedEncoder encodes the structures, which frame a" + NL
+				+ " * KMIP message, with a specialized method for every structure.");
+		src.line("/**");
+		src.line(" * Generated by the <code>KMIPSchemaGenerator</code> from the <code>KMIPMessageSchema.xml</code>, do not edit.");
+		src.line(" * The tags, types and lengths are written as constants, the payloads by the implementing class.");
+		src.line(" */");
+		src.line("abstract class " + src.simpleName + " {");
+		src.line("");
+		for(Map.Entry<String, String> constant : constants.entrySet()){
+			src.line(constant.getValue());
+		}
+		src.line("");
+		src.append(body);
+		src.line("");
+		src.line("}");
+		return src.toString();
+	}
+
+	private void encodeField(Field f, Source src, Source body, Map<String, String> constants) {
+		String value = f.inline ? "obj" : "obj." + f.getter + "()";
+		boolean conditional = f.optional;
+		if(conditional){
+			body.line(f.kind.equals("delegate") ? "if(has" + f.tag + "(obj)){" : "if(obj." + f.tester + "()){");
+		}
+		switch(f.kind){
+			case "value":
+				String constant = encoderConstant(f.tag, f.type, constants);
+				switch(f.type){
+					case "Integer":
+					case "Enumeration":
+						body.line("sink.writeLong(" + constant + ");");
+						body.line("sink.writeInt(" + value + ".getValue());");
+						body.line("sink.writeInt(0);");
+						break;
+					case "Boolean":
+						body.line("sink.writeLong(" + constant + ");");
+						body.line("sink.writeLong(" + value + ".getValue() ? 1 : 0);");
+						break;
+					case "DateTime":
+						body.line("sink.writeLong(" + constant + ");");
+						body.line("sink.writeLong(" + (f.currentTime ? src.use("KMIPDateTime") + ".createCurrentDateTime()" : value + ".getValue()") + ");");
+						break;
+					case "TextString":
+						body.line("writeTextString(" + constant + ", " + value + ".getValue(), sink);");
+						break;
+					case "ByteString":
+						body.line("writeByteString(" + constant + ", " + value + ".getValue(), sink);");
+						break;
+				}
+				break;
+			case "constant":
+				body.line("sink.writeLong(" + encoderConstant(f.tag, f.type, constants) + ");");
+				body.line("sink.writeInt(" + src.use(staticClass(f.values)) + f.values.substring(f.values.indexOf('.')) + ".getDefault());");
+				body.line("sink.writeInt(0);");
+				break;
+			case "structure":
+				body.line("encode" + f.ref + "(" + value + ", sink);");
+				break;
+			case "list":
+				body.line("for(" + src.use(f.className) + " item : " + value + "){");
+				body.line("encode" + f.ref + "(item, sink);");
+				body.line("}");
+				break;
+			case "delegate":
+				body.line("write" + f.tag + "(obj, sink);");
+				break;
+		}
+		if(conditional){
+			body.line("}");
+		}
+	}
+
+	/**
+	 * The tag and type of a structure or of an item with variable length are written as <code>int</code>,
+	 * the ones of an item with fixed length together with the length as <code>long</code>.
+	 */
+	private String encoderConstant(String tag, String type, Map<String, String> constants) {
+		String name = constantName(tag);
+		int length = fixedLength(type);
+		String declaration = length == 0
+				? "private static final int " + name + " = EnumTag." + tag + " << 8 | EnumType." + type + ";"
+				: "private static final long " + name + " = (long) (EnumTag." + tag + " << 8 | EnumType." + type + ") << 32 | " + length + ";";
+		addConstant(name, declaration, constants);
+		return name;
+	}
+
+
+///////////////////////////////////////////////////////////// Decoder
+
+	private String generateDecoder() {
+		Source src = new Source(decoderName);
+		Map<String, String> constants = new LinkedHashMap<>();
+		Source body = new Source(decoderName);
+
+		for(Structure s : structures.values()){
+			if(!s.root.isEmpty()){
+				body.line("public " + src.use(s.className) + " decode" + s.root + "(ByteBuffer buffer) throws " + DECODER_EXCEPTIONS + " {");
+				body.line("ByteBuffer b = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);");
+				body.line(s.className + " obj = new " + s.className + "();");
+				body.line("expect(" + decoderConstant(s.tag, "Structure", constants) + ", b, b.position(), b.limit());");
+				body.line("decode" + s.name + "(b, b.position(), obj);");
+				body.line("return obj;");
+				body.line("}");
+				body.line("");
+			}
+		}
+		for(Structure s : structures.values()){
+			body.line((s.isPublic ? "public" : "private") + " void decode" + s.name + "(ByteBuffer b, int pos, " + src.use(s.className) + " obj) throws " + DECODER_EXCEPTIONS + " {");
+			body.line("int end = end(b, pos);");
+			body.line("int offset = pos + TTL_SIZE;");
+			for(int i = 0; i < s.fields.size(); i++){
+				Field f = s.fields.get(i);
+				body.line("");
+				if(f.group == 0){
+					body.line("// " + words(f.tag) + occurrence(f));
+					decodeField(f, src, body, constants);
+					continue;
+				}
+				ArrayList<Field> group = new ArrayList<>();
+				for(; i < s.fields.size() && s.fields.get(i).group == f.group; i++){
+					group.add(s.fields.get(i));
+				}
+				i--;
+				decodeGroup(group, src, body, constants);
+			}
+			body.line("");
+			body.line("if(offset < end){");
+			body.line("throw new KMIPUnexpectedTagException(tag(b, offset));");
+			body.line("}");
+			body.line("}");
+			body.line("");
+		}
+		for(Structure s : structures.values()){
+			for(Field f : s.fields){
+				if(f.kind.equals("delegate") && !body.hasHook(f.tag)){
+					body.line("protected abstract void read" + f.tag + "(ByteBuffer b, int pos, " + src.use(s.className) + " obj) throws " + DECODER_EXCEPTIONS + ";");
+					body.line("");
+				}
+			}
+		}
+		body.append(DECODER_HELPERS);
+
+		src.use("java.io.UnsupportedEncodingException");
+		src.use("java.nio.ByteBuffer");
+		src.use("java.nio.ByteOrder");
+		src.use("ch.ntb.inf.kmip.kmipenum.EnumTag");
+		src.use("ch.ntb.inf.kmip.kmipenum.EnumType");
+		src.header("The KMIPGeneratedDecoder decodes the structures, which frame a" + NL
+				+ " * KMIP message, with a specialized method for every structure.");
+		src.line("/**");
+		src.line(" * Generated by the <code>KMIPSchemaGenerator</code> from the <code>KMIPMessageSchema.xml</code>, do not edit.");
+		src.line(" * The tags and types are checked as constants, the payloads are decoded by the implementing class.");
+		src.line(" * The items of a structure are expected in the order of the specification, except the ones of a group.");
+		src.line(" */");
+		src.line("abstract class " + src.simpleName + " {");
+		src.line("");
+		src.line("static final int TTL_SIZE = 8;");
+		src.line("private static final String CHARSET = \"UTF-8\";");
+		src.line("");
+		for(Map.Entry<String, String> constant : constants.entrySet()){
+			src.line(constant.getValue());
+		}
+		src.line("");
+		src.append(body);
+		src.line("");
+		src.line("}");
+		return src.toString();
+	}
+
+	private void decodeField(Field f, Source src, Source body, Map<String, String> constants) {
+		if(f.optional || f.kind.equals("list")){
+			body.line((f.kind.equals("list") ? "while" : "if") + "(offset < end && tag(b, offset) == EnumTag." + f.tag + "){");
+		}
+		decodeItem(f, src, body, constants);
+		body.line("offset = next(b, offset);");
+		if(f.optional || f.kind.equals("list")){
+			body.line("}");
+		}
+	}
+
+	/**
+	 * The optional items of a group may follow each other in any order, so they are decoded in a loop.
+	 */
+	private void decodeGroup(ArrayList<Field> group, Source src, Source body, Map<String, String> constants) {
+		StringBuilder names = new StringBuilder();
+		for(Field f : group){
+			names.append(names.length() == 0 ? "" : ", ").append(words(f.tag));
+		}
+		body.line("// " + names + " (optional, in any order)");
+		body.line("items:");
+		body.line("while(offset < end){");
+		body.line("switch(tag(b, offset)){");
+		for(Field f : group){
+			body.line("case EnumTag." + f.tag + ":");
+			body.indent();
+			decodeItem(f, src, body, constants);
+			body.line("break;");
+			body.outdent();
+		}
+		body.line("default:");
+		body.indent();
+		body.line("break items;");
+		body.outdent();
+		body.line("}");
+		body.line("offset = next(b, offset);");
+		body.line("}");
+	}
+
+	private void decodeItem(Field f, Source src, Source body, Map<String, String> constants) {
+		body.line("expect(" + decoderConstant(f.tag, f.type, constants) + ", b, offset, end);");
+		switch(f.kind){
+			case "value":
+				if(f.values != null){
+					String local = variableName(f.property);
+					body.line("int " + local + " = readInteger(b, offset);");
+					StringBuilder condition = new StringBuilder();
+					for(String value : f.values.split(",")){
+						condition.append(condition.length() == 0 ? "" : " && ").append(local).append(" != ").append(f.className).append('.').append(value.trim());
+					}
+					body.line("if(" + condition + "){");
+					body.line("throw new KMIPUnexpectedTypeException(\"" + f.tag + "\", \"" + f.values.replace(",", " or ") + "\");");
+					body.line("}");
+					body.line("obj." + f.setter + "(new " + src.use(f.className) + "(" + local + "));");
+				} else{
+					body.line("obj." + f.setter + "(new " + src.use(f.className) + "(" + readValue(f.type) + "));");
+				}
+				break;
+			case "constant":
+				String values = src.use(staticClass(f.values)) + f.values.substring(f.values.indexOf('.'));
+				body.line("if(!" + values + ".hasValue(readInteger(b, offset))){");
+				body.line("throw new KMIPProtocolVersionException(\"" + words(f.tag) + " inconsistent, \" + " + values + ".getValues() + \" expected\");");
+				body.line("}");
+				break;
+			case "structure":
+				if(f.inline){
+					body.line("decode" + f.ref + "(b, offset, obj);");
+				} else{
+					String local = variableName(f.property);
+					body.line(src.use(f.className) + " " + local + " = new " + f.className + "();");
+					body.line("decode" + f.ref + "(b, offset, " + local + ");");
+					body.line("obj." + f.setter + "(" + local + ");");
+				}
+				break;
+			case "list":
+				body.line(src.use(f.className) + " item = new " + f.className + "();");
+				body.line("decode" + f.ref + "(b, offset, item);");
+				body.line("obj." + f.adder + "(item);");
+				break;
+			case "delegate":
+				body.line("read" + f.tag + "(b, offset, obj);");
+				break;
+		}
+	}
+
+	private String readValue(String type) {
+		switch(type){
+			case "Integer":
+			case "Enumeration":
+				return "readInteger(b, offset)";
+			case "Boolean":
+			case "DateTime":
+				return "b.getLong(offset + TTL_SIZE)";
+			case "TextString":
+				return "readTextString(b, offset)";
+			default:
+				return "readByteString(b, offset)";
+		}
+	}
+
+	private String decoderConstant(String tag, String type, Map<String, String> constants) {
+		String name = constantName(tag);
+		addConstant(name, "private static final int " + name + " = EnumTag." + tag + " << 8 | EnumType." + type + ";", constants);
+		return name;
+	}
+
+	private static final String[] DECODER_HELPERS = {
+		"/**",
+		" * Checks the tag and type of the item at <code>pos</code>, which has to be in front of <code>end</code>.",
+		" */",
+		"static void expect(int tagAndType, ByteBuffer b, int pos, int end) throws KMIPUnexpectedTagException, KMIPUnexpectedTypeException {",
+		"if(pos < end && b.getInt(pos) == tagAndType){",
+		"return;",
+		"}",
+		"String tag = EnumTag.valueOf(tagAndType >>> 8).getKey();",
+		"if(pos >= end || tag(b, pos) != tagAndType >>> 8){",
+		"throw new KMIPUnexpectedTagException(tag);",
+		"}",
+		"throw new KMIPUnexpectedTypeException(tag, EnumType.valueOf(tagAndType & 0xFF).getKey());",
+		"}",
+		"",
+		"static int tag(ByteBuffer b, int pos) {",
+		"return b.getInt(pos) >>> 8;",
+		"}",
+		"",
+		"/** @return the offset behind the value of the item at <code>pos</code>, without padding */",
+		"static int end(ByteBuffer b, int pos) {",
+		"return pos + TTL_SIZE + b.getInt(pos + 4);",
+		"}",
+		"",
+		"/** @return the offset of the item following the item at <code>pos</code>, with padding */",
+		"static int next(ByteBuffer b, int pos) {",
+		"return pos + TTL_SIZE + ((b.getInt(pos + 4) + 7) & ~7);",
+		"}",
+		"",
+		"static int readInteger(ByteBuffer b, int pos) throws KMIPPaddingExpectedException {",
+		"if(b.getInt(pos + TTL_SIZE + 4) != 0){",
+		"throw new KMIPPaddingExpectedException();",
+		"}",
+		"return b.getInt(pos + TTL_SIZE);",
+		"}",
+		"",
+		"static String readTextString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException, UnsupportedEncodingException {",
+		"int length = b.getInt(pos + 4);",
+		"checkPadding(b, pos + TTL_SIZE + length, next(b, pos));",
+		"if(b.hasArray()){",
+		"return new String(b.array(), b.arrayOffset() + pos + TTL_SIZE, length, CHARSET);",
+		"}",
+		"return new String(readByteString(b, pos), CHARSET);",
+		"}",
+		"",
+		"static byte[] readByteString(ByteBuffer b, int pos) throws KMIPPaddingExpectedException {",
+		"int length = b.getInt(pos + 4);",
+		"checkPadding(b, pos + TTL_SIZE + length, next(b, pos));",
+		"byte[] bytes = new byte[length];",
+		"ByteBuffer value = b.duplicate();",
+		"value.position(pos + TTL_SIZE);",
+		"value.get(bytes);",
+		"return bytes;",
+		"}",
+		"",
+		"private static void checkPadding(ByteBuffer b, int from, int to) throws KMIPPaddingExpectedException {",
+		"for(int i = from; i < to; i++){",
+		"if(b.get(i) != 0){",
+		"throw new KMIPPaddingExpectedException();",
+		"}",
+		"}",
+		"}",
+	};
+
+
+///////////////////////////////////////////////////////////// Supporting Methods
+
+	private void addConstant(String name, String declaration, Map<String, String> constants) {
+		String known = constants.get(name);
+		if(known != null && !known.equals(declaration)){
+			throw new IllegalArgumentException("The tag of " + name + " is used with different types");
+		}
+		constants.put(name, declaration);
+	}
+
+	private String checkTag(String tag) {
+		checkField(EnumTag.class, tag, "tag");
+		return tag;
+	}
+
+	private String checkType(String type, String kind) {
+		checkField(EnumType.class, type, "type");
+		if(kind.equals("constant") ? !type.equals("Integer") : readValueUnsupported(type)){
+			throw new IllegalArgumentException("Unsupported type " + type + " of a " + kind);
+		}
+		return type;
+	}
+
+	private boolean readValueUnsupported(String type) {
+		switch(type){
+			case "Integer":
+			case "Enumeration":
+			case "Boolean":
+			case "DateTime":
+			case "TextString":
+			case "ByteString":
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	// the tags and types are only looked up to report a misspelled name, the generated code refers to the constants
+	private void checkField(Class<?> c, String name, String what) {
+		try{
+			c.getField(name);
+		} catch(NoSuchFieldException e){
+			throw new IllegalArgumentException("Unknown " + what + " " + name);
+		}
+	}
+
+	private String checkClass(String simpleName) {
+		if(!imports.containsKey(simpleName)){
+			throw new IllegalArgumentException("Class " + simpleName + " is not imported");
+		}
+		return simpleName;
+	}
+
+	private String staticClass(String values) {
+		return checkClass(values.substring(0, values.indexOf('.')));
+	}
+
+	private static int fixedLength(String type) {
+		switch(type){
+			case "Integer":
+			case "Enumeration":
+				return 4;
+			case "Boolean":
+			case "DateTime":
+				return 8;
+			default:
+				return 0;
+		}
+	}
+
+	private static String occurrence(Field f) {
+		return f.kind.equals("list") ? " (repeated)" : f.optional ? " (optional)" : " (required)";
+	}
+
+	private static String constantName(String tag) {
+		return tag.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+	}
+
+	private static String variableName(String property) {
+		return Character.toLowerCase(property.charAt(0)) + property.substring(1);
+	}
+
+	private static String words(String tag) {
+		return tag.replaceAll("([a-z0-9])([A-Z])", "$1 $2");
+	}
+
+	private static String attribute(Element e, String name) {
+		return e.hasAttribute(name) ? e.getAttribute(name) : null;
+	}
+
+	private static ArrayList<Element> children(Element parent, String name) {
+		ArrayList<Element> elements = new ArrayList<>();
+		NodeList nodes = parent.getChildNodes();
+		for(int i = 0; i < nodes.getLength(); i++){
+			Node node = nodes.item(i);
+			if(node instanceof Element && (name == null || node.getNodeName().equals(name))){
+				elements.add((Element) node);
+			}
+		}
+		return elements;
+	}
+
+	private static String read(File file) throws IOException {
+		if(!file.exists()){
+			return null;
+		}
+		byte[] bytes = new byte[(int) file.length()];
+		InputStream in = new FileInputStream(file);
+		try{
+			int n = 0;
+			while(n < bytes.length){
+				n += in.read(bytes, n, bytes.length - n);
+			}
+		} finally{
+			in.close();
+		}
+		return new String(bytes, CHARSET);
+	}
+
+	private static void write(File file, String source) throws IOException {
+		OutputStream out = new FileOutputStream(file);
+		try{
+			out.write(source.getBytes(CHARSET));
+		} finally{
+			out.close();
+		}
+	}
+
+
+	private static final class Structure {
+		String name;
+		String tag;
+		String className;
+		String root;
+		boolean isPublic;
+		int groups;
+		final ArrayList<Field> fields = new ArrayList<>();
+	}
+
+	private static final class Field {
+		String kind;
+		String tag;
+		String type;
+		String className;
+		String property;
+		String getter;
+		String setter;
+		String tester;
+		String adder;
+		String values;
+		String ref;
+		boolean optional;
+		boolean inline;
+		boolean currentTime;
+		// the items of a group have the same number, the other items 0
+		int group;
+
+		void setAccessors() {
+			getter = getter != null ? getter : "get" + property;
+			setter = setter != null ? setter : "set" + property;
+			tester = tester != null ? tester : "has" + property;
+		}
+	}
+
+	/**
+	 * The source of a generated class. The lines are indented by the braces they open and close.
+	 */
+	private final class Source {
+
+		final String packageName;
+		final String simpleName;
+		private final TreeSet<String> usedImports = new TreeSet<>();
+		private final TreeSet<String> hooks = new TreeSet<>();
+		private final StringBuilder sb = new StringBuilder();
+		private int indent = 1;
+
+		Source(String className) {
+			this.packageName = className.substring(0, className.lastIndexOf('.'));
+			this.simpleName = className.substring(className.lastIndexOf('.') + 1);
+		}
+
+		/**
+		 * Imports a class given by its simple name from the schema or by its fully qualified name.
+		 * @return		the simple name
+		 */
+		String use(String className) {
+			String qualified = className.indexOf('.') < 0 ? imports.get(className) : className;
+			if(!qualified.substring(0, qualified.lastIndexOf('.')).equals(packageName)){
+				usedImports.add(qualified);
+			}
+			return qualified.substring(qualified.lastIndexOf('.') + 1);
+		}
+
+		/**
+		 * @return		<code>true</code>, if the abstract methods of the delegate are already declared
+		 */
+		boolean hasHook(String tag) {
+			return !hooks.add(tag);
+		}
+
+		void line(String line) {
+			if(line.startsWith("}")){
+				indent--;
+			}
+			if(!line.isEmpty()){
+				for(int i = 0; i < indent; i++){
+					sb.append('\t');
+				}
+			}
+			sb.append(line).append(NL);
+			if(line.endsWith("{")){
+				indent++;
+			}
+		}
+
+		void indent() {
+			indent++;
+		}
+
+		void outdent() {
+			indent--;
+		}
+
+		void append(Source other) {
+			sb.append(other.sb);
+			usedImports.addAll(other.usedImports);
+		}
+
+		void append(String[] lines) {
+			for(String line : lines){
+				line(line);
+			}
+		}
+
+		void header(String description) {
+			String body = sb.toString();
+			sb.setLength(0);
+			sb.append("/**").append(NL);
+			sb.append(" * ").append(simpleName).append(".java").append(NL);
+			sb.append(" * -----------------------------------------------------------------").append(NL);
+			sb.append(" *     __ __ __  ___________").append(NL);
+			sb.append(" *    / //_//  |/  /  _/ __ \\\t  .--.").append(NL);
+			sb.append(" *   / ,<  / /|_/ // // /_/ /\t /.-. '----------.").append(NL);
+			sb.append(" *  / /| |/ /  / // // ____/ \t \\'-' .--\"--\"\"-\"-'").append(NL);
+			sb.append(" * /_/ |_/_/  /_/___/_/      \t  '--'").append(NL);
+			sb.append(" *").append(NL);
+			sb.append(" * -----------------------------------------------------------------").append(NL);
+			sb.append(" * Description:").append(NL);
+			sb.append(" * ").append(description).append(NL);
+			sb.append(" * This file is generated from the KMIPMessageSchema.xml.").append(NL);
+			sb.append(" *").append(NL);
+			sb.append(" * @author     Stefanie Meile <stefaniemeile@gmail.com>").append(NL);
+			sb.append(" * @author     Michael Guster <michael.guster@gmail.com>").append(NL);
+			sb.append(" * @org.       NTB - University of Applied Sciences Buchs, (CH)").append(NL);
+			sb.append(" * @copyright  Copyright \u00EF\u00BF\u00BD 2013, Stefanie Meile, Michael Guster").append(NL);
+			sb.append(" * @license    Simplified BSD License (see LICENSE.TXT)").append(NL);
+			sb.append(" * @version    1.0, 2013/08/09").append(NL);
+			sb.append(" * @since      Class available since Release 1.0").append(NL);
+			sb.append(" *").append(NL);
+			sb.append(" *").append(NL);
+			sb.append(" */").append(NL);
+			sb.append(NL);
+			sb.append("package ").append(packageName).append(";").append(NL);
+			sb.append(NL);
+			// the imports of the Java platform come first, like in the hand-written sources
+			for(boolean platform : new boolean[]{true, false}){
+				boolean any = false;
+				for(String qualified : usedImports){
+					if(qualified.startsWith("java.") == platform){
+						sb.append("import ").append(qualified).append(";").append(NL);
+						any = true;
+					}
+				}
+				if(any){
+					sb.append(NL);
+				}
+			}
+			sb.append(body);
+			indent = 0;
+		}
+
+		public String toString() {
+			return sb.toString();
+		}
+	}
+
+}
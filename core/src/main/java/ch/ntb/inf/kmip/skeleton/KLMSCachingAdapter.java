@@ -0,0 +1,249 @@
+/**
+ * KLMSCachingAdapter.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KLMSCachingAdapter wraps the adapter to the KLMS and keeps the
+ * encoded Response Payloads of successful Get operations. A repeated
+ * Get of the same object, with the same Key Format Type, Key Wrapping
+ * Specification and Credential, is answered from the cache, without
+ * the KLMS and without encoding the Managed Object again. Every other
+ * operation, which may change a managed object, invalidates the
+ * cached responses of that object.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.skeleton;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ch.ntb.inf.kmip.attributes.UniqueIdentifier;
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.kmipenum.EnumOperation;
+import ch.ntb.inf.kmip.kmipenum.EnumResultStatus;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.objects.base.Credential;
+import ch.ntb.inf.kmip.process.encoder.KMIPBufferEncoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
+
+/**
+ * The cache only sees the requests, which pass the skeleton. If the managed objects are changed
+ * by other means, e.g. directly in the database, the cache must not be used.
+ */
+class KLMSCachingAdapter implements KLMSAdapterInterface {
+
+	private final KLMSAdapterInterface klmsAdapter;
+	private final KMIPBufferEncoder encoder = new KMIPBufferEncoder();
+	private final int maxEntries;
+	private final LinkedHashMap<CacheKey, byte[]> responsePayloads;
+
+	// incremented by every invalidation, so a Get, which overlaps a change, is not cached
+	private long generation;
+	private long hits;
+	private long misses;
+
+	/**
+	 * @param klmsAdapter : 	the adapter to the KLMS, which processes the Batch Items.
+	 * @param maxEntries : 		the number of cached Response Payloads, the least recently used is evicted first.
+	 */
+	KLMSCachingAdapter(KLMSAdapterInterface klmsAdapter, final int maxEntries) {
+		this.klmsAdapter = klmsAdapter;
+		this.maxEntries = maxEntries;
+		this.responsePayloads = new LinkedHashMap<CacheKey, byte[]>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+			protected boolean removeEldestEntry(Map.Entry<CacheKey, byte[]> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	public KMIPBatch doProcess(KMIPBatch requestBatch, Credential credential, boolean asynchronousIndicator) {
+		String uniqueIdentifier = getUniqueIdentifier(requestBatch);
+		if(!isCacheable(requestBatch, uniqueIdentifier, asynchronousIndicator)){
+			KMIPBatch responseBatch = klmsAdapter.doProcess(requestBatch, credential, asynchronousIndicator);
+			if(mayChangeObject(requestBatch)){
+				invalidate(uniqueIdentifier);
+			}
+			return responseBatch;
+		}
+
+		CacheKey key = createKey(uniqueIdentifier, requestBatch, credential);
+		byte[] responsePayload;
+		long requestGeneration;
+		synchronized(this){
+			responsePayload = responsePayloads.get(key);
+			requestGeneration = generation;
+			if(responsePayload != null){
+				hits++;
+			} else{
+				misses++;
+			}
+		}
+		if(responsePayload != null){
+			return createResponseBatch(requestBatch, responsePayload);
+		}
+
+		KMIPBatch responseBatch = klmsAdapter.doProcess(requestBatch, credential, asynchronousIndicator);
+		if(isSuccessful(responseBatch)){
+			responsePayload = encodeResponsePayload(responseBatch);
+			responseBatch.setEncodedResponsePayload(responsePayload);
+			synchronized(this){
+				if(requestGeneration == generation){
+					responsePayloads.put(key, responsePayload);
+				}
+			}
+		}
+		return responseBatch;
+	}
+
+	public void setKLMS(String klmsPath, String defaultPath) throws InstantiationException, IllegalAccessException, ClassNotFoundException {
+		klmsAdapter.setKLMS(klmsPath, defaultPath);
+	}
+
+	public HashMap<String, String> getStatus() {
+		HashMap<String, String> status = klmsAdapter.getStatus();
+		synchronized(this){
+			status.put("Response Cache", responsePayloads.size() + " of " + maxEntries + " entries, " + hits + " hits, " + misses + " misses");
+		}
+		return status;
+	}
+
+	/**
+	 * Removes the cached responses of a managed object, or all of them, if the object is not known,
+	 * e.g. because the request refers to it by the ID Placeholder.
+	 */
+	private synchronized void invalidate(String uniqueIdentifier) {
+		generation++;
+		if(uniqueIdentifier == null){
+			responsePayloads.clear();
+			return;
+		}
+		Iterator<CacheKey> it = responsePayloads.keySet().iterator();
+		while(it.hasNext()){
+			if(it.next().uniqueIdentifier.equals(uniqueIdentifier)){
+				it.remove();
+			}
+		}
+	}
+
+	private boolean isCacheable(KMIPBatch requestBatch, String uniqueIdentifier, boolean asynchronousIndicator) {
+		return requestBatch.getOperation().getValue() == EnumOperation.Get
+				&& uniqueIdentifier != null
+				&& !asynchronousIndicator
+				&& !requestBatch.hasAsynchronousCorrelationValueAttribute()
+				&& !requestBatch.hasMessageExtension();
+	}
+
+	/**
+	 * Operations, which only read managed objects or create new ones, keep the cached responses.
+	 */
+	private boolean mayChangeObject(KMIPBatch requestBatch) {
+		switch(requestBatch.getOperation().getValue()){
+			case EnumOperation.Get:
+			case EnumOperation.GetAttributes:
+			case EnumOperation.GetAttributeList:
+			case EnumOperation.Locate:
+			case EnumOperation.Check:
+			case EnumOperation.Validate:
+			case EnumOperation.Query:
+			case EnumOperation.Poll:
+			case EnumOperation.Cancel:
+			case EnumOperation.Create:
+			case EnumOperation.CreateKeyPair:
+			case EnumOperation.Register:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	private boolean isSuccessful(KMIPBatch responseBatch) {
+		return responseBatch != null
+				&& responseBatch.hasResultStatus()
+				&& responseBatch.getResultStatus().getValue() == EnumResultStatus.Success
+				&& !responseBatch.hasResultMessage()
+				&& !responseBatch.hasMessageExtension();
+	}
+
+	private String getUniqueIdentifier(KMIPBatch requestBatch) {
+		for(Attribute attribute : requestBatch.getAttributes()){
+			if(attribute instanceof UniqueIdentifier){
+				return attribute.getValues()[0].getValueString();
+			}
+		}
+		return null;
+	}
+
+	// the Request Payload holds the Unique Identifier, Key Format Type, Key Compression Type and Key Wrapping Specification
+	private CacheKey createKey(String uniqueIdentifier, KMIPBatch requestBatch, Credential credential) {
+		KMIPByteSink sink = new KMIPByteSink(256);
+		encoder.encodeRequestPayload(requestBatch, sink);
+		if(credential != null){
+			encoder.encodeCredential(credential, sink);
+		}
+		return new CacheKey(uniqueIdentifier, sink.toByteArray());
+	}
+
+	private byte[] encodeResponsePayload(KMIPBatch responseBatch) {
+		KMIPByteSink sink = new KMIPByteSink();
+		encoder.encodeResponsePayload(responseBatch, sink);
+		return sink.toByteArray();
+	}
+
+	private KMIPBatch createResponseBatch(KMIPBatch requestBatch, byte[] responsePayload) {
+		KMIPBatch responseBatch = new KMIPBatch();
+		responseBatch.setOperation(EnumOperation.Get);
+		responseBatch.setResultStatus(new EnumResultStatus(EnumResultStatus.Success));
+		if(requestBatch.hasUniqueBatchItemID()){
+			responseBatch.setUniqueBatchItemID(requestBatch.getUniqueBatchItemID());
+		}
+		responseBatch.setEncodedResponsePayload(responsePayload);
+		return responseBatch;
+	}
+
+
+	private static final class CacheKey {
+
+		private final String uniqueIdentifier;
+		private final byte[] encodedRequest;
+		private final int hash;
+
+		CacheKey(String uniqueIdentifier, byte[] encodedRequest) {
+			this.uniqueIdentifier = uniqueIdentifier;
+			this.encodedRequest = encodedRequest;
+			this.hash = Arrays.hashCode(encodedRequest);
+		}
+
+		public int hashCode() {
+			return hash;
+		}
+
+		public boolean equals(Object o) {
+			if(!(o instanceof CacheKey)){
+				return false;
+			}
+			CacheKey other = (CacheKey) o;
+			return hash == other.hash && Arrays.equals(encodedRequest, other.encodedRequest);
+		}
+	}
+
+}
@@ -0,0 +1,209 @@
+/**
+ * KMIPBatchExecution.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPBatchExecution processes the batch items of one request
+ * via the adapter to the KLMS and hands out the response batches
+ * in the order of the request. Independent batch items, which only
+ * read managed objects identified by their Unique Identifier, are
+ * processed in parallel by an executor, if the request does not ask
+ * for the batch order. If the Batch Error Continuation Option of the
+ * request is Stop or Undo, no batch item after a failed one is
+ * handed out.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.skeleton;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import ch.ntb.inf.kmip.attributes.UniqueIdentifier;
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumBatchError;
+import ch.ntb.inf.kmip.kmipenum.EnumOperation;
+import ch.ntb.inf.kmip.kmipenum.EnumResultStatus;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.objects.base.Credential;
+
+class KMIPBatchExecution {
+
+	private final KLMSAdapterInterface klmsAdapter;
+	private final KMIPContainer requestContainer;
+	private final Credential credential;
+	private final boolean asynchronousIndicator;
+	private final boolean stopOnError;
+	private final ExecutorService executor;
+	private ArrayList<Future<KMIPBatch>> futures;
+
+	private int next;
+	private boolean stopped;
+
+	/**
+	 * Nothing is processed, before the first response batch is requested.
+	 * 
+	 * @param executor : 	the executor for independent batch items, or <code>null</code> to process
+	 * 						every batch item by the calling thread.
+	 */
+	KMIPBatchExecution(KLMSAdapterInterface klmsAdapter, KMIPContainer requestContainer, ExecutorService executor) {
+		this.klmsAdapter = klmsAdapter;
+		this.requestContainer = requestContainer;
+		this.credential = requestContainer.hasAuthentication() ? requestContainer.getAuthentication().getCredential() : null;
+		this.asynchronousIndicator = requestContainer.hasAsynchronousIndicator() && requestContainer.getAsynchronousIndicator().getValue();
+		this.stopOnError = requestContainer.hasBatchErrorContinuationOption()
+				&& requestContainer.getBatchErrorContinuationOption().getValue() != EnumBatchError.Continue;
+
+		this.executor = (executor != null && isParallelizable()) ? executor : null;
+	}
+
+	boolean hasNext() {
+		return !stopped && next < requestContainer.getBatchCount();
+	}
+
+	/**
+	 * @return		the response batch of the next batch item of the request
+	 */
+	KMIPBatch next() {
+		KMIPBatch responseBatch;
+		if(executor != null){
+			if(futures == null){
+				submitAll();
+			}
+			responseBatch = getResult(futures.get(next));
+		} else{
+			responseBatch = process(requestContainer.getBatch(next));
+		}
+		next++;
+
+		if(stopOnError && responseBatch.hasResultStatus()
+				&& responseBatch.getResultStatus().getValue() == EnumResultStatus.OperationFailed){
+			cancel();
+		}
+		return responseBatch;
+	}
+
+	/**
+	 * @return		<code>true</code> if no batch item is handed out after a failed one, so the response may
+	 * 				have fewer batch items than the request.
+	 */
+	boolean isStopOnError() {
+		return stopOnError;
+	}
+
+	/**
+	 * Stops handing out response batches and cancels the batch items, which are not processed yet.
+	 */
+	void cancel() {
+		stopped = true;
+		if(futures != null){
+			for(int i = next; i < futures.size(); i++){
+				futures.get(i).cancel(false);
+			}
+		}
+	}
+
+	private boolean isParallelizable() {
+		if(requestContainer.getBatchCount() < 2 || asynchronousIndicator){
+			return false;
+		}
+		if(requestContainer.hasBatchOrderOption() && requestContainer.getBatchOrderOption().getValue()){
+			return false;
+		}
+		for(int i = 0; i < requestContainer.getBatchCount(); i++){
+			if(!isIndependent(requestContainer.getBatch(i))){
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A batch item is independent, if it neither changes a managed object nor uses or sets
+	 * the ID Placeholder of the request.
+	 */
+	private boolean isIndependent(KMIPBatch batch) {
+		if(!batch.hasOperation() || batch.hasAsynchronousCorrelationValueAttribute()){
+			return false;
+		}
+		switch(batch.getOperation().getValue()){
+			case EnumOperation.Query:
+				return true;
+			case EnumOperation.Get:
+			case EnumOperation.GetAttributes:
+			case EnumOperation.GetAttributeList:
+				return hasUniqueIdentifier(batch);
+			default:
+				return false;
+		}
+	}
+
+	private boolean hasUniqueIdentifier(KMIPBatch batch) {
+		for(Attribute attribute : batch.getAttributes()){
+			if(attribute instanceof UniqueIdentifier){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void submitAll() {
+		futures = new ArrayList<>(requestContainer.getBatchCount());
+		for(int i = 0; i < requestContainer.getBatchCount(); i++){
+			futures.add(executor.submit(createTask(requestContainer.getBatch(i))));
+		}
+	}
+
+	private Callable<KMIPBatch> createTask(final KMIPBatch batch) {
+		return new Callable<KMIPBatch>() {
+			public KMIPBatch call() {
+				return process(batch);
+			}
+		};
+	}
+
+	private KMIPBatch process(KMIPBatch batch) {
+		KMIPBatch responseBatch = klmsAdapter.doProcess(batch, credential, asynchronousIndicator);
+		// the client finds the response of a batch item by its ID
+		if(batch.hasUniqueBatchItemID() && !responseBatch.hasUniqueBatchItemID()){
+			responseBatch.setUniqueBatchItemID(batch.getUniqueBatchItemID());
+		}
+		return responseBatch;
+	}
+
+	private KMIPBatch getResult(Future<KMIPBatch> future) {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			cancel();
+			throw new IllegalStateException("Interrupted while processing the batch items", e);
+		} catch (ExecutionException e) {
+			cancel();
+			if(e.getCause() instanceof RuntimeException){
+				throw (RuntimeException) e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
@@ -40,10 +40,16 @@ import ch.ntb.inf.kmip.utils.KMIPUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The Skeleton encapsulates the whole KMIP functionality of the
@@ -51,6 +57,9 @@ import java.util.HashMap;
  * adapter to the KLMS. To process a request, it decodes the 
  * request, processes the separated batches of the request via the
  * adapter to the KLMS, encodes and returns the response.  
+ * A thread-safe encoder or decoder is shared by all requests.
+ * Independent batch items of a request are processed in parallel,
+ * if the request does not ask for the batch order.
  */
 public class KMIPSkeleton implements KMIPSkeletonInterface{
 
@@ -62,9 +71,21 @@ public class KMIPSkeleton implements KMIPSkeletonInterface{
 	private static final String DEFAULT_LOCATION_KLMS = "ch.ntb.inf.klms.KLMS";
 	private static final String DEFAULT_LOCATION_TRANSPORTLAYER = "ch.ntb.inf.kmip.skeleton.transport.KMIPSkeletonTransportLayer";
 
+	// the KLMS mostly waits for its database, so there are more threads than processors
+	private static final int BATCH_THREADS = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+
 	private KLMSAdapterInterface klmsAdapter;
 	private KMIPEncoderPool encoderPool;
 	private KMIPDecoderPool decoderPool;
+	private KMIPTTLVValidator validator = new KMIPTTLVValidator();
+	private final ExecutorService batchExecutor = Executors.newFixedThreadPool(BATCH_THREADS, new ThreadFactory() {
+		private final AtomicInteger count = new AtomicInteger();
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "KMIPBatchExecutor-" + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	});
 
 	/**
 	 * This constructor is used to instantiate the skeleton by a middle-ware. 
@@ -76,7 +97,20 @@ public class KMIPSkeleton implements KMIPSkeletonInterface{
 	 * 							context-parameter. (e.g.: see encoderPath)
 	 */
 	public KMIPSkeleton(KLMSAdapterInterface klmsAdapter, String encoderPath, String decoderPath){
-		this.klmsAdapter = klmsAdapter;
+		this(klmsAdapter, encoderPath, decoderPath, 0);
+	}
+	
+	/**
+	 * This constructor is used to instantiate the skeleton by a middle-ware, with a cache for the responses 
+	 * of Get operations. The cache must only be used, if the managed objects are changed via this skeleton only.
+	 * 
+	 * @param klmsAdapter : 		the <code>KLMSAdapterInterface</code>
+	 * @param encoderPath : 		the fully qualified name of the Encoder as a <code>String</code>
+	 * @param decoderPath : 		the fully qualified name of the Decoder as a <code>String</code>
+	 * @param responseCacheSize : 	the number of cached Get responses, <code>0</code> for no cache
+	 */
+	public KMIPSkeleton(KLMSAdapterInterface klmsAdapter, String encoderPath, String decoderPath, int responseCacheSize){
+		this.klmsAdapter = createAdapter(klmsAdapter, responseCacheSize);
 		this.encoderPool = new KMIPEncoderPool(encoderPath,  DEFAULT_LOCATION_ENCODER);
 		this.decoderPool = new KMIPDecoderPool(decoderPath, DEFAULT_LOCATION_DECODER);
 	}
@@ -91,11 +125,15 @@ public class KMIPSkeleton implements KMIPSkeletonInterface{
 			String xmlPath = this.getClass().getResource("config/").getPath();
 			ContextProperties props = new ContextProperties(xmlPath, "SkeletonConfig.xml");
 			
-			this.klmsAdapter = (KLMSAdapterInterface) getClass(props.getProperty("Adapter"), DEFAULT_LOCATION_ADAPTER).newInstance();
-			this.klmsAdapter.setKLMS(props.getProperty("KLMS"), DEFAULT_LOCATION_KLMS);
+			KLMSAdapterInterface adapter = (KLMSAdapterInterface) getClass(props.getProperty("Adapter"), DEFAULT_LOCATION_ADAPTER).newInstance();
+			adapter.setKLMS(props.getProperty("KLMS"), DEFAULT_LOCATION_KLMS);
+			this.klmsAdapter = createAdapter(adapter, props.getIntProperty("ResponseCacheSize", 0));
 			
 			this.encoderPool = new KMIPEncoderPool(props.getProperty("Encoder"), DEFAULT_LOCATION_ENCODER);
 			this.decoderPool = new KMIPDecoderPool(props.getProperty("Decoder"), DEFAULT_LOCATION_DECODER);
+			this.validator = new KMIPTTLVValidator(
+					props.getIntProperty("MaximumMessageSize", KMIPTTLVValidator.DEFAULT_MAXIMUM_MESSAGE_SIZE),
+					props.getIntProperty("MaximumMessageDepth", KMIPTTLVValidator.DEFAULT_MAXIMUM_DEPTH));
 		
 			setTransportLayer(props);
 			
@@ -106,6 +144,13 @@ public class KMIPSkeleton implements KMIPSkeletonInterface{
 		
 	}
 	
+	private KLMSAdapterInterface createAdapter(KLMSAdapterInterface adapter, int responseCacheSize){
+		if(responseCacheSize > 0){
+			return new KLMSCachingAdapter(adapter, responseCacheSize);
+		}
+		return adapter;
+	}
+	
 	private void setTransportLayer(ContextProperties props) throws ClassNotFoundException, SecurityException, NoSuchMethodException, IllegalArgumentException, InstantiationException, IllegalAccessException, InvocationTargetException{
 		KMIPSkeletonTransportLayerInterface transportLayer;
 		Class<?> transportLayerClass = getClass(props.getProperty("TransportLayer"), DEFAULT_LOCATION_TRANSPORTLAYER);
@@ -120,44 +165,118 @@ public class KMIPSkeleton implements KMIPSkeletonInterface{
 	
 
 	public ArrayList<Byte> processRequest(ArrayList<Byte> request) {
-		KMIPEncoderInterface encoder = getEncoder();
-		KMIPDecoderInterface decoder = getDecoder();
+		KMIPContainer requestContainer;
+		try{
+			requestContainer = decodeRequest(request);
+		} catch(KMIPMalformedMessageException e){
+			return encodeResponse(createInvalidMessageResponse(e));
+		}
 		
-		ArrayList<Byte> response = createResponse(request, decoder);
+		if(requestContainer.hasMaximumResponseSize()){
+			return createLimitedResponse(requestContainer);
+		}
+		return encodeResponse(processRequestBatches(requestContainer));
+	}
+
+	/**
+	 * Processes a KMIP-Request-Message as a TTLV-encoded hexadecimal string stored in an 
+	 * <code>ArrayList{@literal <}Byte{@literal >}</code> and writes the corresponding KMIP-Response-Message
+	 * to an <code>OutputStream</code>, without building it as <code>ArrayList{@literal <}Byte{@literal >}</code>.
+	 * The stream is neither flushed nor closed.
+	 * 
+	 * @param request :       	the KMIP-Message to be processed
+	 * @param out :       		the <code>OutputStream</code> the response is written to
+	 * @throws IOException		if the response can not be written
+	 */
+	public void processRequest(ArrayList<Byte> request, OutputStream out) throws IOException {
+		KMIPContainer requestContainer;
+		try{
+			requestContainer = decodeRequest(request);
+		} catch(KMIPMalformedMessageException e){
+			encodeResponse(createInvalidMessageResponse(e), out);
+			return;
+		}
 		
+		if(requestContainer.hasMaximumResponseSize()){
+			// the size of the response has to be known, before it is written
+			out.write(KMIPUtils.toByteArray(createLimitedResponse(requestContainer)));
+		} else{
+			encodeResponse(processRequestBatches(requestContainer), out);
+		}
+	}
+
+	/**
+	 * Writes the Invalid Message response to a request, which is rejected before it has been read completely,
+	 * e.g. because its header announces more than the maximum message size. The stream is neither flushed nor closed.
+	 * 
+	 * @param e :       		the reason, why the request is rejected
+	 * @param out :       		the <code>OutputStream</code> the response is written to
+	 * @throws IOException		if the response can not be written
+	 */
+	public void writeInvalidMessageResponse(KMIPMalformedMessageException e, OutputStream out) throws IOException {
+		encodeResponse(createInvalidMessageResponse(e), out);
+	}
+
+	/**
+	 * Creates the response to a request with a Maximum Response Size. A <code>KMIPBufferEncoder</code> encodes 
+	 * each Batch Item right after it is processed, into a sink limited to the Maximum Response Size. So an 
+	 * oversized response is detected before the remaining Batch Items are processed, and nothing is encoded twice.
+	 * Any other encoder encodes the whole response, before its size is checked.
+	 */
+	private ArrayList<Byte> createLimitedResponse(KMIPContainer requestContainer){
+		KMIPEncoderInterface encoder = getEncoder();
+		if(encoder instanceof KMIPBufferEncoder){
+			try{
+				return createLimitedResponse(requestContainer, (KMIPBufferEncoder) encoder);
+			} finally{
+				encoderPool.returnEncoder(encoder);
+			}
+		}
 		encoderPool.returnEncoder(encoder);
-		decoderPool.returnDecoder(decoder);
+		return checkResponseSize(encodeResponse(processRequestBatches(requestContainer)), requestContainer);
+	}
 
-		return response;
+	private ArrayList<Byte> createLimitedResponse(KMIPContainer requestContainer, KMIPBufferEncoder encoder){
+		int batchCount = requestContainer.getBatchCount();
+		KMIPBatchExecution execution = new KMIPBatchExecution(klmsAdapter, requestContainer, batchExecutor);
+		KMIPByteSink sink = new KMIPByteSink();
+		sink.setLimit(requestContainer.getMaximumResponseSize().getValue());
+		try{
+			int slot = encoder.startResponse(batchCount, sink);
+			int count = 0;
+			while(execution.hasNext()){
+				// the Batch Items, which are not processed yet, take at least this many bytes
+				int remaining = execution.isStopOnError() ? 1 : batchCount - count;
+				sink.checkLimit(remaining * KMIPBufferEncoder.MIN_RESPONSE_BATCH_ITEM_LENGTH);
+				encoder.encodeResponseBatchItem(execution.next(), sink);
+				count++;
+			}
+			encoder.finishResponse(slot, count, sink);
+			return sink.toArrayList();
+		} catch(KMIPByteLimitExceededException e){
+			execution.cancel();
+			logger.info("Response exceeds the Maximum Response Size: " + e.getMessage());
+			return encoder.encodeResponse(createMaxResponseSizeResponse("at least " + e.getRequiredSize(), requestContainer));
+		}
 	}
 
-	private ArrayList<Byte> createResponse(ArrayList<Byte> request, KMIPDecoderInterface decoder){
+	private KMIPContainer processRequestBatches(KMIPContainer requestContainer){
 		KMIPContainer responseContainer = new KMIPContainer();
-		KMIPContainer requestContainer = decodeRequest(decoder, request);
-		
-		for(int i = 0; i < requestContainer.getBatchCount(); i++){
-			responseContainer.addBatch(processRequestBatch(requestContainer.getBatch(i), requestContainer));
+		KMIPBatchExecution execution = new KMIPBatchExecution(klmsAdapter, requestContainer, batchExecutor);
+		while(execution.hasNext()){
+			responseContainer.addBatch(execution.next());
 		}
-		
 		responseContainer.calculateBatchCount();
-		ArrayList<Byte> response = encodeResponse(responseContainer);
-		
+		return responseContainer;
+	}
+
+	private ArrayList<Byte> checkResponseSize(ArrayList<Byte> response, KMIPContainer requestContainer){
 		if(requestContainer.hasMaximumResponseSize() && response.size() > requestContainer.getMaximumResponseSize().getValue()){
-			response = createMaxResponseSizeResponse(response, requestContainer);
+			return encodeResponse(createMaxResponseSizeResponse(Integer.toString(response.size()), requestContainer));
 		} 
 		return response;
 	}
 
-	private KMIPEncoderInterface getEncoder(){
-		try {
-			return encoderPool.getEncoder();
-		} catch (KMIPEncoderPoolOverflowException e) {
-			logger.error("Encoder Pool Overflow");
-			e.printStackTrace();
-		}
-		return null;
-	}
-	
 	private KMIPDecoderInterface getDecoder(){
 		try {
 			return decoderPool.getDecoder();
@@ -168,57 +287,92 @@ public class KMIPSkeleton implements KMIPSkeletonInterface{
 		return null;
 	}
 	
-	private KMIPContainer decodeRequest(KMIPDecoderInterface decoder, ArrayList<Byte> request){
+	/**
+	 * Validates the structure of the request, before the decoder builds any object of it. 
+	 * A request, which is not valid or can not be decoded, is answered with Invalid Message.
+	 */
+	private KMIPContainer decodeRequest(ArrayList<Byte> request) throws KMIPMalformedMessageException {
+		validator.validateRequest(request);
+		KMIPDecoderInterface decoder = getDecoder();
 		try{
 			return decoder.decodeRequest(request);
 		}catch (Exception e){
 			logger.error("Error while decoding Request!");
 			e.printStackTrace();
+			throw new KMIPMalformedMessageException("Request can not be decoded: " + e.getMessage(), e);
+		} finally{
+			decoderPool.returnDecoder(decoder);
 		}
-		return null;
 	}
 
-	private KMIPBatch processRequestBatch(KMIPBatch batch, KMIPContainer requestContainer) {
-		boolean asynchronousIndicator = false;
-		if(requestContainer.hasAsynchronousIndicator() && requestContainer.getAsynchronousIndicator().getValue()){
-			asynchronousIndicator = true;
-		}
-		
-		if(requestContainer.hasAuthentication()){
-			return klmsAdapter.doProcess(batch, requestContainer.getAuthentication().getCredential(), asynchronousIndicator);
-		} else{
-			return klmsAdapter.doProcess(batch, null, asynchronousIndicator);
-		}
+	private KMIPContainer createInvalidMessageResponse(KMIPMalformedMessageException e) {
+		logger.info("Invalid Request: " + e.getMessage());
+		KMIPContainer responseContainer = new KMIPContainer();
+		KMIPBatch batch = new KMIPBatch();
+		batch.setFailure(new EnumResultStatus(EnumResultStatus.OperationFailed), new EnumResultReason(EnumResultReason.InvalidMessage), e.getMessage());
+		responseContainer.addBatch(batch);
+		responseContainer.calculateBatchCount();
+		return responseContainer;
 	}
-	
 
-	private ArrayList<Byte> createMaxResponseSizeResponse(ArrayList<Byte> response, KMIPContainer requestContainer) {
+
+	private KMIPContainer createMaxResponseSizeResponse(String responseSize, KMIPContainer requestContainer) {
 		KMIPContainer responseContainer = new KMIPContainer();
 		KMIPBatch batch = new KMIPBatch();
 		batch.setResultStatus(new EnumResultStatus(EnumResultStatus.OperationFailed));
 		batch.setResultReason(new EnumResultReason(EnumResultReason.ResponseTooLarge));
-		batch.setResultMessage("Response size: " + response.size() + ", Maximum Response Size indicated in request: " + requestContainer.getMaximumResponseSize().getValue());
+		batch.setResultMessage("Response size: " + responseSize + ", Maximum Response Size indicated in request: " + requestContainer.getMaximumResponseSize().getValue());
 		responseContainer.addBatch(batch);	
 		responseContainer.calculateBatchCount();
-		return encodeResponse(responseContainer);
+		return responseContainer;
 	}
 
 	
 	
+	private KMIPEncoderInterface getEncoder(){
+		try {
+			return encoderPool.getEncoder();
+		} catch (KMIPEncoderPoolOverflowException e) {
+			logger.error("Encoder Pool Overflow");
+			e.printStackTrace();
+		}
+		return null;
+	}
+	
 	private ArrayList<Byte> encodeResponse(KMIPContainer container) {
-		ArrayList<Byte> response;
+		KMIPEncoderInterface encoder = getEncoder();
+		if(encoder == null){
+			return null;
+		}
+		try {
+			return encoder.encodeResponse(container);	
+		} finally {
+			encoderPool.returnEncoder(encoder);
+		}
+	}
+
+	private void encodeResponse(KMIPContainer container, OutputStream out) throws IOException {
 		KMIPEncoderInterface encoder;
 		try {
 			encoder = encoderPool.getEncoder();
-			response = encoder.encodeResponse(container);	
-			encoderPool.returnEncoder(encoder);
-			return response;
 		} catch (KMIPEncoderPoolOverflowException e) {
-			e.printStackTrace();
-			return null;
+			logger.error("Encoder Pool Overflow");
+			throw new IOException("Encoder Pool Overflow", e);
+		}
+		try {
+			encoder.encodeResponse(container, out);	
+		} finally {
+			encoderPool.returnEncoder(encoder);
 		}
 	}
 	
+	/**
+	 * @return		the maximum number of bytes of a request, which is accepted
+	 */
+	public int getMaximumMessageSize(){
+		return validator.getMaximumMessageSize();
+	}
+
 	/**
 	 * Returns a <code>HashMap{@literal <}String, String{@literal >}</code>, which contains status information of the KLMS.
 	 * Each entry has an information-description and an information-value. (e.g.: <code>status.put("Loaded Encoder", encoderPool.getLoadedEncoder());</code>)
@@ -11,6 +11,10 @@
  * Description:
  * A KLMSServerHandler provides a Thread, which handles the client-
  * requests, as well the read and write service to the client. 
+ * The requests are read by the length in their header, so a client
+ * can send one request after the other on the same connection.
+ * Requests, which a client sends without waiting for the responses,
+ * are processed concurrently, and the responses written in order.
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -25,22 +29,64 @@
 
 package ch.ntb.inf.kmip.skeleton.transport;
 
-import java.io.DataOutputStream;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ch.ntb.inf.kmip.process.KMIPMessageFraming;
+import ch.ntb.inf.kmip.process.KMIPMessageTooLargeException;
+import ch.ntb.inf.kmip.process.KMIPTruncatedMessageException;
+import ch.ntb.inf.kmip.process.decoder.KMIPMalformedMessageException;
 import ch.ntb.inf.kmip.skeleton.KMIPSkeleton;
+import ch.ntb.inf.kmip.utils.KMIPHex;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
 
 
 
+/**
+ * A client, which closes its output after the request, like the <code>KMIPStubTransportLayer</code>, still gets
+ * its response: the end of the stream after the request closes the connection.
+ * <p>
+ * A request is processed by the reading thread, as long as the client waits for each response. Once the next
+ * request has already arrived, when a request has been read, the requests are processed by a pipeline executor,
+ * which is separate from the pool of the handlers, so a bounded pool can not deadlock. A <code>ResponseWriter</code>
+ * writes their responses in the order of the requests, by the thread, which completes the next response to be
+ * written, without a thread of its own. At most <code>MAXIMUM_PIPELINE_DEPTH</code> requests of a connection are
+ * in process, further ones are not read before.
+ */
 class KLMSServerHandler implements Runnable {
 	
 	private static final Logger logger = LoggerFactory.getLogger(KLMSServerHandler.class);
+	// a connection without a request for this time is closed, the clients keep theirs idle for a shorter time
+	private static final int IDLE_TIMEOUT = 60000;
+	static final int MAXIMUM_PIPELINE_DEPTH = 32;
+	// the KLMS mostly waits for its database, so there are enough threads to process the full depth of a connection
+	private static final int PIPELINE_THREADS = Math.max(MAXIMUM_PIPELINE_DEPTH, 2 * Runtime.getRuntime().availableProcessors());
+	private static final ExecutorService pipelineExecutor = Executors.newFixedThreadPool(PIPELINE_THREADS, new ThreadFactory() {
+		private final AtomicInteger count = new AtomicInteger();
+		public Thread newThread(Runnable r) {
+			Thread t = new Thread(r, "KLMSPipeline-" + count.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		}
+	});
 	private final Socket clientSocket;
 	private KMIPSkeleton skeleton;
 	
@@ -53,15 +99,40 @@ class KLMSServerHandler implements Runnable {
 		try {
 	    	logger.info("Running service: " + Thread.currentThread());
 	    	
-	    	DataOutputStream outToClient = new DataOutputStream(clientSocket.getOutputStream());
-	    	InputStream is = clientSocket.getInputStream();
+	    	clientSocket.setSoTimeout(IDLE_TIMEOUT);
+	    	OutputStream outToClient = clientSocket.getOutputStream();
+	    	InputStream is = new BufferedInputStream(clientSocket.getInputStream());
 	    	
-	    	byte[] resultBuff = readBytes(is);
-	    	ArrayList<Byte> request = toArrayList(resultBuff);
-	        
-	    	byte[] res = processRequest(request);
-	    	writeBytes(res, outToClient);
+	    	ResponseWriter writer = null;
+	    	try {
+	    		byte[] resultBuff;
+	    		while((resultBuff = readBytes(is)) != null){
+	    			if(writer == null && is.available() == 0){
+	    				processRequest(toArrayList(resultBuff), outToClient);
+	    				continue;
+	    			}
+	    			// the client sends without waiting for the responses
+	    			if(writer == null){
+	    				writer = new ResponseWriter(outToClient);
+	    			}
+	    			writer.add(createTask(resultBuff));
+	    		}
+	    	} catch (KMIPMessageTooLargeException e){
+	    		// the rest of the request is not read, the connection is closed after the response
+	    		logger.warn("Request rejected: " + e.getMessage());
+	    		respond(createInvalidMessageTask(e), writer, outToClient);
+	    	} catch (KMIPTruncatedMessageException e){
+	    		// the validator rejects the partial request, like a request, which has been read to the end of the stream
+	    		logger.warn("Request incomplete: " + e.getMessage());
+	    		respond(createTask(e.getPartialMessage()), writer, outToClient);
+	    	} finally {
+	    		if(writer != null){
+	    			writer.finish();
+	    		}
+	    	}
 
+	    } catch (SocketTimeoutException e){
+	    	logger.info("Connection idle for " + IDLE_TIMEOUT + " ms");
 	    } catch (Exception e){
 	    	logger.error("Error while processing Request!");
 	    	e.printStackTrace();
@@ -79,47 +150,160 @@ class KLMSServerHandler implements Runnable {
 	}
 	
 
+	// returns null, if the client has closed the connection after its last request
 	private byte[] readBytes(InputStream is) throws IOException{
-    	byte[] resultBuff = new byte[0];
-        byte[] buff = new byte[1024];
-        int k;
-        while((k = is.read(buff, 0, buff.length)) > -1) {
-            byte[] tbuff = new byte[resultBuff.length + k]; // temp buffer size = bytes already read + bytes last read
-            System.arraycopy(resultBuff, 0, tbuff, 0, resultBuff.length); // copy previous bytes
-            System.arraycopy(buff, 0, tbuff, resultBuff.length, k);  // copy current lot
-            resultBuff = tbuff; // call the temp buffer as your result buff
-        }
-        logger.info(resultBuff.length + " bytes read.");
-        return resultBuff;
+		byte[] resultBuff = KMIPMessageFraming.readMessage(is, skeleton.getMaximumMessageSize());
+		if(resultBuff != null){
+			logger.info(resultBuff.length + " bytes read.");
+		}
+		return resultBuff;
 	}
 	
 
 	private ArrayList<Byte> toArrayList(byte[] resultBuff) {
-        ArrayList<Byte> request = new ArrayList<>();
-        StringBuilder sb = new StringBuilder();
-        for(byte b:resultBuff){
-        	sb.append(String.format("%02X", b));
-        	request.add(b);
+        if(logger.isInfoEnabled()){
+        	logger.info(KMIPHex.encode(resultBuff));
         }
-        logger.info(sb.toString());
-        return request;
+        return KMIPUtils.convertByteArrayToArrayList(resultBuff);
 	}
 	
-	private byte[] processRequest(ArrayList<Byte> request) {
-        ArrayList<Byte> response = skeleton.processRequest(request);
-        byte[] res = new byte[response.size()];
-        for(int i = 0; i < res.length; i++){
-        	res[i] = response.get(i);
-        }
-        return res;
-	}
-
-	
-	private void writeBytes(byte[] res, DataOutputStream outToClient) throws IOException {
+	private void processRequest(ArrayList<Byte> request, OutputStream outToClient) throws IOException {
         logger.info("Write Data to Client...");	        
-        outToClient.write(res);
+        skeleton.processRequest(request, outToClient);
         outToClient.flush();
-        outToClient.close();
+	}
+	
+	/**
+	 * Writes the response after the responses of the pipelined requests, if there are any.
+	 */
+	private void respond(Callable<byte[]> task, ResponseWriter writer, OutputStream outToClient) throws Exception {
+		if(writer != null){
+			writer.add(task);
+		} else{
+			outToClient.write(task.call());
+			outToClient.flush();
+		}
+	}
+	
+	private Callable<byte[]> createInvalidMessageTask(final KMIPMessageTooLargeException cause) {
+		return new Callable<byte[]>() {
+			public byte[] call() throws IOException {
+				ByteArrayOutputStream response = new ByteArrayOutputStream();
+				skeleton.writeInvalidMessageResponse(new KMIPMalformedMessageException(cause.getMessage(), KMIPMessageFraming.LENGTH_OFFSET), response);
+				return response.toByteArray();
+			}
+		};
+	}
+	
+	private Callable<byte[]> createTask(final byte[] resultBuff) {
+		return new Callable<byte[]>() {
+			public byte[] call() throws IOException {
+				ByteArrayOutputStream response = new ByteArrayOutputStream();
+				skeleton.processRequest(toArrayList(resultBuff), response);
+				return response.toByteArray();
+			}
+		};
+	}
+	
+	/**
+	 * Writes the responses of the pipelined requests in the order, in which they have been added. The thread, which
+	 * completes the next response to be written, writes it and the following completed ones, while the other threads
+	 * return at once. If writing fails, the connection is closed, and the remaining responses are discarded, so the
+	 * reading thread is never blocked.
+	 */
+	private class ResponseWriter {
+		
+		private final OutputStream outToClient;
+		private final Semaphore depth = new Semaphore(MAXIMUM_PIPELINE_DEPTH);
+		// the responses, which are not written yet, in the order of the requests
+		private final ArrayDeque<FutureTask<byte[]>> responses = new ArrayDeque<>();
+		private boolean writing;
+		private boolean failed;
+		
+		ResponseWriter(OutputStream outToClient) {
+			this.outToClient = outToClient;
+		}
+		
+		/**
+		 * Processes the request by the pipeline executor, waits while <code>MAXIMUM_PIPELINE_DEPTH</code> requests
+		 * are in process.
+		 */
+		void add(Callable<byte[]> task) throws InterruptedException {
+			depth.acquire();
+			FutureTask<byte[]> response = new FutureTask<byte[]>(task) {
+				protected void done() {
+					writeCompleted();
+				}
+			};
+			synchronized(this){
+				responses.add(response);
+			}
+			pipelineExecutor.execute(response);
+		}
+		
+		/**
+		 * Waits until the responses of all added requests have been written.
+		 */
+		synchronized void finish() throws InterruptedException {
+			while(writing || !responses.isEmpty()){
+				wait();
+			}
+		}
+		
+		private void writeCompleted() {
+			synchronized(this){
+				if(writing){
+					return;
+				}
+				writing = true;
+			}
+			boolean flushed = true;
+			while(true){
+				FutureTask<byte[]> response = null;
+				synchronized(this){
+					// the response is done, before the thread, which completed it, gets here
+					if(!responses.isEmpty() && responses.peek().isDone()){
+						response = responses.poll();
+					} else if(flushed){
+						writing = false;
+						notifyAll();
+						return;
+					}
+				}
+				if(response == null){
+					// the client may wait for the responses written, before it sends the next request
+					flushed = true;
+					try {
+						if(!failed){
+							outToClient.flush();
+						}
+					} catch (IOException e) {
+						fail(e);
+					}
+					continue;
+				}
+				try {
+					if(!failed){
+						outToClient.write(response.get());
+						flushed = false;
+					}
+				} catch (IOException | ExecutionException | InterruptedException e) {
+					fail(e);
+				} finally {
+					depth.release();
+				}
+			}
+		}
+		
+		private void fail(Exception e) {
+			logger.error("Error while writing the pipelined Responses: " + e);
+			failed = true;
+			try {
+				clientSocket.close();
+			} catch (IOException ex) {
+				ex.printStackTrace();
+			}
+		}
 	}
 	 
 }
\ No newline at end of file
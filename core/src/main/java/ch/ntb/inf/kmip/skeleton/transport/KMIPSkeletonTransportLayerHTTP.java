@@ -0,0 +1,144 @@
+/**
+ * KMIPSkeletonTransportLayerHTTP.java
+ * -------------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -------------------------------------------------------------------
+ * Description:
+ * The KMIPSkeletonTransportLayerHTTP provides a HTTP server, which
+ * accepts the TTLV-encoded requests in the body of a POST with the
+ * type application/octet-stream, as sent by the
+ * KMIPStubTransportLayerHTTPBinary, and returns the responses the
+ * same way. The connections are kept alive for further requests.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.skeleton.transport;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.concurrent.Executors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.process.KMIPMessageFraming;
+import ch.ntb.inf.kmip.skeleton.KMIPSkeleton;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * The server is started, when its port is set. It answers a request, which is not a KMIP-Message of at most
+ * the maximum message size of the skeleton, with a HTTP error and without a body.
+ */
+public class KMIPSkeletonTransportLayerHTTP implements KMIPSkeletonTransportLayerInterface, HttpHandler {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPSkeletonTransportLayerHTTP.class);
+
+	public static final String PATH = "/kmip";
+	public static final String CONTENT_TYPE = "application/octet-stream";
+
+	private static final int DEFAULT_PORT = 8090;
+
+	private final KMIPSkeleton skeleton;
+	private HttpServer server;
+
+	public KMIPSkeletonTransportLayerHTTP(KMIPSkeleton skeleton) {
+		this.skeleton = skeleton;
+		// otherwise the body of a response waits for the acknowledgement of its headers on a kept-alive connection
+		if(System.getProperty("sun.net.httpserver.nodelay") == null){
+			System.setProperty("sun.net.httpserver.nodelay", "true");
+		}
+	}
+
+	public void setPort(String value) {
+		int port = value != null ? Integer.parseInt(value) : DEFAULT_PORT;
+		logger.info("--KLMS-HTTP-Server is starting...");
+		try {
+			if(server != null){
+				server.stop(0);
+			}
+			server = HttpServer.create(new InetSocketAddress(port), 0);
+			server.createContext(PATH, this);
+			server.setExecutor(Executors.newCachedThreadPool());
+			server.start();
+			logger.info("KLMS-HTTP-Server is ready to receive requests on: http://localhost:" + port + PATH);
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Stops the server, the requests in process are completed.
+	 */
+	public void stop() {
+		if(server != null){
+			server.stop(1);
+			server = null;
+		}
+	}
+
+	public void handle(HttpExchange exchange) throws IOException {
+		try {
+			if(!"POST".equals(exchange.getRequestMethod())){
+				exchange.getResponseHeaders().set("Allow", "POST");
+				sendStatus(exchange, 405);
+				return;
+			}
+
+			InputStream in = exchange.getRequestBody();
+			byte[] request;
+			try {
+				request = KMIPMessageFraming.readMessage(in, skeleton.getMaximumMessageSize());
+				if(request == null || in.read() != -1){
+					sendStatus(exchange, 400);
+					return;
+				}
+			} catch (IOException e) {
+				logger.warn("Invalid request: " + e);
+				sendStatus(exchange, 400);
+				return;
+			}
+			logger.info(request.length + " bytes read.");
+
+			// the length of the response has to be known before its headers, so it is not chunked
+			ByteArrayOutputStream response = new ByteArrayOutputStream();
+			skeleton.processRequest(KMIPUtils.convertByteArrayToArrayList(request), response);
+			exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+			exchange.sendResponseHeaders(200, response.size());
+			OutputStream out = exchange.getResponseBody();
+			response.writeTo(out);
+			out.close();
+		} catch (RuntimeException e) {
+			logger.error("Error while processing Request!");
+			e.printStackTrace();
+			sendStatus(exchange, 500);
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private void sendStatus(HttpExchange exchange, int status) throws IOException {
+		exchange.sendResponseHeaders(status, -1);
+	}
+
+}
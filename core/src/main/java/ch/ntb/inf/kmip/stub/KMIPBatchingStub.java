@@ -0,0 +1,321 @@
+/**
+ * KMIPBatchingStub.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPBatchingStub gathers the single Batch Item requests of
+ * concurrent callers, for a short time or up to a number of Batch
+ * Items, and sends them in one KMIP-Message with multiple Batch
+ * Items by another stub. The Batch Items of the response are
+ * returned to their callers by their Unique Batch Item ID.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.attributes.UniqueIdentifier;
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumBatchError;
+import ch.ntb.inf.kmip.objects.Authentication;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.process.encoder.KMIPBufferEncoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
+import ch.ntb.inf.kmip.stub.transport.KMIPCallback;
+import ch.ntb.inf.kmip.stub.transport.KMIPFuture;
+import ch.ntb.inf.kmip.types.KMIPByteString;
+
+/**
+ * Only a request with one Batch Item, without a Unique Batch Item ID and without header options other than
+ * the Authentication is gathered, the others are sent as they are. The Batch Item must name its object by a
+ * Unique Identifier, as an item without one uses the ID Placeholder, which would be set by the Batch Items of
+ * other callers in the same message. Requests with different credentials in their
+ * Authentication are not sent together. The gathered message has the Batch Error Continuation Option Continue,
+ * so a failed Batch Item does not affect the others.
+ * <p>
+ * Each caller waits up to the maximum delay longer for its response, in exchange the server gets fewer and
+ * larger messages. The Batch Items of the request get a Unique Batch Item ID, which the server has to return
+ * in the response Batch Items.
+ */
+public class KMIPBatchingStub implements KMIPStubInterface {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPBatchingStub.class);
+
+	public static final int DEFAULT_MAXIMUM_BATCH_COUNT = 32;
+	public static final long DEFAULT_MAXIMUM_DELAY = 500;		// microseconds
+
+	private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "KMIPBatchingStub");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final KMIPStubInterface stub;
+	private final KMIPBufferEncoder encoder = new KMIPBufferEncoder();
+	private final int maximumBatchCount;
+	private final long maximumDelay;
+
+	// the requests, which are gathered for the next message
+	private Group group;
+
+	public KMIPBatchingStub(KMIPStubInterface stub) {
+		this(stub, DEFAULT_MAXIMUM_BATCH_COUNT, DEFAULT_MAXIMUM_DELAY);
+	}
+
+	/**
+	 * @param stub :					the stub, which sends the messages
+	 * @param maximumBatchCount :		the number of Batch Items, which are sent at once, without waiting any longer
+	 * @param maximumDelay :			the microseconds the first request of a message waits for further requests
+	 */
+	public KMIPBatchingStub(KMIPStubInterface stub, int maximumBatchCount, long maximumDelay) {
+		this.stub = stub;
+		this.maximumBatchCount = maximumBatchCount;
+		this.maximumDelay = maximumDelay;
+	}
+
+	/**
+	 * Processes a KMIP-Request-Message stored in a <code>KMIPContainer</code> and returns a corresponding KMIP-Response-Message.
+	 *
+	 * @param c :      	the <code>KMIPContainer</code> to be encoded and sent.
+	 * @return			<code>KMIPContainer</code> with the response objects.
+	 */
+	public KMIPContainer processRequest(KMIPContainer c) {
+		return processRequestAsync(c).join();
+	}
+
+	/**
+	 * Test cases compare the whole messages, so they are never gathered.
+	 */
+	public KMIPContainer processRequest(KMIPContainer c, String expectedTTLVRequest, String expectedTTLVResponse) {
+		return stub.processRequest(c, expectedTTLVRequest, expectedTTLVResponse);
+	}
+
+	/**
+	 * Processes a KMIP-Request-Message stored in a <code>KMIPContainer</code> and returns without waiting for the response.
+	 *
+	 * @param c :      	the <code>KMIPContainer</code> to be encoded and sent.
+	 * @return			<code>KMIPFuture</code>: completed with the <code>KMIPContainer</code> of the response objects.
+	 */
+	public KMIPFuture<KMIPContainer> processRequestAsync(KMIPContainer c) {
+		if(!isGatherable(c)){
+			return stub.processRequestAsync(c);
+		}
+
+		KMIPFuture<KMIPContainer> response = new KMIPFuture<>();
+		byte[] credential = encodeCredential(c.getAuthentication());
+		Group full = null;
+		Group other = null;
+		synchronized(this){
+			if(group != null && !Arrays.equals(group.credential, credential)){
+				other = group;
+				group = null;
+			}
+			if(group == null){
+				final Group created = new Group(c.getAuthentication(), credential);
+				group = created;
+				timer.schedule(new Runnable() {
+					public void run() {
+						send(created);
+					}
+				}, maximumDelay, TimeUnit.MICROSECONDS);
+			}
+			group.requests.add(c);
+			group.responses.add(response);
+			if(group.requests.size() >= maximumBatchCount){
+				full = group;
+				group = null;
+			}
+		}
+		if(other != null){
+			send(other);
+		}
+		if(full != null){
+			send(full);
+		}
+		return response;
+	}
+
+	private boolean isGatherable(KMIPContainer c) {
+		return c.getBatchCount() == 1 && c.getBatches().size() == 1 && !c.getBatch(0).hasUniqueBatchItemID()
+				&& hasUniqueIdentifier(c.getBatch(0)) && !c.hasMaximumResponseSize() && !c.hasAsynchronousIndicator()
+				&& !c.hasBatchErrorContinuationOption() && !c.hasBatchOrderOption() && !c.hasTimeStamp();
+	}
+
+	/**
+	 * Clients create a new <code>Authentication</code> for each request, so the credentials are compared by their encoding.
+	 */
+	private byte[] encodeCredential(Authentication authentication) {
+		if(authentication == null || authentication.getCredential() == null){
+			return null;
+		}
+		KMIPByteSink sink = new KMIPByteSink(256);
+		encoder.encodeCredential(authentication.getCredential(), sink);
+		return sink.toByteArray();
+	}
+
+	private boolean hasUniqueIdentifier(KMIPBatch batch) {
+		for(Attribute attribute : batch.getAttributes()){
+			if(attribute instanceof UniqueIdentifier){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Sends the requests of the group, unless they have been sent already, because the group was full.
+	 */
+	private void send(final Group sending) {
+		synchronized(this){
+			if(sending.sent){
+				return;
+			}
+			sending.sent = true;
+			if(group == sending){
+				group = null;
+			}
+		}
+
+		if(sending.requests.size() == 1){
+			forward(stub.processRequestAsync(sending.requests.get(0)), sending.responses.get(0));
+			return;
+		}
+
+		KMIPContainer message = new KMIPContainer();
+		if(sending.authentication != null){
+			message.setAuthentication(sending.authentication);
+		}
+		message.setBatchErrorContinuationOption(new EnumBatchError(EnumBatchError.Continue));
+		for(int i = 0; i < sending.requests.size(); i++){
+			// the request of the caller is not changed, so it can be sent again
+			KMIPBatch batch = new KMIPBatch(sending.requests.get(i).getBatch(0));
+			batch.setUniqueBatchItemID(new KMIPByteString(toID(i)));
+			message.addBatch(batch);
+		}
+		message.calculateBatchCount();
+		logger.debug("Sending " + sending.requests.size() + " gathered Batch Items");
+
+		stub.processRequestAsync(message).addCallback(new KMIPCallback<KMIPContainer>() {
+			public void completed(KMIPContainer result) {
+				distribute(sending, result);
+			}
+
+			public void failed(Throwable cause) {
+				for(KMIPFuture<KMIPContainer> response : sending.responses){
+					response.fail(cause);
+				}
+			}
+		});
+	}
+
+	/**
+	 * Returns each Batch Item of the response to the caller of the request Batch Item with the same ID. If the
+	 * server answers the whole message with a single Batch Item without ID, e.g. because it is invalid, every
+	 * caller gets this Batch Item.
+	 */
+	private void distribute(Group sending, KMIPContainer result) {
+		if(result == null){
+			IOException cause = new IOException("No valid response to the gathered Batch Items");
+			for(KMIPFuture<KMIPContainer> response : sending.responses){
+				response.fail(cause);
+			}
+			return;
+		}
+
+		HashMap<Integer, KMIPBatch> batches = new HashMap<>();
+		KMIPBatch messageFailure = null;
+		for(KMIPBatch batch : result.getBatches()){
+			if(batch.hasUniqueBatchItemID()){
+				batches.put(fromID(batch.getUniqueBatchItemID().getValue()), batch);
+			} else if(result.getBatches().size() == 1){
+				messageFailure = batch;
+			}
+		}
+
+		for(int i = 0; i < sending.responses.size(); i++){
+			KMIPBatch batch = batches.get(i);
+			if(batch == null){
+				batch = messageFailure;
+			}
+			if(batch == null){
+				sending.responses.get(i).fail(new IOException("No response Batch Item with the Unique Batch Item ID " + i));
+				continue;
+			}
+			KMIPContainer single = new KMIPContainer();
+			if(result.hasTimeStamp()){
+				single.setTimeStamp(result.getTimeStamp());
+			}
+			single.addBatch(batch);
+			single.calculateBatchCount();
+			sending.responses.get(i).complete(single);
+		}
+	}
+
+	private void forward(KMIPFuture<KMIPContainer> from, final KMIPFuture<KMIPContainer> to) {
+		from.addCallback(new KMIPCallback<KMIPContainer>() {
+			public void completed(KMIPContainer result) {
+				to.complete(result);
+			}
+
+			public void failed(Throwable cause) {
+				to.fail(cause);
+			}
+		});
+	}
+
+	private static byte[] toID(int index) {
+		return new byte[] { (byte) (index >>> 24), (byte) (index >>> 16), (byte) (index >>> 8), (byte) index };
+	}
+
+	private static int fromID(byte[] id) {
+		if(id == null || id.length != 4){
+			return -1;
+		}
+		return (id[0] & 0xFF) << 24 | (id[1] & 0xFF) << 16 | (id[2] & 0xFF) << 8 | (id[3] & 0xFF);
+	}
+
+	private static class Group {
+
+		final Authentication authentication;
+		// the encoded credential of the authentication, which all requests of the group have
+		final byte[] credential;
+		final ArrayList<KMIPContainer> requests = new ArrayList<>();
+		final ArrayList<KMIPFuture<KMIPContainer>> responses = new ArrayList<>();
+		boolean sent;
+
+		Group(Authentication authentication, byte[] credential) {
+			this.authentication = authentication;
+			this.credential = credential;
+		}
+	}
+
+}
@@ -39,6 +39,8 @@ import ch.ntb.inf.kmip.config.ContextProperties;
 import ch.ntb.inf.kmip.container.KMIPContainer;
 import ch.ntb.inf.kmip.process.decoder.KMIPDecoderInterface;
 import ch.ntb.inf.kmip.process.encoder.KMIPEncoderInterface;
+import ch.ntb.inf.kmip.stub.transport.KMIPCallback;
+import ch.ntb.inf.kmip.stub.transport.KMIPFuture;
 import ch.ntb.inf.kmip.stub.transport.KMIPStubTransportLayerInterface;
 import ch.ntb.inf.kmip.test.UCStringCompare;
 import ch.ntb.inf.kmip.utils.KMIPUtils;
@@ -54,6 +56,7 @@ import ch.ntb.inf.kmip.utils.KMIPUtils;
  * 	<li><code>processRequest(KMIPContainer c)</code> for common use</li>
  * 	<li><code>processRequest(KMIPContainer c, String expectedTTLVRequest, String expectedTTLVResponse)</code> for test cases</li>
  * </ul>
+ * and <code>processRequestAsync(KMIPContainer c)</code>, which does not wait for the response.
  */
 public class KMIPStub implements KMIPStubInterface {
 
@@ -107,9 +110,29 @@ public class KMIPStub implements KMIPStubInterface {
 	 * @return			<code>KMIPContainer</code> with the response objects.
 	 */
 	public KMIPContainer processRequest(KMIPContainer c){
+		return processRequestAsync(c).join();
+	}
+
+	/**
+	 * Processes a KMIP-Request-Message stored in a <code>KMIPContainer</code> and returns without waiting for the response.
+	 * The request is encoded by the caller, the response is decoded by the thread, which receives it.
+	 * 
+	 * @param c :      	the <code>KMIPContainer</code> to be encoded and sent. 
+	 * @return			<code>KMIPFuture</code>: completed with the <code>KMIPContainer</code> of the response objects.
+	 */
+	public KMIPFuture<KMIPContainer> processRequestAsync(KMIPContainer c){
+		final KMIPFuture<KMIPContainer> response = new KMIPFuture<>();
 		ArrayList<Byte> ttlv = encoder.encodeRequest(c);
-		ArrayList<Byte> responseFromServer = transportLayer.send(ttlv);
-		return decodeResponse(responseFromServer);
+		transportLayer.sendAsync(ttlv).addCallback(new KMIPCallback<ArrayList<Byte>>() {
+			public void completed(ArrayList<Byte> responseFromServer) {
+				response.complete(decodeResponse(responseFromServer));
+			}
+
+			public void failed(Throwable cause) {
+				response.fail(cause);
+			}
+		});
+		return response;
 	}
 	
 	/**
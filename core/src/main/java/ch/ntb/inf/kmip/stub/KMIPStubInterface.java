@@ -28,6 +28,7 @@
 package ch.ntb.inf.kmip.stub;
 
 import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.stub.transport.KMIPFuture;
 
 /**
  * The KMIPStubInterface is the interface for all stubs. It 
@@ -40,6 +41,7 @@ import ch.ntb.inf.kmip.container.KMIPContainer;
  * 	<li><code>processRequest(KMIPContainer c)</code> for common use</li>
  * 	<li><code>processRequest(KMIPContainer c, String expectedTTLVRequest, String expectedTTLVResponse)</code> for test cases</li>
  * </ul>
+ * and <code>processRequestAsync(KMIPContainer c)</code>, which does not wait for the response.
  */
 public interface KMIPStubInterface {
 
@@ -51,6 +53,14 @@ public interface KMIPStubInterface {
 	 */
 	KMIPContainer processRequest(KMIPContainer c);
 
+	/**
+	 * Processes a KMIP-Request-Message stored in a <code>KMIPContainer</code> and returns without waiting for the response.
+	 * 
+	 * @param c :      	the <code>KMIPContainer</code> to be encoded and sent. 
+	 * @return			<code>KMIPFuture</code>: completed with the <code>KMIPContainer</code> of the response objects.
+	 */
+	KMIPFuture<KMIPContainer> processRequestAsync(KMIPContainer c);
+
 	/**
 	 * Processes a KMIP-Request-Message stored in a <code>KMIPContainer</code> and returns a corresponding KMIP-Response-Message.
 	 * For test cases, there are two additional parameters that may be set by the caller. The idea is, that the generated TTLV-Strings 
@@ -0,0 +1,89 @@
+/**
+ * KMIPBufferPool.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPBufferPool keeps direct ByteBuffers of one size for the
+ * non-blocking transport layer. A direct buffer is written to and
+ * read from a channel without a copy, but it is expensive to
+ * allocate, so it is reused instead of being dropped.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A message larger than <code>BUFFER_SIZE</code> is not copied into a pooled buffer, but wrapped.
+ */
+final class KMIPBufferPool {
+
+	static final int BUFFER_SIZE = 16384;
+	// more buffers are allocated, if needed, but not kept
+	private static final int MAXIMUM_POOLED = 256;
+
+	private static final ConcurrentLinkedQueue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger pooled = new AtomicInteger();
+
+	private KMIPBufferPool() {
+	}
+
+	/**
+	 * @return		a cleared direct buffer of <code>BUFFER_SIZE</code> bytes
+	 */
+	static ByteBuffer acquire() {
+		ByteBuffer buffer = buffers.poll();
+		if(buffer == null){
+			return ByteBuffer.allocateDirect(BUFFER_SIZE);
+		}
+		pooled.decrementAndGet();
+		return buffer;
+	}
+
+	/**
+	 * @return		a buffer ready to be written, with the message in a pooled buffer, if it fits
+	 */
+	static ByteBuffer wrap(byte[] message) {
+		if(message.length > BUFFER_SIZE){
+			return ByteBuffer.wrap(message);
+		}
+		ByteBuffer buffer = acquire();
+		buffer.put(message);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Returns a buffer to the pool, a buffer, which has not been acquired from it, is ignored.
+	 */
+	static void release(ByteBuffer buffer) {
+		if(!buffer.isDirect() || buffer.capacity() != BUFFER_SIZE){
+			return;
+		}
+		if(pooled.incrementAndGet() > MAXIMUM_POOLED){
+			pooled.decrementAndGet();
+			return;
+		}
+		buffer.clear();
+		buffers.offer(buffer);
+	}
+
+}
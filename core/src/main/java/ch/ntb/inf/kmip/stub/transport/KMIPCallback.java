@@ -0,0 +1,45 @@
+/**
+ * KMIPCallback.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPCallback is informed, when an asynchronous request has
+ * been completed, with its response or with the cause of the
+ * failure.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+/**
+ * The methods are called by the thread, which completes the <code>KMIPFuture</code>, or by the caller of
+ * <code>addCallback</code>, if it is already completed. So they should not block.
+ */
+public interface KMIPCallback<T> {
+
+	/**
+	 * @param result :		the response of the request
+	 */
+	void completed(T result);
+
+	/**
+	 * @param cause :		the cause, why the request failed or has been cancelled
+	 */
+	void failed(Throwable cause);
+
+}
@@ -51,7 +51,7 @@ class KMIPClientHandler implements Callable<ArrayList<Byte>> {
 		this.al = al;
 	} 
 
-	// Call method for the FutureTask (similar to run() of a Thread)
+	// Call method for the KMIPFuture (similar to run() of a Thread)
 	public ArrayList<Byte> call() { 
 		logger.info("ClientHandler:" + Thread.currentThread());
 		// Start a server-request
@@ -0,0 +1,190 @@
+/**
+ * KMIPConnectionPool.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPConnectionPool keeps open TCP-connections to one server,
+ * so a request does not pay for a new TCP-handshake. The number of
+ * connections is bounded, an idle connection is checked before it
+ * is used again and closed, if it has been idle for too long.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.io.IOException;
+import java.net.Socket;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * There is one pool per target, which is shared by all stubs of the JVM.
+ */
+class KMIPConnectionPool {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPConnectionPool.class);
+
+	static final int DEFAULT_MAXIMUM_CONNECTIONS = 8;
+	static final long DEFAULT_MAXIMUM_IDLE_TIME = 30000;
+	static final long DEFAULT_ACQUIRE_TIMEOUT = 10000;
+	// a server, which does not answer within this time, is given up
+	static final int READ_TIMEOUT = 60000;
+
+	private static final ConcurrentHashMap<String, KMIPConnectionPool> pools = new ConcurrentHashMap<>();
+
+	private final String hostname;
+	private final int port;
+	private final long maximumIdleTime;
+	private final Semaphore permits;
+	// the most recently used connection is used first, so the others can expire
+	private final ArrayDeque<Connection> idle = new ArrayDeque<>();
+
+	KMIPConnectionPool(String hostname, int port, int maximumConnections, long maximumIdleTime) {
+		this.hostname = hostname;
+		this.port = port;
+		this.maximumIdleTime = maximumIdleTime;
+		this.permits = new Semaphore(maximumConnections, true);
+	}
+
+	/**
+	 * @return		the pool of the target, which is created with the default limits, if there is none
+	 */
+	static KMIPConnectionPool forTarget(String hostname, int port) {
+		String target = hostname + ":" + port;
+		KMIPConnectionPool pool = pools.get(target);
+		if(pool == null){
+			KMIPConnectionPool created = new KMIPConnectionPool(hostname, port, DEFAULT_MAXIMUM_CONNECTIONS, DEFAULT_MAXIMUM_IDLE_TIME);
+			pool = pools.putIfAbsent(target, created);
+			if(pool == null){
+				pool = created;
+			}
+		}
+		return pool;
+	}
+
+	/**
+	 * Returns an idle connection, which passes the health check, or opens a new one. If the maximum
+	 * number of connections is in use, it waits until one is released.
+	 *
+	 * @throws IOException	if no connection is released within the timeout, or a new one can not be opened
+	 */
+	Connection acquire(long timeout) throws IOException {
+		try {
+			if(!permits.tryAcquire(timeout, TimeUnit.MILLISECONDS)){
+				throw new IOException("No connection to " + hostname + ":" + port + " available within " + timeout + " ms");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a connection", e);
+		}
+
+		try {
+			Connection connection;
+			while((connection = pollIdle()) != null){
+				if(connection.isHealthy(maximumIdleTime)){
+					return connection;
+				}
+				connection.close();
+			}
+			return new Connection(new Socket(hostname, port));
+		} catch (IOException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the connection to the pool, after a complete response has been read from it.
+	 */
+	void release(Connection connection) {
+		connection.lastUsed = System.currentTimeMillis();
+		synchronized(idle){
+			idle.push(connection);
+		}
+		permits.release();
+	}
+
+	/**
+	 * Closes a connection, which must not be used again, e.g. because a request failed on it.
+	 */
+	void discard(Connection connection) {
+		connection.close();
+		permits.release();
+	}
+
+	/**
+	 * Closes the idle connections, the connections in use are closed when they are released.
+	 */
+	void closeIdle() {
+		Connection connection;
+		while((connection = pollIdle()) != null){
+			connection.close();
+		}
+	}
+
+	private Connection pollIdle() {
+		synchronized(idle){
+			return idle.poll();
+		}
+	}
+
+	static class Connection {
+
+		final Socket socket;
+		// a connection, which has been used before, may have been closed by the server meanwhile
+		boolean reused;
+		long lastUsed;
+
+		Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			socket.setTcpNoDelay(true);
+			socket.setKeepAlive(true);
+			socket.setSoTimeout(READ_TIMEOUT);
+		}
+
+		/**
+		 * An idle connection must not have any bytes to read, as the responses to its requests have been read
+		 * completely. If the server has closed it, this is only detected when it is used, so a request on a reused
+		 * connection is retried on a new one, if it could not be sent or the connection ends before the response.
+		 */
+		boolean isHealthy(long maximumIdleTime) {
+			try {
+				boolean healthy = socket.isConnected() && !socket.isClosed() && !socket.isInputShutdown() && !socket.isOutputShutdown()
+						&& System.currentTimeMillis() - lastUsed < maximumIdleTime && socket.getInputStream().available() == 0;
+				reused = healthy;
+				return healthy;
+			} catch (IOException e) {
+				return false;
+			}
+		}
+
+		void close() {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				logger.debug("Closing a connection failed: " + e);
+			}
+		}
+	}
+
+}
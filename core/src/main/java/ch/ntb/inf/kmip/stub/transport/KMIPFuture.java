@@ -0,0 +1,277 @@
+/**
+ * KMIPFuture.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPFuture is the result of an asynchronous request. The
+ * caller may wait for it with get(), like for any Future, or add a
+ * KMIPCallback, which is informed when the request is completed,
+ * so no thread has to wait for the response.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A <code>KMIPFuture</code> is completed once, with <code>complete</code>, <code>fail</code> or <code>cancel</code>.
+ * The blocking requests of the transport layers are executed by one executor, which is shared by all stubs
+ * of the JVM and reuses its threads. At most <code>MAXIMUM_THREADS</code> requests are in process at once,
+ * further requests wait in a queue of <code>MAXIMUM_QUEUED</code> requests. If the queue is full, the
+ * <code>KMIPFuture</code> of a request fails at once with a <code>RejectedExecutionException</code>.
+ */
+public class KMIPFuture<T> implements Future<T> {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPFuture.class);
+
+	public static final int MAXIMUM_THREADS = 64;
+	public static final int MAXIMUM_QUEUED = 10000;
+	// an idle thread ends after this many seconds
+	private static final long KEEP_ALIVE_TIME = 60;
+
+	private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(MAXIMUM_THREADS, MAXIMUM_THREADS,
+			KEEP_ALIVE_TIME, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(MAXIMUM_QUEUED), new ThreadFactory() {
+		private final AtomicInteger count = new AtomicInteger();
+
+		public Thread newThread(Runnable r) {
+			// the requests in process must not keep the JVM alive
+			Thread thread = new Thread(r, "KMIPStub-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	static {
+		// a thread is started for each request up to the maximum, before requests are queued
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	private final CountDownLatch done = new CountDownLatch(1);
+	private ArrayList<KMIPCallback<? super T>> callbacks = new ArrayList<>();
+	private T result;
+	private Throwable failure;
+	private boolean cancelled;
+
+	/**
+	 * Executes the task with the shared executor.
+	 *
+	 * @param task :		the blocking request to be executed
+	 * @return				the <code>KMIPFuture</code>, which is completed with the result of the task, or failed
+	 * 						with a <code>RejectedExecutionException</code>, if too many requests are queued
+	 */
+	public static <T> KMIPFuture<T> submit(final Callable<T> task) {
+		final KMIPFuture<T> future = new KMIPFuture<>();
+		try {
+			executor.execute(new Runnable() {
+				public void run() {
+					if(future.isDone()){
+						return;
+					}
+					try {
+						future.complete(task.call());
+					} catch (Throwable e) {
+						future.fail(e);
+					}
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			future.fail(e);
+		}
+		return future;
+	}
+
+	/**
+	 * Sends the request with the blocking <code>send</code> of the transport layer, executed by the shared executor.
+	 * A transport layer returns <code>null</code>, if the request fails, so the <code>KMIPFuture</code> fails then.
+	 */
+	static KMIPFuture<ArrayList<Byte>> submitSend(final KMIPStubTransportLayerInterface transportLayer, final ArrayList<Byte> al) {
+		return submit(new Callable<ArrayList<Byte>>() {
+			public ArrayList<Byte> call() throws IOException {
+				return checkResponse(transportLayer.send(al));
+			}
+		});
+	}
+
+	static ArrayList<Byte> checkResponse(ArrayList<Byte> response) throws IOException {
+		if(response == null){
+			throw new IOException("No response from the server");
+		}
+		return response;
+	}
+
+	/**
+	 * @return		<code>true</code> if this call completed the <code>KMIPFuture</code>
+	 */
+	public boolean complete(T value) {
+		ArrayList<KMIPCallback<? super T>> toCall;
+		synchronized(this){
+			if(callbacks == null){
+				return false;
+			}
+			result = value;
+			toCall = finish();
+		}
+		for(KMIPCallback<? super T> callback : toCall){
+			try {
+				callback.completed(value);
+			} catch (RuntimeException e) {
+				logger.warn("Callback failed: " + e);
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return		<code>true</code> if this call completed the <code>KMIPFuture</code>
+	 */
+	public boolean fail(Throwable cause) {
+		return fail(cause, false);
+	}
+
+	/**
+	 * Cancels the <code>KMIPFuture</code>, a request already in process is not interrupted, but its result is ignored.
+	 */
+	public boolean cancel(boolean mayInterruptIfRunning) {
+		return fail(new CancellationException(), true);
+	}
+
+	private boolean fail(Throwable cause, boolean cancel) {
+		ArrayList<KMIPCallback<? super T>> toCall;
+		synchronized(this){
+			if(callbacks == null){
+				return false;
+			}
+			failure = cause;
+			cancelled = cancel;
+			toCall = finish();
+		}
+		for(KMIPCallback<? super T> callback : toCall){
+			notifyFailure(callback, cause);
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a callback, which is called immediately, if the <code>KMIPFuture</code> is already completed.
+	 */
+	public void addCallback(KMIPCallback<? super T> callback) {
+		T value;
+		Throwable cause;
+		synchronized(this){
+			if(callbacks != null){
+				callbacks.add(callback);
+				return;
+			}
+			value = result;
+			cause = failure;
+		}
+		if(cause != null){
+			notifyFailure(callback, cause);
+		} else{
+			try {
+				callback.completed(value);
+			} catch (RuntimeException e) {
+				logger.warn("Callback failed: " + e);
+			}
+		}
+	}
+
+	public synchronized boolean isCancelled() {
+		return cancelled;
+	}
+
+	public boolean isDone() {
+		return done.getCount() == 0;
+	}
+
+	public T get() throws InterruptedException, ExecutionException {
+		done.await();
+		return getResult();
+	}
+
+	public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+		if(!done.await(timeout, unit)){
+			throw new TimeoutException();
+		}
+		return getResult();
+	}
+
+	/**
+	 * Waits for the result, like the synchronous requests do.
+	 *
+	 * @return		the result, or <code>null</code> if the request failed
+	 */
+	public T join() {
+		try {
+			return get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error("Interrupted while waiting for the response");
+			return null;
+		} catch (ExecutionException e) {
+			logger.error("Request failed: " + e.getCause());
+			return null;
+		} catch (CancellationException e) {
+			return null;
+		}
+	}
+
+	private synchronized T getResult() throws ExecutionException {
+		if(cancelled){
+			throw new CancellationException();
+		}
+		if(failure != null){
+			throw new ExecutionException(failure);
+		}
+		return result;
+	}
+
+	// must hold the lock
+	private ArrayList<KMIPCallback<? super T>> finish() {
+		ArrayList<KMIPCallback<? super T>> toCall = callbacks;
+		callbacks = null;
+		done.countDown();
+		return toCall;
+	}
+
+	private void notifyFailure(KMIPCallback<? super T> callback, Throwable cause) {
+		try {
+			callback.failed(cause);
+		} catch (RuntimeException e) {
+			logger.warn("Callback failed: " + e);
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+/**
+ * KMIPSelectorLoop.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * A KMIPSelectorLoop is one I/O thread of the non-blocking transport
+ * layer. It waits with a Selector for the channels of its
+ * connections to become ready, and lets their handlers connect,
+ * read and write without blocking.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * There is a fixed number of loops, which are shared by all non-blocking transport layers of the JVM. The state
+ * of a connection is only changed by the thread of its loop, other threads hand their work over with
+ * <code>execute</code>.
+ */
+class KMIPSelectorLoop implements Runnable {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPSelectorLoop.class);
+
+	static final int IO_THREADS = Math.min(4, Runtime.getRuntime().availableProcessors());
+	// the timeouts are checked this often
+	private static final long TICK = 100;
+
+	private static KMIPSelectorLoop[] loops;
+	private static final AtomicInteger next = new AtomicInteger();
+
+	/**
+	 * The handler of a channel, which is registered with a loop.
+	 */
+	interface Handler {
+
+		/**
+		 * Called, when the channel is ready for the operations of its interest set.
+		 */
+		void ready(SelectionKey key) throws IOException;
+
+		/**
+		 * Called at least every <code>TICK</code> milliseconds, to check the timeouts.
+		 */
+		void tick(long now);
+
+		/**
+		 * Called, if the channel failed, the handler has to close it.
+		 */
+		void close(IOException cause);
+	}
+
+	private final Selector selector;
+	private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+	private KMIPSelectorLoop(int number) throws IOException {
+		this.selector = Selector.open();
+		Thread thread = new Thread(this, "KMIPSelectorLoop-" + number);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * @return		the loops, one after the other, so the connections are spread over them
+	 */
+	static KMIPSelectorLoop next() throws IOException {
+		synchronized(KMIPSelectorLoop.class){
+			if(loops == null){
+				KMIPSelectorLoop[] created = new KMIPSelectorLoop[IO_THREADS];
+				for(int i = 0; i < created.length; i++){
+					created[i] = new KMIPSelectorLoop(i + 1);
+				}
+				loops = created;
+			}
+		}
+		return loops[(next.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+	}
+
+	Selector getSelector() {
+		return selector;
+	}
+
+	/**
+	 * Executes the task by the thread of the loop, after the tasks handed over before.
+	 */
+	void execute(Runnable task) {
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	public void run() {
+		long lastTick = System.currentTimeMillis();
+		while(true){
+			try {
+				selector.select(TICK);
+				runTasks();
+
+				Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+				while(selected.hasNext()){
+					SelectionKey key = selected.next();
+					selected.remove();
+					Handler handler = (Handler) key.attachment();
+					try {
+						if(key.isValid()){
+							handler.ready(key);
+						}
+					} catch (IOException e) {
+						handler.close(e);
+					}
+				}
+
+				long now = System.currentTimeMillis();
+				if(now - lastTick >= TICK){
+					lastTick = now;
+					for(SelectionKey key : selector.keys()){
+						if(key.isValid()){
+							((Handler) key.attachment()).tick(now);
+						}
+					}
+				}
+			} catch (Exception e) {
+				// the loop must keep running for the other connections
+				logger.error("Error in the selector loop: " + e);
+			}
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while((task = tasks.poll()) != null){
+			try {
+				task.run();
+			} catch (RuntimeException e) {
+				logger.error("Error in a task of the selector loop: " + e);
+			}
+		}
+	}
+
+}
@@ -9,9 +9,10 @@
  * 
  * -----------------------------------------------------------------
  * Description:
- * The KMIPStubTransportLayer provides a Thread, which handles the 
- * client requests to the server via TCP-Sockets. The whole read and
- * write functionality is encapsulated in the KMIPClientHandler. 
+ * The KMIPStubTransportLayer handles the client requests to the 
+ * server via TCP-Sockets. The whole read and write functionality is
+ * encapsulated in the KMIPClientHandler, which is executed by the 
+ * shared executor of the KMIPFuture. 
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -26,8 +27,9 @@
 
 package ch.ntb.inf.kmip.stub.transport;
 
+import java.io.IOException;
 import java.util.ArrayList;
-import java.util.concurrent.FutureTask;
+import java.util.concurrent.Callable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -42,8 +44,6 @@ public class KMIPStubTransportLayer implements KMIPStubTransportLayerInterface {
 	private int PORT = 5696;						// default values
 	private String targetHostname = "localhost";	// default values
 
-	private KMIPClientHandler clientHandler;
-	
 	public KMIPStubTransportLayer(){
 		logger.info("KMIPTransportLayer initialized...");
 	}
@@ -54,30 +54,31 @@ public class KMIPStubTransportLayer implements KMIPStubTransportLayerInterface {
 	 * a corresponding KMIP-Response-Message.
 	 * 
 	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
-	 * @return			<code>ArrayList{@literal <}Byte{@literal >}</code>: the response message.
+	 * @return			<code>ArrayList{@literal <}Byte{@literal >}</code>: the response message,
+	 * 					or <code>null</code> if the request fails.
 	 */
 	public ArrayList<Byte> send(ArrayList<Byte> al){
 		logger.info("KLMSClient Request Thread: " + Thread.currentThread());
-		clientHandler = new KMIPClientHandler(targetHostname,PORT,al);
-		/* Process the call-Method from the clientHandler asynchronous with FutureTask
-		 * A Future represents the result of an asynchronous computation
-		 */
-		FutureTask<ArrayList<Byte>> ft = new FutureTask<>(clientHandler);
-		Thread tft = new Thread(ft);
-		tft.start();
- 
-		// While the clientHandler is in process, other Threads can run
-		while (!ft.isDone()) {	// while FutureTask is busy
-			Thread.yield();  	
-		} 						// FutureTask isDone
-		
+		// the caller waits for the response without spinning
+		ArrayList<Byte> response = sendAsync(al).join();
 		logger.info("KLMSClient Request terminated.");
-		try {
-			return ft.get();
-		} catch (Exception e) {
-			e.printStackTrace();
-			return null;
-		}
+		return response;
+	}
+
+	/**
+	 * Sends the request with the <code>KMIPClientHandler</code>, executed by the shared executor of the 
+	 * <code>KMIPFuture</code>.
+	 * 
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al){
+		final KMIPClientHandler clientHandler = new KMIPClientHandler(targetHostname,PORT,al);
+		return KMIPFuture.submit(new Callable<ArrayList<Byte>>() {
+			public ArrayList<Byte> call() throws IOException {
+				return KMIPFuture.checkResponse(clientHandler.call());
+			}
+		});
 	}
 
 	/**
@@ -30,12 +30,12 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.HttpURLConnection;
 import java.net.URL;
-import java.net.URLEncoder;
 import java.util.ArrayList;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ch.ntb.inf.kmip.utils.KMIPHex;
 import ch.ntb.inf.kmip.utils.KMIPUtils;
 
 /**
@@ -52,9 +52,10 @@ public class KMIPStubTransportLayerHTTP implements KMIPStubTransportLayerInterfa
 	}
 	
 	public ArrayList<Byte> send(ArrayList<Byte> al) {
-		String kmipRequest = KMIPUtils.convertArrayListToHexString(al);
+		// hex digits need no URL-encoding
+		String kmipRequest = KMIPHex.encode(KMIPUtils.toByteArray(al));
 		try {
-			String parameter = "KMIPRequest="+URLEncoder.encode(kmipRequest,"UTF-8");	
+			String parameter = "KMIPRequest="+kmipRequest;	
 			String responseString = executePost(url,parameter);
 			return KMIPUtils.convertHexStringToArrayList(responseString);
 		} catch (Exception e) {
@@ -103,6 +104,16 @@ public class KMIPStubTransportLayerHTTP implements KMIPStubTransportLayerInterfa
 		}
 	}
 
+	/**
+	 * Sends the request with <code>send</code>, executed by the shared executor of the <code>KMIPFuture</code>.
+	 * 
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al) {
+		return KMIPFuture.submitSend(this, al);
+	}
+
 	public void setTargetHostname(String value) {
 		this.url = value;
 		logger.info("Connection to: "+value);
@@ -0,0 +1,175 @@
+/**
+ * KMIPStubTransportLayerHTTPBinary.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPStubTransportLayerHTTPBinary sends the TTLV-encoded
+ * requests as they are, in the body of a HTTP POST with the type
+ * application/octet-stream, not as hexadecimal form parameter like
+ * the KMIPStubTransportLayerHTTP. The connections are kept alive
+ * and reused by the HttpURLConnection.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.ArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.process.KMIPMessageFraming;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * The server has to accept the binary requests, like the <code>KMIPSkeletonTransportLayerHTTP</code> does.
+ * A connection is only reused, if the response has been read completely, so it is read to its end,
+ * and disconnected only if the request fails.
+ */
+public class KMIPStubTransportLayerHTTPBinary implements KMIPStubTransportLayerInterface {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPStubTransportLayerHTTPBinary.class);
+
+	// the responses are not limited, like the responses read by the other transport layers
+	public static final int DEFAULT_MAXIMUM_RESPONSE_SIZE = Integer.MAX_VALUE;
+	private volatile int maximumResponseSize = DEFAULT_MAXIMUM_RESPONSE_SIZE;
+
+	public static final String CONTENT_TYPE = "application/octet-stream";
+
+	private static final int CONNECT_TIMEOUT = 10000;
+	private static final int READ_TIMEOUT = 60000;
+
+	private URL url;
+
+	public KMIPStubTransportLayerHTTPBinary() {
+		logger.info("KMIPStubTransportLayerHTTPBinary initialized...");
+	}
+
+	/**
+	 * Sends a KMIP-Request-Message as a TTLV-encoded hexadecimal string stored in an
+	 * <code>ArrayList{@literal <}Byte{@literal >}</code> to a defined target and returns
+	 * a corresponding KMIP-Response-Message.
+	 *
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>ArrayList{@literal <}Byte{@literal >}</code>: the response message,
+	 * 					or <code>null</code> if the request fails.
+	 */
+	public ArrayList<Byte> send(ArrayList<Byte> al) {
+		try {
+			return KMIPUtils.convertByteArrayToArrayList(send(KMIPUtils.toByteArray(al)));
+		} catch (IOException e) {
+			logger.error("Request to " + url + " failed: " + e);
+			return null;
+		}
+	}
+
+	byte[] send(byte[] request) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+		try {
+			connection.setRequestMethod("POST");
+			connection.setRequestProperty("Content-Type", CONTENT_TYPE);
+			connection.setRequestProperty("Accept", CONTENT_TYPE);
+			connection.setConnectTimeout(CONNECT_TIMEOUT);
+			connection.setReadTimeout(READ_TIMEOUT);
+			connection.setUseCaches(false);
+			// the request is buffered and written with its headers, a streamed body would wait for their acknowledgement
+			connection.setDoOutput(true);
+
+			OutputStream out = connection.getOutputStream();
+			out.write(request);
+			out.close();
+
+			int status = connection.getResponseCode();
+			if(status != HttpURLConnection.HTTP_OK){
+				throw new IOException("HTTP " + status + " " + connection.getResponseMessage());
+			}
+			return readResponse(connection.getInputStream());
+		} catch (IOException e) {
+			connection.disconnect();
+			throw e;
+		}
+	}
+
+	private byte[] readResponse(InputStream in) throws IOException {
+		try {
+			byte[] response = KMIPMessageFraming.readMessage(in, maximumResponseSize);
+			if(response == null){
+				throw new IOException("Empty response");
+			}
+			// the end of the body has to be read, before the connection is reused
+			if(in.read() != -1){
+				throw new IOException("More bytes after the response message");
+			}
+			return response;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Sends the request with <code>send</code>, executed by the shared executor of the <code>KMIPFuture</code>.
+	 *
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al) {
+		return KMIPFuture.submitSend(this, al);
+	}
+
+	/**
+	 * Sets the target URL to the defined value
+	 *
+	 * @param value :     	the target URL defined as <code>String</code> to be set (e.g.: "http://localhost:8090/kmip").
+	 */
+	public void setTargetHostname(String value) {
+		try {
+			this.url = new URL(value);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Invalid URL: " + value, e);
+		}
+		logger.info("Connection to: " + value);
+	}
+
+	/**
+	 * @param maximumResponseSize :		the maximum number of bytes of a response, with its tag, type and length.
+	 * 									A larger response fails, before it is read.
+	 */
+	public void setMaximumResponseSize(int maximumResponseSize) {
+		this.maximumResponseSize = maximumResponseSize;
+	}
+
+	/**
+	 * Only for HTTPS support. HTTP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store location defined as <code>String</code> to be set.
+	 */
+	public void setKeyStoreLocation(String property) {}
+
+	/**
+	 * Only for HTTPS support. HTTP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store password defined as <code>String</code> to be set.
+	 */
+	public void setKeyStorePW(String property) {}
+
+}
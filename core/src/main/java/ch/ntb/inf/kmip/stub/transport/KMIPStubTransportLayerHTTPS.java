@@ -12,6 +12,8 @@ package ch.ntb.inf.kmip.stub.transport;
  * Description:
  * The KMIPStubTransportLayerHTTPS provides the communication between 
  * a server and a client via HTTPS, using a HttpsUrlConnection. 
+ * The SSLContext is built once and keeps the TLS sessions, so the
+ * connections are kept alive and a new one resumes a session.
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -26,6 +28,8 @@ package ch.ntb.inf.kmip.stub.transport;
 
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -64,7 +68,13 @@ public class KMIPStubTransportLayerHTTPS implements KMIPStubTransportLayerInterf
 
 	private static final Logger logger = LoggerFactory.getLogger(KMIPStubTransportLayerHTTPS.class);
 	
+	private static final int SESSION_CACHE_SIZE = 100;
+	private static final int SESSION_TIMEOUT = 24 * 60 * 60;		// seconds
+	
 	private SSLSocketFactory factory;
+	// the key store file, from which the factory has been built
+	private long keyStoreModified;
+	private long keyStoreLength;
 	private String url;
 	private String keyStoreFileName;
 	private String keyStorePassword;
@@ -87,6 +97,24 @@ public class KMIPStubTransportLayerHTTPS implements KMIPStubTransportLayerInterf
     
     public ArrayList<Byte> send(ArrayList<Byte> al){
     	try {
+            // execute Post
+            return executePost(url, al, getSocketFactory());
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+    
+    /**
+     * Builds the <code>SSLSocketFactory</code> on the first request, and again only if the key store file has changed.
+     * As long as it is the same, the <code>HttpsURLConnection</code> reuses the kept-alive connections, and the
+     * <code>SSLContext</code> resumes the cached sessions on new ones with an abbreviated handshake.
+     */
+    private synchronized SSLSocketFactory getSocketFactory() throws Exception {
+    	File keyStoreFile = new File(keyStoreFileName);
+    	long modified = keyStoreFile.lastModified();
+    	long length = keyStoreFile.length();
+    	if(factory == null || modified != keyStoreModified || length != keyStoreLength){
             // create key and trust managers
             KeyManager[] keyManagers = createKeyManagers(keyStoreFileName, keyStorePassword, alias);
             
@@ -94,13 +122,11 @@ public class KMIPStubTransportLayerHTTPS implements KMIPStubTransportLayerInterf
             		
             // init context with managers data   
             factory = initItAll(keyManagers, trustManagers);
-           
-            // execute Post
-            return executePost(url, al, factory);
-        } catch (Exception e) {
-            e.printStackTrace();
-            return null;
-        }
+            keyStoreModified = modified;
+            keyStoreLength = length;
+            logger.info("SSLContext initialized with the key store: " + keyStoreFileName);
+    	}
+    	return factory;
     }
  
 
@@ -114,25 +140,24 @@ public class KMIPStubTransportLayerHTTPS implements KMIPStubTransportLayerInterf
         	logger.warn("Connection is no HttpsURLConnection!");
         }
         
+        // the connection is not disconnected, so it is kept alive for the next request, once the response has been read
         try{
-        	sendRequest(httpsConnection, al);
+        	sendRequest(httpsConnection, al, sslSocketFactory);
         	byte[] response = getResponse(httpsConnection);
 			return KMIPUtils.convertByteArrayToArrayList(response);
 		} 
         catch (Exception e) {
 			e.printStackTrace();
-			return null;
-		} 
-        finally {
 			if (httpsConnection != null) {
 				httpsConnection.disconnect();
 			}
-		}
+			return null;
+		} 
     }
  
 	
-	private void sendRequest(HttpsURLConnection httpsConnection, ArrayList<Byte> al) throws IOException {
-    	httpsConnection.setSSLSocketFactory(factory);
+	private void sendRequest(HttpsURLConnection httpsConnection, ArrayList<Byte> al, SSLSocketFactory sslSocketFactory) throws IOException {
+    	httpsConnection.setSSLSocketFactory(sslSocketFactory);
     	httpsConnection.setRequestMethod("POST");
     	httpsConnection.setRequestProperty("Content-Type","*/*");
     	httpsConnection.setDoInput(true);
@@ -153,8 +178,12 @@ public class KMIPStubTransportLayerHTTPS implements KMIPStubTransportLayerInterf
 
 		int nRead;
 		byte[] data = new byte[16384];
-		while ((nRead = is.read(data, 0, data.length)) != -1) {
-			 buffer.write(data, 0, nRead);
+		try {
+			while ((nRead = is.read(data, 0, data.length)) != -1) {
+				 buffer.write(data, 0, nRead);
+			}
+		} finally {
+			is.close();
 		}
 
 		buffer.flush();
@@ -163,20 +192,26 @@ public class KMIPStubTransportLayerHTTPS implements KMIPStubTransportLayerInterf
 
 	private SSLSocketFactory initItAll(KeyManager[] keyManagers, TrustManager[] trustManagers)
         throws NoSuchAlgorithmException, KeyManagementException {
-        SSLContext context = SSLContext.getInstance("TLSv1");
+        SSLContext context = SSLContext.getInstance("TLS");
         context.init(keyManagers, trustManagers, null);
+        context.getClientSessionContext().setSessionCacheSize(SESSION_CACHE_SIZE);
+        context.getClientSessionContext().setSessionTimeout(SESSION_TIMEOUT);
         return context.getSocketFactory();
     }
  
     private KeyManager[] createKeyManagers(String keyStoreFileName, String keyStorePassword, String alias) throws CertificateException, IOException, KeyStoreException, NoSuchAlgorithmException, UnrecoverableKeyException {
-        java.io.InputStream inputStream = new java.io.FileInputStream(keyStoreFileName);
+        InputStream inputStream = new FileInputStream(keyStoreFileName);
         //create keystore object, load it with keystorefile data
         KeyStore keyStore = KeyStore.getInstance("JKS");
-        keyStore.load(inputStream, keyStorePassword == null ? null : keyStorePassword.toCharArray());
+        try {
+        	keyStore.load(inputStream, keyStorePassword == null ? null : keyStorePassword.toCharArray());
+        } finally {
+        	inputStream.close();
+        }
  
         KeyManager[] managers;
         if (alias != null) {
-        	managers = new KeyManager[] {new KMIPStubTransportLayerHTTPS().new AliasKeyManager(keyStore, alias, keyStorePassword)};
+        	managers = new KeyManager[] {new AliasKeyManager(keyStore, alias, keyStorePassword)};
         } else {
             //create keymanager factory and load the keystore object in it 
             KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
@@ -204,17 +239,29 @@ public class KMIPStubTransportLayerHTTPS implements KMIPStubTransportLayerInterf
 	}
 
  
+	/**
+	 * Sends the request with <code>send</code>, executed by the shared executor of the <code>KMIPFuture</code>.
+	 * 
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al) {
+		return KMIPFuture.submitSend(this, al);
+	}
+
 	public void setTargetHostname(String value) {
 		this.url = value;
 		logger.info("Connection to: "+value);
 	}
 	
-	public void setKeyStoreLocation(String property) {
+	public synchronized void setKeyStoreLocation(String property) {
 		keyStoreFileName = property;
+		factory = null;
 	}
 	
-	public void setKeyStorePW(String property) {
+	public synchronized void setKeyStorePW(String property) {
 		keyStorePassword = property;
+		factory = null;
 	}
     
     
@@ -35,7 +35,6 @@ import java.io.InputStreamReader;
 import java.net.Socket;
 import java.net.URL;
 import java.net.URLConnection;
-import java.net.URLEncoder;
 import java.security.KeyManagementException;
 import java.security.KeyStore;
 import java.security.KeyStoreException;
@@ -59,6 +58,7 @@ import javax.net.ssl.X509KeyManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import ch.ntb.inf.kmip.utils.KMIPHex;
 import ch.ntb.inf.kmip.utils.KMIPUtils;
 
 /**
@@ -91,10 +91,11 @@ public class KMIPStubTransportLayerHTTPSLocalHost implements KMIPStubTransportLa
 	}
     
     public ArrayList<Byte> send(ArrayList<Byte> al){
-    	String kmipRequest = KMIPUtils.convertArrayListToHexString(al);
+    	// hex digits need no URL-encoding
+    	String kmipRequest = KMIPHex.encode(KMIPUtils.toByteArray(al));
     	try {
     		// prepare Post-Parameter-String
-    		String parameter = "KMIPRequest="+URLEncoder.encode(kmipRequest,"UTF-8");	
+    		String parameter = "KMIPRequest="+kmipRequest;	
             // create key and trust managers
             KeyManager[] keyManagers = createKeyManagers(keyStoreFileName, keyStorePassword, alias);
             TrustManager[] trustManagers = createTrustManagers(trustStoreFileName, trustStorePassword);
@@ -212,6 +213,16 @@ public class KMIPStubTransportLayerHTTPSLocalHost implements KMIPStubTransportLa
 //        }
 //    }
     
+	/**
+	 * Sends the request with <code>send</code>, executed by the shared executor of the <code>KMIPFuture</code>.
+	 * 
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al) {
+		return KMIPFuture.submitSend(this, al);
+	}
+
 	public void setTargetHostname(String value) {
 		this.url = value;
 		logger.info("Connection to: "+value);
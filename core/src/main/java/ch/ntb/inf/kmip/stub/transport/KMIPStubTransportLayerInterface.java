@@ -11,8 +11,9 @@
  * Description:
  * The KMIPStubTransportLayerInterface provides the needful 
  * flexibility for the interchangeability of the Transport Layer on 
- * the client side. It offers one method to send a message and three
- * methods to set dynamically loaded parameters. 
+ * the client side. It offers methods to send a message, synchronous
+ * or asynchronous, and three methods to set dynamically loaded
+ * parameters. 
  *
  * @author     Stefanie Meile <stefaniemeile@gmail.com>
  * @author     Michael Guster <michael.guster@gmail.com>
@@ -32,8 +33,9 @@ import java.util.ArrayList;
 /**
  * The KMIPStubTransportLayerInterface provides the needful 
  * flexibility for the interchangeability of the Transport Layer on 
- * the client side. It offers one method to send a message and three
- * methods to set dynamically loaded parameters. 
+ * the client side. It offers methods to send a message, synchronous
+ * or asynchronous, and three methods to set dynamically loaded
+ * parameters. 
  */
 public interface KMIPStubTransportLayerInterface {
 	
@@ -47,6 +49,14 @@ public interface KMIPStubTransportLayerInterface {
 	 */
 	ArrayList<Byte> send(ArrayList<Byte> al);
 
+	/**
+	 * Sends a KMIP-Request-Message like <code>send</code>, but returns without waiting for the response.
+	 * 
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message, or failed if there is no response.
+	 */
+	KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al);
+
 	/**
 	 * Sets the target host name to the defined value
 	 * 
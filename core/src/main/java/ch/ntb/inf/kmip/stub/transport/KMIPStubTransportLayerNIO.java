@@ -0,0 +1,468 @@
+/**
+ * KMIPStubTransportLayerNIO.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPStubTransportLayerNIO sends the requests via non-blocking
+ * SocketChannels, which are served by a few KMIPSelectorLoops. The
+ * requests are pipelined on a small number of connections, and the
+ * responses found by the length in their header. So many requests
+ * can be outstanding, without a thread waiting for each of them.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.process.KMIPMessageFraming;
+import ch.ntb.inf.kmip.process.KMIPMessageTooLargeException;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * The server has to write the responses of a connection in the order of the requests, like the
+ * <code>KLMSServerHandler</code> does. A request, which is not answered within the timeout, fails, its
+ * response is discarded, if it arrives later. If a server does not answer for twice the timeout, the
+ * connection is closed, and its outstanding requests fail.
+ * <p>
+ * <code>sendAsync</code> never blocks: if the maximum number of requests is outstanding, the request fails
+ * at once. The <code>KMIPCallback</code>s of the responses are called by the I/O threads, so they must not block.
+ */
+public class KMIPStubTransportLayerNIO implements KMIPStubTransportLayerInterface {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPStubTransportLayerNIO.class);
+
+	// the responses are not limited, like the responses read by the other transport layers
+	public static final int DEFAULT_MAXIMUM_RESPONSE_SIZE = Integer.MAX_VALUE;
+	private volatile int maximumResponseSize = DEFAULT_MAXIMUM_RESPONSE_SIZE;
+
+	public static final int DEFAULT_CONNECTIONS = 4;
+	public static final long DEFAULT_TIMEOUT = 30000;
+	public static final int DEFAULT_MAXIMUM_OUTSTANDING = 10000;
+	// the connection is closed before the server closes it, because it has been idle too long
+	public static final long DEFAULT_MAXIMUM_IDLE_TIME = 30000;
+
+	private int port = 5696;						// default values
+	private String targetHostname = "localhost";	// default values
+
+	private final Connection[] connections;
+	private final int maximumOutstanding;
+	private final AtomicInteger outstanding = new AtomicInteger();
+	private final AtomicInteger next = new AtomicInteger();
+	private volatile long timeout = DEFAULT_TIMEOUT;
+	private volatile long maximumIdleTime = DEFAULT_MAXIMUM_IDLE_TIME;
+
+	public KMIPStubTransportLayerNIO() {
+		this(DEFAULT_CONNECTIONS, DEFAULT_MAXIMUM_OUTSTANDING);
+	}
+
+	/**
+	 * @param connections :			the number of connections, the requests are spread over
+	 * @param maximumOutstanding :	the number of requests, which may wait for their responses
+	 */
+	public KMIPStubTransportLayerNIO(int connections, int maximumOutstanding) {
+		this.connections = new Connection[connections];
+		this.maximumOutstanding = maximumOutstanding;
+		logger.info("KMIPStubTransportLayerNIO initialized...");
+	}
+
+	/**
+	 * Sends a KMIP-Request-Message as a TTLV-encoded hexadecimal string stored in an
+	 * <code>ArrayList{@literal <}Byte{@literal >}</code> to a defined target and returns
+	 * a corresponding KMIP-Response-Message.
+	 *
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>ArrayList{@literal <}Byte{@literal >}</code>: the response message,
+	 * 					or <code>null</code> if the request fails.
+	 */
+	public ArrayList<Byte> send(ArrayList<Byte> al) {
+		return sendAsync(al).join();
+	}
+
+	/**
+	 * Hands the request over to an I/O thread and returns at once.
+	 *
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message, or failed with a
+	 * 					<code>TimeoutException</code>, if there is no response within the timeout.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al) {
+		KMIPFuture<ArrayList<Byte>> response = new KMIPFuture<>();
+		if(outstanding.incrementAndGet() > maximumOutstanding){
+			outstanding.decrementAndGet();
+			response.fail(new IOException("More than " + maximumOutstanding + " requests outstanding"));
+			return response;
+		}
+		response.addCallback(new KMIPCallback<ArrayList<Byte>>() {
+			public void completed(ArrayList<Byte> result) {
+				outstanding.decrementAndGet();
+			}
+
+			public void failed(Throwable cause) {
+				outstanding.decrementAndGet();
+			}
+		});
+
+		try {
+			final Request request = new Request(KMIPUtils.toByteArray(al), response, System.currentTimeMillis() + timeout);
+			final Connection connection = getConnection((next.getAndIncrement() & Integer.MAX_VALUE) % connections.length);
+			connection.loop.execute(new Runnable() {
+				public void run() {
+					connection.submit(request);
+				}
+			});
+		} catch (IOException e) {
+			logger.error("Request to " + targetHostname + ":" + port + " failed: " + e);
+			response.fail(e);
+		}
+		return response;
+	}
+
+	/**
+	 * Returns the connection, which the request is handed over to, and counts the request, so the connection
+	 * is not closed as idle, before the request has arrived at it.
+	 */
+	private synchronized Connection getConnection(int index) throws IOException {
+		Connection connection = connections[index];
+		if(connection == null || connection.closed){
+			connection = new Connection(KMIPSelectorLoop.next(), new InetSocketAddress(targetHostname, port));
+			connections[index] = connection;
+			final Connection opening = connection;
+			connection.loop.execute(new Runnable() {
+				public void run() {
+					opening.open();
+				}
+			});
+		}
+		connection.routed++;
+		return connection;
+	}
+
+	/**
+	 * Closes the connections, the outstanding requests fail.
+	 */
+	public synchronized void close() {
+		for(int i = 0; i < connections.length; i++){
+			final Connection connection = connections[i];
+			if(connection != null){
+				connection.loop.execute(new Runnable() {
+					public void run() {
+						connection.close(new IOException("Connection closed by the client"));
+					}
+				});
+				connections[i] = null;
+			}
+		}
+	}
+
+	/**
+	 * @param timeout :		the milliseconds a request waits for its response, and a connection to be established
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * @param maximumIdleTime :		the milliseconds a connection without outstanding requests stays open
+	 */
+	public void setMaximumIdleTime(long maximumIdleTime) {
+		this.maximumIdleTime = maximumIdleTime;
+	}
+
+	/**
+	 * Sets the target host name to the defined value
+	 *
+	 * @param value :     	the target host name and port defined as <code>String</code> to be set (e.g.: "localhost:5555").
+	 */
+	public void setTargetHostname(String value) {
+		int split = value.indexOf(":");
+		synchronized(this){
+			close();
+			this.targetHostname = value.substring(0,split);
+			this.port = Integer.parseInt(value.substring(split+1, value.length()));
+		}
+		logger.info("Connection to: "+targetHostname+":"+port);
+	}
+
+	/**
+	 * @param maximumResponseSize :		the maximum number of bytes of a response, with its tag, type and length.
+	 * 									A larger response fails, before it is read.
+	 */
+	public void setMaximumResponseSize(int maximumResponseSize) {
+		this.maximumResponseSize = maximumResponseSize;
+	}
+
+	/**
+	 * Only for HTTPS support. TCP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store location defined as <code>String</code> to be set.
+	 */
+	public void setKeyStoreLocation(String property) {}
+
+	/**
+	 * Only for HTTPS support. TCP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store password defined as <code>String</code> to be set.
+	 */
+	public void setKeyStorePW(String property) {}
+
+
+	private static class Request {
+
+		final byte[] message;
+		final KMIPFuture<ArrayList<Byte>> response;
+		final long deadline;
+
+		Request(byte[] message, KMIPFuture<ArrayList<Byte>> response, long deadline) {
+			this.message = message;
+			this.response = response;
+			this.deadline = deadline;
+		}
+	}
+
+	/**
+	 * Except <code>closed</code> and <code>routed</code>, the fields are only used by the thread of the loop.
+	 */
+	private class Connection implements KMIPSelectorLoop.Handler {
+
+		final KMIPSelectorLoop loop;
+		private final InetSocketAddress address;
+		private final long opened = System.currentTimeMillis();
+		private SocketChannel channel;
+		private SelectionKey key;
+		private boolean connected;
+		volatile boolean closed;
+		// the requests handed over to the connection, guarded by the lock of the transport layer
+		int routed;
+		// the requests, which have arrived at the connection
+		private int submitted;
+		private long lastUsed = opened;
+
+		// the requests waiting for a response, in the order they have been sent
+		private final ArrayDeque<Request> pending = new ArrayDeque<>();
+		private final ArrayDeque<ByteBuffer> writes = new ArrayDeque<>();
+		private ByteBuffer readBuffer;
+		private final byte[] header = new byte[KMIPMessageFraming.TTL_SIZE];
+		private int headerOffset;
+		private byte[] message;
+		private int messageOffset;
+
+		Connection(KMIPSelectorLoop loop, InetSocketAddress address) {
+			this.loop = loop;
+			this.address = address;
+		}
+
+		void open() {
+			if(closed){
+				return;
+			}
+			try {
+				channel = SocketChannel.open();
+				channel.configureBlocking(false);
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+				channel.setOption(StandardSocketOptions.SO_KEEPALIVE, true);
+				connected = channel.connect(address);
+				key = channel.register(loop.getSelector(), connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, this);
+				readBuffer = KMIPBufferPool.acquire();
+			} catch (IOException e) {
+				close(e);
+			}
+		}
+
+		void submit(Request request) {
+			submitted++;
+			if(closed){
+				request.response.fail(new IOException("Connection closed"));
+				return;
+			}
+			pending.add(request);
+			writes.add(KMIPBufferPool.wrap(request.message));
+			lastUsed = System.currentTimeMillis();
+			if(connected){
+				try {
+					flush();
+				} catch (IOException e) {
+					close(e);
+				}
+			}
+		}
+
+		public void ready(SelectionKey key) throws IOException {
+			if(key.isConnectable()){
+				channel.finishConnect();
+				connected = true;
+				key.interestOps(SelectionKey.OP_READ);
+				flush();
+			}
+			if(key.isValid() && key.isReadable()){
+				read();
+			}
+			if(key.isValid() && key.isWritable()){
+				flush();
+			}
+		}
+
+		private void flush() throws IOException {
+			while(!writes.isEmpty()){
+				ByteBuffer buffer = writes.peek();
+				channel.write(buffer);
+				if(buffer.hasRemaining()){
+					// the socket buffer is full, the selector tells when it can take more
+					key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+					return;
+				}
+				writes.poll();
+				KMIPBufferPool.release(buffer);
+			}
+			key.interestOps(SelectionKey.OP_READ);
+		}
+
+		private void read() throws IOException {
+			int read;
+			while((read = channel.read(readBuffer)) > 0){
+				readBuffer.flip();
+				while(readBuffer.hasRemaining()){
+					if(message == null){
+						int n = Math.min(readBuffer.remaining(), header.length - headerOffset);
+						readBuffer.get(header, headerOffset, n);
+						headerOffset += n;
+						if(headerOffset == header.length){
+							startMessage();
+						}
+					} else{
+						int n = Math.min(readBuffer.remaining(), message.length - messageOffset);
+						readBuffer.get(message, messageOffset, n);
+						messageOffset += n;
+					}
+					if(message != null && messageOffset == message.length){
+						deliver(message);
+						message = null;
+						headerOffset = 0;
+					}
+				}
+				readBuffer.clear();
+			}
+			if(read == -1){
+				close(new EOFException("Connection closed by the server"));
+			}
+		}
+
+		private void startMessage() throws IOException {
+			long length = KMIPMessageFraming.getLength(header);
+			if(length > maximumResponseSize - KMIPMessageFraming.TTL_SIZE){
+				throw new KMIPMessageTooLargeException(length + KMIPMessageFraming.TTL_SIZE, maximumResponseSize);
+			}
+			message = new byte[KMIPMessageFraming.TTL_SIZE + (int) length];
+			System.arraycopy(header, 0, message, 0, header.length);
+			messageOffset = header.length;
+		}
+
+		private void deliver(byte[] response) throws IOException {
+			Request request = pending.poll();
+			if(request == null){
+				throw new IOException("Response without a request");
+			}
+			lastUsed = System.currentTimeMillis();
+			// a request, which has timed out, is completed already
+			request.response.complete(KMIPUtils.convertByteArrayToArrayList(response));
+		}
+
+		public void tick(long now) {
+			if(!connected){
+				if(now - opened >= timeout){
+					close(new IOException("No connection to " + address + " within " + timeout + " ms"));
+				}
+				return;
+			}
+			if(pending.isEmpty()){
+				if(now - lastUsed >= maximumIdleTime && closeIdle()){
+					close(new IOException("Connection idle"));
+				}
+				return;
+			}
+			for(Request request : pending){
+				if(now < request.deadline){
+					break;
+				}
+				request.response.fail(new TimeoutException("No response within " + timeout + " ms"));
+			}
+			// the responses are in order, so no further response arrives, while the server does not answer
+			if(now >= pending.peek().deadline + timeout){
+				close(new IOException("No response from " + address + " for " + 2 * timeout + " ms"));
+			}
+		}
+
+		/**
+		 * Decides under the lock, which requests are routed with, whether the connection is idle. If a request is
+		 * on its way to the connection, it stays open, otherwise no further request is routed to it.
+		 */
+		private boolean closeIdle() {
+			synchronized(KMIPStubTransportLayerNIO.this){
+				if(routed != submitted){
+					return false;
+				}
+				closed = true;
+				return true;
+			}
+		}
+
+		public void close(IOException cause) {
+			if(closed && channel == null){
+				return;
+			}
+			closed = true;
+			if(key != null){
+				key.cancel();
+			}
+			if(channel != null){
+				try {
+					channel.close();
+				} catch (IOException e) {
+					logger.debug("Closing the connection failed: " + e);
+				}
+				channel = null;
+			}
+			Request request;
+			while((request = pending.poll()) != null){
+				request.response.fail(cause);
+			}
+			ByteBuffer buffer;
+			while((buffer = writes.poll()) != null){
+				KMIPBufferPool.release(buffer);
+			}
+			if(readBuffer != null){
+				KMIPBufferPool.release(readBuffer);
+				readBuffer = null;
+			}
+		}
+	}
+
+}
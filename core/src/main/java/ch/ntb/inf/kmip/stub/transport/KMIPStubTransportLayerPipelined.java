@@ -0,0 +1,293 @@
+/**
+ * KMIPStubTransportLayerPipelined.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPStubTransportLayerPipelined sends the requests via one
+ * TCP-Socket, one after the other, without waiting for the
+ * responses of the previous ones. The server answers in the order
+ * of the requests, so a thread reading the responses hands each
+ * one to the oldest request waiting for it.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.process.KMIPMessageFraming;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * The server has to process the requests of a connection in order, or write their responses in order, like
+ * the <code>KLMSServerHandler</code> does. At most <code>maximumInFlight</code> requests are sent without a
+ * response, <code>sendAsync</code> waits until a response has been received, before it sends a further one.
+ * <p>
+ * If the connection fails, the requests waiting for a response fail, as it is unknown, whether the server
+ * has processed them. The next request opens a new connection. The <code>KMIPCallback</code>s of the
+ * responses are called by the reading thread, so they delay the following responses.
+ */
+public class KMIPStubTransportLayerPipelined implements KMIPStubTransportLayerInterface {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPStubTransportLayerPipelined.class);
+
+	// the responses are not limited, like the responses read by the other transport layers
+	public static final int DEFAULT_MAXIMUM_RESPONSE_SIZE = Integer.MAX_VALUE;
+	private volatile int maximumResponseSize = DEFAULT_MAXIMUM_RESPONSE_SIZE;
+
+	public static final int DEFAULT_MAXIMUM_IN_FLIGHT = 16;
+	// the connection is closed before the server closes it, because it has been idle too long
+	private static final long MAXIMUM_IDLE_TIME = 30000;
+	// a server, which does not answer within this time, is given up
+	private static final int READ_TIMEOUT = 60000;
+	private static final long SEND_TIMEOUT = 10000;
+
+	private int port = 5696;						// default values
+	private String targetHostname = "localhost";	// default values
+
+	private final Semaphore inFlight;
+	private Connection connection;
+
+	public KMIPStubTransportLayerPipelined() {
+		this(DEFAULT_MAXIMUM_IN_FLIGHT);
+	}
+
+	/**
+	 * @param maximumInFlight :		the number of requests, which are sent without a response
+	 */
+	public KMIPStubTransportLayerPipelined(int maximumInFlight) {
+		this.inFlight = new Semaphore(maximumInFlight, true);
+		logger.info("KMIPStubTransportLayerPipelined initialized...");
+	}
+
+	/**
+	 * Sends a KMIP-Request-Message as a TTLV-encoded hexadecimal string stored in an
+	 * <code>ArrayList{@literal <}Byte{@literal >}</code> to a defined target and returns
+	 * a corresponding KMIP-Response-Message.
+	 *
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>ArrayList{@literal <}Byte{@literal >}</code>: the response message,
+	 * 					or <code>null</code> if the request fails.
+	 */
+	public ArrayList<Byte> send(ArrayList<Byte> al) {
+		return sendAsync(al).join();
+	}
+
+	/**
+	 * Writes the request to the connection and returns without waiting for the response, unless the
+	 * maximum number of requests is in flight.
+	 *
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al) {
+		KMIPFuture<ArrayList<Byte>> response = new KMIPFuture<>();
+		try {
+			if(!inFlight.tryAcquire(SEND_TIMEOUT, TimeUnit.MILLISECONDS)){
+				response.fail(new IOException("No response from " + targetHostname + ":" + port + " within " + SEND_TIMEOUT + " ms"));
+				return response;
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			response.fail(e);
+			return response;
+		}
+		response.addCallback(new KMIPCallback<ArrayList<Byte>>() {
+			public void completed(ArrayList<Byte> result) {
+				inFlight.release();
+			}
+
+			public void failed(Throwable cause) {
+				inFlight.release();
+			}
+		});
+
+		byte[] request = KMIPUtils.toByteArray(al);
+		synchronized(this){
+			Connection current = null;
+			try {
+				current = getConnection();
+				current.send(request, response);
+			} catch (IOException e) {
+				logger.error("Request to " + targetHostname + ":" + port + " failed: " + e);
+				if(current != null){
+					current.close(e);
+				}
+				response.fail(e);
+			}
+		}
+		return response;
+	}
+
+	// must hold the lock
+	private Connection getConnection() throws IOException {
+		if(connection != null && !connection.isUsable()){
+			connection.close(new IOException("Connection closed"));
+			connection = null;
+		}
+		if(connection == null){
+			connection = new Connection(new Socket(targetHostname, port));
+		}
+		return connection;
+	}
+
+	/**
+	 * Closes the connection, the requests waiting for a response fail.
+	 */
+	public synchronized void close() {
+		if(connection != null){
+			connection.close(new IOException("Connection closed by the client"));
+			connection = null;
+		}
+	}
+
+	/**
+	 * Sets the target host name to the defined value
+	 *
+	 * @param value :     	the target host name and port defined as <code>String</code> to be set (e.g.: "localhost:5555").
+	 */
+	public void setTargetHostname(String value) {
+		int split = value.indexOf(":");
+		synchronized(this){
+			close();
+			this.targetHostname = value.substring(0,split);
+			this.port = Integer.parseInt(value.substring(split+1, value.length()));
+		}
+		logger.info("Connection to: "+targetHostname+":"+port);
+	}
+
+	/**
+	 * @param maximumResponseSize :		the maximum number of bytes of a response, with its tag, type and length.
+	 * 									A larger response fails, before it is read.
+	 */
+	public void setMaximumResponseSize(int maximumResponseSize) {
+		this.maximumResponseSize = maximumResponseSize;
+	}
+
+	/**
+	 * Only for HTTPS support. TCP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store location defined as <code>String</code> to be set.
+	 */
+	public void setKeyStoreLocation(String property) {}
+
+	/**
+	 * Only for HTTPS support. TCP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store password defined as <code>String</code> to be set.
+	 */
+	public void setKeyStorePW(String property) {}
+
+
+	private class Connection implements Runnable {
+
+		private final Socket socket;
+		private final OutputStream out;
+		private final InputStream in;
+		// the requests waiting for a response, in the order they have been sent
+		private final ConcurrentLinkedQueue<KMIPFuture<ArrayList<Byte>>> pending = new ConcurrentLinkedQueue<>();
+		private volatile boolean closed;
+		private volatile long lastUsed = System.currentTimeMillis();
+
+		Connection(Socket socket) throws IOException {
+			this.socket = socket;
+			socket.setTcpNoDelay(true);
+			socket.setKeepAlive(true);
+			socket.setSoTimeout(READ_TIMEOUT);
+			this.out = socket.getOutputStream();
+			this.in = new BufferedInputStream(socket.getInputStream());
+			Thread reader = new Thread(this, "KMIPStubTransportLayerPipelined-" + socket.getLocalPort());
+			reader.setDaemon(true);
+			reader.start();
+		}
+
+		boolean isUsable() {
+			return !closed && (!pending.isEmpty() || System.currentTimeMillis() - lastUsed < MAXIMUM_IDLE_TIME);
+		}
+
+		// the caller holds the lock of the transport layer, so the requests are written in the order of the queue
+		void send(byte[] request, KMIPFuture<ArrayList<Byte>> response) throws IOException {
+			pending.add(response);
+			// the reading thread may have closed the connection meanwhile, without failing this request
+			if(closed){
+				pending.remove(response);
+				throw new IOException("Connection closed");
+			}
+			lastUsed = System.currentTimeMillis();
+			out.write(request);
+			out.flush();
+		}
+
+		public void run() {
+			try {
+				while(true){
+					byte[] message;
+					try {
+						message = KMIPMessageFraming.readMessage(in, maximumResponseSize);
+					} catch (SocketTimeoutException e) {
+						if(pending.isEmpty()){
+							continue;
+						}
+						throw e;
+					}
+					if(message == null){
+						close(new IOException("Connection closed by the server"));
+						return;
+					}
+					KMIPFuture<ArrayList<Byte>> response = pending.poll();
+					if(response == null){
+						throw new IOException("Response without a request");
+					}
+					lastUsed = System.currentTimeMillis();
+					response.complete(KMIPUtils.convertByteArrayToArrayList(message));
+				}
+			} catch (IOException e) {
+				if(!closed){
+					logger.error("Connection failed: " + e);
+				}
+				close(e);
+			}
+		}
+
+		void close(IOException cause) {
+			closed = true;
+			try {
+				socket.close();
+			} catch (IOException e) {
+				logger.debug("Closing the connection failed: " + e);
+			}
+			KMIPFuture<ArrayList<Byte>> response;
+			while((response = pending.poll()) != null){
+				response.fail(cause);
+			}
+		}
+	}
+
+}
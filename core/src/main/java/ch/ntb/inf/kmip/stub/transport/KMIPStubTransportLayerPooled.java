@@ -0,0 +1,182 @@
+/**
+ * KMIPStubTransportLayerPooled.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPStubTransportLayerPooled sends the requests via TCP-
+ * Sockets, like the KMIPStubTransportLayer, but keeps the
+ * connections open in a KMIPConnectionPool. The end of a response
+ * is found by the length in its header, not by the end of the
+ * stream, so a connection carries one request after the other.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.stub.transport;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.process.KMIPMessageFraming;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * The server has to read the requests by their length as well, like the <code>KLMSServerHandler</code> does.
+ */
+public class KMIPStubTransportLayerPooled implements KMIPStubTransportLayerInterface {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPStubTransportLayerPooled.class);
+
+	// the responses are not limited, like the responses read by the other transport layers
+	public static final int DEFAULT_MAXIMUM_RESPONSE_SIZE = Integer.MAX_VALUE;
+	private volatile int maximumResponseSize = DEFAULT_MAXIMUM_RESPONSE_SIZE;
+
+	private int port = 5696;						// default values
+	private String targetHostname = "localhost";	// default values
+
+	private KMIPConnectionPool pool = KMIPConnectionPool.forTarget(targetHostname, port);
+
+	public KMIPStubTransportLayerPooled(){
+		logger.info("KMIPStubTransportLayerPooled initialized...");
+	}
+
+	/**
+	 * Sends a KMIP-Request-Message as a TTLV-encoded hexadecimal string stored in an
+	 * <code>ArrayList{@literal <}Byte{@literal >}</code> to a defined target and returns
+	 * a corresponding KMIP-Response-Message.
+	 *
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>ArrayList{@literal <}Byte{@literal >}</code>: the response message,
+	 * 					or <code>null</code> if the request fails.
+	 */
+	public ArrayList<Byte> send(ArrayList<Byte> al){
+		byte[] request = KMIPUtils.toByteArray(al);
+		try {
+			return KMIPUtils.convertByteArrayToArrayList(send(request));
+		} catch (IOException e) {
+			logger.error("Request to " + targetHostname + ":" + port + " failed: " + e);
+			return null;
+		}
+	}
+
+	/**
+	 * Sends the request on a pooled connection. If a reused connection has been closed by the server
+	 * meanwhile, the request is sent once more on a new connection. This is only the case, if writing the
+	 * request fails, or the connection ends before any byte of the response. After any other failure, e.g.
+	 * a read timeout, the server may have processed the request, so it is not sent again.
+	 */
+	byte[] send(byte[] request) throws IOException {
+		while(true){
+			KMIPConnectionPool.Connection connection = pool.acquire(KMIPConnectionPool.DEFAULT_ACQUIRE_TIMEOUT);
+			try {
+				byte[] response = exchange(connection, request);
+				pool.release(connection);
+				return response;
+			} catch (StaleConnectionException e) {
+				pool.discard(connection);
+				if(!connection.reused){
+					throw e;
+				}
+				logger.debug("Reused connection closed, retry on a new connection: " + e);
+			} catch (IOException e) {
+				pool.discard(connection);
+				throw e;
+			}
+		}
+	}
+
+	private byte[] exchange(KMIPConnectionPool.Connection connection, byte[] request) throws IOException {
+		try {
+			OutputStream out = connection.socket.getOutputStream();
+			out.write(request);
+			out.flush();
+		} catch (IOException e) {
+			throw new StaleConnectionException("Sending the request failed: " + e);
+		}
+
+		InputStream in = connection.socket.getInputStream();
+		byte[] response = KMIPMessageFraming.readMessage(in, maximumResponseSize);
+		if(response == null){
+			throw new StaleConnectionException("Connection closed by the server");
+		}
+		return response;
+	}
+
+	/**
+	 * Sends the request with <code>send</code>, executed by the shared executor of the <code>KMIPFuture</code>.
+	 * 
+	 * @param al :     	the <code>ArrayList{@literal <}Byte{@literal >}</code> to be sent.
+	 * @return			<code>KMIPFuture</code>: completed with the response message.
+	 */
+	public KMIPFuture<ArrayList<Byte>> sendAsync(ArrayList<Byte> al) {
+		return KMIPFuture.submitSend(this, al);
+	}
+
+	/**
+	 * Sets the target host name to the defined value
+	 *
+	 * @param value :     	the target host name and port defined as <code>String</code> to be set (e.g.: "localhost:5555").
+	 */
+	public void setTargetHostname(String value) {
+		int split = value.indexOf(":");
+		this.targetHostname = value.substring(0,split);
+		this.port = Integer.parseInt(value.substring(split+1, value.length()));
+		this.pool = KMIPConnectionPool.forTarget(targetHostname, port);
+		logger.info("Connection to: "+targetHostname+":"+port);
+	}
+
+	/**
+	 * @param maximumResponseSize :		the maximum number of bytes of a response, with its tag, type and length.
+	 * 									A larger response fails, before it is read.
+	 */
+	public void setMaximumResponseSize(int maximumResponseSize) {
+		this.maximumResponseSize = maximumResponseSize;
+	}
+
+	/**
+	 * Only for HTTPS support. TCP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store location defined as <code>String</code> to be set.
+	 */
+	public void setKeyStoreLocation(String property) {}
+
+	/**
+	 * Only for HTTPS support. TCP: nothing to do here-> empty implementation.
+	 *
+	 * @param property :     the key store password defined as <code>String</code> to be set.
+	 */
+	public void setKeyStorePW(String property) {}
+
+
+	/**
+	 * The request has not reached the server, as the connection has been closed before.
+	 */
+	private static class StaleConnectionException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		StaleConnectionException(String message) {
+			super(message);
+		}
+	}
+
+}
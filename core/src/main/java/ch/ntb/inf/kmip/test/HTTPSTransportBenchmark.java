@@ -0,0 +1,261 @@
+/**
+ * HTTPSTransportBenchmark.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The HTTPSTransportBenchmark sends the requests of the use cases
+ * to a local HTTPS stand-in, which echoes them, once the way the
+ * KMIPStubTransportLayerHTTPS formerly did, with a new SSLContext
+ * and connection per request, and once with the transport layer.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.security.KeyStore;
+import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.net.ssl.HttpsURLConnection;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.stub.transport.KMIPStubTransportLayerHTTPS;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+
+/**
+ * The key store of the stand-in and the client is created with the <code>keytool</code> of the running JVM.
+ * <p>
+ * Usage: <code>HTTPSTransportBenchmark [UseCases.xml] [requests]</code>
+ */
+public class HTTPSTransportBenchmark {
+
+	private static final Logger logger = LoggerFactory.getLogger(HTTPSTransportBenchmark.class);
+
+	private static final String DEFAULT_LOCATION_USECASES = "gui/src/main/resources/xml/UseCases.xml";
+	private static final int DEFAULT_REQUESTS = 200;
+	private static final int WARMUP_REQUESTS = 20;
+	private static final String ALIAS = "ntb";
+	private static final String PASSWORD = "kmip4j";
+
+	private final ArrayList<byte[]> requests = new ArrayList<>();
+	private File keyStoreFile;
+	private HttpsServer server;
+	private String url;
+
+	public static void main(String[] args) throws Exception {
+		String useCases = args.length > 0 ? args[0] : DEFAULT_LOCATION_USECASES;
+		int count = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_REQUESTS;
+
+		HTTPSTransportBenchmark benchmark = new HTTPSTransportBenchmark();
+		benchmark.loadUseCases(new File(useCases));
+		benchmark.start();
+		try {
+			benchmark.run(count);
+		} finally {
+			benchmark.stop();
+		}
+	}
+
+	public void loadUseCases(File useCases) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(useCases);
+		NodeList nodes = doc.getElementsByTagName("ttlvrequest");
+		for(int i = 0; i < nodes.getLength(); i++){
+			requests.add(KMIPUtils.convertHexStringToByteArray(((Element) nodes.item(i)).getTextContent().trim()));
+		}
+	}
+
+	/**
+	 * Creates the key store and starts the stand-in, which echoes every request.
+	 */
+	public void start() throws Exception {
+		keyStoreFile = File.createTempFile("kmip4j-benchmark", ".jks");
+		keyStoreFile.delete();
+		String keytool = System.getProperty("java.home") + File.separator + "bin" + File.separator + "keytool";
+		Process process = new ProcessBuilder(keytool, "-genkeypair", "-alias", ALIAS, "-keyalg", "RSA", "-keysize", "2048",
+				"-dname", "CN=localhost", "-validity", "1", "-storetype", "JKS", "-keystore", keyStoreFile.getAbsolutePath(),
+				"-storepass", PASSWORD, "-keypass", PASSWORD).redirectErrorStream(true).start();
+		drain(process.getInputStream());
+		if(process.waitFor() != 0){
+			throw new IOException("keytool failed to create " + keyStoreFile);
+		}
+
+		KeyStore keyStore = loadKeyStore();
+		KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(keyStore, PASSWORD.toCharArray());
+		SSLContext context = SSLContext.getInstance("TLS");
+		context.init(keyManagerFactory.getKeyManagers(), null, null);
+
+		// otherwise Nagle's algorithm delays the body of the response after its headers
+		System.setProperty("sun.net.httpserver.nodelay", "true");
+		server = HttpsServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setHttpsConfigurator(new HttpsConfigurator(context));
+		server.createContext("/KMIPServlet", new HttpHandler() {
+			public void handle(HttpExchange exchange) throws IOException {
+				byte[] request = drain(exchange.getRequestBody());
+				exchange.sendResponseHeaders(200, request.length);
+				OutputStream out = exchange.getResponseBody();
+				out.write(request);
+				out.close();
+			}
+		});
+		server.start();
+		url = "https://localhost:" + server.getAddress().getPort() + "/KMIPServlet";
+		logger.info("HTTPS stand-in listening on " + url);
+	}
+
+	public void stop() {
+		if(server != null){
+			server.stop(0);
+		}
+		if(keyStoreFile != null){
+			keyStoreFile.delete();
+		}
+	}
+
+	public void run(int count) throws Exception {
+		KMIPStubTransportLayerHTTPS transportLayer = new KMIPStubTransportLayerHTTPS();
+		transportLayer.setTargetHostname(url);
+		transportLayer.setKeyStorePW(PASSWORD);
+		transportLayer.setKeyStoreLocation(keyStoreFile.getAbsolutePath());
+
+		measureFormer(WARMUP_REQUESTS);
+		measureTransportLayer(transportLayer, WARMUP_REQUESTS);
+
+		long former = measureFormer(count);
+		long reused = measureTransportLayer(transportLayer, count);
+		logger.info("Former:                     " + count + " requests in " + former / 1000000 + " ms, " + perSecond(count, former) + " requests/s");
+		logger.info("KMIPStubTransportLayerHTTPS: " + count + " requests in " + reused / 1000000 + " ms, " + perSecond(count, reused) + " requests/s");
+		logger.info("Speedup: " + String.format("%.2f", (double) former / reused));
+	}
+
+	private long measureFormer(int count) throws Exception {
+		long start = System.nanoTime();
+		for(int i = 0; i < count; i++){
+			byte[] request = requests.get(i % requests.size());
+			check(request, sendFormer(request));
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long measureTransportLayer(KMIPStubTransportLayerHTTPS transportLayer, int count) throws Exception {
+		long start = System.nanoTime();
+		for(int i = 0; i < count; i++){
+			byte[] request = requests.get(i % requests.size());
+			ArrayList<Byte> response = transportLayer.send(KMIPUtils.convertByteArrayToArrayList(request));
+			check(request, response == null ? null : KMIPUtils.toByteArray(response));
+		}
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * The former send: the key store is loaded and a new SSLContext is built for every request, and the
+	 * connection is disconnected after it, so every request needs a full handshake.
+	 */
+	private byte[] sendFormer(byte[] request) throws Exception {
+		KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+		keyManagerFactory.init(loadKeyStore(), PASSWORD.toCharArray());
+		SSLContext context = SSLContext.getInstance("TLS");
+		context.init(keyManagerFactory.getKeyManagers(), new TrustManager[] { new TrustAll() }, null);
+
+		HttpsURLConnection connection = (HttpsURLConnection) new URL(url).openConnection();
+		try {
+			connection.setSSLSocketFactory(context.getSocketFactory());
+			connection.setRequestMethod("POST");
+			connection.setRequestProperty("Content-Type", "*/*");
+			connection.setDoInput(true);
+			connection.setDoOutput(true);
+			OutputStream out = connection.getOutputStream();
+			out.write(request);
+			out.close();
+			return drain(connection.getInputStream());
+		} finally {
+			connection.disconnect();
+		}
+	}
+
+	private void check(byte[] request, byte[] response) throws IOException {
+		if(!Arrays.equals(request, response)){
+			throw new IOException("The stand-in did NOT echo the request!");
+		}
+	}
+
+	private KeyStore loadKeyStore() throws Exception {
+		KeyStore keyStore = KeyStore.getInstance("JKS");
+		InputStream in = new FileInputStream(keyStoreFile);
+		try {
+			keyStore.load(in, PASSWORD.toCharArray());
+		} finally {
+			in.close();
+		}
+		return keyStore;
+	}
+
+	private static byte[] drain(InputStream in) throws IOException {
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		byte[] data = new byte[4096];
+		int read;
+		try {
+			while((read = in.read(data)) != -1){
+				buffer.write(data, 0, read);
+			}
+		} finally {
+			in.close();
+		}
+		return buffer.toByteArray();
+	}
+
+	private String perSecond(int count, long nanos) {
+		return String.format("%.1f", count * 1e9 / nanos);
+	}
+
+	private static class TrustAll implements X509TrustManager {
+		public X509Certificate[] getAcceptedIssuers() {
+			return new X509Certificate[0];
+		}
+
+		public void checkClientTrusted(X509Certificate[] certs, String authType) {
+		}
+
+		public void checkServerTrusted(X509Certificate[] certs, String authType) {
+		}
+	}
+
+}
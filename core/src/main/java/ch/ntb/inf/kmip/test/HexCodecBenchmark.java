@@ -0,0 +1,177 @@
+/**
+ * HexCodecBenchmark.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class compares the table-driven KMIPHex with the former
+ * hex conversion, which formats every byte with String.format and
+ * parses every digit with Character.digit into an ArrayList. The
+ * TTLV messages of the use cases in the "UseCases.xml"-file are
+ * converted by both, the results have to be the same, afterwards
+ * the time both need is measured.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.utils.KMIPHex;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * Compares the hex conversion of <code>KMIPHex</code> with the former one and measures both.
+ * <p>
+ * Usage: <code>HexCodecBenchmark [UseCases.xml] [iterations]</code>
+ */
+public class HexCodecBenchmark {
+
+	private static final Logger logger = LoggerFactory.getLogger(HexCodecBenchmark.class);
+
+	private static final String DEFAULT_LOCATION_USECASES = "gui/src/main/resources/xml/UseCases.xml";
+	private static final int DEFAULT_ITERATIONS = 50;
+	private static final int WARMUP_ITERATIONS = 10;
+
+	private final ArrayList<String> messages = new ArrayList<>();
+	private final ArrayList<byte[]> ttlvs = new ArrayList<>();
+
+	// keeps the JIT from removing the measured conversions
+	private long sink;
+
+	public static void main(String[] args) throws Exception {
+		String useCases = args.length > 0 ? args[0] : DEFAULT_LOCATION_USECASES;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+
+		HexCodecBenchmark benchmark = new HexCodecBenchmark();
+		benchmark.loadUseCases(new File(useCases));
+		if(benchmark.compare() > 0){
+			System.exit(1);
+		}
+		benchmark.run(iterations);
+	}
+
+	public void loadUseCases(File useCases) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(useCases);
+		NodeList nodes = doc.getElementsByTagName("usecase");
+
+		for(int i = 0; i < nodes.getLength(); i++){
+			Element useCase = (Element) nodes.item(i);
+			for(String name : new String[]{"ttlvrequest", "ttlvresponse"}){
+				String ttlv = useCase.getElementsByTagName(name).item(0).getTextContent().trim().toUpperCase();
+				messages.add(ttlv);
+				ttlvs.add(referenceDecode(ttlv));
+			}
+		}
+	}
+
+	/**
+	 * @return		the number of messages, which are NOT converted to the same result
+	 */
+	public int compare() {
+		int failures = 0;
+		for(int i = 0; i < messages.size(); i++){
+			byte[] ttlv = ttlvs.get(i);
+			if(!Arrays.equals(ttlv, KMIPHex.decode(messages.get(i)))
+					|| !Arrays.equals(ttlv, KMIPUtils.convertHexStringToByteArray(messages.get(i)))){
+				logger.warn("message " + i + ": decoded bytes are NOT the same!");
+				failures++;
+			}
+			if(!referenceEncode(ttlv).equals(KMIPHex.encode(ttlv))
+					|| !referenceEncode(ttlv).equals(KMIPUtils.convertArrayListToHexString(KMIPUtils.convertByteArrayToArrayList(ttlv)))){
+				logger.warn("message " + i + ": encoded strings are NOT the same!");
+				failures++;
+			}
+		}
+		if(failures > 0){
+			logger.warn(failures + " conversions of " + messages.size() + " messages are NOT the same!");
+		} else{
+			logger.info("All " + messages.size() + " messages are converted to the same result");
+		}
+		return failures;
+	}
+
+	public void run(int iterations) {
+		// warm up both conversions, so the JIT has compiled them before they are measured
+		measureReference(WARMUP_ITERATIONS);
+		measureCandidate(WARMUP_ITERATIONS);
+
+		long referenceTime = measureReference(iterations);
+		long candidateTime = measureCandidate(iterations);
+
+		long bytes = 0;
+		for(byte[] ttlv : ttlvs){
+			bytes += ttlv.length;
+		}
+		bytes *= iterations;
+		logger.info("String.format: " + bytes + " bytes encoded and decoded in " + referenceTime / 1000000 + " ms");
+		logger.info("KMIPHex:       " + bytes + " bytes encoded and decoded in " + candidateTime / 1000000 + " ms");
+		logger.info("Speedup: " + String.format("%.2f", (double) referenceTime / candidateTime));
+		logger.debug("" + sink);
+	}
+
+	private long measureReference(int iterations) {
+		long start = System.nanoTime();
+		for(int n = 0; n < iterations; n++){
+			for(int i = 0; i < messages.size(); i++){
+				sink += referenceEncode(ttlvs.get(i)).length();
+				sink += referenceDecode(messages.get(i)).length;
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	private long measureCandidate(int iterations) {
+		long start = System.nanoTime();
+		for(int n = 0; n < iterations; n++){
+			for(int i = 0; i < messages.size(); i++){
+				sink += KMIPHex.encode(ttlvs.get(i)).length();
+				sink += KMIPHex.decode(messages.get(i)).length;
+			}
+		}
+		return System.nanoTime() - start;
+	}
+
+	// the former KMIPUtils.convertArrayListToHexString
+	private static String referenceEncode(byte[] ttlv){
+		ArrayList<Byte> al = KMIPUtils.convertByteArrayToArrayList(ttlv);
+		StringBuilder buf = new StringBuilder();
+		for (Byte b : al) {
+			buf.append(String.format("%02X", b));
+		}
+		return buf.toString();
+	}
+
+	// the former KMIPUtils.convertHexStringToByteArray
+	private static byte[] referenceDecode(String s){
+		ArrayList<Byte> al = new ArrayList<>();
+		for (int i = 0; i < s.length()-1; i += 2) {
+			al.add((byte) ((Character.digit(s.charAt(i), 16) << 4) + Character.digit(s.charAt(i+1), 16)));
+		}
+		return KMIPUtils.toByteArray(al);
+	}
+
+}
@@ -0,0 +1,208 @@
+/**
+ * KLMSCachingAdapterCheck.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class checks the cache for the responses of Get operations,
+ * which the KMIPSkeleton puts in front of the KLMS adapter. The
+ * requests are processed by a skeleton with a stub adapter, which
+ * counts the Get operations it receives and names every version of
+ * a managed object in the response.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.attributes.Name;
+import ch.ntb.inf.kmip.attributes.UniqueIdentifier;
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumOperation;
+import ch.ntb.inf.kmip.kmipenum.EnumResultStatus;
+import ch.ntb.inf.kmip.objects.Authentication;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.objects.base.Credential;
+import ch.ntb.inf.kmip.objects.base.TemplateAttribute;
+import ch.ntb.inf.kmip.process.decoder.KMIPBufferDecoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPBufferEncoder;
+import ch.ntb.inf.kmip.skeleton.KLMSAdapterInterface;
+import ch.ntb.inf.kmip.skeleton.KMIPSkeleton;
+
+/**
+ * Checks, that a repeated Get is answered from the cache, and that a Get after an operation,
+ * which changes the managed object, or with another credential, is not.
+ * <p>
+ * Usage: <code>KLMSCachingAdapterCheck</code>
+ */
+public class KLMSCachingAdapterCheck {
+
+	private static final Logger logger = LoggerFactory.getLogger(KLMSCachingAdapterCheck.class);
+
+	private static final int RESPONSE_CACHE_SIZE = 16;
+
+	private final StubAdapter adapter = new StubAdapter();
+	private final KMIPSkeleton skeleton = new KMIPSkeleton(adapter, KMIPBufferEncoder.class.getName(), KMIPBufferDecoder.class.getName(), RESPONSE_CACHE_SIZE);
+	private final KMIPBufferEncoder encoder = new KMIPBufferEncoder();
+	private final KMIPBufferDecoder decoder = new KMIPBufferDecoder();
+	private int checks;
+	private int failures;
+
+	public static void main(String[] args) throws Exception {
+		if(new KLMSCachingAdapterCheck().check() > 0){
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * @return		the number of checks, which failed
+	 */
+	public int check() throws Exception {
+		expectGet("first Get", "key-1", "alice", false);
+		expectGet("same Get again", "key-1", "alice", true);
+		expectGet("Get of another object", "key-2", "alice", false);
+		expectGet("Get of another object again", "key-2", "alice", true);
+
+		int[] changes = {EnumOperation.ModifyAttribute, EnumOperation.Revoke, EnumOperation.Destroy};
+		for(int operation : changes){
+			String name = new EnumOperation(operation).getKey();
+			process(operation, "key-1", "alice");
+			expectGet("Get after " + name, "key-1", "alice", false);
+			expectGet("Get after " + name + " again", "key-1", "alice", true);
+			expectGet("Get of another object after " + name, "key-2", "alice", true);
+		}
+
+		expectGet("Get with another credential", "key-1", "bob", false);
+		expectGet("Get with another credential again", "key-1", "bob", true);
+		expectGet("Get without credential", "key-1", null, false);
+
+		logger.info(skeleton.getStatus().get("Response Cache"));
+		if(failures > 0){
+			logger.warn(failures + " of " + checks + " checks FAILED!");
+		} else{
+			logger.info("All " + checks + " checks passed");
+		}
+		return failures;
+	}
+
+	/**
+	 * Gets a managed object and checks, whether the adapter was asked for it, and that the
+	 * response names the current version of the object.
+	 */
+	private void expectGet(String check, String uniqueIdentifier, String user, boolean cached) throws Exception {
+		checks++;
+		int gets = adapter.getGets();
+		KMIPBatch response = process(EnumOperation.Get, uniqueIdentifier, user);
+		boolean hit = adapter.getGets() == gets;
+		String version = getValue(response, Name.class);
+		if(hit != cached){
+			logger.warn(check + ": " + (hit ? "answered from the cache" : "NOT answered from the cache"));
+			failures++;
+		} else if(!uniqueIdentifier.equals(getValue(response, UniqueIdentifier.class)) || !adapter.getVersion(uniqueIdentifier).equals(version)){
+			logger.warn(check + ": wrong response " + getValue(response, UniqueIdentifier.class) + " " + version
+					+ " instead of " + uniqueIdentifier + " " + adapter.getVersion(uniqueIdentifier));
+			failures++;
+		} else{
+			logger.debug(check + ": " + (hit ? "hit" : "miss") + ", " + version);
+		}
+	}
+
+	private KMIPBatch process(int operation, String uniqueIdentifier, String user) throws Exception {
+		KMIPContainer request = new KMIPContainer();
+		if(user != null){
+			request.setAuthentication(Authentication.fromCreds(user, "password"));
+		}
+		KMIPBatch batch = new KMIPBatch();
+		batch.setOperation(operation);
+		batch.addAttribute(new UniqueIdentifier(uniqueIdentifier));
+		if(operation == EnumOperation.ModifyAttribute){
+			batch.addAttribute(new Name("modified"));
+		}
+		request.addBatch(batch);
+		request.calculateBatchCount();
+
+		KMIPContainer response = decoder.decodeResponse(skeleton.processRequest(encoder.encodeRequest(request)));
+		KMIPBatch responseBatch = response.getBatch(0);
+		if(responseBatch.getResultStatus().getValue() != EnumResultStatus.Success){
+			throw new IllegalStateException(new EnumOperation(operation).getKey() + " failed: " + responseBatch.getResultMessage());
+		}
+		return responseBatch;
+	}
+
+	private String getValue(KMIPBatch batch, Class<? extends Attribute> attributeClass) {
+		for(Attribute attribute : batch.getAttributes()){
+			if(attributeClass.isInstance(attribute)){
+				return attribute.getValues()[0].getValueString();
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Answers every operation with success. A Get returns the Unique Identifier and a Name
+	 * attribute, which changes with every other operation on the object.
+	 */
+	private static class StubAdapter implements KLMSAdapterInterface {
+
+		private final HashMap<String, Integer> versions = new HashMap<>();
+		private int gets;
+
+		public synchronized KMIPBatch doProcess(KMIPBatch requestBatch, Credential credential, boolean asynchronousIndicator) {
+			String uniqueIdentifier = null;
+			for(Attribute attribute : requestBatch.getAttributes()){
+				if(attribute instanceof UniqueIdentifier){
+					uniqueIdentifier = attribute.getValues()[0].getValueString();
+				}
+			}
+			KMIPBatch responseBatch = new KMIPBatch();
+			responseBatch.setOperation(requestBatch.getOperation().getValue());
+			responseBatch.setResultStatus(new EnumResultStatus(EnumResultStatus.Success));
+			responseBatch.addAttribute(new UniqueIdentifier(uniqueIdentifier));
+			if(requestBatch.getOperation().getValue() == EnumOperation.Get){
+				gets++;
+				TemplateAttribute templateAttribute = new TemplateAttribute();
+				templateAttribute.addAttribute(new Name(getVersion(uniqueIdentifier)));
+				responseBatch.addTemplateAttributeStructure(templateAttribute);
+			} else{
+				versions.put(uniqueIdentifier, versions.containsKey(uniqueIdentifier) ? versions.get(uniqueIdentifier) + 1 : 1);
+			}
+			return responseBatch;
+		}
+
+		synchronized int getGets() {
+			return gets;
+		}
+
+		synchronized String getVersion(String uniqueIdentifier) {
+			return uniqueIdentifier + " version " + (versions.containsKey(uniqueIdentifier) ? versions.get(uniqueIdentifier) : 0);
+		}
+
+		public void setKLMS(String klmsPath, String defaultPath) {
+		}
+
+		public HashMap<String, String> getStatus() {
+			return new HashMap<>();
+		}
+	}
+
+}
@@ -0,0 +1,400 @@
+/**
+ * KMIPTransportOrderCheck.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class checks, that the responses of concurrent requests reach
+ * the requests they belong to. The requests are sent over the
+ * loopback interface to a KMIPSkeleton, whose stub adapter delays
+ * every request by the time named in its Unique Identifier, so the
+ * requests of a connection complete out of order. The batch items
+ * of a request are checked the same way.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import ch.ntb.inf.kmip.attributes.UniqueIdentifier;
+import ch.ntb.inf.kmip.container.KMIPBatch;
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumBatchError;
+import ch.ntb.inf.kmip.kmipenum.EnumOperation;
+import ch.ntb.inf.kmip.kmipenum.EnumResultReason;
+import ch.ntb.inf.kmip.kmipenum.EnumResultStatus;
+import ch.ntb.inf.kmip.objects.base.Attribute;
+import ch.ntb.inf.kmip.objects.base.Credential;
+import ch.ntb.inf.kmip.process.decoder.KMIPBufferDecoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPBufferEncoder;
+import ch.ntb.inf.kmip.skeleton.KLMSAdapterInterface;
+import ch.ntb.inf.kmip.skeleton.KMIPSkeleton;
+import ch.ntb.inf.kmip.skeleton.transport.KMIPSkeletonTransportLayer;
+import ch.ntb.inf.kmip.stub.transport.KMIPFuture;
+import ch.ntb.inf.kmip.stub.transport.KMIPStubTransportLayerInterface;
+import ch.ntb.inf.kmip.stub.transport.KMIPStubTransportLayerNIO;
+import ch.ntb.inf.kmip.stub.transport.KMIPStubTransportLayerPipelined;
+import ch.ntb.inf.kmip.types.KMIPBoolean;
+
+/**
+ * The Unique Identifier of a request is <code>name/delay</code>, the stub adapter processes it after
+ * <code>delay</code> milliseconds and answers with the same Unique Identifier.
+ * <p>
+ * Usage: <code>KMIPTransportOrderCheck</code>, the server listens on the port of the
+ * <code>KMIPSkeletonTransportLayer</code> until the check ends.
+ */
+public class KMIPTransportOrderCheck {
+
+	private static final Logger logger = LoggerFactory.getLogger(KMIPTransportOrderCheck.class);
+
+	private static final String TARGET = "localhost:5555";
+	private static final int REQUESTS = 500;
+	private static final int MAXIMUM_DELAY = 20;
+	private static final int TIMEOUT = 1000;
+	private static final int MAXIMUM_IDLE_TIME = 200;
+	private static final int IDLE_ROUNDS = 20;
+	private static final int BATCH_ITEMS = 8;
+	private static final int BATCH_ITEM_DELAY = 20;
+
+	private final DelayingAdapter adapter = new DelayingAdapter();
+	private final KMIPSkeleton skeleton = new KMIPSkeleton(adapter, KMIPBufferEncoder.class.getName(), KMIPBufferDecoder.class.getName());
+	private final KMIPBufferEncoder encoder = new KMIPBufferEncoder();
+	private final KMIPBufferDecoder decoder = new KMIPBufferDecoder();
+	// the same delays in every run
+	private final Random random = new Random(1);
+	private int checks;
+	private int failures;
+
+	public static void main(String[] args) throws Exception {
+		int failures = new KMIPTransportOrderCheck().check();
+		// the server does not stop by itself
+		System.exit(failures > 0 ? 1 : 0);
+	}
+
+	/**
+	 * @return		the number of checks, which failed
+	 */
+	public int check() throws Exception {
+		new KMIPSkeletonTransportLayer(skeleton);
+
+		KMIPStubTransportLayerPipelined pipelined = new KMIPStubTransportLayerPipelined();
+		pipelined.setTargetHostname(TARGET);
+		checkOrder("pipelined", pipelined);
+		checkBatchOrder(pipelined);
+		checkStopOnError(pipelined, EnumBatchError.Stop);
+		checkStopOnError(pipelined, EnumBatchError.Undo);
+		checkContinueOnError(pipelined);
+		pipelined.close();
+
+		KMIPStubTransportLayerNIO nio = new KMIPStubTransportLayerNIO();
+		nio.setTargetHostname(TARGET);
+		checkOrder("nio", nio);
+		nio.close();
+
+		checkTimeout();
+		checkIdle();
+
+		if(failures > 0){
+			logger.warn(failures + " of " + checks + " checks FAILED!");
+		} else{
+			logger.info("All " + checks + " checks passed");
+		}
+		return failures;
+	}
+
+	/**
+	 * Sends requests with random delays without waiting, so the server completes them out of order.
+	 */
+	private void checkOrder(String name, KMIPStubTransportLayerInterface transportLayer) throws Exception {
+		ArrayList<String> uniqueIdentifiers = new ArrayList<>();
+		ArrayList<KMIPFuture<ArrayList<Byte>>> responses = new ArrayList<>();
+		for(int i = 0; i < REQUESTS; i++){
+			String uniqueIdentifier = name + "-" + i + "/" + random.nextInt(MAXIMUM_DELAY);
+			uniqueIdentifiers.add(uniqueIdentifier);
+			responses.add(send(transportLayer, uniqueIdentifier));
+		}
+		int wrong = 0;
+		for(int i = 0; i < REQUESTS; i++){
+			if(!expectResponse(name + " request " + i, responses.get(i), uniqueIdentifiers.get(i))){
+				wrong++;
+			}
+		}
+		logger.info(name + ": " + (REQUESTS - wrong) + " of " + REQUESTS + " responses correct");
+	}
+
+	/**
+	 * The first batch item takes longest, so the independent batch items complete in reverse order.
+	 */
+	private void checkBatchOrder(KMIPStubTransportLayerInterface transportLayer) throws Exception {
+		String[] uniqueIdentifiers = new String[BATCH_ITEMS];
+		int sequentialTime = 0;
+		for(int i = 0; i < BATCH_ITEMS; i++){
+			int delay = (BATCH_ITEMS - i) * BATCH_ITEM_DELAY;
+			uniqueIdentifiers[i] = "batch-" + i + "/" + delay;
+			sequentialTime += delay;
+		}
+		long start = System.currentTimeMillis();
+		KMIPContainer response = receive("batch", send(transportLayer, createRequest(uniqueIdentifiers)));
+		long time = System.currentTimeMillis() - start;
+		expectBatches("batch", response, uniqueIdentifiers);
+		checks++;
+		if(time >= sequentialTime){
+			logger.warn("batch: the batch items took " + time + " ms, they are NOT processed in parallel");
+			failures++;
+		}
+		logger.info("batch: " + BATCH_ITEMS + " batch items in " + time + " ms instead of " + sequentialTime + " ms");
+	}
+
+	/**
+	 * A failed batch item ends the response, whether the batch items are processed in parallel or in order.
+	 */
+	private void checkStopOnError(KMIPStubTransportLayerInterface transportLayer, int batchError) throws Exception {
+		String name = new EnumBatchError(batchError).getKey();
+		KMIPContainer request = createRequest(name + "-first/100", "fail-" + name + "/0", name + "-after/0", name + "-last/0");
+		request.setBatchErrorContinuationOption(new EnumBatchError(batchError));
+		expectBatches(name + " in parallel", receive(name, send(transportLayer, request)), name + "-first/100", "fail-" + name + "/0");
+
+		request = createRequest(name + "-ordered-first/0", "fail-" + name + "-ordered/0", name + "-ordered-after/0");
+		request.setBatchErrorContinuationOption(new EnumBatchError(batchError));
+		request.setBatchOrderOption(new KMIPBoolean(true));
+		expectBatches(name + " in order", receive(name, send(transportLayer, request)), name + "-ordered-first/0", "fail-" + name + "-ordered/0");
+		checks++;
+		if(adapter.isProcessed(name + "-ordered-after/0")){
+			logger.warn(name + " in order: the batch item after the failed one is processed");
+			failures++;
+		} else{
+			logger.info(name + ": no batch item after the failed one");
+		}
+	}
+
+	private void checkContinueOnError(KMIPStubTransportLayerInterface transportLayer) throws Exception {
+		KMIPContainer request = createRequest("continue-first/100", "fail-continue/0", "continue-after/0");
+		request.setBatchErrorContinuationOption(new EnumBatchError(EnumBatchError.Continue));
+		expectBatches("Continue", receive("Continue", send(transportLayer, request)), "continue-first/100", "fail-continue/0", "continue-after/0");
+	}
+
+	private KMIPContainer receive(String check, KMIPFuture<ArrayList<Byte>> response) throws Exception {
+		try{
+			return decoder.decodeResponse(response.get());
+		} catch(ExecutionException e){
+			throw new IllegalStateException(check + ": request failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Checks, that the response has a batch item for every Unique Identifier, in the same order, and that the
+	 * batch items of the Unique Identifiers starting with <code>fail</code> have failed.
+	 */
+	private void expectBatches(String check, KMIPContainer response, String... uniqueIdentifiers) {
+		checks++;
+		if(response.getBatchCount() != uniqueIdentifiers.length){
+			logger.warn(check + ": " + response.getBatchCount() + " batch items instead of " + uniqueIdentifiers.length);
+			failures++;
+			return;
+		}
+		for(int i = 0; i < uniqueIdentifiers.length; i++){
+			KMIPBatch batch = response.getBatch(i);
+			boolean failed = batch.getResultStatus().getValue() != EnumResultStatus.Success;
+			String actual = failed ? batch.getResultMessage().getValue() : getUniqueIdentifier(batch);
+			if(!uniqueIdentifiers[i].equals(actual) || failed != uniqueIdentifiers[i].startsWith("fail")){
+				logger.warn(check + ": batch item " + i + " is " + actual + (failed ? " (failed)" : "") + " instead of " + uniqueIdentifiers[i]);
+				failures++;
+				return;
+			}
+		}
+	}
+
+	/**
+	 * The requests are spread round robin over two connections. A request, which times out, and the requests
+	 * behind it on its connection fail, the requests on the other connection and the requests sent after the
+	 * late responses have arrived get their own responses.
+	 */
+	private void checkTimeout() throws Exception {
+		KMIPStubTransportLayerNIO nio = new KMIPStubTransportLayerNIO(2, KMIPStubTransportLayerNIO.DEFAULT_MAXIMUM_OUTSTANDING);
+		nio.setTimeout(TIMEOUT);
+		nio.setTargetHostname(TARGET);
+		expectResponse("timeout: first connection", send(nio, "first/0"), "first/0");
+		expectResponse("timeout: second connection", send(nio, "second/0"), "second/0");
+
+		// answered before the connection is closed, as it does not answer for twice the timeout
+		String slow = "slow/" + TIMEOUT * 3 / 2;
+		KMIPFuture<ArrayList<Byte>> slowResponse = send(nio, slow);
+		KMIPFuture<ArrayList<Byte>> otherResponse = send(nio, "other/0");
+		KMIPFuture<ArrayList<Byte>> behindResponse = send(nio, "behind/0");
+		expectResponse("timeout: request on the other connection", otherResponse, "other/0");
+		expectFailure("timeout: slow request", slowResponse, TimeoutException.class);
+		expectFailure("timeout: request behind the slow request", behindResponse, TimeoutException.class);
+
+		Thread.sleep(TIMEOUT);
+		expectResponse("timeout: second connection after the late responses", send(nio, "after-second/0"), "after-second/0");
+		expectResponse("timeout: first connection after the late responses", send(nio, "after-first/0"), "after-first/0");
+
+		// the connection is closed, as it does not answer for twice the timeout
+		slowResponse = send(nio, "closing/" + TIMEOUT * 3);
+		otherResponse = send(nio, "other-while-closing/0");
+		expectResponse("timeout: request on the other connection while closing", otherResponse, "other-while-closing/0");
+		expectFailure("timeout: request on the closed connection", slowResponse, TimeoutException.class);
+		Thread.sleep(TIMEOUT * 2);
+		expectResponse("timeout: second connection after closing", send(nio, "reopen-second/0"), "reopen-second/0");
+		expectResponse("timeout: first connection after closing", send(nio, "reopen-first/0"), "reopen-first/0");
+		nio.close();
+		logger.info("nio: timeout checked");
+	}
+
+	/**
+	 * Sends requests after random pauses around the maximum idle time. A connection, which is closed as idle,
+	 * must not take a request with it, a request sent meanwhile goes to a new connection.
+	 */
+	private void checkIdle() throws Exception {
+		KMIPStubTransportLayerNIO nio = new KMIPStubTransportLayerNIO(1, KMIPStubTransportLayerNIO.DEFAULT_MAXIMUM_OUTSTANDING);
+		nio.setMaximumIdleTime(MAXIMUM_IDLE_TIME);
+		nio.setTargetHostname(TARGET);
+		for(int round = 0; round < IDLE_ROUNDS; round++){
+			Thread.sleep(MAXIMUM_IDLE_TIME / 2 + random.nextInt(MAXIMUM_IDLE_TIME * 2));
+			ArrayList<KMIPFuture<ArrayList<Byte>>> responses = new ArrayList<>();
+			for(int i = 0; i < 5; i++){
+				responses.add(send(nio, "idle-" + round + "-" + i + "/0"));
+			}
+			for(int i = 0; i < 5; i++){
+				expectResponse("idle: round " + round + " request " + i, responses.get(i), "idle-" + round + "-" + i + "/0");
+			}
+		}
+		nio.close();
+		logger.info("nio: idle connections checked");
+	}
+
+	private boolean expectResponse(String check, KMIPFuture<ArrayList<Byte>> response, String uniqueIdentifier) {
+		checks++;
+		try{
+			String actual = getUniqueIdentifier(decoder.decodeResponse(response.get()).getBatch(0));
+			if(!uniqueIdentifier.equals(actual)){
+				logger.warn(check + ": response of " + actual + " instead of " + uniqueIdentifier);
+				failures++;
+				return false;
+			}
+			return true;
+		} catch(ExecutionException e){
+			logger.warn(check + ": " + e.getCause());
+		} catch(Exception e){
+			logger.warn(check + ": " + e);
+		}
+		failures++;
+		return false;
+	}
+
+	private void expectFailure(String check, KMIPFuture<ArrayList<Byte>> response, Class<? extends Throwable> failure) {
+		checks++;
+		try{
+			response.get();
+			logger.warn(check + ": NOT failed");
+		} catch(ExecutionException e){
+			if(failure.isInstance(e.getCause())){
+				return;
+			}
+			logger.warn(check + ": " + e.getCause() + " instead of " + failure.getSimpleName());
+		} catch(Exception e){
+			logger.warn(check + ": " + e);
+		}
+		failures++;
+	}
+
+	/**
+	 * Sends a request with a Get for every Unique Identifier.
+	 */
+	private KMIPFuture<ArrayList<Byte>> send(KMIPStubTransportLayerInterface transportLayer, String... uniqueIdentifiers) {
+		return send(transportLayer, createRequest(uniqueIdentifiers));
+	}
+
+	private KMIPFuture<ArrayList<Byte>> send(KMIPStubTransportLayerInterface transportLayer, KMIPContainer request) {
+		return transportLayer.sendAsync(encoder.encodeRequest(request));
+	}
+
+	private KMIPContainer createRequest(String... uniqueIdentifiers) {
+		KMIPContainer request = new KMIPContainer();
+		for(String uniqueIdentifier : uniqueIdentifiers){
+			KMIPBatch batch = new KMIPBatch();
+			batch.setOperation(EnumOperation.Get);
+			batch.addAttribute(new UniqueIdentifier(uniqueIdentifier));
+			request.addBatch(batch);
+		}
+		request.calculateBatchCount();
+		return request;
+	}
+
+	private static String getUniqueIdentifier(KMIPBatch batch) {
+		for(Attribute attribute : batch.getAttributes()){
+			if(attribute instanceof UniqueIdentifier){
+				return attribute.getValues()[0].getValueString();
+			}
+		}
+		return null;
+	}
+
+
+	/**
+	 * Waits for the delay in the Unique Identifier, and answers with the same Unique Identifier.
+	 * A Unique Identifier starting with <code>fail</code> is not found, it is returned as Result Message.
+	 */
+	private static class DelayingAdapter implements KLMSAdapterInterface {
+
+		private final Set<String> processed = Collections.synchronizedSet(new HashSet<String>());
+
+		public KMIPBatch doProcess(KMIPBatch requestBatch, Credential credential, boolean asynchronousIndicator) {
+			String uniqueIdentifier = getUniqueIdentifier(requestBatch);
+			processed.add(uniqueIdentifier);
+			try{
+				Thread.sleep(Long.parseLong(uniqueIdentifier.substring(uniqueIdentifier.lastIndexOf('/') + 1)));
+			} catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+			}
+			KMIPBatch responseBatch = new KMIPBatch();
+			responseBatch.setOperation(requestBatch.getOperation().getValue());
+			if(uniqueIdentifier.startsWith("fail")){
+				responseBatch.setResultStatus(new EnumResultStatus(EnumResultStatus.OperationFailed));
+				responseBatch.setResultReason(new EnumResultReason(EnumResultReason.ItemNotFound));
+				// a failed batch item has no Response Payload
+				responseBatch.setResultMessage(uniqueIdentifier);
+			} else{
+				responseBatch.setResultStatus(new EnumResultStatus(EnumResultStatus.Success));
+				responseBatch.addAttribute(new UniqueIdentifier(uniqueIdentifier));
+			}
+			return responseBatch;
+		}
+
+		boolean isProcessed(String uniqueIdentifier) {
+			return processed.contains(uniqueIdentifier);
+		}
+
+		public void setKLMS(String klmsPath, String defaultPath) {
+		}
+
+		public HashMap<String, String> getStatus() {
+			return new HashMap<>();
+		}
+	}
+
+}
@@ -0,0 +1,165 @@
+/**
+ * UCDecoderCompare.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class checks the conformance of an alternative decoder with
+ * the KMIPDecoder. Every TTLV request and response of the use cases
+ * in the "UseCases.xml"-file is decoded by both decoders and the
+ * resulting KMIPContainers are compared.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.io.File;
+import java.util.ArrayList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.process.decoder.KMIPDecoder;
+import ch.ntb.inf.kmip.process.decoder.KMIPDecoderInterface;
+import ch.ntb.inf.kmip.process.encoder.KMIPEncoder;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * Decodes every TTLV vector of the use cases with the KMIPDecoder and
+ * with a second decoder and compares the resulting KMIPContainers by
+ * their string representation and by their re-encoded TTLV.
+ * <p>
+ * Usage: <code>UCDecoderCompare [UseCases.xml] [fully qualified name of the decoder]</code>
+ */
+public class UCDecoderCompare {
+
+	private static final Logger logger = LoggerFactory.getLogger(UCDecoderCompare.class);
+
+	private static final String DEFAULT_LOCATION_USECASES = "gui/src/main/resources/xml/UseCases.xml";
+	private static final String DEFAULT_LOCATION_DECODER = "ch.ntb.inf.kmip.process.decoder.KMIPBufferDecoder";
+	private static final String TIMESTAMP_TTL = "4200920900000008";
+	private static final String TIMESTAMP_MASK = "0000000000000000";
+
+	private final KMIPDecoderInterface reference = new KMIPDecoder();
+	private final KMIPDecoderInterface candidate;
+	private final KMIPEncoder encoder = new KMIPEncoder();
+
+	public UCDecoderCompare(KMIPDecoderInterface candidate){
+		this.candidate = candidate;
+	}
+
+	public static void main(String[] args) throws Exception {
+		String useCases = args.length > 0 ? args[0] : DEFAULT_LOCATION_USECASES;
+		String decoderPath = args.length > 1 ? args[1] : DEFAULT_LOCATION_DECODER;
+
+		UCDecoderCompare compare = new UCDecoderCompare((KMIPDecoderInterface) Class.forName(decoderPath).newInstance());
+		int failures = compare.compareUseCases(new File(useCases));
+		if(failures > 0){
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * @param useCases 	: the "UseCases.xml"-file
+	 * @return			the number of vectors, which are not decoded to the same <code>KMIPContainer</code>
+	 */
+	public int compareUseCases(File useCases) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(useCases);
+		NodeList nodes = doc.getElementsByTagName("usecase");
+		int vectors = 0, failures = 0;
+
+		for(int i = 0; i < nodes.getLength(); i++){
+			Element useCase = (Element) nodes.item(i);
+			String id = useCase.getAttribute("id");
+			if(!compare(id + " request", getTTLV(useCase, "ttlvrequest"), true)){
+				failures++;
+			}
+			if(!compare(id + " response", getTTLV(useCase, "ttlvresponse"), false)){
+				failures++;
+			}
+			vectors += 2;
+		}
+
+		if(failures > 0){
+			logger.warn(failures + " of " + vectors + " vectors are NOT decoded to the same KMIPContainer!");
+		} else{
+			logger.info("All " + vectors + " vectors are decoded to the same KMIPContainer");
+		}
+		return failures;
+	}
+
+	private String getTTLV(Element useCase, String name){
+		return useCase.getElementsByTagName(name).item(0).getTextContent().trim();
+	}
+
+	private boolean compare(String vector, String ttlv, boolean isRequest){
+		ArrayList<Byte> message = KMIPUtils.convertHexStringToArrayList(ttlv);
+		String expected = describe(decode(reference, message, isRequest), isRequest);
+		String actual = describe(decode(candidate, message, isRequest), isRequest);
+
+		if(expected.equals(actual)){
+			return true;
+		}
+		logger.warn(vector + ": KMIPContainers are NOT the same!\nexpected: " + expected + "\nactual:   " + actual);
+		return false;
+	}
+
+	private Object decode(KMIPDecoderInterface decoder, ArrayList<Byte> message, boolean isRequest){
+		try {
+			return isRequest ? decoder.decodeRequest(message) : decoder.decodeResponse(message);
+		} catch (Exception e) {
+			return e;
+		}
+	}
+
+	private String describe(Object decoded, boolean isRequest){
+		if(decoded instanceof Exception){
+			return "Decoding failed: " + decoded;
+		}
+		KMIPContainer container = (KMIPContainer) decoded;
+		StringBuilder sb = new StringBuilder();
+		try{
+			sb.append(container.toString());
+		} catch(Exception e){
+			sb.append("toString failed: " + e);
+		}
+		sb.append("\n");
+		try{
+			ArrayList<Byte> encoded = isRequest ? encoder.encodeRequest(container) : encoder.encodeResponse(container);
+			sb.append(maskTimeStamp(KMIPUtils.convertArrayListToHexString(encoded)));
+		} catch(Exception e){
+			sb.append("Encoding failed: " + e);
+		}
+		return sb.toString();
+	}
+
+	// the encoder stamps every response with the current time
+	private String maskTimeStamp(String ttlv){
+		int index = ttlv.indexOf(TIMESTAMP_TTL);
+		if(index == -1){
+			return ttlv;
+		}
+		int value = index + TIMESTAMP_TTL.length();
+		return ttlv.substring(0, value) + TIMESTAMP_MASK + ttlv.substring(value + TIMESTAMP_MASK.length());
+	}
+
+}
@@ -0,0 +1,198 @@
+/**
+ * UCEncoderBenchmark.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class compares the KMIPBufferEncoder with the KMIPEncoder.
+ * Every TTLV request and response of the use cases in the
+ * "UseCases.xml"-file is decoded once, then re-encoded by both
+ * encoders. The encoded messages have to be the same, afterwards
+ * the time both encoders need to encode all messages is measured.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.process.decoder.KMIPDecoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPBufferEncoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPEncoder;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * Checks that the KMIPBufferEncoder, or one derived from it, encodes the use cases
+ * like the KMIPEncoder and measures the time both encoders need.
+ * <p>
+ * Usage: <code>UCEncoderBenchmark [UseCases.xml] [iterations] [fully qualified name of the encoder]</code>
+ */
+public class UCEncoderBenchmark {
+
+	private static final Logger logger = LoggerFactory.getLogger(UCEncoderBenchmark.class);
+
+	private static final String DEFAULT_LOCATION_USECASES = "gui/src/main/resources/xml/UseCases.xml";
+	private static final int DEFAULT_ITERATIONS = 200;
+	private static final int WARMUP_ITERATIONS = 50;
+	private static final String DEFAULT_LOCATION_ENCODER = "ch.ntb.inf.kmip.process.encoder.KMIPBufferEncoder";
+	// the response header has a time stamp of 8 bytes after its tag, type and length
+	private static final byte[] TIMESTAMP_TTL = KMIPUtils.convertHexStringToByteArray("4200920900000008");
+
+	private final KMIPEncoder reference = new KMIPEncoder();
+	private final KMIPBufferEncoder candidate;
+
+	private final ArrayList<KMIPContainer> requests = new ArrayList<>();
+	private final ArrayList<KMIPContainer> responses = new ArrayList<>();
+
+	public UCEncoderBenchmark(KMIPBufferEncoder candidate){
+		this.candidate = candidate;
+	}
+
+	public static void main(String[] args) throws Exception {
+		String useCases = args.length > 0 ? args[0] : DEFAULT_LOCATION_USECASES;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+		String encoderPath = args.length > 2 ? args[2] : DEFAULT_LOCATION_ENCODER;
+
+		UCEncoderBenchmark benchmark = new UCEncoderBenchmark((KMIPBufferEncoder) Class.forName(encoderPath).newInstance());
+		benchmark.loadUseCases(new File(useCases));
+		if(benchmark.compare() > 0){
+			System.exit(1);
+		}
+		benchmark.run(iterations);
+	}
+
+	public void loadUseCases(File useCases) throws Exception {
+		KMIPDecoder decoder = new KMIPDecoder();
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(useCases);
+		NodeList nodes = doc.getElementsByTagName("usecase");
+
+		for(int i = 0; i < nodes.getLength(); i++){
+			Element useCase = (Element) nodes.item(i);
+			requests.add(decoder.decodeRequest(KMIPUtils.convertHexStringToArrayList(getTTLV(useCase, "ttlvrequest"))));
+			responses.add(decoder.decodeResponse(KMIPUtils.convertHexStringToArrayList(getTTLV(useCase, "ttlvresponse"))));
+		}
+	}
+
+	/**
+	 * @return		the number of messages, which are NOT encoded to the same bytes by both encoders
+	 */
+	public int compare() {
+		int failures = 0;
+		for(int i = 0; i < requests.size(); i++){
+			byte[] expected = KMIPUtils.toByteArray(reference.encodeRequest(requests.get(i)));
+			byte[] actual = candidate.encodeRequestToByteArray(requests.get(i));
+			if(!Arrays.equals(expected, actual)){
+				logger.warn("request " + i + ": encoded messages are NOT the same!\nexpected: " + toHexString(expected)
+						+ "\nactual:   " + toHexString(actual));
+				failures++;
+			}
+		}
+		for(int i = 0; i < responses.size(); i++){
+			byte[] expected = maskTimeStamp(KMIPUtils.toByteArray(reference.encodeResponse(responses.get(i))));
+			byte[] actual = maskTimeStamp(candidate.encodeResponseToByteArray(responses.get(i)));
+			if(!Arrays.equals(expected, actual)){
+				logger.warn("response " + i + ": encoded messages are NOT the same!\nexpected: " + toHexString(expected)
+						+ "\nactual:   " + toHexString(actual));
+				failures++;
+			}
+		}
+
+		int messages = requests.size() + responses.size();
+		if(failures > 0){
+			logger.warn(failures + " of " + messages + " messages are NOT encoded to the same bytes!");
+		} else{
+			logger.info("All " + messages + " messages are encoded to the same bytes");
+		}
+		return failures;
+	}
+
+	public void run(int iterations) {
+		// warm up both encoders, so the JIT has compiled them before they are measured
+		measureReference(WARMUP_ITERATIONS);
+		measureCandidate(WARMUP_ITERATIONS);
+
+		long referenceTime = measureReference(iterations);
+		long candidateTime = measureCandidate(iterations);
+
+		int messages = (requests.size() + responses.size()) * iterations;
+		logger.info("KMIPEncoder: " + messages + " messages in " + referenceTime / 1000000 + " ms");
+		logger.info(candidate.getClass().getSimpleName() + ": " + messages + " messages in " + candidateTime / 1000000 + " ms");
+		logger.info("Speedup: " + String.format("%.2f", (double) referenceTime / candidateTime));
+	}
+
+	private long measureReference(int iterations) {
+		long bytes = 0;
+		long start = System.nanoTime();
+		for(int n = 0; n < iterations; n++){
+			for(KMIPContainer c : requests){
+				bytes += reference.encodeRequest(c).size();
+			}
+			for(KMIPContainer c : responses){
+				bytes += reference.encodeResponse(c).size();
+			}
+		}
+		long time = System.nanoTime() - start;
+		logger.debug("KMIPEncoder: " + bytes + " bytes");
+		return time;
+	}
+
+	private long measureCandidate(int iterations) {
+		long bytes = 0;
+		long start = System.nanoTime();
+		for(int n = 0; n < iterations; n++){
+			for(KMIPContainer c : requests){
+				bytes += candidate.encodeRequestToByteArray(c).length;
+			}
+			for(KMIPContainer c : responses){
+				bytes += candidate.encodeResponseToByteArray(c).length;
+			}
+		}
+		long time = System.nanoTime() - start;
+		logger.debug(candidate.getClass().getSimpleName() + ": " + bytes + " bytes");
+		return time;
+	}
+
+	private String getTTLV(Element useCase, String name){
+		return useCase.getElementsByTagName(name).item(0).getTextContent().trim();
+	}
+
+	private String toHexString(byte[] ttlv){
+		return KMIPUtils.convertArrayListToHexString(KMIPUtils.convertByteArrayToArrayList(ttlv));
+	}
+
+	// the encoders stamp every response with the current time
+	private byte[] maskTimeStamp(byte[] ttlv){
+		for(int i = 0; i + TIMESTAMP_TTL.length + 8 <= ttlv.length; i++){
+			if(Arrays.equals(Arrays.copyOfRange(ttlv, i, i + TIMESTAMP_TTL.length), TIMESTAMP_TTL)){
+				Arrays.fill(ttlv, i + TIMESTAMP_TTL.length, i + TIMESTAMP_TTL.length + 8, (byte) 0x00);
+				break;
+			}
+		}
+		return ttlv;
+	}
+
+}
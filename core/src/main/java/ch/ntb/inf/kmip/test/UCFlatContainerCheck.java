@@ -0,0 +1,218 @@
+/**
+ * UCFlatContainerCheck.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The UCFlatContainerCheck indexes the TTLV vectors of the use cases
+ * with the KMIPFlatContainer, checks the index and its view as
+ * KMIPContainer, and compares the time and memory needed to index
+ * and to decode the vectors.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.container.KMIPFlatContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.process.decoder.KMIPBufferDecoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * Usage: <code>UCFlatContainerCheck [UseCases.xml] [iterations]</code>
+ * <p>
+ * The memory is only measured, if the JVM counts the bytes allocated by a thread.
+ */
+public class UCFlatContainerCheck {
+
+	private static final Logger logger = LoggerFactory.getLogger(UCFlatContainerCheck.class);
+
+	private static final String DEFAULT_LOCATION_USECASES = "gui/src/main/resources/xml/UseCases.xml";
+	private static final int DEFAULT_ITERATIONS = 200;
+	private static final int WARMUP_ITERATIONS = 50;
+
+	private final KMIPBufferDecoder decoder = new KMIPBufferDecoder();
+	private final ArrayList<byte[]> vectors = new ArrayList<>();
+
+	public static void main(String[] args) throws Exception {
+		String useCases = args.length > 0 ? args[0] : DEFAULT_LOCATION_USECASES;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+		UCFlatContainerCheck check = new UCFlatContainerCheck();
+		if(check.checkUseCases(new File(useCases)) > 0){
+			System.exit(1);
+		}
+		check.run(iterations);
+	}
+
+	/**
+	 * @return		the number of vectors, which are NOT indexed correctly
+	 */
+	public int checkUseCases(File useCases) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(useCases);
+		NodeList nodes = doc.getElementsByTagName("usecase");
+		int failures = 0;
+
+		for(int i = 0; i < nodes.getLength(); i++){
+			Element useCase = (Element) nodes.item(i);
+			String id = useCase.getAttribute("id");
+			byte[] request = KMIPUtils.convertHexStringToByteArray(getTTLV(useCase, "ttlvrequest"));
+			byte[] response = KMIPUtils.convertHexStringToByteArray(getTTLV(useCase, "ttlvresponse"));
+			vectors.add(request);
+			vectors.add(response);
+			if(!check(id + " request", request)){
+				failures++;
+			}
+			if(!check(id + " response", response)){
+				failures++;
+			}
+		}
+
+		if(failures > 0){
+			logger.warn(failures + " of " + vectors.size() + " vectors are NOT indexed correctly!");
+		} else{
+			logger.info("All " + vectors.size() + " vectors are indexed correctly");
+		}
+		return failures;
+	}
+
+	private boolean check(String vector, byte[] ttlv){
+		try{
+			KMIPFlatContainer flat = KMIPFlatContainer.index(ttlv);
+			KMIPByteSink sink = new KMIPByteSink();
+			copyItem(flat, 0, sink);
+			if(!Arrays.equals(ttlv, sink.toByteArray())){
+				logger.warn(vector + ": the indexed items are NOT the same!");
+				return false;
+			}
+
+			String expected = describe(flat.isRequest() ? decoder.decodeRequest(ttlv) : decoder.decodeResponse(ttlv));
+			String actual = describe(flat.toContainer());
+			if(!expected.equals(actual)){
+				logger.warn(vector + ": KMIPContainers are NOT the same!\nexpected: " + expected + "\nactual:   " + actual);
+				return false;
+			}
+			return true;
+		} catch(Exception e){
+			logger.warn(vector + ": " + e);
+			return false;
+		}
+	}
+
+	private void copyItem(KMIPFlatContainer flat, int item, KMIPByteSink sink){
+		sink.writeTagAndType(flat.getTag(item), flat.getType(item));
+		if(flat.getType(item) == EnumType.Structure){
+			int slot = sink.reserveLength();
+			for(int child = flat.firstChild(item); child != -1; child = flat.nextSibling(item, child)){
+				copyItem(flat, child, sink);
+			}
+			sink.patchLength(slot);
+		} else{
+			byte[] value = new byte[flat.getLength(item)];
+			flat.getValue(item).get(value);
+			sink.writeInt(value.length);
+			sink.writeBytes(value);
+			sink.writePadding(value.length);
+		}
+	}
+
+	private String describe(KMIPContainer container){
+		try{
+			return container.toString();
+		} catch(Exception e){
+			return "toString failed: " + e;
+		}
+	}
+
+	public void run(int iterations) throws Exception {
+		// warm up both, so the JIT has compiled them before they are measured
+		measureDecoder(WARMUP_ITERATIONS);
+		measureIndex(WARMUP_ITERATIONS);
+
+		boolean counted = allocatedBytes() >= 0;
+		long allocated = allocatedBytes();
+		long decoderTime = measureDecoder(iterations);
+		long decoderBytes = allocatedBytes() - allocated;
+		allocated = allocatedBytes();
+		long indexTime = measureIndex(iterations);
+		long indexBytes = allocatedBytes() - allocated;
+
+		int messages = vectors.size() * iterations;
+		logger.info("KMIPBufferDecoder: " + messages + " messages in " + decoderTime / 1000000 + " ms" + (counted ? perMessage(decoderBytes, messages) : ""));
+		logger.info("KMIPFlatContainer: " + messages + " messages in " + indexTime / 1000000 + " ms" + (counted ? perMessage(indexBytes, messages) : ""));
+		logger.info("Speedup: " + String.format("%.2f", (double) decoderTime / indexTime));
+	}
+
+	private long measureDecoder(int iterations) throws Exception {
+		long batches = 0;
+		long start = System.nanoTime();
+		for(int n = 0; n < iterations; n++){
+			for(int i = 0; i < vectors.size(); i++){
+				batches += (i % 2 == 0 ? decoder.decodeRequest(vectors.get(i)) : decoder.decodeResponse(vectors.get(i))).getBatchCount();
+			}
+		}
+		long time = System.nanoTime() - start;
+		logger.debug("KMIPBufferDecoder: " + batches + " batches");
+		return time;
+	}
+
+	private long measureIndex(int iterations) throws Exception {
+		long batches = 0;
+		long start = System.nanoTime();
+		for(int n = 0; n < iterations; n++){
+			for(byte[] vector : vectors){
+				batches += KMIPFlatContainer.index(vector).getBatchCount();
+			}
+		}
+		long time = System.nanoTime() - start;
+		logger.debug("KMIPFlatContainer: " + batches + " batches");
+		return time;
+	}
+
+	private String perMessage(long bytes, int messages){
+		return ", " + bytes / messages + " bytes allocated per message";
+	}
+
+	/**
+	 * @return		the bytes allocated by this thread, or -1 if the JVM does not count them
+	 */
+	private long allocatedBytes(){
+		java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		if(bean instanceof com.sun.management.ThreadMXBean){
+			return ((com.sun.management.ThreadMXBean) bean).getThreadAllocatedBytes(Thread.currentThread().getId());
+		}
+		return -1;
+	}
+
+	private String getTTLV(Element useCase, String name){
+		return useCase.getElementsByTagName(name).item(0).getTextContent().trim();
+	}
+
+}
@@ -0,0 +1,190 @@
+/**
+ * UCTTLVReaderCheck.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class checks the KMIPTTLVReader with the use cases in the
+ * "UseCases.xml"-file. Every TTLV request and response is read item
+ * by item from a stream, which delivers only a few bytes per read,
+ * and written again. The result has to be the same message. Then
+ * the message is decoded through the reader and compared with the
+ * KMIPContainer decoded from the whole message.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.container.KMIPContainer;
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.process.KMIPTTLVReader;
+import ch.ntb.inf.kmip.process.decoder.KMIPBufferDecoder;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * Reads every TTLV vector of the use cases with the <code>KMIPTTLVReader</code>
+ * and checks, that nothing is lost or changed on the way.
+ * <p>
+ * Usage: <code>UCTTLVReaderCheck [UseCases.xml]</code>
+ */
+public class UCTTLVReaderCheck {
+
+	private static final Logger logger = LoggerFactory.getLogger(UCTTLVReaderCheck.class);
+
+	private static final String DEFAULT_LOCATION_USECASES = "gui/src/main/resources/xml/UseCases.xml";
+	// a small buffer and a stream with short reads make the reader refill its buffer within items
+	private static final int BUFFER_SIZE = 16;
+	private static final int CHUNK_SIZE = 3;
+
+	private final KMIPBufferDecoder decoder = new KMIPBufferDecoder();
+
+	public static void main(String[] args) throws Exception {
+		String useCases = args.length > 0 ? args[0] : DEFAULT_LOCATION_USECASES;
+		if(new UCTTLVReaderCheck().checkUseCases(new File(useCases)) > 0){
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * @return		the number of vectors, which are NOT read correctly
+	 */
+	public int checkUseCases(File useCases) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(useCases);
+		NodeList nodes = doc.getElementsByTagName("usecase");
+		int vectors = 0, failures = 0;
+
+		for(int i = 0; i < nodes.getLength(); i++){
+			Element useCase = (Element) nodes.item(i);
+			String id = useCase.getAttribute("id");
+			if(!check(id + " request", KMIPUtils.convertHexStringToByteArray(getTTLV(useCase, "ttlvrequest")), true)){
+				failures++;
+			}
+			if(!check(id + " response", KMIPUtils.convertHexStringToByteArray(getTTLV(useCase, "ttlvresponse")), false)){
+				failures++;
+			}
+			vectors += 2;
+		}
+
+		if(failures > 0){
+			logger.warn(failures + " of " + vectors + " vectors are NOT read correctly!");
+		} else{
+			logger.info("All " + vectors + " vectors are read correctly");
+		}
+		return failures;
+	}
+
+	private boolean check(String vector, byte[] ttlv, boolean isRequest){
+		try{
+			KMIPTTLVReader reader = new KMIPTTLVReader(new ChunkedInputStream(ttlv), BUFFER_SIZE);
+			KMIPByteSink sink = new KMIPByteSink();
+			while(reader.hasNext()){
+				copyItem(reader, sink);
+			}
+			if(!Arrays.equals(ttlv, sink.toByteArray())){
+				logger.warn(vector + ": the items read are NOT the same!\nexpected: " + toHexString(ttlv)
+						+ "\nactual:   " + toHexString(sink.toByteArray()));
+				return false;
+			}
+
+			reader = new KMIPTTLVReader(new ChunkedInputStream(ttlv), BUFFER_SIZE);
+			reader.next();
+			String expected = describe(isRequest ? decoder.decodeRequest(ttlv) : decoder.decodeResponse(ttlv));
+			String actual = describe(isRequest ? decoder.decodeRequest(reader) : decoder.decodeResponse(reader));
+			if(!expected.equals(actual)){
+				logger.warn(vector + ": KMIPContainers are NOT the same!\nexpected: " + expected + "\nactual:   " + actual);
+				return false;
+			}
+			return true;
+		} catch(Exception e){
+			logger.warn(vector + ": " + e);
+			return false;
+		}
+	}
+
+	private void copyItem(KMIPTTLVReader reader, KMIPByteSink sink) throws Exception {
+		int tag = reader.next();
+		int type = reader.getType();
+		sink.writeTagAndType(tag, type);
+		if(type == EnumType.Structure){
+			int slot = sink.reserveLength();
+			reader.enterStructure();
+			while(reader.hasNext()){
+				copyItem(reader, sink);
+			}
+			reader.exitStructure();
+			sink.patchLength(slot);
+		} else{
+			byte[] value = reader.readValue();
+			sink.writeInt(value.length);
+			sink.writeBytes(value);
+			sink.writePadding(value.length);
+		}
+	}
+
+	private String describe(KMIPContainer container){
+		try{
+			return container.toString();
+		} catch(Exception e){
+			return "toString failed: " + e;
+		}
+	}
+
+	private String getTTLV(Element useCase, String name){
+		return useCase.getElementsByTagName(name).item(0).getTextContent().trim();
+	}
+
+	private String toHexString(byte[] ttlv){
+		return KMIPUtils.convertArrayListToHexString(KMIPUtils.convertByteArrayToArrayList(ttlv));
+	}
+
+	/**
+	 * Delivers at most <code>CHUNK_SIZE</code> bytes per read, like a slow network connection.
+	 */
+	private static class ChunkedInputStream extends InputStream {
+
+		private final ByteArrayInputStream in;
+
+		ChunkedInputStream(byte[] b){
+			this.in = new ByteArrayInputStream(b);
+		}
+
+		@Override
+		public int read() throws IOException {
+			return in.read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return in.read(b, off, Math.min(len, CHUNK_SIZE));
+		}
+	}
+
+}
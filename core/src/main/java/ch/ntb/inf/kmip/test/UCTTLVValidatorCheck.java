@@ -0,0 +1,236 @@
+/**
+ * UCTTLVValidatorCheck.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class checks the KMIPTTLVValidator with the use cases in the
+ * "UseCases.xml"-file. Every TTLV request and response has to pass
+ * the validator. Then each vector is damaged in several ways, and
+ * the validator has to reject every damaged copy at the offset of
+ * the damaged item.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.kmip.test;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import ch.ntb.inf.kmip.kmipenum.EnumType;
+import ch.ntb.inf.kmip.process.decoder.KMIPMalformedMessageException;
+import ch.ntb.inf.kmip.process.decoder.KMIPTTLVValidator;
+import ch.ntb.inf.kmip.utils.KMIPUtils;
+
+/**
+ * Validates every TTLV vector of the use cases and damaged copies of it
+ * with the <code>KMIPTTLVValidator</code>.
+ * <p>
+ * Usage: <code>UCTTLVValidatorCheck [UseCases.xml]</code>
+ */
+public class UCTTLVValidatorCheck {
+
+	private static final Logger logger = LoggerFactory.getLogger(UCTTLVValidatorCheck.class);
+
+	private static final String DEFAULT_LOCATION_USECASES = "gui/src/main/resources/xml/UseCases.xml";
+	private static final int TTL_SIZE = 8;
+	private static final int INVALID_TYPE = 0x0B;
+
+	private final KMIPTTLVValidator validator = new KMIPTTLVValidator();
+	private int checks;
+
+	public static void main(String[] args) throws Exception {
+		String useCases = args.length > 0 ? args[0] : DEFAULT_LOCATION_USECASES;
+		if(new UCTTLVValidatorCheck().checkUseCases(new File(useCases)) > 0){
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * @return		the number of checks, which failed
+	 */
+	public int checkUseCases(File useCases) throws Exception {
+		Document doc = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(useCases);
+		NodeList nodes = doc.getElementsByTagName("usecase");
+		int failures = 0;
+
+		for(int i = 0; i < nodes.getLength(); i++){
+			Element useCase = (Element) nodes.item(i);
+			String id = useCase.getAttribute("id");
+			failures += check(id + " request", KMIPUtils.convertHexStringToByteArray(getTTLV(useCase, "ttlvrequest")), true);
+			failures += check(id + " response", KMIPUtils.convertHexStringToByteArray(getTTLV(useCase, "ttlvresponse")), false);
+		}
+
+		if(failures > 0){
+			logger.warn(failures + " of " + checks + " checks FAILED!");
+		} else{
+			logger.info("All " + checks + " checks passed");
+		}
+		return failures;
+	}
+
+	/**
+	 * @return		the number of checks of this vector, which failed
+	 */
+	private int check(String vector, byte[] ttlv, boolean isRequest){
+		int failures = 0;
+		if(!expectValid(vector, ttlv, isRequest)){
+			// the damaged copies are only meaningful for a valid vector
+			return 1;
+		}
+		ArrayList<int[]> items = new ArrayList<>();
+		int maximumLevel = readItems(ttlv, 0, ttlv.length, 1, items);
+
+		// the length of the message exceeds the remaining bytes
+		byte[] damaged = Arrays.copyOf(ttlv, ttlv.length - TTL_SIZE);
+		failures += expectMalformed(vector + " truncated", validator, damaged, isRequest, 0);
+
+		damaged = Arrays.copyOf(ttlv, ttlv.length + TTL_SIZE);
+		failures += expectMalformed(vector + " with trailing bytes", validator, damaged, isRequest, ttlv.length);
+
+		int[] item = findItem(items, -1, -1);
+		if(item != null){
+			damaged = ttlv.clone();
+			damaged[item[0] + 3] = INVALID_TYPE;
+			failures += expectMalformed(vector + " with an invalid type", validator, damaged, isRequest, item[0]);
+		}
+
+		item = findItem(items, EnumType.Enumeration, -1);
+		if(item == null){
+			item = findItem(items, EnumType.Integer, -1);
+		}
+		if(item != null){
+			// the padding of an Integer or an Enumeration makes room for a length of 8
+			damaged = ttlv.clone();
+			damaged[item[0] + 7] = 8;
+			failures += expectMalformed(vector + " with a wrong fixed length", validator, damaged, isRequest, item[0]);
+		}
+
+		item = findItem(items, -1, 0);
+		if(item != null){
+			int padding = item[0] + TTL_SIZE + item[2];
+			damaged = ttlv.clone();
+			damaged[padding] = 1;
+			failures += expectMalformed(vector + " with non-zero padding", validator, damaged, isRequest, padding);
+		}
+
+		if(maximumLevel > 1){
+			// the first structure at the deepest level is one too deep
+			KMIPTTLVValidator shallow = new KMIPTTLVValidator(KMIPTTLVValidator.DEFAULT_MAXIMUM_MESSAGE_SIZE, maximumLevel - 1);
+			int offset = -1;
+			for(int[] i : items){
+				if(i[1] == EnumType.Structure && i[3] == maximumLevel){
+					offset = i[0];
+					break;
+				}
+			}
+			failures += expectMalformed(vector + " too deep", shallow, ttlv, isRequest, offset);
+		}
+		return failures;
+	}
+
+	private boolean expectValid(String vector, byte[] ttlv, boolean isRequest){
+		checks++;
+		try{
+			validate(validator, ttlv, isRequest);
+			return true;
+		} catch(KMIPMalformedMessageException e){
+			logger.warn(vector + ": " + e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * @return		0 if the validator rejects the message at the offset, 1 otherwise
+	 */
+	private int expectMalformed(String vector, KMIPTTLVValidator validator, byte[] ttlv, boolean isRequest, int offset){
+		checks++;
+		try{
+			validate(validator, ttlv, isRequest);
+			logger.warn(vector + ": NOT rejected");
+			return 1;
+		} catch(KMIPMalformedMessageException e){
+			if(e.getOffset() != offset){
+				logger.warn(vector + ": rejected at byte " + e.getOffset() + " instead of " + offset + " (" + e.getMessage() + ")");
+				return 1;
+			}
+			logger.debug(vector + ": " + e.getMessage());
+			return 0;
+		}
+	}
+
+	private void validate(KMIPTTLVValidator validator, byte[] ttlv, boolean isRequest) throws KMIPMalformedMessageException {
+		if(isRequest){
+			validator.validateRequest(ByteBuffer.wrap(ttlv));
+		} else{
+			validator.validateResponse(ByteBuffer.wrap(ttlv));
+		}
+	}
+
+	/**
+	 * Collects the offset, the type, the length and the nesting level of the items between
+	 * <code>pos</code> and <code>end</code>. The message itself is at level 1.
+	 * @return		the deepest level of a structure
+	 */
+	private int readItems(byte[] ttlv, int pos, int end, int level, ArrayList<int[]> items){
+		int maximumLevel = 0;
+		while(pos < end){
+			int type = ttlv[pos + 3] & 0xFF;
+			int length = ((ttlv[pos + 4] & 0xFF) << 24) | ((ttlv[pos + 5] & 0xFF) << 16) | ((ttlv[pos + 6] & 0xFF) << 8) | (ttlv[pos + 7] & 0xFF);
+			items.add(new int[]{pos, type, length, level});
+			if(type == EnumType.Structure){
+				maximumLevel = Math.max(maximumLevel, Math.max(level, readItems(ttlv, pos + TTL_SIZE, pos + TTL_SIZE + length, level + 1, items)));
+				pos += TTL_SIZE + length;
+			} else{
+				pos += TTL_SIZE + ((length + 7) & ~7);
+			}
+		}
+		return maximumLevel;
+	}
+
+	/**
+	 * @param type			the type of the item, or -1 for any type but a structure
+	 * @param padding		0 for an item followed by padding bytes, -1 for any item
+	 * @return				the first such item, or <code>null</code>
+	 */
+	private int[] findItem(ArrayList<int[]> items, int type, int padding){
+		for(int[] item : items){
+			if(item[1] == EnumType.Structure || (type != -1 && item[1] != type)){
+				continue;
+			}
+			if(padding == 0 && item[2] % 8 == 0){
+				continue;
+			}
+			return item;
+		}
+		return null;
+	}
+
+	private String getTTLV(Element useCase, String name){
+		return useCase.getElementsByTagName(name).item(0).getTextContent().trim();
+	}
+
+}
@@ -34,6 +34,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 import ch.ntb.inf.kmip.utils.KMIPUtils;
 
 public class KMIPBigInteger extends KMIPType {
@@ -74,17 +75,25 @@ public class KMIPBigInteger extends KMIPType {
 	}
 
 	public ArrayList<Byte> toArrayList(KMIPAttributeValue attributeValue) {
-		ArrayList<Byte> returnValue = new ArrayList<>();
-		for (Byte aValue : value) {
-			returnValue.add(aValue);
+		this.setLength(value.size());
+		int pLen = (8 - (length % 8)) % 8;
+		ArrayList<Byte> returnValue = new ArrayList<>(length + pLen);
+		returnValue.addAll(value);
+		for (int i = 0; i < pLen; i++) {
+			returnValue.add((byte) 0x00);
 		}
-		this.setLength(returnValue.size());
+		return returnValue;
+	}
 
-		int pLen = 8 - (length % 8);
-		if ((pLen > 0) && (pLen < 8)) {
-			returnValue.addAll(pad(pLen));
+	public int encodedLength() {
+		return value.size();
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		for (int i = 0; i < value.size(); i++) {
+			sink.writeByte(value.get(i));
 		}
-		return returnValue;
+		sink.writePadding(value.size());
 	}
 	
 
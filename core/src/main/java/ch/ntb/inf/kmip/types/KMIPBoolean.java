@@ -31,6 +31,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 
 public class KMIPBoolean extends KMIPType {
 	
@@ -111,4 +112,12 @@ public class KMIPBoolean extends KMIPType {
 		return value;
 	}
 
+	public int encodedLength() {
+		return defaultLength;
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		sink.writeLong(value ? 1 : 0);
+	}
+
 }
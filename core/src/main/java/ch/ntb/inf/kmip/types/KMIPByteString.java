@@ -30,6 +30,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 import ch.ntb.inf.kmip.utils.KMIPUtils;
 
 public class KMIPByteString extends KMIPType {
@@ -64,31 +65,30 @@ public class KMIPByteString extends KMIPType {
 	}
 
 	public ArrayList<Byte> toArrayList(KMIPAttributeValue attributeValue) {
-		ArrayList<Byte> returnValue = new ArrayList<>();
-		for (byte aValue : value) {
-			returnValue.add(aValue);
-		}
-		attributeValue.setLength(returnValue.size());
-
-		int pLen = 8 - (value.length % 8);
-		if ((pLen > 0) && (pLen < 8)) {
-			returnValue.addAll(pad(pLen));
-		}
-		return returnValue;
+		attributeValue.setLength(value.length);
+		return toArrayList();
 	}
 	
 	public ArrayList<Byte> toArrayList(){
-		ArrayList<Byte> returnValue = new ArrayList<>();
+		int pLen = (8 - (value.length % 8)) % 8;
+		ArrayList<Byte> returnValue = new ArrayList<>(value.length + pLen);
 		for (byte aValue : value) {
 			returnValue.add(aValue);
 		}
-
-		int pLen = 8 - (value.length % 8);
-		if ((pLen > 0) && (pLen < 8)) {
-			returnValue.addAll(pad(pLen));
+		for (int i = 0; i < pLen; i++) {
+			returnValue.add((byte) 0x00);
 		}
 		return returnValue;
 	}
+
+	public int encodedLength() {
+		return value.length;
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		sink.writeBytes(value);
+		sink.writePadding(value.length);
+	}
 	
 	public ArrayList<Byte> pad(int n){
 		ArrayList<Byte> al = new ArrayList<>();
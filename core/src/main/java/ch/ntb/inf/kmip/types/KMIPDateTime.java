@@ -32,58 +32,97 @@ import java.util.ArrayList;
 import java.util.Date;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 
+/**
+ * The value is kept in seconds since the Epoch, like it is encoded, so it is neither
+ * converted when it is encoded or decoded, nor when it is passed on as <code>String</code>.
+ * <p>
+ * Note: before, <code>KMIPDateTime(long)</code>, <code>KMIPDateTime(String)</code> and
+ * <code>getValue()</code> used milliseconds since the Epoch, and <code>getValueString()</code>
+ * returned the text of a <code>Date</code>. All of them use seconds now. A value, which has not
+ * been set, is still returned as empty <code>String</code> by <code>getValueString()</code>.
+ */
 public class KMIPDateTime extends KMIPType {
 	
 	private final int defaultLength = 8;
 	
-	private Date value;
+	private long value;
+	private boolean set;
 
 	public KMIPDateTime(Date value) {
 		super();
-		this.value = value;
+		setValue(value);
 	}
 	
+	/**
+	 * @param value :	the seconds since the Epoch
+	 */
 	public KMIPDateTime(long value) {
 		super();
-		this.value = new Date(value);
+		setValue(value);
 	}
 	
+	/**
+	 * @param value :	the seconds since the Epoch, decimal or hexadecimal with the prefix "0x",
+	 * 					or an empty <code>String</code> for a value, which is not set
+	 */
 	public KMIPDateTime(String value){
 		super();
-		this.value = new Date(Long.parseLong(value));
+		setValue(value);
 	}
 	
 	public KMIPDateTime() {
 	}
 
+	/**
+	 * @return the current time in seconds since the Epoch
+	 */
 	public static long createCurrentDateTime(){
-		return new Date().getTime();
+		return System.currentTimeMillis() / 1000;
 	}
 	
+	/**
+	 * @return the seconds since the Epoch
+	 */
 	public long getValue() {
-		return value.getTime();
+		return value;
 	}
 
-	public void setValue(Date value) {
+	public void setValue(long value) {
 		this.value = value;
+		this.set = true;
+	}
+
+	public void setValue(Date value) {
+		setValue(value.getTime() / 1000);
+	}
+	
+	public Date toDate() {
+		return new Date(value * 1000);
 	}
 	
 	public String toString(){
-		return value.toString();
+		if(!set){
+			return "";
+		}
+		return toDate().toString();
 	}
 
 	public void setValue(String value) {
-		if(value.length() >=2 && value.substring(0, 2).equals("0x")){
-			this.value = new Date(Long.parseLong(value.substring(2), 16) * 1000);
+		if(value.isEmpty()){
+			this.value = 0;
+			this.set = false;
+		} else if(value.length() >=2 && value.substring(0, 2).equals("0x")){
+			setValue(Long.parseLong(value.substring(2), 16));
 		} else{
-			this.value = new Date(Long.parseLong(value) * 1000);
+			setValue(Long.parseLong(value));
 		}
 	
 	}
 
 	public ArrayList<Byte> toArrayList(KMIPAttributeValue attributeValue) {
-		long dateValue = this.value.getTime() / 1000;
+		long dateValue = this.value;
 		ArrayList<Byte> al = new ArrayList<>();
 		al.add((byte) (dateValue >> 56));
 		al.add((byte) (dateValue >> 48));
@@ -97,14 +136,25 @@ public class KMIPDateTime extends KMIPType {
 		return al;
 	}
 
+	public int encodedLength() {
+		return defaultLength;
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		sink.writeLong(value);
+	}
+
 	public int getDefaultLength() {
 		return this.defaultLength;
 	}
 
+	/**
+	 * @return the seconds since the Epoch as decimal <code>String</code>, or an empty <code>String</code> if the value is not set
+	 */
 	public String getValueString() {
-		if(value == null){
+		if(!set){
 			return "";
 		}
-		return this.value.toString();
+		return Long.toString(value);
 	}
 }
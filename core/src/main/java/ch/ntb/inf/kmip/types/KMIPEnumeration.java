@@ -29,12 +29,12 @@
 package ch.ntb.inf.kmip.types;
 
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
 import ch.ntb.inf.kmip.kmipenum.KMIPEnumUndefinedKeyException;
 import ch.ntb.inf.kmip.kmipenum.KMIPEnumUndefinedValueException;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 
 public abstract class KMIPEnumeration extends KMIPType{
@@ -43,6 +43,8 @@ public abstract class KMIPEnumeration extends KMIPType{
 
 	protected Entry<String, Integer> value; 
 
+	private boolean shared;
+
 	public abstract void setValue(String value);
 
 
@@ -62,6 +64,15 @@ public abstract class KMIPEnumeration extends KMIPType{
 		return value;
 	}
 
+	public int encodedLength() {
+		return defaultLength;
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		sink.writeInt(value.getValue());
+		sink.writePadding(defaultLength);
+	}
+
 
 	public int getDefaultLength() {
 		return defaultLength;
@@ -71,22 +82,33 @@ public abstract class KMIPEnumeration extends KMIPType{
 		return Integer.toString(value.getValue());
 	}
 	
-	protected Entry<String, Integer> getEntry(int value, HashMap<String, Integer> values) throws KMIPEnumUndefinedValueException{
-		for (Map.Entry<String, Integer> e : values.entrySet()){
-		    if(e.getValue()==value){
-		    	return e;
-		    }
+	protected Entry<String, Integer> getEntry(int value, KMIPEnumerationTable values) throws KMIPEnumUndefinedValueException{
+		int index = values.indexOf(value);
+		if(index == -1){
+			throw new KMIPEnumUndefinedValueException(value, this.getClass().getName());
 		}
-		throw new KMIPEnumUndefinedValueException(value, this.getClass().getName());
+		return values.getEntry(index);
+	}
+	
+	protected Entry<String, Integer> getEntry(String key, KMIPEnumerationTable values) throws KMIPEnumUndefinedKeyException{
+		int index = values.indexOf(key);
+		if(index == -1){
+			throw new KMIPEnumUndefinedKeyException(key, this.getClass().getName());
+		}
+		return values.getEntry(index);
+	}
+	
+	/**
+	 * Marks this instance as shared, so its value can not be changed anymore.
+	 */
+	protected void setShared(){
+		this.shared = true;
 	}
 	
-	protected Entry<String, Integer> getEntry(String key, HashMap<String, Integer> values) throws KMIPEnumUndefinedKeyException{
-		for (Map.Entry<String, Integer> e : values.entrySet()){
-		    if(e.getKey().equals(key)){
-		    	return e;
-		    }
+	protected void checkNotShared(){
+		if(shared){
+			throw new UnsupportedOperationException(this.getClass().getSimpleName() + " is shared and can not be changed");
 		}
-		throw new KMIPEnumUndefinedKeyException(key, this.getClass().getName());
 	}
 	
 	public String getKey(){
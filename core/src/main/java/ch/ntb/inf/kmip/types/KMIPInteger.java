@@ -29,6 +29,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 
 
 public class KMIPInteger extends KMIPType{
@@ -95,6 +96,15 @@ public class KMIPInteger extends KMIPType{
 		return value;
 	}
 
+	public int encodedLength() {
+		return defaultLength;
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		sink.writeInt(value);
+		sink.writePadding(defaultLength);
+	}
+
 
 
 
@@ -30,6 +30,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 
 public class KMIPInterval extends KMIPType {
 
@@ -93,5 +94,14 @@ public class KMIPInterval extends KMIPType {
 		attributeValue.setLength(defaultLength);
 		return value;
 	}
+
+	public int encodedLength() {
+		return defaultLength;
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		sink.writeInt((int) value);
+		sink.writePadding(defaultLength);
+	}
 	
 }
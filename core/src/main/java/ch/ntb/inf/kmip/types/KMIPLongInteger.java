@@ -29,6 +29,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 
 public class KMIPLongInteger extends KMIPType {
 	
@@ -81,6 +82,14 @@ public class KMIPLongInteger extends KMIPType {
 		return value;
 	}
 
+	public int encodedLength() {
+		return defaultLength;
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		sink.writeLong(value);
+	}
+
 	public int getDefaultLength() {
 		return defaultLength;
 	}
@@ -30,6 +30,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 
 public class KMIPTextString extends KMIPType{
 	
@@ -62,40 +63,41 @@ public class KMIPTextString extends KMIPType{
 		if(attributeValue == null){
 			return toArrayList();
 		} else{
-			int length = this.value.getBytes().length;
-			byte[] b = new byte[length];
-			b = this.value.getBytes();
-			ArrayList<Byte> value = new ArrayList<>();
-			for (byte aB : b) {
-				value.add(aB);
-			}
-			attributeValue.setLength(value.size());
-
-			int pLen = 8 - (length % 8);
-			if ((pLen > 0) && (pLen < 8)) {
-				value.addAll(pad(pLen));
-			}
+			ArrayList<Byte> value = toArrayList(this.value.getBytes());
+			attributeValue.setLength(getLength());
 			return value;
 		}
 	}
 	
 	// used for other objects
 	public ArrayList<Byte> toArrayList() {
-		int length = this.value.getBytes().length;
-		byte[] b = new byte[length];
-		b = this.value.getBytes();
-		ArrayList<Byte> value = new ArrayList<>();
+		return toArrayList(this.value.getBytes());
+	}
+
+	private ArrayList<Byte> toArrayList(byte[] b) {
+		this.setLength(b.length);
+		int pLen = (8 - (b.length % 8)) % 8;
+		ArrayList<Byte> value = new ArrayList<>(b.length + pLen);
 		for (byte aB : b) {
 			value.add(aB);
 		}
-		this.setLength(value.size());
-
-		int pLen = 8 - (length % 8);
-		if ((pLen > 0) && (pLen < 8)) {
-			value.addAll(pad(pLen));
+		for (int i = 0; i < pLen; i++) {
+			value.add((byte) 0x00);
 		}
 		return value;
 	}
+
+	/**
+	 * @return		the length of the UTF-8 encoded text, computed without encoding it
+	 */
+	public int encodedLength() {
+		return KMIPByteSink.utf8Length(value);
+	}
+
+	public void writeTo(KMIPByteSink sink) {
+		int length = sink.writeUTF8(value);
+		sink.writePadding(length);
+	}
 	
 	public ArrayList<Byte> pad(int n){
 		ArrayList<Byte> al = new ArrayList<>();
@@ -27,6 +27,7 @@ package ch.ntb.inf.kmip.types;
 import java.util.ArrayList;
 
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
+import ch.ntb.inf.kmip.process.encoder.KMIPByteSink;
 
 public abstract class KMIPType {
 	
@@ -34,6 +35,18 @@ public abstract class KMIPType {
 
 	public abstract ArrayList<Byte> toArrayList(KMIPAttributeValue value);
 
+	/**
+	 * @return		the length of the encoded value without padding, as it is written in the TTLV length field
+	 */
+	public abstract int encodedLength();
+
+	/**
+	 * Writes the encoded value followed by its padding to a multiple of 8 bytes.
+	 *
+	 * @param sink :	the <code>KMIPByteSink</code> the value is written into.
+	 */
+	public abstract void writeTo(KMIPByteSink sink);
+
 	public abstract int getDefaultLength();
 
 	public abstract String getValueString();
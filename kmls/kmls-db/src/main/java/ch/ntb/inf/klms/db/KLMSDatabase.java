@@ -56,6 +56,7 @@ public class KLMSDatabase implements KLMSDatabaseInterface{
 
 	public KLMSDatabase(){
 		emf = Persistence.createEntityManagerFactory("klmsdb");
+		new KLMSDateTimeMigration().migrate(emf);
 	}
 
 	public void clean(){
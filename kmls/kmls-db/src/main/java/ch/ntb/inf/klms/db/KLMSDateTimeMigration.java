@@ -0,0 +1,98 @@
+/**
+ * KLMSDateTimeMigration.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KLMSDateTimeMigration moves the Date-Time values, which were
+ * stored as text in the VALUE column, into the numeric DATETIMEVALUE
+ * column, in seconds since the Epoch.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+package ch.ntb.inf.klms.db;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Locale;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.TypedQuery;
+
+import ch.ntb.inf.klms.model.attributes.KLMSAttributeValue;
+
+/**
+ * Earlier versions stored a Date-Time as <code>Date.toString()</code>, or as milliseconds
+ * since the Epoch for the dates set by the server. The migration only touches rows with an
+ * empty DATETIMEVALUE column, so it can be run at every start.
+ */
+public class KLMSDateTimeMigration {
+
+	private static final String LEGACY_FORMAT = "EEE MMM dd HH:mm:ss z yyyy";
+
+	// a larger number can not be seconds (it would be in the year 5138), but milliseconds
+	private static final long MAXIMUM_SECONDS = 100000000000L;
+
+	/**
+	 * @return the number of migrated values
+	 */
+	public int migrate(EntityManagerFactory emf) {
+		EntityManager em = emf.createEntityManager();
+		em.getTransaction().begin();
+
+		String query = "select v, v.value from KLMSAttributeValue v where v.type = 'DateTime' and v.dateTimeValue is null and v.value is not null";
+		TypedQuery<Object[]> tq = em.createQuery(query, Object[].class);
+		List<Object[]> rows = tq.getResultList();
+
+		SimpleDateFormat sdf = new SimpleDateFormat(LEGACY_FORMAT, Locale.ENGLISH);
+		int migrated = 0;
+		for(Object[] row : rows){
+			KLMSAttributeValue value = (KLMSAttributeValue) row[0];
+			Long seconds = toSeconds((String) row[1], sdf);
+			if(seconds != null){
+				value.setValue(Long.toString(seconds));
+				migrated++;
+			}
+		}
+
+		em.getTransaction().commit();
+		em.close();
+		return migrated;
+	}
+
+	/**
+	 * @return the seconds since the Epoch, or <code>null</code> if the text is no Date-Time
+	 */
+	private Long toSeconds(String text, SimpleDateFormat sdf) {
+		try {
+			long number = Long.parseLong(text);
+			if(number == Long.MAX_VALUE || number < MAXIMUM_SECONDS){
+				return number;
+			}
+			return number / 1000;
+		} catch (NumberFormatException e) {
+			// no number, but the text of a Date
+		}
+		try {
+			return sdf.parse(text).getTime() / 1000;
+		} catch (ParseException e) {
+			return null;
+		}
+	}
+
+}
@@ -0,0 +1,202 @@
+/**
+ * KLMSAttributeRegistry.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KLMSAttributeRegistry maps the name of an attribute to a
+ * factory for the attribute of the KLMS model, like the
+ * KMIPAttributeRegistry does for the KMIP attributes. The table is
+ * built once when the class is loaded.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.klms.model.attributes;
+
+import java.util.HashMap;
+
+import ch.ntb.inf.klms.model.objects.base.Attribute;
+
+public final class KLMSAttributeRegistry {
+
+	/**
+	 * Creates a new instance of an attribute with its default value.
+	 */
+	public interface AttributeFactory {
+		Attribute create();
+	}
+
+	private static final HashMap<String, AttributeFactory> attributes = new HashMap<>();
+
+	static{
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ActivationDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ApplicationSpecificInformation(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ArchiveDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateIdentifier(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateIssuer(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateSubject(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CertificateType(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CompromiseDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CompromiseOccurrenceDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ContactInformation(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicAlgorithm(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicDomainParameters(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicLength(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicParameters(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new CryptographicUsageMask(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new DeactivationDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new DestroyDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Digest(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new InitialDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new LastChangeDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new LeaseTime(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Link(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Name(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ObjectGroup(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ObjectType(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Offset(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new OperationPolicyName(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ProcessStartDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new ProtectStopDate(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new QueryFunction(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new QueryOperation(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new RevocationReason(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new State(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new StorageStatusMask(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new UniqueIdentifier(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new UsageLimits(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new XPurpose(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Xattribute1(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Xattribute2(); }
+		});
+		register(new AttributeFactory(){
+			public Attribute create(){ return new Xprovider(); }
+		});
+	}
+
+	private KLMSAttributeRegistry(){
+	}
+
+	// registers an attribute by its name (e.g. "Cryptographic Algorithm") and by its class name (e.g. "CryptographicAlgorithm")
+	private static void register(AttributeFactory factory){
+		String name = factory.create().getAttributeName();
+		attributes.put(name, factory);
+		attributes.put(toClassName(name), factory);
+	}
+
+	/**
+	 * @param attributeName :	the name of the attribute or the name of its class
+	 * @return					the <code>AttributeFactory</code> or <code>null</code>, if the attribute is unknown
+	 */
+	public static AttributeFactory getAttributeFactory(String attributeName){
+		AttributeFactory factory = attributes.get(attributeName);
+		if(factory == null){
+			factory = attributes.get(toClassName(attributeName));
+		}
+		return factory;
+	}
+
+	// removes whitespaces and '-' and capitalizes the first letter, e.g. "x-Purpose" -> "XPurpose"
+	private static String toClassName(String attributeName){
+		StringBuilder sb = new StringBuilder(attributeName.length());
+		for(int i = 0; i < attributeName.length(); i++){
+			char c = attributeName.charAt(i);
+			if(c != '-' && !Character.isWhitespace(c)){
+				sb.append(sb.length() == 0 ? Character.toUpperCase(c) : c);
+			}
+		}
+		return sb.toString();
+	}
+
+}
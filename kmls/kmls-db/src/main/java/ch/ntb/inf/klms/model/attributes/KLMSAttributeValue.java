@@ -21,10 +21,6 @@
  */
 package ch.ntb.inf.klms.model.attributes;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Locale;
-
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
@@ -42,6 +38,9 @@ public class KLMSAttributeValue {
 	
 	private String value;
 	
+	// a Date-Time is kept in seconds since the Epoch, like it is encoded, instead of the value
+	private Long dateTimeValue;
+	
 	private String type;
 	
 	private String tag;
@@ -57,15 +56,15 @@ public class KLMSAttributeValue {
 	public KLMSAttributeValue(String type, String tag, String value, String name) {
 		this.type = type;
 		this.tag = tag;
-		this.value = value;
+		setValue(value);
 		this.name = name;
-		this.length = getDefaultLength(new EnumTypeKLMS(type));
+		this.length = getDefaultLength(EnumTypeKLMS.valueOf(type));
 	}
 
 	public KLMSAttributeValue(String type, String tag) {
 		this.type = type;
 		this.tag = tag;
-		this.length = getDefaultLength(new EnumTypeKLMS(type));
+		this.length = getDefaultLength(EnumTypeKLMS.valueOf(type));
 	}
 	
 	
@@ -82,8 +81,34 @@ public class KLMSAttributeValue {
 		}
 	}
 
+	/**
+	 * @param value :	the value, a Date-Time in seconds since the Epoch, or an empty string if it is not set
+	 */
 	public void setValue(String value){
-		this.value = value;
+		if(isDateTime()){
+			this.dateTimeValue = value == null || value.isEmpty() ? null : Long.valueOf(value);
+			this.value = null;
+		} else{
+			this.value = value;
+		}
+	}
+	
+	/**
+	 * @return the seconds since the Epoch of a Date-Time, 0 if it is not set
+	 */
+	public long getDateTimeValue(){
+		return dateTimeValue == null ? 0 : dateTimeValue;
+	}
+	
+	/**
+	 * @return the current time in seconds since the Epoch, as Date-Time values are kept
+	 */
+	public static long currentDateTime(){
+		return System.currentTimeMillis() / 1000;
+	}
+	
+	private boolean isDateTime(){
+		return "DateTime".equals(type);
 	}
 	
 	public String getName(){
@@ -103,32 +128,28 @@ public class KLMSAttributeValue {
 	}
 
 	public String getValueString(){
-		if(type.equals("DateTime")){
-
-			SimpleDateFormat sdf = new SimpleDateFormat("EEE MMM dd HH:mm:ss z yyyy", Locale.ENGLISH);  
-
-			try {
-				return Long.toString(sdf.parse(value).getTime() / 1000);
-			} catch (ParseException e) {
-				e.printStackTrace();
-			}
+		if(isDateTime()){
+			return dateTimeValue == null ? null : Long.toString(dateTimeValue);
 		}
 		return value;
 	}
 
 	public int getTag() {
-		return new EnumTag(tag).getValue();
+		return EnumTag.valueOf(tag).getValue();
 	}
 	
 	public byte getType() {
-		return (byte) new EnumTypeKLMS(type).getValue();
+		return (byte) EnumTypeKLMS.valueOf(type).getValue();
 	}
 	
 	public EnumTypeKLMS getTypeAsEnumType() {
-		return new EnumTypeKLMS(type);
+		return EnumTypeKLMS.valueOf(type);
 	}
 	
 	public boolean equals(KLMSAttributeValue other) {
+		if(isDateTime()){
+			return this.dateTimeValue != null && this.dateTimeValue.equals(other.dateTimeValue);
+		}
 		return this.value.equals(other.value);
 	}
 	
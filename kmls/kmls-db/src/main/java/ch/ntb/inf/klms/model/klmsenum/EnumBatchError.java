@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumBatchError extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumBatchError.class);
 	
 	public static final int Default		= 0x00;
 	public static final int Continue 	= 0x01;
@@ -35,20 +33,6 @@ public class EnumBatchError extends KLMSEnumeration{
 	public static final int Undo 		= 0x03;
 
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumBatchError.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumBatchError.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumBatchError(){
 		try {
 			this.value = getEntry(EnumBatchError.Default, values);
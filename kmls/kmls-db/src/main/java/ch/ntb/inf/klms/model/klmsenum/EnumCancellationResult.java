@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumCancellationResult extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumCancellationResult.class);
 	
 	public static final int Default			= 0x00;
 	public static final int Cancelled		= 0x01;
@@ -36,20 +34,6 @@ public class EnumCancellationResult extends KLMSEnumeration{
 	public static final int Failed			= 0x04;
 	public static final int Unavailable		= 0x05;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumCancellationResult.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumCancellationResult.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumCancellationResult(){
 		try {
 			this.value = getEntry(EnumCancellationResult.Default, values);
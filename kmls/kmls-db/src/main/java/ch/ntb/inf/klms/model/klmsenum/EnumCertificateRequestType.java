@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumCertificateRequestType extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumCertificateRequestType.class);
 	
 	public static final int Default	= -1;
 	public static final int CRMF	= 0x01;
@@ -35,20 +33,6 @@ public class EnumCertificateRequestType extends KLMSEnumeration{
 	public static final int PEM		= 0x03;
 	public static final int PGP		= 0x04;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumCertificateRequestType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumCertificateRequestType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumCertificateRequestType(){
 		try {
 			this.value = getEntry(EnumCertificateRequestType.Default, values);
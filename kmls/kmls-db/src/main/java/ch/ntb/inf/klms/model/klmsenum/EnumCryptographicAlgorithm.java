@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumCryptographicAlgorithm extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumCryptographicAlgorithm.class);
 	
 	public static final int Default		= -1;
 	public static final int DES 		= 0x01;
@@ -56,20 +54,6 @@ public class EnumCryptographicAlgorithm extends KLMSEnumeration{
 	public static final int Twofish 	= 0x18;
 	public static final int PGP 		= 0x19;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumCryptographicAlgorithm.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumCryptographicAlgorithm.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumCryptographicAlgorithm(){
 		try {
 			this.value = getEntry(EnumCryptographicAlgorithm.Default, values);
@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumHashingAlgorithm extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumHashingAlgorithm.class);
 	
 	public static final int Default		= -1;
 	public static final int MD2			= 0x01;
@@ -42,20 +40,6 @@ public class EnumHashingAlgorithm extends KLMSEnumeration{
 	public static final int Tiger		= 0x0A;
 	public static final int Whirlpool	= 0x0B;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumHashingAlgorithm.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumHashingAlgorithm.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumHashingAlgorithm(){
 		try {
 			this.value = getEntry(EnumHashingAlgorithm.Default, values);
@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumKeyCompressionType extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumKeyCompressionType.class);
 	
 	public static final int Default									= -1;
 	public static final int ECPublicKeyTypeUncompressed				= 0x01;
@@ -35,20 +33,6 @@ public class EnumKeyCompressionType extends KLMSEnumeration{
 	public static final int ECPublicKeyTypeX9_62_CompressedChar2	= 0x03;
 	public static final int ECPublicKeyTypeX9_62_Hybrid				= 0x04;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumKeyCompressionType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumKeyCompressionType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumKeyCompressionType(){
 		try {
 			this.value = getEntry(EnumKeyCompressionType.Default, values);
@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumLinkType extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumLinkType.class);
 	
 	public static final int Default						= -1;
 	public static final int CertificateLink				= 0x101;
@@ -38,20 +36,6 @@ public class EnumLinkType extends KLMSEnumeration{
 	public static final int ReplacementObjectLink 		= 0x106;
 	public static final int ReplacedObjectLink 			= 0x107;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumLinkType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumLinkType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumLinkType(){
 		try {
 			this.value = getEntry(EnumLinkType.Default, values);
@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumObjectType extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumObjectType.class);
 	
 	public static final int Default		 	= 0x00;
 	public static final int Certificate 	= 0x01;
@@ -39,20 +37,6 @@ public class EnumObjectType extends KLMSEnumeration{
 	public static final int SecretData 		= 0x07;
 	public static final int OpaqueObject 	= 0x08;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumObjectType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumObjectType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumObjectType(){
 		try {
 			this.value = getEntry(EnumObjectType.Default, values);
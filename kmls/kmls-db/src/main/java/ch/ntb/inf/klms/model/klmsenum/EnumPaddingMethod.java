@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumPaddingMethod extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumPaddingMethod.class);
 	
 	public static final int Default		= -1;
 	public static final int None 		= 0x01;
@@ -41,20 +39,6 @@ public class EnumPaddingMethod extends KLMSEnumeration{
 	public static final int X9_31 		= 0x09;
 	public static final int PSS 		= 0x0A;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumPaddingMethod.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumPaddingMethod.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumPaddingMethod(){
 		try {
 			this.value = getEntry(EnumPaddingMethod.Default, values);
@@ -21,32 +21,16 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumPutFunction extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumPutFunction.class);
 	
 	public static final int Default	= -1;
 	public static final int New		= 0x01;
 	public static final int Replace	= 0x02;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumPutFunction.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumPutFunction.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumPutFunction(){
 		try {
 			this.value = getEntry(EnumPutFunction.Default, values);
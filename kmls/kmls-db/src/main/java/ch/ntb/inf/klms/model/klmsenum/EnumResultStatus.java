@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumResultStatus extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumResultStatus.class);
 	
 	public static final int Default				= -1;
 	public static final int Success 			= 0x00;
@@ -35,20 +33,6 @@ public class EnumResultStatus extends KLMSEnumeration{
 	public static final int OperationPending 	= 0x02;
 	public static final int OperationUndone 	= 0x03;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumResultStatus.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumResultStatus.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumResultStatus(){
 		try {
 			this.value = getEntry(EnumResultStatus.Default, values);
@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumRevocationReasonCode extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumRevocationReasonCode.class);
 	
 	public static final int Default					= 0x00;
 	public static final int Unspecified 			= 0x01;
@@ -38,20 +36,6 @@ public class EnumRevocationReasonCode extends KLMSEnumeration{
 	public static final int CessationOfOperation 	= 0x06;
 	public static final int PrivilegeWithdrawn 		= 0x07;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumRevocationReasonCode.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumRevocationReasonCode.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumRevocationReasonCode(){
 		try {
 			this.value = getEntry(EnumRevocationReasonCode.Default, values);
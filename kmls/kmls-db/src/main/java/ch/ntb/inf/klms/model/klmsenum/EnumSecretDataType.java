@@ -21,32 +21,16 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumSecretDataType extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumSecretDataType.class);
 	
 	public static final int Default		= 0x00;
 	public static final int Password	= 0x01;
 	public static final int Seed		= 0x02;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumSecretDataType.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumSecretDataType.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumSecretDataType(){
 		try {
 			this.value = getEntry(EnumSecretDataType.Default, values);
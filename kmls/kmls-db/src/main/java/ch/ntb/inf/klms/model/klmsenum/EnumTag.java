@@ -21,13 +21,13 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import java.util.Map.Entry;
+
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumTag extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumTag.class);
 	
 	public static final int Default		 	= -1;
 	public static final int ActivationDate = 0x420001;
@@ -192,18 +192,36 @@ public class EnumTag extends KLMSEnumeration{
 	public static final int Y = 0x4200A0;
 	public static final int Password = 0x4200A1;
 	
+	private static final EnumTag[] instances = new EnumTag[values.size()];
+	
 	static{
-		values = new HashMap<>();
-		Field[] fields = EnumTag.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumTag.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
+		for(int i = 0; i < instances.length; i++){
+			instances[i] = new EnumTag(values.getEntry(i));
+		}
+	}
+	
+	/**
+	 * Returns the shared instance of the given tag, which can not be changed,
+	 * instead of creating a new one.
+	 */
+	public static EnumTag valueOf(int value){
+		int index = values.indexOf(value);
+		if(index == -1){
+			return new EnumTag(value);
 		}
+		return instances[index];
+	}
+	
+	/**
+	 * Returns the shared instance of the tag with the given key, which can not be
+	 * changed, instead of creating a new one.
+	 */
+	public static EnumTag valueOf(String key){
+		int index = values.indexOf(key);
+		if(index == -1){
+			return new EnumTag(key);
+		}
+		return instances[index];
 	}
 	
 	public EnumTag(){
@@ -230,7 +248,13 @@ public class EnumTag extends KLMSEnumeration{
 		}
 	}
 	
+	private EnumTag(Entry<String, Integer> entry){
+		this.value = entry;
+		setShared();
+	}
+	
 	public void setValue(String value) {
+		checkNotShared();
 		try {
 			this.value = getEntry(value, values);
 		} catch (KLMSEnumUndefinedKeyException e) {
@@ -21,13 +21,13 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import java.util.Map.Entry;
+
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumTypeKLMS extends KLMSEnumeration{
 	
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumTypeKLMS.class);
 	
 	public static final int Default		= -1;
 	public static final int Structure 	= 0x01;
@@ -41,18 +41,36 @@ public class EnumTypeKLMS extends KLMSEnumeration{
 	public static final int DateTime 	= 0x09;
 	public static final int Interval	= 0x0A;
 	
+	private static final EnumTypeKLMS[] instances = new EnumTypeKLMS[values.size()];
+	
 	static{
-		values = new HashMap<>();
-		Field[] fields = EnumTypeKLMS.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumTypeKLMS.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
+		for(int i = 0; i < instances.length; i++){
+			instances[i] = new EnumTypeKLMS(values.getEntry(i));
+		}
+	}
+	
+	/**
+	 * Returns the shared instance of the given type, which can not be changed,
+	 * instead of creating a new one.
+	 */
+	public static EnumTypeKLMS valueOf(int value){
+		int index = values.indexOf(value);
+		if(index == -1){
+			return new EnumTypeKLMS(value);
 		}
+		return instances[index];
+	}
+	
+	/**
+	 * Returns the shared instance of the type with the given key, which can not be
+	 * changed, instead of creating a new one.
+	 */
+	public static EnumTypeKLMS valueOf(String key){
+		int index = values.indexOf(key);
+		if(index == -1){
+			return new EnumTypeKLMS(key);
+		}
+		return instances[index];
 	}
 	
 	public EnumTypeKLMS(){
@@ -79,7 +97,13 @@ public class EnumTypeKLMS extends KLMSEnumeration{
 		}
 	}
 	
+	private EnumTypeKLMS(Entry<String, Integer> entry){
+		this.value = entry;
+		setShared();
+	}
+	
 	public void setValue(String value) {
+		checkNotShared();
 		try {
 			this.value = getEntry(value, values);
 		} catch (KLMSEnumUndefinedKeyException e) {
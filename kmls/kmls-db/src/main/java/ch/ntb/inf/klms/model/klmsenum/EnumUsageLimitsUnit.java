@@ -21,32 +21,16 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumUsageLimitsUnit extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumUsageLimitsUnit.class);
 	
 	public static final int Default	= -1;
 	public static final int Byte	= 0x01;
 	public static final int Object	= 0x02;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumUsageLimitsUnit.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumUsageLimitsUnit.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumUsageLimitsUnit(){
 		try {
 			this.value = getEntry(EnumUsageLimitsUnit.Default, values);
@@ -21,13 +21,11 @@
  */
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.util.HashMap;
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
 
 public class EnumWrappingMethod extends KLMSEnumeration{
 
-	private static HashMap<String, Integer> values;
+	private static final KMIPEnumerationTable values = new KMIPEnumerationTable(EnumWrappingMethod.class);
 	
 	public static final int Default						= -1;
 	public static final int Encrypt 					= 0x01;
@@ -36,20 +34,6 @@ public class EnumWrappingMethod extends KLMSEnumeration{
 	public static final int MAC_or_sign_then_encrypt 	= 0x04;
 	public static final int TR_31 						= 0x05;
 	
-	static{
-		values = new HashMap<>();
-		Field[] fields = EnumWrappingMethod.class.getDeclaredFields();
-		for (Field f : fields) {
-		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers())){
-		    	try {
-					values.put(f.getName(),f.getInt(EnumWrappingMethod.class));
-				} catch (Exception e) {
-					e.printStackTrace();
-				}
-		    } 
-		}
-	}
-	
 	public EnumWrappingMethod(){
 		try {
 			this.value = getEntry(EnumWrappingMethod.Default, values);
@@ -22,10 +22,10 @@
 
 package ch.ntb.inf.klms.model.klmsenum;
 
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Map.Entry;
 
+import ch.ntb.inf.kmip.utils.KMIPEnumerationTable;
+
 
 public abstract class KLMSEnumeration{
 
@@ -33,7 +33,7 @@ public abstract class KLMSEnumeration{
 	
 	protected Entry<String, Integer> value; 
 
-	
+	private boolean shared;
 
 	public abstract void setValue(String value);
 
@@ -46,22 +46,33 @@ public abstract class KLMSEnumeration{
 		return Integer.toString(value.getValue());
 	}
 	
-	protected Entry<String, Integer> getEntry(int value, HashMap<String, Integer> values) throws KLMSEnumUndefinedValueException{
-		for (Map.Entry<String, Integer> e : values.entrySet()){
-		    if(e.getValue()==value){
-		    	return e;
-		    }
+	protected Entry<String, Integer> getEntry(int value, KMIPEnumerationTable values) throws KLMSEnumUndefinedValueException{
+		int index = values.indexOf(value);
+		if(index == -1){
+			throw new KLMSEnumUndefinedValueException(value, this.getClass().getName());
 		}
-		throw new KLMSEnumUndefinedValueException(value, this.getClass().getName());
+		return values.getEntry(index);
+	}
+	
+	protected Entry<String, Integer> getEntry(String key, KMIPEnumerationTable values) throws KLMSEnumUndefinedKeyException{
+		int index = values.indexOf(key);
+		if(index == -1){
+			throw new KLMSEnumUndefinedKeyException(key, this.getClass().getName());
+		}
+		return values.getEntry(index);
+	}
+	
+	/**
+	 * Marks this instance as shared, so its value can not be changed anymore.
+	 */
+	protected void setShared(){
+		this.shared = true;
 	}
 	
-	protected Entry<String, Integer> getEntry(String key, HashMap<String, Integer> values) throws KLMSEnumUndefinedKeyException{
-		for (Map.Entry<String, Integer> e : values.entrySet()){
-		    if(e.getKey().equals(key)){
-		    	return e;
-		    }
+	protected void checkNotShared(){
+		if(shared){
+			throw new UnsupportedOperationException(this.getClass().getSimpleName() + " is shared and can not be changed");
 		}
-		throw new KLMSEnumUndefinedKeyException(key, this.getClass().getName());
 	}
 	
 	public String getKey(){
@@ -37,6 +37,7 @@ import ch.ntb.inf.klms.model.attributes.CryptographicAlgorithm;
 import ch.ntb.inf.klms.model.attributes.CryptographicLength;
 import ch.ntb.inf.klms.model.attributes.Digest;
 import ch.ntb.inf.klms.model.klmsenum.EnumCryptographicAlgorithm;
+import ch.ntb.inf.kmip.utils.KMIPHex;
 
 @Entity
 public class KeyMaterial {
@@ -102,11 +103,7 @@ public class KeyMaterial {
 	}
 
 	public String getKMString() {
-		StringBuilder sb = new StringBuilder();
-		for (byte aKmByteString : kmByteString) {
-			sb.append(String.format("%02X", aKmByteString));
-		}
-		return sb.toString();
+		return KMIPHex.encode(kmByteString);
 	}
 
 //	public TransparentKeyStructure getTransparentKeyStructure() {
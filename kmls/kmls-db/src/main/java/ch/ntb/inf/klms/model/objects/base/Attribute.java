@@ -125,7 +125,7 @@ public abstract class Attribute {
 
 	/** @return gets Type of the Attribute */
 	public byte getAttributeType(){
-		return (byte) new EnumTypeKLMS(type).getValue();
+		return (byte) EnumTypeKLMS.valueOf(type).getValue();
 	}
 
 	/** @return the values */
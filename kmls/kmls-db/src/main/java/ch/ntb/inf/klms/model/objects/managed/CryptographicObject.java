@@ -23,7 +23,6 @@
 package ch.ntb.inf.klms.model.objects.managed;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -48,6 +47,7 @@ import ch.ntb.inf.klms.model.attributes.CryptographicUsageMask;
 import ch.ntb.inf.klms.model.attributes.DeactivationDate;
 import ch.ntb.inf.klms.model.attributes.DestroyDate;
 import ch.ntb.inf.klms.model.attributes.Digest;
+import ch.ntb.inf.klms.model.attributes.KLMSAttributeValue;
 import ch.ntb.inf.klms.model.attributes.LeaseTime;
 import ch.ntb.inf.klms.model.attributes.Link;
 import ch.ntb.inf.klms.model.attributes.RevocationReason;
@@ -128,7 +128,7 @@ public abstract class CryptographicObject extends ManagedObject {
 		
 		if(parameters.containsKey("Activation Date")){
 			this.activationDate = new ActivationDate(parameters.get("Activation Date"  + "value" + "1"));
-			if(new Date().getTime() >= Long.parseLong(this.activationDate.getValues()[0].getValueString())){
+			if(KLMSAttributeValue.currentDateTime() >= this.activationDate.getValues()[0].getDateTimeValue()){
 				this.state = new State(Integer.toString(EnumState.Active));
 			}
 		} 
@@ -254,7 +254,7 @@ public abstract class CryptographicObject extends ManagedObject {
 	public void activate() throws KLMSIllegalOperationException, KLMSObjectNotPreActiveException {
 		if(this.state.getValues()[0].getValueString().equals(Integer.toString(EnumState.PreActive))){
 			this.state.setValue(Integer.toString(EnumState.Active), null);
-			this.activationDate = new ActivationDate(new Date().toString());
+			this.activationDate = new ActivationDate(KLMSAttributeValue.currentDateTime());
 		} else{
 			throw new KLMSObjectNotPreActiveException();
 		}
@@ -269,13 +269,13 @@ public abstract class CryptographicObject extends ManagedObject {
 		for(Attribute a : attributes){
 			if(a instanceof RevocationReason){
 				this.revocationReason = (RevocationReason) a;
-				Date now = new Date();
+				String now = Long.toString(KLMSAttributeValue.currentDateTime());
 				if(a.getValues()[1].getValueString().equals(Integer.toString(EnumRevocationReasonCode.KeyCompromise))){
 					this.state.setValue(Integer.toString(EnumState.Compromised), null);
-					this.compromiseDate = new CompromiseDate(now.toString());
+					this.compromiseDate = new CompromiseDate(now);
 				} else{
 					this.state.setValue(Integer.toString(EnumState.Deactivated), null);
-					this.deactivationDate = new DeactivationDate(now.toString());
+					this.deactivationDate = new DeactivationDate(now);
 				}
 			}
 			else if(a instanceof CompromiseOccurrenceDate){
@@ -289,8 +289,7 @@ public abstract class CryptographicObject extends ManagedObject {
 		int currentState = Integer.parseInt(this.state.getValues()[0].getValueString());
 		if(currentState == EnumState.Active){
 			attributes.add(this.leaseTime);
-			Date currentDateTime = new Date();
-			this.lastChangeDate.setValue(currentDateTime.toString(), null);
+			this.lastChangeDate.setValue(Long.toString(KLMSAttributeValue.currentDateTime()), null);
 			attributes.add(this.lastChangeDate);
 		} else{
 			throw new KLMSPermissionDeniedException("Cryptographic Object is not Active");
@@ -301,7 +300,7 @@ public abstract class CryptographicObject extends ManagedObject {
 
 	public void destroy() {
 		this.state.setValue(Integer.toString(EnumState.Destroyed), null);
-		this.destroyDate = new DestroyDate(new Date().toString());
+		this.destroyDate = new DestroyDate(Long.toString(KLMSAttributeValue.currentDateTime()));
 	}
 
 	public boolean isDestroyed() {
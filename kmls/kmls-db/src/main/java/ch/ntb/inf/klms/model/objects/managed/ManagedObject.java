@@ -23,7 +23,6 @@
 package ch.ntb.inf.klms.model.objects.managed;
 
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -53,6 +52,7 @@ import ch.ntb.inf.klms.model.attributes.ArchiveDate;
 import ch.ntb.inf.klms.model.attributes.ContactInformation;
 import ch.ntb.inf.klms.model.attributes.CustomAttribute;
 import ch.ntb.inf.klms.model.attributes.InitialDate;
+import ch.ntb.inf.klms.model.attributes.KLMSAttributeValue;
 import ch.ntb.inf.klms.model.attributes.LastChangeDate;
 import ch.ntb.inf.klms.model.attributes.Name;
 import ch.ntb.inf.klms.model.attributes.ObjectGroup;
@@ -142,9 +142,9 @@ public abstract class ManagedObject {
 		
 		//default
 		this.uniqueIdentifier = new UniqueIdentifier(generateUID(objectType));
-		Date dateTime = new Date();
-		this.initialDate = new InitialDate(dateTime.toString());
-		this.lastChangeDate = new LastChangeDate(dateTime.toString());
+		String dateTime = Long.toString(KLMSAttributeValue.currentDateTime());
+		this.initialDate = new InitialDate(dateTime);
+		this.lastChangeDate = new LastChangeDate(dateTime);
 
 		
 		// optional
@@ -218,9 +218,9 @@ public abstract class ManagedObject {
 	public ManagedObject(ArrayList<Attribute> attributes, String objectType) {
 		//default
 		this.uniqueIdentifier = new UniqueIdentifier(generateUID(objectType));
-		Date dateTime = new Date();
-		this.initialDate = new InitialDate(dateTime.toString());
-		this.lastChangeDate = new LastChangeDate(dateTime.toString());
+		String dateTime = Long.toString(KLMSAttributeValue.currentDateTime());
+		this.initialDate = new InitialDate(dateTime);
+		this.lastChangeDate = new LastChangeDate(dateTime);
 		
 		for(Attribute a : attributes){
 			if(a instanceof Name){
@@ -245,8 +245,7 @@ public abstract class ManagedObject {
 
 	
 	public void archive(){
-		Date now = new Date();
-		this.archiveDate = new ArchiveDate(Long.toString(now.getTime())); 
+		this.archiveDate = new ArchiveDate(Long.toString(KLMSAttributeValue.currentDateTime())); 
 	}
 	
 	public void checkArchiveStatus() throws KLMSObjectArchivedException {
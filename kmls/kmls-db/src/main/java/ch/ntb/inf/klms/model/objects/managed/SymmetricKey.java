@@ -24,7 +24,6 @@ package ch.ntb.inf.klms.model.objects.managed;
 
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
@@ -48,6 +47,7 @@ import ch.ntb.inf.klms.model.attributes.DeactivationDate;
 import ch.ntb.inf.klms.model.attributes.DestroyDate;
 import ch.ntb.inf.klms.model.attributes.Digest;
 import ch.ntb.inf.klms.model.attributes.InitialDate;
+import ch.ntb.inf.klms.model.attributes.KLMSAttributeValue;
 import ch.ntb.inf.klms.model.attributes.LastChangeDate;
 import ch.ntb.inf.klms.model.attributes.LeaseTime;
 import ch.ntb.inf.klms.model.attributes.Link;
@@ -214,13 +214,13 @@ public class SymmetricKey extends CryptographicObject {
 		SymmetricKey newKey  = new SymmetricKey();
 		Attribute[] lifeCycleDates = new Attribute[5];
 	
-		Date currentTime = new Date();
-		long it2 = currentTime.getTime();
-		InitialDate initialDate = new InitialDate(currentTime.toString());
+		long currentTime = KLMSAttributeValue.currentDateTime();
+		long it2 = currentTime;
+		InitialDate initialDate = new InitialDate(Long.toString(currentTime));
 		newKey.addAttribute(initialDate);
 		lifeCycleDates[0] = initialDate;
 		
-		newKey.addAttribute(new LastChangeDate(currentTime.toString()));
+		newKey.addAttribute(new LastChangeDate(Long.toString(currentTime)));
 		newKey.addAttribute(new UniqueIdentifier(generateUID("SymmetricKey")));
 
 		// Offset
@@ -240,26 +240,26 @@ public class SymmetricKey extends CryptographicObject {
 				// do nothing
 			} 
 			else if(a instanceof ActivationDate){
-				at1 = Long.parseLong(a.getValues()[0].getValueString());
-				at2 = currentTime.getTime()+offset;
+				at1 = a.getValues()[0].getDateTimeValue();
+				at2 = currentTime+offset;
 				ActivationDate ad = new ActivationDate(at2);
 				newKey.addAttribute(ad);
 				lifeCycleDates[1] = ad;
 			}
 			else if(a instanceof ProcessStartDate){
-				ct1 = Long.parseLong(a.getValues()[0].getValueString());
+				ct1 = a.getValues()[0].getDateTimeValue();
 				ProcessStartDate psd = new ProcessStartDate();
 				newKey.addAttribute(psd);
 				lifeCycleDates[2] = psd;
 			}
 			else if(a instanceof ProtectStopDate){
-				tt1 = Long.parseLong(a.getValues()[0].getValueString());
+				tt1 = a.getValues()[0].getDateTimeValue();
 				ProtectStopDate psd = new ProtectStopDate();
 				newKey.addAttribute(psd);
 				lifeCycleDates[3] = psd;
 			}
 			else if(a instanceof DeactivationDate){
-				dt1 = Long.parseLong(a.getValues()[0].getValueString());
+				dt1 = a.getValues()[0].getDateTimeValue();
 				DeactivationDate dd = new DeactivationDate();
 				newKey.addAttribute(dd);
 				lifeCycleDates[4] = dd;
@@ -28,6 +28,8 @@ import java.util.Map.Entry;
 
 import ch.ntb.inf.kmip.attributes.CryptographicAlgorithm;
 import ch.ntb.inf.kmip.attributes.CryptographicLength;
+import ch.ntb.inf.kmip.attributes.KMIPAttributeRegistry;
+import ch.ntb.inf.kmip.attributes.KMIPAttributeRegistry.AttributeFactory;
 import ch.ntb.inf.kmip.attributes.KMIPAttributeValue;
 import ch.ntb.inf.kmip.container.KMIPBatch;
 import ch.ntb.inf.kmip.kmipenum.EnumType;
@@ -289,12 +291,17 @@ public class KLMSAdapterUtils {
 				e = it.next();
 			}
 			
+			AttributeFactory factory = KMIPAttributeRegistry.getAttributeFactory(e.getKey());
+			if(factory == null){
+				counter++;			// if Entry is not an Attribute Name
+				continue;
+			}
+			
 			try {
-				Class<?> attributeClass = getAttributeClass(e.getKey());
 				int count = Integer.parseInt(e.getValue());
 				
 				for (int i = 1; i <= count; i++) {
-					attributes.add(createAttribute(attributeClass, parameters, i));
+					attributes.add(createAttribute(factory, parameters, i));
 				}
 				parameters.remove(e.getKey());
 				counter = 0;
@@ -306,18 +313,8 @@ public class KLMSAdapterUtils {
 		return attributes;
 	}
 	
-	private static Class<?> getAttributeClass(String nameOfClass) throws ClassNotFoundException{
-		String className = nameOfClass.replaceAll("\\s","").replaceAll("-", "");
-		String classNameFinal = Character.toUpperCase(className.charAt(0)) + className.substring(1);
-		try{
-			return Class.forName("ch.ntb.inf.kmip.attributes." + classNameFinal);
-		} catch (Exception e){
-			return Class.forName("ch.ntb.inf.kmip.operationparameters." + classNameFinal);
-		}
-	}
-	
-	private static Attribute createAttribute(Class<?> attributeClass, HashMap<String, String> parameters, int i) throws InstantiationException, IllegalAccessException {
-		Attribute attribute = (Attribute) attributeClass.newInstance();
+	private static Attribute createAttribute(AttributeFactory factory, HashMap<String, String> parameters, int i) {
+		Attribute attribute = factory.create();
 
 		if (attribute.getAttributeType() == EnumType.Structure) {
 			createComplexValue(attribute, parameters, i);
@@ -335,7 +332,7 @@ public class KLMSAdapterUtils {
 		Attribute attribute;
 		
 		try {
-			attribute = createAttribute(getAttributeClass(attributeName), parameters, 1);
+			attribute = createAttribute(KMIPAttributeRegistry.getAttributeFactory(attributeName), parameters, 1);
 			parameters.remove(attributeName);
 			batch.addAttribute(attribute);
 		} catch (Exception e1) {
@@ -29,6 +29,8 @@ import java.util.Map.Entry;
 import java.util.Set;
 
 import ch.ntb.inf.klms.manager.KLMSUniqueIdentifierMissingException;
+import ch.ntb.inf.klms.model.attributes.KLMSAttributeRegistry;
+import ch.ntb.inf.klms.model.attributes.KLMSAttributeRegistry.AttributeFactory;
 import ch.ntb.inf.klms.model.attributes.KLMSAttributeValue;
 import ch.ntb.inf.klms.model.attributes.Offset;
 import ch.ntb.inf.klms.model.attributes.UniqueIdentifier;
@@ -46,8 +48,6 @@ import ch.ntb.inf.klms.model.objects.managed.SymmetricKey;
 
 public class KLMSUtils {
 	
-	private static final String ATTRIBUTE_LOCATION = "ch.ntb.inf.klms.model.attributes.";
-
 /////////////////////////////////////////////////////////////////////////////////////// Create Parameter Map	
 
 	
@@ -187,12 +187,17 @@ public class KLMSUtils {
 				e = it.next();
 			}
 			
+			AttributeFactory factory = KLMSAttributeRegistry.getAttributeFactory(e.getKey());
+			if(factory == null){
+				counter++;			// if Entry is not an Attribute Name
+				continue;
+			}
+			
 			try {
-				Class<?> attributeClass = getAttributeClass(e.getKey());
 				int count = Integer.parseInt(e.getValue());
 				
 				for (int i = 1; i <= count; i++) {
-					attributes.add(createAttribute(attributeClass, parameters, i));
+					attributes.add(createAttribute(factory, parameters, i));
 				}
 				parameters.remove(e.getKey());
 				counter = 0;
@@ -237,20 +242,25 @@ public class KLMSUtils {
 				name = name.replaceFirst(type, "");
 			}
 			
+			AttributeFactory factory = type == null ? null : KLMSAttributeRegistry.getAttributeFactory(name);
+			if(factory == null){
+				counter++;			// if Entry is not an Attribute Name
+				continue;
+			}
+			
 			try {
-				Class<?> attributeClass = getAttributeClass(name);
 				int count = Integer.parseInt(e.getValue());
 				
 				for (int i = 1; i <= count; i++) {
 					switch (type) {
 						case "Common":
-							common.add(createAttribute(attributeClass, parameters, i, type));
+							common.add(createAttribute(factory, parameters, i, type));
 							break;
 						case "PrivateKey":
-							privateKey.add(createAttribute(attributeClass, parameters, i, type));
+							privateKey.add(createAttribute(factory, parameters, i, type));
 							break;
 						case "PublicKey":
-							publicKey.add(createAttribute(attributeClass, parameters, i, type));
+							publicKey.add(createAttribute(factory, parameters, i, type));
 							break;
 					}
 				}
@@ -264,14 +274,8 @@ public class KLMSUtils {
 	}
 	
 	
-	private static Class<?> getAttributeClass(String nameOfClass) throws ClassNotFoundException{
-		String className = nameOfClass.replaceAll("\\s","").replaceAll("-", "");
-		String classNameFinal = Character.toUpperCase(className.charAt(0)) + className.substring(1);
-		return Class.forName(ATTRIBUTE_LOCATION + classNameFinal);
-	}
-	
-	private static Attribute createAttribute(Class<?> attributeClass, HashMap<String, String> parameters, int i) throws InstantiationException, IllegalAccessException {
-		Attribute attribute = (Attribute) attributeClass.newInstance();
+	private static Attribute createAttribute(AttributeFactory factory, HashMap<String, String> parameters, int i) {
+		Attribute attribute = factory.create();
 
 		if (attribute.getAttributeType() == EnumTypeKLMS.Structure) {
 			createComplexValue(attribute, parameters, i);
@@ -285,8 +289,8 @@ public class KLMSUtils {
 	}
 	
 	
-	private static Attribute createAttribute(Class<?> attributeClass, HashMap<String, String> parameters, int i, String type) throws InstantiationException, IllegalAccessException {
-		Attribute attribute = (Attribute) attributeClass.newInstance();
+	private static Attribute createAttribute(AttributeFactory factory, HashMap<String, String> parameters, int i, String type) {
+		Attribute attribute = factory.create();
 
 		if (attribute.getAttributeType() == EnumTypeKLMS.Structure) {
 			createComplexValue(attribute, parameters, i, type);
@@ -0,0 +1,130 @@
+/**
+ * KMIPEnumerationTable.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description:
+ * The KMIPEnumerationTable holds the entries of a KMIPEnumeration or
+ * a KLMSEnumeration, which are defined by its static final int fields. Every enumeration
+ * class builds its table once. A key is looked up in a hash table,
+ * a value is looked up in a dense array, as long as the values lie
+ * close together (e.g. the tags 0x420001 to 0x4200A1), and in an
+ * int-keyed hash table otherwise.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+
+package ch.ntb.inf.kmip.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+public final class KMIPEnumerationTable {
+
+	private static final int MAX_DENSE_SPAN = 4096;
+
+	private final HashMap<String, Integer> keys = new HashMap<>();
+	private final HashMap<Integer, Integer> sparseValues = new HashMap<>();
+	private final Entry<String, Integer>[] entries;
+	private final int[] denseValues;
+	private final int denseOffset;
+
+	/**
+	 * @param enumClass	: the enumeration class, whose static final int fields are the entries
+	 */
+	public KMIPEnumerationTable(Class<?> enumClass) {
+		HashMap<String, Integer> values = new HashMap<>();
+		for (Field f : enumClass.getDeclaredFields()) {
+		    if (Modifier.isStatic(f.getModifiers()) && Modifier.isFinal(f.getModifiers()) && f.getType() == int.class){
+		    	try {
+					values.put(f.getName(),f.getInt(enumClass));
+				} catch (Exception e) {
+					e.printStackTrace();
+				}
+		    }
+		}
+
+		// the dense array covers the non-negative values, negative ones (Default, extensions) are hashed
+		int min = Integer.MAX_VALUE, max = -1;
+		for(int v : values.values()){
+			if(v >= 0){
+				min = Math.min(min, v);
+				max = Math.max(max, v);
+			}
+		}
+		if(max >= 0 && max - min < MAX_DENSE_SPAN){
+			denseOffset = min;
+			denseValues = new int[max - min + 1];
+			Arrays.fill(denseValues, -1);
+		} else{
+			denseOffset = 0;
+			denseValues = new int[0];
+		}
+
+		// if two keys have the same value, the value is resolved to the first of them, as the HashMap iterates them
+		// an array of a generic type can not be created, it only holds the entries created below
+		@SuppressWarnings({"rawtypes", "unchecked"})
+		Entry<String, Integer>[] created = new Entry[values.size()];
+		entries = created;
+		int index = 0;
+		for(Map.Entry<String, Integer> e : values.entrySet()){
+			entries[index] = new SimpleImmutableEntry<>(e.getKey(), e.getValue());
+			keys.put(e.getKey(), index);
+			int v = e.getValue();
+			if(v >= denseOffset && v - denseOffset < denseValues.length){
+				if(denseValues[v - denseOffset] == -1){
+					denseValues[v - denseOffset] = index;
+				}
+			} else if(!sparseValues.containsKey(v)){
+				sparseValues.put(v, index);
+			}
+			index++;
+		}
+	}
+
+	/**
+	 * @return		the index of the entry with the given value, or -1 if the value is not defined
+	 */
+	public int indexOf(int value) {
+		if(value >= denseOffset && value - denseOffset < denseValues.length){
+			return denseValues[value - denseOffset];
+		}
+		Integer index = sparseValues.get(value);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return		the index of the entry with the given key, or -1 if the key is not defined
+	 */
+	public int indexOf(String key) {
+		Integer index = keys.get(key);
+		return index == null ? -1 : index;
+	}
+
+	public Entry<String, Integer> getEntry(int index) {
+		return entries[index];
+	}
+
+	public int size() {
+		return entries.length;
+	}
+
+}
@@ -0,0 +1,171 @@
+package ch.ntb.inf.kmip.utils;
+/**
+ * KMIPHex.java
+ * -----------------------------------------------------------------
+ *     __ __ __  ___________
+ *    / //_//  |/  /  _/ __ \	  .--.
+ *   / ,<  / /|_/ // // /_/ /	 /.-. '----------.
+ *  / /| |/ /  / // // ____/ 	 \'-' .--"--""-"-'
+ * /_/ |_/_/  /_/___/_/      	  '--'
+ *
+ * -----------------------------------------------------------------
+ * Description for class
+ * This class converts between bytes and upper case hexadecimal
+ * strings with lookup tables, working directly on byte[] and
+ * ByteBuffer, without boxing and without String.format.
+ *
+ * @author     Stefanie Meile <stefaniemeile@gmail.com>
+ * @author     Michael Guster <michael.guster@gmail.com>
+ * @org.       NTB - University of Applied Sciences Buchs, (CH)
+ * @copyright  Copyright ï¿½ 2013, Stefanie Meile, Michael Guster
+ * @license    Simplified BSD License (see LICENSE.TXT)
+ * @version    1.0, 2013/08/09
+ * @since      Class available since Release 1.0
+ *
+ *
+ */
+import java.nio.ByteBuffer;
+
+public final class KMIPHex {
+
+	private static final char[] DIGITS = "0123456789ABCDEF".toCharArray();
+
+	// the two hex digits of each byte value, at index 2 * (b & 0xFF)
+	private static final char[] PAIRS = new char[512];
+
+	// the value of each ASCII character as hex digit, or -1
+	private static final byte[] VALUES = new byte[128];
+
+	static {
+		for (int i = 0; i < 256; i++) {
+			PAIRS[2 * i] = DIGITS[i >>> 4];
+			PAIRS[2 * i + 1] = DIGITS[i & 0x0F];
+		}
+		for (int i = 0; i < VALUES.length; i++) {
+			VALUES[i] = -1;
+		}
+		for (int i = 0; i < 10; i++) {
+			VALUES['0' + i] = (byte) i;
+		}
+		for (int i = 0; i < 6; i++) {
+			VALUES['A' + i] = (byte) (10 + i);
+			VALUES['a' + i] = (byte) (10 + i);
+		}
+	}
+
+	private KMIPHex() {
+	}
+
+	/**
+	 * @param bytes that need to be converted to a HEX-formated String
+	 * @return HEX-formated String, two upper case digits per byte
+	 */
+	public static String encode(byte[] bytes) {
+		return encode(bytes, 0, bytes.length);
+	}
+
+	/**
+	 * @param bytes that need to be converted to a HEX-formated String
+	 * @param off index of the first byte
+	 * @param len number of bytes
+	 * @return HEX-formated String, two upper case digits per byte
+	 */
+	public static String encode(byte[] bytes, int off, int len) {
+		char[] chars = new char[2 * len];
+		for (int i = 0; i < len; i++) {
+			int p = (bytes[off + i] & 0xFF) << 1;
+			chars[2 * i] = PAIRS[p];
+			chars[2 * i + 1] = PAIRS[p + 1];
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * @param buffer whose remaining bytes need to be converted to a HEX-formated String.
+	 * Its position is not changed.
+	 * @return HEX-formated String, two upper case digits per byte
+	 */
+	public static String encode(ByteBuffer buffer) {
+		if (buffer.hasArray()) {
+			return encode(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+		}
+		int pos = buffer.position();
+		int len = buffer.remaining();
+		char[] chars = new char[2 * len];
+		for (int i = 0; i < len; i++) {
+			int p = (buffer.get(pos + i) & 0xFF) << 1;
+			chars[2 * i] = PAIRS[p];
+			chars[2 * i + 1] = PAIRS[p + 1];
+		}
+		return new String(chars);
+	}
+
+	/**
+	 * Appends bytes as HEX-formated String, e.g. to a log line.
+	 * @param sb StringBuilder the digits are appended to
+	 * @param bytes that need to be converted
+	 * @param off index of the first byte
+	 * @param len number of bytes
+	 */
+	public static void appendTo(StringBuilder sb, byte[] bytes, int off, int len) {
+		sb.ensureCapacity(sb.length() + 2 * len);
+		for (int i = off; i < off + len; i++) {
+			int p = (bytes[i] & 0xFF) << 1;
+			sb.append(PAIRS[p]).append(PAIRS[p + 1]);
+		}
+	}
+
+	/**
+	 * @param hex String with an even number of hex digits, upper or lower case
+	 * @return the bytes of the input String
+	 * @throws IllegalArgumentException if the String has an odd length or a character, which is no hex digit
+	 */
+	public static byte[] decode(CharSequence hex) {
+		if ((hex.length() & 1) != 0) {
+			throw new IllegalArgumentException("Odd number of hex digits: " + hex.length());
+		}
+		byte[] bytes = new byte[hex.length() >> 1];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) ((value(hex, 2 * i) << 4) | value(hex, 2 * i + 1));
+		}
+		return bytes;
+	}
+
+	/**
+	 * Writes the bytes of a HEX-formated String into a buffer, beginning at its position.
+	 * @param hex String with an even number of hex digits, upper or lower case
+	 * @param buffer the bytes are written into
+	 * @throws IllegalArgumentException if the String has an odd length or a character, which is no hex digit
+	 * @throws java.nio.BufferOverflowException if the buffer has not enough remaining bytes
+	 */
+	public static void decode(CharSequence hex, ByteBuffer buffer) {
+		if ((hex.length() & 1) != 0) {
+			throw new IllegalArgumentException("Odd number of hex digits: " + hex.length());
+		}
+		for (int i = 0; i < hex.length(); i += 2) {
+			buffer.put((byte) ((value(hex, i) << 4) | value(hex, i + 1)));
+		}
+	}
+
+	/**
+	 * Equals <code>Character.digit(c, 16)</code>, with a lookup table for ASCII characters.
+	 * @param c character to be converted
+	 * @return the value of the hex digit, or -1 if the character is no hex digit
+	 */
+	public static int digit(char c) {
+		if (c < VALUES.length) {
+			return VALUES[c];
+		}
+		return Character.digit(c, 16);
+	}
+
+	private static int value(CharSequence hex, int index) {
+		char c = hex.charAt(index);
+		int v = c < VALUES.length ? VALUES[c] : -1;
+		if (v < 0) {
+			throw new IllegalArgumentException("No hex digit at index " + index + ": '" + c + "'");
+		}
+		return v;
+	}
+
+}
@@ -40,9 +40,9 @@ public class KMIPUtils {
 		if (s == null) {
 			return null;
 		}
-		ArrayList<Byte> al = new ArrayList<>();
+		ArrayList<Byte> al = new ArrayList<>(s.length() / 2);
 	    for (int i = 0; i < s.length()-1; i += 2) {
-	        al.add((byte) ((Character.digit(s.charAt(i), 16) << 4) + Character.digit(s.charAt(i+1), 16)));
+	        al.add((byte) ((KMIPHex.digit(s.charAt(i)) << 4) + KMIPHex.digit(s.charAt(i+1))));
 	    }
 	    return al;   
 	}
@@ -55,11 +55,7 @@ public class KMIPUtils {
 		if (al == null) {
 			return null;
 		}
-		StringBuilder buf = new StringBuilder();
-		for (Byte b : al) {
-			buf.append(String.format("%02X", b));
-		}
-		return buf.toString();
+		return convertArrayListToHexString((List<Byte>) al);
 	}
 	
 	/** 
@@ -67,11 +63,7 @@ public class KMIPUtils {
 	 * @return HEX-formated String
 	 */
 	public static String convertArrayListToHexString(List<Byte> al){
-		StringBuilder buf = new StringBuilder();
-		for (Byte b : al) {
-			buf.append(String.format("%02X", b));
-		}
-		return buf.toString();
+		return KMIPHex.encode(toByteArray(al));
 	}
 	
 	/** 
@@ -86,7 +78,14 @@ public class KMIPUtils {
 	}
 
 	public static byte[] convertHexStringToByteArray(String value){
-		return toByteArray(convertHexStringToArrayList(value));
+		if (value == null) {
+			return null;
+		}
+		byte[] bytes = new byte[value.length() / 2];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) ((KMIPHex.digit(value.charAt(2*i)) << 4) + KMIPHex.digit(value.charAt(2*i+1)));
+		}
+		return bytes;
 	}
 	
 	public static byte[] toByteArray(List<Byte> in) {
@@ -99,21 +98,12 @@ public class KMIPUtils {
 	}
 	
 	public static String convertByteStringToHexString(byte[] bytes){
-		StringBuilder buf = new StringBuilder();
-		for (Byte b : bytes) {
-			if(b > 0){
-				buf.append(String.format("%02X", b));
-			} else{
-				buf.append(String.format("%02X", b + 256));
-			}
-			
-		}
-		return buf.toString();
+		return KMIPHex.encode(bytes);
 	}
 	
 	
 	public static ArrayList<Byte> convertByteArrayToArrayList(byte[] bytes){
-		ArrayList<Byte> al = new ArrayList<>();
+		ArrayList<Byte> al = new ArrayList<>(bytes.length);
 		for (byte aByte : bytes) {
 			al.add(aByte);
 		}